@@ -0,0 +1,102 @@
+package org.knowm.xchange.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.knowm.xchange.binance.BinanceAdapters;
+import org.knowm.xchange.binance.dto.marketdata.BinanceAggTrades;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.OrderBookUpdate;
+import org.knowm.xchange.dto.marketdata.Trades;
+import org.knowm.xchange.dto.meta.ExchangeMetaData;
+import org.knowm.xchange.dto.meta.InstrumentMetaData;
+import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.okx.OkxAdapters;
+import org.knowm.xchange.okx.dto.OkxResponse;
+import org.knowm.xchange.okx.dto.marketdata.OkxOrderbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversions from the exchange DTOs to the generic XChange DTOs. The raw DTOs are deserialized
+ * once from captured REST responses, so only the adapter code is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdaptersBenchmark {
+
+  private static final CurrencyPair PAIR = CurrencyPair.BTC_USDT;
+
+  private List<BinanceAggTrades> binanceAggTrades;
+  private List<OkxOrderbook> okxOrderbooks;
+  private ExchangeMetaData okxMetaData;
+  private Date timestamp;
+
+  @Setup
+  public void setUp() throws IOException {
+    ObjectMapper mapper = new ObjectMapper();
+    binanceAggTrades =
+        mapper.readValue(
+            Fixtures.load("binance-agg-trades.json"),
+            new TypeReference<List<BinanceAggTrades>>() {});
+    OkxResponse<List<OkxOrderbook>> okxResponse =
+        mapper.readValue(
+            Fixtures.load("okx-books.json"),
+            new TypeReference<OkxResponse<List<OkxOrderbook>>>() {});
+    okxOrderbooks = okxResponse.getData();
+    Map<Instrument, InstrumentMetaData> instruments =
+        Map.of(PAIR, InstrumentMetaData.builder().contractValue(BigDecimal.ONE).build());
+    okxMetaData = new ExchangeMetaData(instruments, Map.of(), null, null, null);
+    timestamp = new Date(Long.parseLong(okxOrderbooks.get(0).getTs()));
+  }
+
+  @Benchmark
+  public String binanceToSymbol() {
+    return BinanceAdapters.toSymbol(PAIR);
+  }
+
+  @Benchmark
+  public Trades binanceAdaptTrades() {
+    return BinanceAdapters.adaptTrades(binanceAggTrades, PAIR);
+  }
+
+  @Benchmark
+  public String okxAdaptInstrument() {
+    return OkxAdapters.adaptInstrument(PAIR);
+  }
+
+  @Benchmark
+  public Instrument okxAdaptInstrumentId() {
+    return OkxAdapters.adaptOkxInstrumentId("BTC-USDT");
+  }
+
+  @Benchmark
+  public OrderBook okxAdaptOrderBook() {
+    return OkxAdapters.adaptOrderBook(okxOrderbooks, PAIR, okxMetaData);
+  }
+
+  @Benchmark
+  public List<OrderBookUpdate> okxAdaptOrderBookUpdates() {
+    OkxOrderbook book = okxOrderbooks.get(0);
+    return OkxAdapters.adaptOrderBookUpdates(
+        PAIR, book.getAsks(), book.getBids(), BigDecimal.ONE, timestamp);
+  }
+}
@@ -0,0 +1,87 @@
+package org.knowm.xchange.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.knowm.xchange.currency.Currency;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.utils.jackson.CurrencyPairDeserializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Construction, parsing and hashing of {@link CurrencyPair}s, done for nearly every message. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurrencyPairBenchmark {
+
+  private String base;
+  private String counter;
+  private String slashSeparated;
+  private String concatenated;
+  private CurrencyPair lookupKey;
+  private Map<CurrencyPair, Integer> pairs;
+
+  @Setup
+  public void setUp() {
+    // copies, so that no benchmark runs against interned literals
+    base = new String("BTC");
+    counter = new String("USDT");
+    slashSeparated = base + "/" + counter;
+    concatenated = base + counter;
+    lookupKey = new CurrencyPair(base, counter);
+    pairs = new HashMap<>();
+    for (CurrencyPair pair :
+        new CurrencyPair[] {
+          CurrencyPair.BTC_USDT,
+          CurrencyPair.ETH_USDT,
+          CurrencyPair.ETH_BTC,
+          CurrencyPair.BTC_USD,
+          CurrencyPair.LTC_USDT,
+          CurrencyPair.XRP_USDT
+        }) {
+      pairs.put(pair, pairs.size());
+    }
+  }
+
+  @Benchmark
+  public Currency currencyGetInstance() {
+    return Currency.getInstance(base);
+  }
+
+  @Benchmark
+  public CurrencyPair constructFromSymbols() {
+    return new CurrencyPair(base, counter);
+  }
+
+  @Benchmark
+  public CurrencyPair parseSlashSeparated() {
+    return new CurrencyPair(slashSeparated);
+  }
+
+  @Benchmark
+  public CurrencyPair parseConcatenated() {
+    return CurrencyPairDeserializer.getCurrencyPairFromString(concatenated);
+  }
+
+  @Benchmark
+  public Integer mapLookup() {
+    return pairs.get(lookupKey);
+  }
+
+  @Benchmark
+  public String format() {
+    return lookupKey.toString();
+  }
+}
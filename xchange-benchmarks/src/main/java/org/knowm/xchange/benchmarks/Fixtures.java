@@ -0,0 +1,27 @@
+package org.knowm.xchange.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/** Loads the captured payloads the benchmarks replay, so that no benchmark needs network access. */
+final class Fixtures {
+
+  private Fixtures() {}
+
+  /**
+   * @param name file name below {@code /fixtures}
+   * @return the payload as sent by the exchange
+   */
+  static String load(String name) {
+    try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+      if (in == null) {
+        throw new IllegalArgumentException("Unknown fixture " + name);
+      }
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
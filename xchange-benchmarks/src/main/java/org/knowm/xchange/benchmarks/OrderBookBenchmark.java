@@ -0,0 +1,132 @@
+package org.knowm.xchange.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.OrderBookUpdate;
+import org.knowm.xchange.dto.marketdata.PrimitiveOrderBook;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Applies depth diffs to a book the way the streaming order book subscriptions do.
+ *
+ * <p>Every invocation applies one of two alternating batches touching the same price levels, so the
+ * book stays at a steady depth for the whole run: batch A removes a few levels that batch B adds
+ * back.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderBookBenchmark {
+
+  private static final CurrencyPair PAIR = CurrencyPair.BTC_USDT;
+  private static final BigDecimal TICK = new BigDecimal("0.01");
+  private static final BigDecimal MID = new BigDecimal("67000.00");
+
+  /** number of price levels per side */
+  @Param({"20", "1000"})
+  public int depth;
+
+  /** number of level updates per depth diff */
+  @Param({"1", "40"})
+  public int batchSize;
+
+  private OrderBook orderBook;
+  private PrimitiveOrderBook primitiveOrderBook;
+  private List<OrderBookUpdate> batchA;
+  private List<OrderBookUpdate> batchB;
+  private boolean flip;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    List<LimitOrder> asks = new ArrayList<>(depth);
+    List<LimitOrder> bids = new ArrayList<>(depth);
+    for (int i = 0; i < depth; i++) {
+      asks.add(order(OrderType.ASK, price(OrderType.ASK, i), size(random)));
+      bids.add(order(OrderType.BID, price(OrderType.BID, i), size(random)));
+    }
+    orderBook = new OrderBook(new Date(), asks, bids);
+    primitiveOrderBook = PrimitiveOrderBook.of(orderBook, PAIR, 2, 8);
+
+    // diffs concentrate on the top of the book, as real ones do
+    batchA = new ArrayList<>(batchSize);
+    batchB = new ArrayList<>(batchSize);
+    for (int i = 0; i < batchSize; i++) {
+      OrderType type = i % 2 == 0 ? OrderType.ASK : OrderType.BID;
+      BigDecimal price = price(type, random.nextInt(Math.min(depth, 25)));
+      boolean remove = i % 5 == 4;
+      batchA.add(update(type, price, remove ? BigDecimal.ZERO : size(random)));
+      batchB.add(update(type, price, size(random)));
+    }
+  }
+
+  private List<OrderBookUpdate> nextBatch() {
+    flip = !flip;
+    return flip ? batchA : batchB;
+  }
+
+  @Benchmark
+  public OrderBook orderBookPerLevelUpdate() {
+    for (OrderBookUpdate update : nextBatch()) {
+      orderBook.update(update);
+    }
+    return orderBook;
+  }
+
+  @Benchmark
+  public OrderBook orderBookBatchUpdate() {
+    orderBook.update(nextBatch());
+    return orderBook;
+  }
+
+  @Benchmark
+  public PrimitiveOrderBook primitiveOrderBookUpdate() {
+    for (OrderBookUpdate update : nextBatch()) {
+      primitiveOrderBook.update(update);
+    }
+    return primitiveOrderBook;
+  }
+
+  @Benchmark
+  public OrderBook orderBookSnapshot() {
+    return orderBook.snapshot();
+  }
+
+  private static BigDecimal price(OrderType type, int level) {
+    BigDecimal offset = TICK.multiply(BigDecimal.valueOf(level + 1L));
+    return type == OrderType.ASK ? MID.add(offset) : MID.subtract(offset);
+  }
+
+  private static BigDecimal size(Random random) {
+    return BigDecimal.valueOf(1 + random.nextInt(300_000), 5);
+  }
+
+  private static LimitOrder order(OrderType type, BigDecimal price, BigDecimal size) {
+    return new LimitOrder(type, size, PAIR, "", null, price);
+  }
+
+  private static OrderBookUpdate update(OrderType type, BigDecimal price, BigDecimal size) {
+    return new OrderBookUpdate(type, size, PAIR, price, new Date(), size);
+  }
+}
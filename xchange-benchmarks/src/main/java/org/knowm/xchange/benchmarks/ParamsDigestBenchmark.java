@@ -0,0 +1,119 @@
+package org.knowm.xchange.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import org.knowm.xchange.binance.auth.BinanceSigning;
+import org.knowm.xchange.binance.service.BinanceED25519Digest;
+import org.knowm.xchange.binance.service.BinanceHmacDigest;
+import org.knowm.xchange.utils.DigestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import si.mazi.rescu.ParamsDigest;
+import si.mazi.rescu.RequestWriterResolver;
+import si.mazi.rescu.RestInvocation;
+import si.mazi.rescu.RestMethodMetadata;
+
+/**
+ * HMAC and ED25519 signing of a signed Binance request. Runs single threaded and with several
+ * threads sharing one digest, as the services of an exchange instance do. {@link
+ * #cloneMacPerCall()} is the former way of {@link org.knowm.xchange.service.BaseParamsDigest}, a
+ * {@link Mac} clone and fresh buffers per request, for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParamsDigestBenchmark {
+
+  private static final String SECRET = "benchmark-secret";
+
+  private BinanceHmacDigest digest;
+  private BinanceED25519Digest ed25519Digest;
+  private RestInvocation invocation;
+
+  /** Shape of a signed Binance endpoint, only used to build a {@link RestInvocation}. */
+  @Path("api/v3")
+  public interface SignedEndpoint {
+
+    @GET
+    @Path("openOrders")
+    Object openOrders(
+        @QueryParam("symbol") String symbol,
+        @QueryParam("recvWindow") Long recvWindow,
+        @QueryParam("timestamp") Long timestamp,
+        @QueryParam("signature") ParamsDigest signature);
+  }
+
+  @Setup
+  public void setUp() throws NoSuchMethodException, GeneralSecurityException {
+    digest = BinanceHmacDigest.createInstance(SECRET);
+    ed25519Digest =
+        BinanceED25519Digest.createInstance(
+            Base64.getEncoder()
+                .encodeToString(
+                    KeyPairGenerator.getInstance("Ed25519")
+                        .generateKeyPair()
+                        .getPrivate()
+                        .getEncoded()));
+    RestMethodMetadata metadata =
+        RestMethodMetadata.create(
+            SignedEndpoint.class.getMethod(
+                "openOrders", String.class, Long.class, Long.class, ParamsDigest.class),
+            "https://api.binance.com",
+            "api/v3");
+    invocation =
+        RestInvocation.create(
+            RequestWriterResolver.createDefault(new ObjectMapper()),
+            metadata,
+            new Object[] {"BTCUSDT", 5000L, 1760790000123L, digest},
+            null);
+  }
+
+  @Benchmark
+  public String digestParams() {
+    return digest.digestParams(invocation);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String digestParamsContended() {
+    return digest.digestParams(invocation);
+  }
+
+  @Benchmark
+  public String cloneMacPerCall() throws CloneNotSupportedException {
+    Mac mac = (Mac) digest.getMac().clone();
+    mac.update(BinanceSigning.signingPayload(invocation).getBytes(StandardCharsets.UTF_8));
+    return DigestUtils.bytesToHex(mac.doFinal());
+  }
+
+  @Benchmark
+  public String digestParamsEd25519() {
+    return ed25519Digest.digestParams(invocation);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String digestParamsEd25519Contended() {
+    return ed25519Digest.digestParams(invocation);
+  }
+}
@@ -0,0 +1,86 @@
+package org.knowm.xchange.benchmarks;
+
+import info.bitrich.xchangestream.binance.BinanceStreamingService;
+import info.bitrich.xchangestream.core.ProductSubscription;
+import info.bitrich.xchangestream.kraken.KrakenStreamingService;
+import info.bitrich.xchangestream.okx.OkxStreamingExchange;
+import info.bitrich.xchangestream.okx.OkxStreamingService;
+import info.bitrich.xchangestream.service.netty.NettyStreamingService;
+import java.util.concurrent.TimeUnit;
+import org.knowm.xchange.ExchangeSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Feeds recorded websocket frames into {@code messageHandler} of the streaming services. The
+ * services are never connected, so this measures decoding and channel routing of a frame, up to the
+ * point where it would be emitted to a subscriber.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamingMessageHandlerBenchmark {
+
+  private BinanceStreamingService binance;
+  private OkxStreamingService okx;
+  private KrakenStreamingService kraken;
+
+  private String binanceDepthUpdate;
+  private String binanceTrade;
+  private String okxBooksUpdate;
+  private String krakenBookUpdate;
+
+  @Setup
+  public void setUp() {
+    binance =
+        new BinanceStreamingService(
+            "wss://stream.binance.com:9443/stream",
+            ProductSubscription.create().build(),
+            null,
+            65536,
+            NettyStreamingService.DEFAULT_CONNECTION_TIMEOUT,
+            NettyStreamingService.DEFAULT_RETRY_DURATION,
+            NettyStreamingService.DEFAULT_IDLE_TIMEOUT);
+    okx =
+        new OkxStreamingService(
+            OkxStreamingExchange.WS_PUBLIC_CHANNEL_URI,
+            new ExchangeSpecification(OkxStreamingExchange.class));
+    kraken = new KrakenStreamingService("wss://ws.kraken.com/v2");
+
+    binanceDepthUpdate = Fixtures.load("binance-depth-update.json");
+    binanceTrade = Fixtures.load("binance-trade.json");
+    okxBooksUpdate = Fixtures.load("okx-books-update.json");
+    krakenBookUpdate = Fixtures.load("kraken-book-update.json");
+  }
+
+  @Benchmark
+  public void binanceDepthUpdate() {
+    binance.messageHandler(binanceDepthUpdate);
+  }
+
+  @Benchmark
+  public void binanceTrade() {
+    binance.messageHandler(binanceTrade);
+  }
+
+  @Benchmark
+  public void okxBooksUpdate() {
+    okx.messageHandler(okxBooksUpdate);
+  }
+
+  @Benchmark
+  public void krakenBookUpdate() {
+    kraken.messageHandler(krakenBookUpdate);
+  }
+}
@@ -33,6 +33,8 @@ import org.knowm.xchange.dto.meta.InstrumentMetaData;
 import org.knowm.xchange.dto.meta.WalletHealth;
 import org.knowm.xchange.dto.trade.*;
 import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.instrument.InstrumentRegistry;
+import org.knowm.xchange.instrument.SymbolCache;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
@@ -52,6 +54,9 @@ public class BinanceAdapters {
 
   private static final Map<String, CurrencyPair> SYMBOL_TO_CURRENCY_PAIR = new ConcurrentHashMap<>();
 
+  private static final SymbolCache<FuturesContract> SYMBOL_TO_PERPETUAL =
+      new SymbolCache<>(BinanceAdapters::toPerpetual);
+
   private BinanceAdapters() {}
 
   /**
@@ -178,7 +183,12 @@ public class BinanceAdapters {
   }
 
   public static void putSymbolMapping(String symbol, CurrencyPair currencyPair) {
-    SYMBOL_TO_CURRENCY_PAIR.put(symbol, currencyPair);
+    CurrencyPair previous =
+        SYMBOL_TO_CURRENCY_PAIR.put(symbol, InstrumentRegistry.intern(currencyPair));
+    if (previous != null && !previous.equals(currencyPair)) {
+      // the cached perpetuals were derived from the previous mapping
+      SYMBOL_TO_PERPETUAL.clear();
+    }
   }
 
   public static CurrencyPair toCurrencyPair(String symbol) {
@@ -186,13 +196,22 @@ public class BinanceAdapters {
   }
 
   public static Instrument adaptSymbol(String symbol, boolean isFuture) {
+    if (isFuture || symbol.endsWith("_PERP")) {
+      FuturesContract perpetual = SYMBOL_TO_PERPETUAL.get(symbol);
+      // symbols without a mapping yet are not cached
+      return perpetual != null ? perpetual : new FuturesContract(null, "PERP");
+    }
+    return toCurrencyPair(symbol);
+  }
+
+  private static FuturesContract toPerpetual(String symbol) {
     if (symbol.endsWith("_PERP")) {
       //COIN-Margin instrument
       String pair = symbol.substring(0, symbol.indexOf("_"));
       return new FuturesContract(pair.substring(0, pair.indexOf("USD")) + "/USD/PERP");
     }
     CurrencyPair currencyPair = toCurrencyPair(symbol);
-    return (isFuture) ? new FuturesContract(currencyPair, "PERP") : currencyPair;
+    return currencyPair == null ? null : new FuturesContract(currencyPair, "PERP");
   }
 
   public static OpenOrders adaptOpenOrders(List<BinanceOrder> binanceOrders, boolean isFuture) {
@@ -455,16 +474,7 @@ public class BinanceAdapters {
     if (!klines.isEmpty()) {
       List<CandleStick> candleSticks = new ArrayList<>();
       for (BinanceKline chartData : klines) {
-        candleSticks.add(
-            new CandleStick.Builder()
-                .timestamp(Instant.ofEpochMilli(chartData.getCloseTime()))
-                .open(chartData.getOpen())
-                .high(chartData.getHigh())
-                .low(chartData.getLow())
-                .close(chartData.getClose())
-                .volume(chartData.getVolume())
-                .quotaVolume(chartData.getQuoteAssetVolume())
-                .build());
+        candleSticks.add(adaptBinanceCandleStick(chartData));
       }
       candleStickData = new CandleStickData(currencyPair, candleSticks);
     }
@@ -472,6 +482,19 @@ public class BinanceAdapters {
     return candleStickData;
   }
 
+  /** A kline as a candle stamped with its close time. */
+  public static CandleStick adaptBinanceCandleStick(BinanceKline kline) {
+    return new CandleStick.Builder()
+        .timestamp(Instant.ofEpochMilli(kline.getCloseTime()))
+        .open(kline.getOpen())
+        .high(kline.getHigh())
+        .low(kline.getLow())
+        .close(kline.getClose())
+        .volume(kline.getVolume())
+        .quotaVolume(kline.getQuoteAssetVolume())
+        .build();
+  }
+
   public static void adaptFutureExchangeMetaData(
       ExchangeMetaData exchangeMetaData, BinanceExchangeInfo binanceExchangeInfo) {
     List<Symbol> futureSymbols = binanceExchangeInfo.getSymbols();
@@ -1,6 +1,7 @@
 package org.knowm.xchange.binance;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import org.knowm.xchange.BaseExchange;
 import org.knowm.xchange.Exchange;
@@ -10,14 +11,21 @@ import org.knowm.xchange.binance.config.BinanceProductFamily;
 import org.knowm.xchange.binance.dto.ExchangeType;
 import org.knowm.xchange.binance.dto.account.AssetDetail;
 import org.knowm.xchange.binance.dto.meta.exchangeinfo.BinanceExchangeInfo;
+import org.knowm.xchange.binance.ratelimit.BinanceAdaptiveRateLimiter;
+import org.knowm.xchange.binance.ratelimit.BinanceRateLimitTelemetry;
 import org.knowm.xchange.binance.service.BinanceAccountService;
+import org.knowm.xchange.binance.service.BinanceAsyncMarketDataService;
 import org.knowm.xchange.binance.service.BinanceMarketDataService;
 import org.knowm.xchange.binance.service.BinanceMarketDataServiceRaw;
 import org.knowm.xchange.binance.service.BinanceTradeService;
+import org.knowm.xchange.client.ExchangeRestProxyBuilder;
+import org.knowm.xchange.client.HttpClientRestProxyFactory;
 import org.knowm.xchange.client.ResilienceRegistries;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.exceptions.ExchangeException;
+import org.knowm.xchange.service.marketdata.AsyncMarketDataService;
 import org.knowm.xchange.utils.AuthUtils;
+import si.mazi.rescu.IRestProxyFactory;
 import si.mazi.rescu.SynchronizedValueFactory;
 
 public class BinanceExchange extends BaseExchange implements Exchange {
@@ -40,6 +48,7 @@ public class BinanceExchange extends BaseExchange implements Exchange {
   public static final String SANDBOX_INVERSE_FUTURES_URL = "https://testnet.binancefuture.com";
 
   protected ResilienceRegistries RESILIENCE_REGISTRIES;
+  protected BinanceAdaptiveRateLimiter adaptiveRateLimiter;
   protected SynchronizedValueFactory<Long> timestampFactory;
   protected BinanceConfiguration configuration;
 
@@ -50,11 +59,24 @@ public class BinanceExchange extends BaseExchange implements Exchange {
             getExchangeSpecification().getResilience(),
             getResilienceRegistries(),
             configuration.getTimestampUnit());
+    IRestProxyFactory restProxyFactory =
+        ExchangeRestProxyBuilder.createRestProxyFactory(getExchangeSpecification());
+    if (restProxyFactory instanceof HttpClientRestProxyFactory) {
+      // the JDK transport hands over the headers of every response, not only of the results
+      // implementing HttpResponseAware
+      ((HttpClientRestProxyFactory) restProxyFactory).addResponseListener(this::onResponse);
+    }
     this.marketDataService = new BinanceMarketDataService(this, getResilienceRegistries());
     this.tradeService = new BinanceTradeService(this, getResilienceRegistries());
     this.accountService = new BinanceAccountService(this, getResilienceRegistries());
   }
 
+  @Override
+  public AsyncMarketDataService getAsyncMarketDataService() {
+    return new BinanceAsyncMarketDataService(
+        (BinanceMarketDataService) marketDataService, getAsyncExecutor());
+  }
+
   /** Typed configuration derived from the applied exchange specification. */
   public BinanceConfiguration getConfiguration() {
     return configuration;
@@ -72,6 +94,7 @@ public class BinanceExchange extends BaseExchange implements Exchange {
 
   public void resetResilienceRegistries() {
     RESILIENCE_REGISTRIES = createResilienceRegistries();
+    adaptiveRateLimiter = null;
   }
 
   @Override
@@ -82,6 +105,31 @@ public class BinanceExchange extends BaseExchange implements Exchange {
     return RESILIENCE_REGISTRIES;
   }
 
+  /**
+   * Request-weight limiter synced with the usage Binance reports in its response headers, shared by
+   * the services of this exchange. Its weight limit is the one of the {@link
+   * BinanceResilience#REQUEST_WEIGHT_RATE_LIMITER}.
+   */
+  public synchronized BinanceAdaptiveRateLimiter getAdaptiveRateLimiter() {
+    if (adaptiveRateLimiter == null) {
+      adaptiveRateLimiter =
+          new BinanceAdaptiveRateLimiter(
+              getResilienceRegistries()
+                  .rateLimiters()
+                  .rateLimiter(BinanceResilience.REQUEST_WEIGHT_RATE_LIMITER)
+                  .getRateLimiterConfig()
+                  .getLimitForPeriod());
+    }
+    return adaptiveRateLimiter;
+  }
+
+  private void onResponse(String host, int statusCode, Map<String, List<String>> headers) {
+    // errors sync the limiter through the headers of their BinanceException
+    if (statusCode / 100 == 2) {
+      getAdaptiveRateLimiter().update(BinanceRateLimitTelemetry.fromHeaders(headers));
+    }
+  }
+
   @Override
   public ExchangeSpecification getDefaultExchangeSpecification() {
     ExchangeSpecification spec = new ExchangeSpecification(this.getClass());
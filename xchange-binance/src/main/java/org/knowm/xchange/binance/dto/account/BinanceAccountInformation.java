@@ -1,10 +1,13 @@
 package org.knowm.xchange.binance.dto.account;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import si.mazi.rescu.HttpResponseAware;
 
-public final class BinanceAccountInformation {
+public final class BinanceAccountInformation implements HttpResponseAware {
 
   public final BigDecimal makerCommission;
   public final BigDecimal takerCommission;
@@ -17,6 +20,8 @@ public final class BinanceAccountInformation {
   public List<BinanceBalance> balances;
   public List<String> permissions;
 
+  private Map<String, List<String>> responseHeaders;
+
   public BinanceAccountInformation(
       @JsonProperty("makerCommission") BigDecimal makerCommission,
       @JsonProperty("takerCommission") BigDecimal takerCommission,
@@ -39,4 +44,15 @@ public final class BinanceAccountInformation {
     this.balances = balances;
     this.permissions = permissions;
   }
+
+  @Override
+  public void setResponseHeaders(Map<String, List<String>> headers) {
+    this.responseHeaders = headers;
+  }
+
+  @JsonIgnore
+  @Override
+  public Map<String, List<String>> getResponseHeaders() {
+    return responseHeaders;
+  }
 }
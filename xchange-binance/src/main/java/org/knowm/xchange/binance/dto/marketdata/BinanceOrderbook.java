@@ -1,5 +1,6 @@
 package org.knowm.xchange.binance.dto.marketdata;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.math.BigDecimal;
 import java.util.Collections;
@@ -8,13 +9,16 @@ import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.function.BiConsumer;
+import si.mazi.rescu.HttpResponseAware;
 
-public final class BinanceOrderbook {
+public final class BinanceOrderbook implements HttpResponseAware {
 
   public final long lastUpdateId;
   public final SortedMap<BigDecimal, BigDecimal> bids;
   public final SortedMap<BigDecimal, BigDecimal> asks;
 
+  private Map<String, List<String>> responseHeaders;
+
   public BinanceOrderbook(
       @JsonProperty("lastUpdateId") long lastUpdateId,
       @JsonProperty("bids") List<Object[]> bidsJson,
@@ -36,4 +40,15 @@ public final class BinanceOrderbook {
     this.bids = Collections.unmodifiableSortedMap(bids);
     this.asks = Collections.unmodifiableSortedMap(asks);
   }
+
+  @Override
+  public void setResponseHeaders(Map<String, List<String>> headers) {
+    this.responseHeaders = headers;
+  }
+
+  @JsonIgnore
+  @Override
+  public Map<String, List<String>> getResponseHeaders() {
+    return responseHeaders;
+  }
 }
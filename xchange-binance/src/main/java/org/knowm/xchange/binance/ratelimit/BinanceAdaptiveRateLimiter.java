@@ -0,0 +1,167 @@
+package org.knowm.xchange.binance.ratelimit;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import java.time.Clock;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Request-weight limiter following the usage Binance reports rather than a local estimate.
+ *
+ * <p>Binance counts the request weight of an IP per calendar minute, across all processes sharing
+ * it. The static resilience4j limiters only see the calls of this process and refresh on their own
+ * schedule, so they drift from the server. This limiter takes the used weight from the {@code
+ * x-mbx-used-weight-1m} header of every response carrying it, holds calls until {@code
+ * Retry-After} has passed after a 429 or 418, and holds them once the server reports the minute's
+ * weight as used up. A call is held at most the timeout of the resilience4j limiter it is made
+ * under; calls which would have to wait longer, for instance during an IP ban of hours, are not
+ * permitted. {@link #getHeadroom()} and {@link #getPermissionDelay(RateLimiter)} let callers
+ * schedule their work instead of blocking.
+ */
+public final class BinanceAdaptiveRateLimiter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BinanceAdaptiveRateLimiter.class);
+
+  private static final long WINDOW_MILLIS = 60_000;
+
+  private final int weightLimit;
+  private final Clock clock;
+
+  /** start of the current minute, guarded by this */
+  private long windowStart;
+
+  /** weight used in the current minute as last reported, guarded by this */
+  private int usedWeight;
+
+  /** no calls before this time, guarded by this */
+  private long blockedUntil;
+
+  /** guarded by this */
+  private Integer orderCount10s;
+
+  /**
+   * @param weightLimit the request weight allowed per minute
+   */
+  public BinanceAdaptiveRateLimiter(int weightLimit) {
+    this(weightLimit, Clock.systemUTC());
+  }
+
+  BinanceAdaptiveRateLimiter(int weightLimit, Clock clock) {
+    this.weightLimit = weightLimit;
+    this.clock = clock;
+  }
+
+  /** Syncs the limiter with the usage reported by a response. */
+  public synchronized void update(BinanceRateLimitTelemetry telemetry) {
+    long now = clock.millis();
+    roll(now);
+    if (telemetry.usedWeight1m() != null) {
+      usedWeight = telemetry.usedWeight1m();
+    }
+    if (telemetry.orderCount10s() != null) {
+      orderCount10s = telemetry.orderCount10s();
+    }
+    if (telemetry.retryAfterMillis() != null) {
+      // Binance sends Retry-After in seconds
+      blockedUntil = Math.max(blockedUntil, now + telemetry.retryAfterMillis() * 1000);
+      LOG.warn("Binance asked to retry after {} s", telemetry.retryAfterMillis());
+    }
+  }
+
+  /**
+   * Syncs the limiter with a 429 or 418 response, holding further calls until its {@code
+   * Retry-After}, or until the end of the minute if the response had none.
+   */
+  public synchronized void onRateLimitExceeded(BinanceRateLimitTelemetry telemetry) {
+    update(telemetry);
+    if (telemetry.retryAfterMillis() == null) {
+      usedWeight = Math.max(usedWeight, weightLimit);
+    }
+  }
+
+  /**
+   * @return the request weight left in the current minute, 0 while calls are held
+   */
+  public synchronized int getHeadroom() {
+    long now = clock.millis();
+    roll(now);
+    return now < blockedUntil ? 0 : Math.max(0, weightLimit - usedWeight);
+  }
+
+  /**
+   * @return how long calls are held, zero if a call can be made right away
+   */
+  public synchronized Duration getWaitTime() {
+    long now = clock.millis();
+    roll(now);
+    if (now < blockedUntil) {
+      return Duration.ofMillis(blockedUntil - now);
+    }
+    if (usedWeight >= weightLimit) {
+      return Duration.ofMillis(windowStart + WINDOW_MILLIS - now);
+    }
+    return Duration.ZERO;
+  }
+
+  /**
+   * @return the order count of the last 10 seconds as last reported, null if never reported
+   */
+  public synchronized Integer getOrderCount10s() {
+    return orderCount10s;
+  }
+
+  public int getWeightLimit() {
+    return weightLimit;
+  }
+
+  /**
+   * How long a call has to be held before it can be made, for callers scheduling the call rather
+   * than blocking.
+   *
+   * @param rateLimiter the limiter the call is made under, whose timeout bounds the wait
+   * @return the wait, zero if the call can be made right away
+   * @throws RequestNotPermitted if the wait is longer than the timeout of the limiter
+   */
+  public Duration getPermissionDelay(RateLimiter rateLimiter) {
+    Duration waitTime = getWaitTime();
+    if (waitTime.compareTo(rateLimiter.getRateLimiterConfig().getTimeoutDuration()) > 0) {
+      throw notPermitted(rateLimiter, waitTime);
+    }
+    return waitTime;
+  }
+
+  /**
+   * Blocks until a call can be made.
+   *
+   * @param rateLimiter the limiter the call is made under, whose timeout bounds the wait
+   * @throws RequestNotPermitted if the call would have to wait longer than the timeout of the
+   *     limiter
+   */
+  public void awaitPermission(RateLimiter rateLimiter) throws InterruptedException {
+    long deadline =
+        clock.millis() + rateLimiter.getRateLimiterConfig().getTimeoutDuration().toMillis();
+    Duration waitTime;
+    while (!(waitTime = getWaitTime()).isZero()) {
+      if (clock.millis() + waitTime.toMillis() > deadline) {
+        throw notPermitted(rateLimiter, waitTime);
+      }
+      LOG.debug("Holding Binance call for {} ms", waitTime.toMillis());
+      Thread.sleep(Math.max(1, waitTime.toMillis()));
+    }
+  }
+
+  private static RequestNotPermitted notPermitted(RateLimiter rateLimiter, Duration waitTime) {
+    LOG.debug("Rejecting Binance call held for {} ms", waitTime.toMillis());
+    return RequestNotPermitted.createRequestNotPermitted(rateLimiter);
+  }
+
+  private void roll(long now) {
+    long currentWindowStart = now - now % WINDOW_MILLIS;
+    if (currentWindowStart != windowStart) {
+      windowStart = currentWindowStart;
+      usedWeight = 0;
+    }
+  }
+}
@@ -49,7 +49,7 @@ public record BinanceRateLimitTelemetry(
 
   private static Long firstLong(Map<String, List<String>> headers, String name) {
     for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
-      if (entry.getKey().equalsIgnoreCase(name) && entry.getValue() != null) {
+      if (name.equalsIgnoreCase(entry.getKey()) && entry.getValue() != null) {
         for (String value : entry.getValue()) {
           try {
             return Long.parseLong(value.trim());
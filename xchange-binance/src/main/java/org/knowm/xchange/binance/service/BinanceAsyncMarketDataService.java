@@ -0,0 +1,68 @@
+package org.knowm.xchange.binance.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import org.knowm.xchange.binance.BinanceAdapters;
+import org.knowm.xchange.binance.BinanceErrorAdapter;
+import org.knowm.xchange.binance.dto.BinanceException;
+import org.knowm.xchange.client.ResilienceUtils;
+import org.knowm.xchange.derivative.FuturesContract;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.Ticker;
+import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.service.marketdata.AsyncMarketDataServiceAdapter;
+
+/**
+ * Tickers and order books are fetched with {@link
+ * ResilienceUtils.DecorateCallableApi#callAsync(Executor)}, so a call waiting for the request
+ * weight or for its next retry holds no thread. The other calls are those of the blocking service.
+ */
+public class BinanceAsyncMarketDataService extends AsyncMarketDataServiceAdapter {
+
+  private final BinanceMarketDataService binance;
+
+  public BinanceAsyncMarketDataService(BinanceMarketDataService binance, Executor executor) {
+    super(binance, executor);
+    this.binance = binance;
+  }
+
+  @Override
+  public CompletableFuture<Ticker> getTicker(Instrument instrument, Object... args) {
+    return adaptErrors(
+        binance
+            .ticker24hAllProductsAsync(instrument, executor)
+            .thenApply(
+                ticker24h ->
+                    BinanceAdapters.toTicker(ticker24h, instrument instanceof FuturesContract)));
+  }
+
+  @Override
+  public CompletableFuture<OrderBook> getOrderBook(Instrument instrument, Object... args) {
+    int limit;
+    try {
+      limit = BinanceMarketDataService.orderBookLimit(args);
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    return adaptErrors(
+        binance
+            .getBinanceOrderbookAllProductsAsync(instrument, limit, executor)
+            .thenApply(
+                orderbook -> BinanceMarketDataService.convertOrderBook(orderbook, instrument)));
+  }
+
+  private static <T> CompletableFuture<T> adaptErrors(CompletableFuture<T> future) {
+    return future.exceptionally(
+        e -> {
+          Throwable cause = ResilienceUtils.unwrap(e);
+          if (cause instanceof BinanceException) {
+            throw new CompletionException(BinanceErrorAdapter.adapt((BinanceException) cause));
+          }
+          if (e instanceof CompletionException) {
+            throw (CompletionException) e;
+          }
+          throw new CompletionException(e);
+        });
+  }
+}
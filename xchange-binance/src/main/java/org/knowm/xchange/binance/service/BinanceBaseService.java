@@ -1,7 +1,9 @@
 package org.knowm.xchange.binance.service;
 
 import static org.knowm.xchange.binance.BinanceExchange.EXCHANGE_TYPE;
+import static org.knowm.xchange.binance.BinanceResilience.REQUEST_WEIGHT_RATE_LIMITER;
 
+import io.github.resilience4j.ratelimiter.RateLimiter;
 import java.io.IOException;
 import org.knowm.xchange.ExchangeSpecification;
 import org.knowm.xchange.binance.BinanceAuthenticated;
@@ -12,19 +14,25 @@ import org.knowm.xchange.binance.coinm.BinanceCoinmAuthApi;
 import org.knowm.xchange.binance.config.BinanceConfiguration;
 import org.knowm.xchange.binance.config.BinanceKeyAlgorithm;
 import org.knowm.xchange.binance.config.BinanceProductFamily;
+import org.knowm.xchange.binance.dto.BinanceException;
 import org.knowm.xchange.binance.dto.ExchangeType;
 import org.knowm.xchange.binance.dto.meta.BinanceSystemStatus;
 import org.knowm.xchange.binance.portfoliomargin.BinancePortfolioMarginApi;
+import org.knowm.xchange.binance.ratelimit.BinanceAdaptiveRateLimiter;
+import org.knowm.xchange.binance.ratelimit.BinanceRateLimitTelemetry;
 import org.knowm.xchange.binance.spot.BinanceSpotApi;
 import org.knowm.xchange.binance.spot.BinanceSpotAuthApi;
 import org.knowm.xchange.binance.usdm.BinanceUsdmApi;
 import org.knowm.xchange.binance.usdm.BinanceUsdmAuthApi;
 import org.knowm.xchange.binance.wallet.BinanceWalletApi;
 import org.knowm.xchange.client.ExchangeRestProxyBuilder;
+import org.knowm.xchange.client.RequestPriority;
 import org.knowm.xchange.client.ResilienceRegistries;
+import org.knowm.xchange.client.ResilienceUtils;
 import org.knowm.xchange.service.BaseResilientExchangeService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import si.mazi.rescu.HttpResponseAware;
 import si.mazi.rescu.ParamsDigest;
 import si.mazi.rescu.SynchronizedValueFactory;
 
@@ -37,6 +45,9 @@ import si.mazi.rescu.SynchronizedValueFactory;
  */
 public class BinanceBaseService extends BaseResilientExchangeService<BinanceExchange> {
 
+  private static final int HTTP_TOO_MANY_REQUESTS = 429;
+  private static final int HTTP_IP_BANNED = 418;
+
   protected final Logger LOG = LoggerFactory.getLogger(getClass());
 
   protected final String apiKey;
@@ -153,6 +164,63 @@ public class BinanceBaseService extends BaseResilientExchangeService<BinanceExch
     return exchange.getTimestampFactory();
   }
 
+  /**
+   * Decorates the call with the {@link BinanceAdaptiveRateLimiter} of the exchange in addition to
+   * the configured resilience features: the call is held while Binance holds calls of this IP, at
+   * most for the timeout of the request weight limiter, and the usage reported by the response, or
+   * by its error, syncs the limiters. Asynchronous calls are scheduled after the hold rather than
+   * waiting on a thread.
+   */
+  @Override
+  public <R> ResilienceUtils.DecorateCallableApi<R> decorateApiCall(
+      RequestPriority priority, ResilienceUtils.CallableApi<R> callable) {
+    BinanceAdaptiveRateLimiter adaptiveRateLimiter = exchange.getAdaptiveRateLimiter();
+    return super.decorateApiCall(priority, () -> callWithAdaptiveRateLimiter(callable))
+        .withDelay(
+            () -> adaptiveRateLimiter.getPermissionDelay(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER)));
+  }
+
+  private <R> R callWithAdaptiveRateLimiter(ResilienceUtils.CallableApi<R> callable)
+      throws IOException {
+    BinanceAdaptiveRateLimiter adaptiveRateLimiter = exchange.getAdaptiveRateLimiter();
+    boolean rateLimiterEnabled =
+        exchange.getExchangeSpecification().getResilience().isRateLimiterEnabled();
+    R result;
+    try {
+      result = callable.call();
+    } catch (BinanceException e) {
+      int status = e.getHttpStatusCode();
+      if (status == HTTP_TOO_MANY_REQUESTS || status == HTTP_IP_BANNED) {
+        adaptiveRateLimiter.onRateLimitExceeded(BinanceRateLimitTelemetry.from(e));
+      } else {
+        adaptiveRateLimiter.update(BinanceRateLimitTelemetry.from(e));
+      }
+      syncRequestWeightRateLimiter(adaptiveRateLimiter, rateLimiterEnabled);
+      throw e;
+    }
+    if (result instanceof HttpResponseAware) {
+      // the headers of other results only reach the limiter through the JDK transport
+      adaptiveRateLimiter.update(
+          BinanceRateLimitTelemetry.fromHeaders(((HttpResponseAware) result).getResponseHeaders()));
+    }
+    syncRequestWeightRateLimiter(adaptiveRateLimiter, rateLimiterEnabled);
+    return result;
+  }
+
+  /** Takes the permits the server reports as used from the local request weight limiter. */
+  private void syncRequestWeightRateLimiter(
+      BinanceAdaptiveRateLimiter adaptiveRateLimiter, boolean rateLimiterEnabled) {
+    if (!rateLimiterEnabled) {
+      return;
+    }
+    RateLimiter requestWeight = rateLimiter(REQUEST_WEIGHT_RATE_LIMITER);
+    int excess =
+        requestWeight.getMetrics().getAvailablePermissions() - adaptiveRateLimiter.getHeadroom();
+    if (excess > 0) {
+      requestWeight.reservePermission(excess);
+    }
+  }
+
   public BinanceSystemStatus getSystemStatus() throws IOException {
     return decorateApiCall(binanceWallet::systemStatus).call();
   }
@@ -6,12 +6,11 @@ import java.nio.charset.StandardCharsets;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.util.Base64;
 import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
-import org.bouncycastle.crypto.CryptoException;
-import org.bouncycastle.crypto.Signer;
-import org.bouncycastle.crypto.params.AsymmetricKeyParameter;
-import org.bouncycastle.crypto.signers.Ed25519Signer;
+import org.bouncycastle.crypto.params.Ed25519PrivateKeyParameters;
 import org.bouncycastle.crypto.util.PrivateKeyFactory;
+import org.bouncycastle.math.ec.rfc8032.Ed25519;
 import org.knowm.xchange.binance.auth.BinanceSigning;
+import org.knowm.xchange.utils.SigningBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import si.mazi.rescu.ParamsDigest;
@@ -21,17 +20,20 @@ public class BinanceED25519Digest implements ParamsDigest {
 
   private static final Logger LOG = LoggerFactory.getLogger(BinanceED25519Digest.class);
   private final Charset charSet = StandardCharsets.UTF_8;
-  private Signer signer;
+
+  /**
+   * Decoded once, it caches its public key. Signing with it directly is thread-safe, unlike a
+   * shared {@link org.bouncycastle.crypto.signers.Ed25519Signer} which buffers the message.
+   */
+  private Ed25519PrivateKeyParameters privateKey;
 
   private BinanceED25519Digest(String secretKeyBase64) {
     try {
       byte[] decodePrivateKey = Base64.getDecoder().decode(secretKeyBase64.getBytes(charSet));
       PKCS8EncodedKeySpec pkcs8EncodedKeySpec = new PKCS8EncodedKeySpec(decodePrivateKey);
       PrivateKeyInfo instancePrivate = PrivateKeyInfo.getInstance(pkcs8EncodedKeySpec.getEncoded());
-      AsymmetricKeyParameter keyPrivate = PrivateKeyFactory.createKey(instancePrivate);
-      signer = new Ed25519Signer();
-      signer.init(true, keyPrivate);
-    } catch (IOException e) {
+      privateKey = (Ed25519PrivateKeyParameters) PrivateKeyFactory.createKey(instancePrivate);
+    } catch (IOException | ClassCastException e) {
       LOG.error("", e);
     }
   }
@@ -42,15 +44,17 @@ public class BinanceED25519Digest implements ParamsDigest {
 
   @Override
   public String digestParams(RestInvocation restInvocation) {
-    final String input = BinanceSigning.signingPayload(restInvocation);
+    if (privateKey == null) {
+      return null;
+    }
+    SigningBuffer buffer = SigningBuffer.acquire();
     try {
-      var payloadBytes = input.getBytes(charSet);
-      signer.update(payloadBytes, 0, payloadBytes.length);
-      byte[] printBase64Binary = signer.generateSignature();
-      return Base64.getEncoder().encodeToString(printBase64Binary);
-    } catch (CryptoException e) {
-      LOG.error("", e);
+      int length = buffer.encode(BinanceSigning.signingPayload(restInvocation));
+      byte[] signature = buffer.output(Ed25519.SIGNATURE_SIZE);
+      privateKey.sign(Ed25519.Algorithm.Ed25519, null, buffer.input(), 0, length, signature, 0);
+      return buffer.base64(signature, Ed25519.SIGNATURE_SIZE);
+    } finally {
+      buffer.release();
     }
-    return null;
   }
 }
@@ -1,9 +1,5 @@
 package org.knowm.xchange.binance.service;
 
-import static org.knowm.xchange.utils.DigestUtils.bytesToHex;
-
-import java.nio.charset.StandardCharsets;
-import javax.crypto.Mac;
 import org.knowm.xchange.binance.auth.BinanceSigning;
 import org.knowm.xchange.service.BaseParamsDigest;
 import si.mazi.rescu.RestInvocation;
@@ -20,11 +16,6 @@ public class BinanceHmacDigest extends BaseParamsDigest {
 
   @Override
   public String digestParams(RestInvocation restInvocation) {
-    final String input = BinanceSigning.signingPayload(restInvocation);
-
-    Mac mac = getMac();
-    mac.update(input.getBytes(StandardCharsets.UTF_8));
-    String printBase64Binary = bytesToHex(mac.doFinal());
-    return printBase64Binary;
+    return hmacHex(BinanceSigning.signingPayload(restInvocation));
   }
 }
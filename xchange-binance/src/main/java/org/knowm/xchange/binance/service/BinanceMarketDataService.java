@@ -1,10 +1,13 @@
 package org.knowm.xchange.binance.service;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.knowm.xchange.binance.BinanceAdapters;
@@ -14,10 +17,12 @@ import org.knowm.xchange.binance.dto.BinanceException;
 import org.knowm.xchange.binance.dto.marketdata.BinanceFundingRateHistory;
 import org.knowm.xchange.binance.dto.marketdata.BinanceOrderbook;
 import org.knowm.xchange.binance.dto.marketdata.BinanceTicker24h;
+import org.knowm.xchange.binance.dto.marketdata.KlineInterval;
 import org.knowm.xchange.client.ResilienceRegistries;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.derivative.FuturesContract;
 import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.CandleStickData;
 import org.knowm.xchange.dto.marketdata.FundingRate;
 import org.knowm.xchange.dto.marketdata.FundingRates;
 import org.knowm.xchange.dto.marketdata.OrderBook;
@@ -28,11 +33,24 @@ import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.instrument.Instrument;
 import org.knowm.xchange.service.marketdata.MarketDataService;
+import org.knowm.xchange.service.marketdata.backfill.CandleStickBackfill;
+import org.knowm.xchange.service.marketdata.backfill.CandleStickCache;
 import org.knowm.xchange.service.marketdata.params.Params;
+import org.knowm.xchange.service.trade.params.CandleStickBackfillParams;
+import org.knowm.xchange.service.trade.params.CandleStickDataParams;
+import org.knowm.xchange.service.trade.params.DefaultCandleStickParam;
+import org.knowm.xchange.service.trade.params.DefaultCandleStickParamWithLimit;
 
 public class BinanceMarketDataService extends BinanceMarketDataServiceRaw
     implements MarketDataService {
 
+  /** klines per backfill page, two less than a call returns to cover the candles before it */
+  private static final int BACKFILL_PAGE_SIZE = 998;
+
+  private static final int DEFAULT_BACKFILL_PARALLELISM = 4;
+
+  private final Map<Path, CandleStickCache> candleStickCaches = new ConcurrentHashMap<>();
+
   public BinanceMarketDataService(
       BinanceExchange exchange, ResilienceRegistries resilienceRegistries) {
     super(exchange, resilienceRegistries);
@@ -107,6 +125,79 @@ public class BinanceMarketDataService extends BinanceMarketDataServiceRaw
     return getBinanceOrderBook(instrument, args);
   }
 
+  @Override
+  public CandleStickData getCandleStickData(CurrencyPair currencyPair, CandleStickDataParams params)
+      throws IOException {
+    return getCandleStickData((Instrument) currencyPair, params);
+  }
+
+  /**
+   * Gets the candles closing between the start and end date of the params.
+   *
+   * <p>{@link DefaultCandleStickParamWithLimit} is served by a single call. Any other {@link
+   * DefaultCandleStickParam} is backfilled page by page, {@link CandleStickBackfillParams} sets the
+   * number of pages fetched at once and the on-disk cache.
+   */
+  @Override
+  public CandleStickData getCandleStickData(Instrument instrument, CandleStickDataParams params)
+      throws IOException {
+    if (!(params instanceof DefaultCandleStickParam)) {
+      throw new IllegalArgumentException("Params must be instance of DefaultCandleStickParam");
+    }
+    DefaultCandleStickParam candleStickParam = (DefaultCandleStickParam) params;
+    KlineInterval interval =
+        KlineInterval.getPeriodTypeFromSecs(candleStickParam.getPeriodInSecs());
+    if (interval == null) {
+      throw new IllegalArgumentException(
+          "Unsupported period " + candleStickParam.getPeriodInSecs() + "s");
+    }
+    Date startDate = candleStickParam.getStartDate();
+    Date endDate = candleStickParam.getEndDate();
+    Long start = startDate == null ? null : startDate.getTime();
+    Long end = endDate == null ? null : endDate.getTime();
+
+    try {
+      if (params instanceof DefaultCandleStickParamWithLimit) {
+        return new CandleStickData(
+            instrument,
+            klines(
+                    instrument,
+                    interval,
+                    ((DefaultCandleStickParamWithLimit) params).getLimit(),
+                    start,
+                    end)
+                .stream()
+                .map(BinanceAdapters::adaptBinanceCandleStick)
+                .collect(Collectors.toList()));
+      }
+      if (start == null) {
+        throw new IllegalArgumentException("A backfill needs a start date");
+      }
+      int parallelism = DEFAULT_BACKFILL_PARALLELISM;
+      CandleStickCache cache = null;
+      if (params instanceof CandleStickBackfillParams) {
+        CandleStickBackfillParams backfillParams = (CandleStickBackfillParams) params;
+        parallelism = backfillParams.getParallelism();
+        if (backfillParams.getCacheDirectory() != null) {
+          cache =
+              candleStickCaches.computeIfAbsent(
+                  backfillParams.getCacheDirectory(), CandleStickCache::new);
+        }
+      }
+      return new CandleStickBackfill(
+              (pair, pageStart, pageEnd) ->
+                  klinesClosingBetween(pair, interval, pageStart, pageEnd).stream()
+                      .map(BinanceAdapters::adaptBinanceCandleStick)
+                      .collect(Collectors.toList()),
+              interval.getMillis(),
+              BACKFILL_PAGE_SIZE,
+              parallelism)
+          .backfill(instrument, start, end == null ? System.currentTimeMillis() : end, cache);
+    } catch (BinanceException e) {
+      throw BinanceErrorAdapter.adapt(e);
+    }
+  }
+
   @Override
   public FundingRates getFundingRates() throws IOException {
     return BinanceAdapters.adaptFundingRates(getBinanceFundingRates());
@@ -134,23 +225,29 @@ public class BinanceMarketDataService extends BinanceMarketDataServiceRaw
 
   private OrderBook getBinanceOrderBook(Instrument instrument, Object... args) throws IOException {
     try {
-      int limitDepth = 100;
-
-      if (args != null && args.length == 1) {
-        Object arg0 = args[0];
-        if (!(arg0 instanceof Integer)) {
-          throw new ExchangeException("Argument 0 must be an Integer!");
-        } else {
-          limitDepth = (Integer) arg0;
-        }
-      }
-      BinanceOrderbook binanceOrderbook = getBinanceOrderbookAllProducts(instrument, limitDepth);
+      BinanceOrderbook binanceOrderbook =
+          getBinanceOrderbookAllProducts(instrument, orderBookLimit(args));
       return convertOrderBook(binanceOrderbook, instrument);
     } catch (BinanceException e) {
       throw BinanceErrorAdapter.adapt(e);
     }
   }
 
+  /** Depth of {@link #getOrderBook(Instrument, Object...)}, the optional Integer argument 0. */
+  static int orderBookLimit(Object... args) {
+    int limitDepth = 100;
+
+    if (args != null && args.length == 1) {
+      Object arg0 = args[0];
+      if (!(arg0 instanceof Integer)) {
+        throw new ExchangeException("Argument 0 must be an Integer!");
+      } else {
+        limitDepth = (Integer) arg0;
+      }
+    }
+    return limitDepth;
+  }
+
   public List<BinanceFundingRateHistory> getFundingRateHistory(
       Instrument instrument, Long startTime, Long endTime, Integer limit) throws IOException {
     return fundingRateHistoryRaw(instrument, startTime, endTime, limit);
@@ -5,6 +5,8 @@ import static org.knowm.xchange.binance.BinanceResilience.REQUEST_WEIGHT_RATE_LI
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import org.knowm.xchange.binance.BinanceAdapters;
 import org.knowm.xchange.binance.BinanceExchange;
@@ -20,7 +22,9 @@ import org.knowm.xchange.binance.dto.marketdata.BinanceTicker24h;
 import org.knowm.xchange.binance.dto.marketdata.KlineInterval;
 import org.knowm.xchange.binance.dto.meta.BinanceTime;
 import org.knowm.xchange.binance.dto.meta.exchangeinfo.BinanceExchangeInfo;
+import org.knowm.xchange.client.RequestPriority;
 import org.knowm.xchange.client.ResilienceRegistries;
+import org.knowm.xchange.client.ResilienceUtils;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.derivative.FuturesContract;
 import org.knowm.xchange.instrument.Instrument;
@@ -59,8 +63,19 @@ public class BinanceMarketDataServiceRaw extends BinanceBaseService {
 
   public BinanceOrderbook getBinanceOrderbookAllProducts(Instrument pair, Integer limit)
       throws IOException {
+    return depthCall(pair, limit).call();
+  }
+
+  public CompletableFuture<BinanceOrderbook> getBinanceOrderbookAllProductsAsync(
+      Instrument pair, Integer limit, Executor executor) {
+    return depthCall(pair, limit).callAsync(executor);
+  }
+
+  private ResilienceUtils.DecorateCallableApi<BinanceOrderbook> depthCall(
+      Instrument pair, Integer limit) {
     boolean isFutures = pair instanceof FuturesContract;
     return decorateApiCall(
+            RequestPriority.MARKET_DATA,
             () ->
                 isFutures
                     ? binanceUsdm.depth(BinanceAdapters.toSymbol(pair), limit)
@@ -68,8 +83,7 @@ public class BinanceMarketDataServiceRaw extends BinanceBaseService {
         .withRetry(retry("depth"))
         .withRateLimiter(
             rateLimiter(REQUEST_WEIGHT_RATE_LIMITER),
-            isFutures ? depthPermitsFutures(limit) : depthPermits(limit))
-        .call();
+            isFutures ? depthPermitsFutures(limit) : depthPermits(limit));
   }
 
   public List<BinanceAggTrades> aggTradesAllProducts(
@@ -77,6 +91,7 @@ public class BinanceMarketDataServiceRaw extends BinanceBaseService {
       throws IOException {
     if (pair instanceof FuturesContract) {
       return decorateApiCall(
+              RequestPriority.HISTORY,
               () ->
                   binanceUsdm.aggTrades(
                       BinanceAdapters.toSymbol(pair), fromId, startTime, endTime, limit))
@@ -85,6 +100,7 @@ public class BinanceMarketDataServiceRaw extends BinanceBaseService {
           .call();
     } else {
       return decorateApiCall(
+              RequestPriority.HISTORY,
               () ->
                   binanceSpot.aggTrades(
                       BinanceAdapters.toSymbol(pair), fromId, startTime, endTime, limit))
@@ -108,6 +124,7 @@ public class BinanceMarketDataServiceRaw extends BinanceBaseService {
     boolean isFutures = pair instanceof FuturesContract;
     List<Object[]> raw =
         decorateApiCall(
+                RequestPriority.HISTORY,
                 () ->
                     isFutures
                         ? binanceUsdm.klines(
@@ -132,6 +149,20 @@ public class BinanceMarketDataServiceRaw extends BinanceBaseService {
         .collect(Collectors.toList());
   }
 
+  /**
+   * Gets the klines closing from {@code startTime} until before {@code endTime}, at most 998 of
+   * them.
+   *
+   * <p>Binance selects klines by open time, so the call starts two intervals early to catch the
+   * klines opening before {@code startTime} and the surplus is dropped.
+   */
+  public List<BinanceKline> klinesClosingBetween(
+      Instrument pair, KlineInterval interval, long startTime, long endTime) throws IOException {
+    return klines(pair, interval, 1000, startTime - 2 * interval.getMillis(), endTime - 1).stream()
+        .filter(kline -> kline.getCloseTime() >= startTime && kline.getCloseTime() < endTime)
+        .collect(Collectors.toList());
+  }
+
   public List<BinanceTicker24h> ticker24hAllProducts(boolean isFutures) throws IOException {
     if (isFutures) {
       return decorateApiCall(binanceUsdm::ticker24h)
@@ -147,16 +178,22 @@ public class BinanceMarketDataServiceRaw extends BinanceBaseService {
   }
 
   public BinanceTicker24h ticker24hAllProducts(Instrument pair) throws IOException {
-    BinanceTicker24h ticker24h =
-        decorateApiCall(
-                () ->
-                    (pair instanceof FuturesContract)
-                        ? binanceUsdm.ticker24h(BinanceAdapters.toSymbol(pair))
-                        : binanceSpot.ticker24h(BinanceAdapters.toSymbol(pair)))
-            .withRetry(retry("ticker24h"))
-            .withRateLimiter(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER))
-            .call();
-    return ticker24h;
+    return ticker24hCall(pair).call();
+  }
+
+  public CompletableFuture<BinanceTicker24h> ticker24hAllProductsAsync(
+      Instrument pair, Executor executor) {
+    return ticker24hCall(pair).callAsync(executor);
+  }
+
+  private ResilienceUtils.DecorateCallableApi<BinanceTicker24h> ticker24hCall(Instrument pair) {
+    return decorateApiCall(
+            () ->
+                (pair instanceof FuturesContract)
+                    ? binanceUsdm.ticker24h(BinanceAdapters.toSymbol(pair))
+                    : binanceSpot.ticker24h(BinanceAdapters.toSymbol(pair)))
+        .withRetry(retry("ticker24h"))
+        .withRateLimiter(rateLimiter(REQUEST_WEIGHT_RATE_LIMITER));
   }
 
   public List<BinanceFundingRate> getBinanceFundingRates() throws IOException {
@@ -203,6 +240,7 @@ public class BinanceMarketDataServiceRaw extends BinanceBaseService {
   public List<BinanceFundingRateHistory> fundingRateHistoryRaw(
       Instrument instrument, Long startTime, Long endTime, Integer limit) throws IOException {
     return decorateApiCall(
+            RequestPriority.HISTORY,
             () ->
                 binanceUsdm.fundingRateHistory(
                     BinanceAdapters.toSymbol(instrument), startTime, endTime, limit))
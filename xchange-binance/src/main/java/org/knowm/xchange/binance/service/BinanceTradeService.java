@@ -7,8 +7,11 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.Value;
 import org.knowm.xchange.binance.BinanceAdapters;
 import org.knowm.xchange.binance.BinanceErrorAdapter;
@@ -30,11 +33,14 @@ import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.MarketOrder;
 import org.knowm.xchange.dto.trade.OpenOrders;
 import org.knowm.xchange.dto.trade.StopOrder;
+import org.knowm.xchange.dto.trade.UserTrade;
 import org.knowm.xchange.dto.trade.UserTrades;
 import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.exceptions.NotAvailableFromExchangeException;
 import org.knowm.xchange.instrument.Instrument;
 import org.knowm.xchange.service.trade.TradeService;
+import org.knowm.xchange.service.trade.history.TradeHistoryCursor;
+import org.knowm.xchange.service.trade.history.TradeHistoryIterator;
 import org.knowm.xchange.service.trade.params.CancelAllOrders;
 import org.knowm.xchange.service.trade.params.CancelOrderByIdParams;
 import org.knowm.xchange.service.trade.params.CancelOrderByInstrument;
@@ -57,6 +63,11 @@ import org.knowm.xchange.utils.Assert;
 
 public class BinanceTradeService extends BinanceTradeServiceRaw implements TradeService {
 
+  /** number of trades returned by myTrades without a limit */
+  private static final int DEFAULT_MY_TRADES_LIMIT = 500;
+  /** longest span between the start and end times of a myTrades query */
+  private static final long MY_TRADES_WINDOW_MILLIS = TimeUnit.DAYS.toMillis(1);
+
   public BinanceTradeService(BinanceExchange exchange, ResilienceRegistries resilienceRegistries) {
     super(exchange, resilienceRegistries);
   }
@@ -372,6 +383,86 @@ public class BinanceTradeService extends BinanceTradeServiceRaw implements Trade
     }
   }
 
+  /**
+   * Streams the trades of the instrument of the params, oldest first.
+   *
+   * <p>Binance doesn't combine a start id with start and end times, and a start time only selects
+   * the trades of the 24 hours that follow it. A start time is therefore walked window by window
+   * until a window holds trades, the pages after it are selected by the id following the last
+   * trade, and the stream ends at the end time of the params, or now.
+   */
+  @Override
+  public Stream<UserTrade> getTradeHistoryStream(TradeHistoryParams params) throws IOException {
+    Assert.isTrue(
+        params instanceof TradeHistoryParamsIdSpan,
+        "You need to provide a start id to page through the user trades.");
+    Date endTime =
+        params instanceof TradeHistoryParamsTimeSpan
+            ? ((TradeHistoryParamsTimeSpan) params).getEndTime()
+            : null;
+    Integer limit =
+        params instanceof TradeHistoryParamLimit
+            ? ((TradeHistoryParamLimit) params).getLimit()
+            : null;
+    int pageSize = limit == null ? DEFAULT_MY_TRADES_LIMIT : limit;
+
+    TradeHistoryParamsTimeSpan firstWindow = timeWindow(params);
+    if (firstWindow != null) {
+      firstWindow.setEndTime(windowEnd(firstWindow.getStartTime(), endTime));
+    }
+    TradeHistoryCursor cursor =
+        (pageParams, page) -> {
+          List<UserTrade> trades = page.getUserTrades();
+          TradeHistoryParamsTimeSpan window = timeWindow(pageParams);
+          if (trades.size() < pageSize) {
+            if (window == null || !window.getEndTime().before(orNow(endTime))) {
+              return false;
+            }
+            if (trades.isEmpty()) {
+              Date start = new Date(window.getEndTime().getTime() + 1);
+              window.setStartTime(start);
+              window.setEndTime(windowEnd(start, endTime));
+              return true;
+            }
+          }
+          long lastId =
+              trades.stream()
+                  .mapToLong(trade -> BinanceAdapters.id(trade.getId()))
+                  .max()
+                  .getAsLong();
+          if (pageParams instanceof TradeHistoryParamsTimeSpan) {
+            ((TradeHistoryParamsTimeSpan) pageParams).setStartTime(null);
+            ((TradeHistoryParamsTimeSpan) pageParams).setEndTime(null);
+          }
+          ((TradeHistoryParamsIdSpan) pageParams).setStartId(Long.toString(lastId + 1));
+          return true;
+        };
+    Stream<UserTrade> trades = TradeHistoryIterator.stream(this::getTradeHistory, params, cursor);
+    return endTime == null
+        ? trades
+        : trades.takeWhile(trade -> !trade.getTimestamp().after(endTime));
+  }
+
+  /** The time span of params selecting their trades by a start time rather than a start id. */
+  private static TradeHistoryParamsTimeSpan timeWindow(TradeHistoryParams params) {
+    if (((TradeHistoryParamsIdSpan) params).getStartId() != null
+        || !(params instanceof TradeHistoryParamsTimeSpan)
+        || ((TradeHistoryParamsTimeSpan) params).getStartTime() == null) {
+      return null;
+    }
+    return (TradeHistoryParamsTimeSpan) params;
+  }
+
+  private static Date windowEnd(Date start, Date endTime) {
+    Date end = orNow(endTime);
+    long windowEnd = start.getTime() + MY_TRADES_WINDOW_MILLIS;
+    return end.getTime() < windowEnd ? end : new Date(windowEnd);
+  }
+
+  private static Date orNow(Date endTime) {
+    return endTime == null ? new Date() : endTime;
+  }
+
   @Override
   public Collection<Order> getOrder(OrderQueryParams... params) throws IOException {
     try {
@@ -27,6 +27,7 @@ import org.knowm.xchange.binance.dto.trade.OrderType;
 import org.knowm.xchange.binance.dto.trade.TimeInForce;
 import org.knowm.xchange.binance.dto.trade.futures.BinanceChangeStatus;
 import org.knowm.xchange.binance.dto.trade.futures.BinanceFutureNewOrder;
+import org.knowm.xchange.client.RequestPriority;
 import org.knowm.xchange.client.ResilienceRegistries;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.derivative.FuturesContract;
@@ -152,6 +153,7 @@ public class BinanceTradeServiceRaw extends BinanceBaseService {
       BinanceNewOrder.NewOrderResponseType newOrderRespType)
       throws IOException, BinanceException {
     return decorateApiCall(
+            RequestPriority.ORDER_ENTRY,
             () ->
                 binanceSpotAuth.newOrder(
                     BinanceAdapters.toSymbol(pair),
@@ -189,6 +191,7 @@ public class BinanceTradeServiceRaw extends BinanceBaseService {
       BinanceNewOrder.NewOrderResponseType newOrderRespType)
       throws IOException, BinanceException {
     return decorateApiCall(
+            RequestPriority.ORDER_ENTRY,
             () ->
                 binancePortfolioMargin.newPortfolioMarginLinearOrder(
                     BinanceAdapters.toSymbol(pair),
@@ -223,6 +226,7 @@ public class BinanceTradeServiceRaw extends BinanceBaseService {
       BinanceNewOrder.NewOrderResponseType newOrderRespType)
       throws IOException, BinanceException {
     return decorateApiCall(
+            RequestPriority.ORDER_ENTRY,
             () ->
                 binancePortfolioMargin.newPortfolioMarginInverseOrder(
                     BinanceAdapters.toSymbol(pair, true),
@@ -261,6 +265,7 @@ public class BinanceTradeServiceRaw extends BinanceBaseService {
       BinanceNewOrder.NewOrderResponseType newOrderRespType)
       throws IOException, BinanceException {
     return decorateApiCall(
+            RequestPriority.ORDER_ENTRY,
             () ->
                 binanceUsdmAuth.newOrder(
                     BinanceAdapters.toSymbol(pair),
@@ -302,6 +307,7 @@ public class BinanceTradeServiceRaw extends BinanceBaseService {
       BinanceNewOrder.NewOrderResponseType newOrderRespType)
       throws IOException, BinanceException {
     return decorateApiCall(
+            RequestPriority.ORDER_ENTRY,
             () ->
                 binanceCoinmAuth.newInverseOrder(
                     BinanceAdapters.toSymbol(pair, true),
@@ -441,6 +447,7 @@ public class BinanceTradeServiceRaw extends BinanceBaseService {
     if (exchange.isPortfolioMarginEnabled()) {
 
       return decorateApiCall(
+              RequestPriority.ORDER_ENTRY,
               () ->
                   (pair instanceof FuturesContract)
                       ? (BinanceAdapters.isInverse(pair)
@@ -474,6 +481,7 @@ public class BinanceTradeServiceRaw extends BinanceBaseService {
           .call();
     } else {
       return decorateApiCall(
+              RequestPriority.ORDER_ENTRY,
               () ->
                   (pair instanceof FuturesContract)
                       ? (BinanceAdapters.isInverse(pair)
@@ -511,6 +519,7 @@ public class BinanceTradeServiceRaw extends BinanceBaseService {
   public List<BinanceCancelledOrder> cancelAllOpenOrdersAllProducts(Instrument pair)
       throws IOException, BinanceException {
     return decorateApiCall(
+            RequestPriority.ORDER_ENTRY,
             () ->
                 binanceSpotAuth.cancelAllOpenOrders(
                     BinanceAdapters.toSymbol(pair),
@@ -526,6 +535,7 @@ public class BinanceTradeServiceRaw extends BinanceBaseService {
   public BinanceChangeStatus cancelAllOpenOrdersAllFuturesProducts(Instrument pair)
       throws IOException, BinanceException {
     return decorateApiCall(
+            RequestPriority.ORDER_ENTRY,
             () ->
                 binanceUsdmAuth.cancelAllFutureOpenOrders(
                     BinanceAdapters.toSymbol(pair),
@@ -541,6 +551,7 @@ public class BinanceTradeServiceRaw extends BinanceBaseService {
   public List<BinanceOrder> allOrders(CurrencyPair pair, Long orderId, Integer limit)
       throws BinanceException, IOException {
     return decorateApiCall(
+            RequestPriority.HISTORY,
             () ->
                 binanceSpotAuth.allOrders(
                     BinanceAdapters.toSymbol(pair),
@@ -560,6 +571,7 @@ public class BinanceTradeServiceRaw extends BinanceBaseService {
       throws BinanceException, IOException {
     if (pair instanceof FuturesContract) {
       return decorateApiCall(
+              RequestPriority.HISTORY,
               () ->
                   binanceUsdmAuth.myFutureTrades(
                       BinanceAdapters.toSymbol(pair),
@@ -577,6 +589,7 @@ public class BinanceTradeServiceRaw extends BinanceBaseService {
           .call();
     } else {
       return decorateApiCall(
+              RequestPriority.HISTORY,
               () ->
                   binanceSpotAuth.myTrades(
                       BinanceAdapters.toSymbol(pair),
@@ -634,6 +647,7 @@ public class BinanceTradeServiceRaw extends BinanceBaseService {
     }
 
     return decorateApiCall(
+            RequestPriority.HISTORY,
             () ->
                 binanceWallet.getDustLog(
                     startTime,
@@ -690,6 +704,7 @@ public class BinanceTradeServiceRaw extends BinanceBaseService {
       BigDecimal price)
       throws IOException {
     return decorateApiCall(
+            RequestPriority.ORDER_ENTRY,
             () ->
                 binanceUsdmAuth.modifyOrder(
                     orderId,
@@ -739,6 +754,7 @@ public class BinanceTradeServiceRaw extends BinanceBaseService {
       Instrument instrument, Long orderId, long startTime, long endTime, int limit)
       throws IOException, BinanceException {
     return decorateApiCall(
+            RequestPriority.HISTORY,
             () ->
                 binanceUsdmAuth.getAllFutureOrders(
                     BinanceAdapters.toSymbol(instrument),
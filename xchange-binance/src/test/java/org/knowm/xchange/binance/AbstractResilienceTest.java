@@ -6,6 +6,7 @@ import com.github.tomakehurst.wiremock.junit.WireMockRule;
 import org.junit.Rule;
 import org.knowm.xchange.ExchangeFactory;
 import org.knowm.xchange.ExchangeSpecification;
+import org.knowm.xchange.client.HttpTransport;
 
 public class AbstractResilienceTest {
 
@@ -26,6 +27,11 @@ public class AbstractResilienceTest {
   }
 
   protected BinanceExchange createExchange(boolean retryEnabled, boolean rateLimiterEnabled) {
+    return createExchange(retryEnabled, rateLimiterEnabled, HttpTransport.URL_CONNECTION);
+  }
+
+  protected BinanceExchange createExchange(
+      boolean retryEnabled, boolean rateLimiterEnabled, HttpTransport transport) {
     BinanceExchange exchange =
         ExchangeFactory.INSTANCE.createExchangeWithoutSpecification(BinanceExchange.class);
     ExchangeSpecification specification = exchange.getDefaultExchangeSpecification();
@@ -36,6 +42,7 @@ public class AbstractResilienceTest {
     specification.setHttpReadTimeout(READ_TIMEOUT_MS);
     specification.getResilience().setRetryEnabled(retryEnabled);
     specification.getResilience().setRateLimiterEnabled(rateLimiterEnabled);
+    specification.getHttp().setTransport(transport);
     exchange.applySpecification(specification);
     return exchange;
   }
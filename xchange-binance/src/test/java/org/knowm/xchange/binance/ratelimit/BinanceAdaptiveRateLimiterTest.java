@@ -0,0 +1,147 @@
+package org.knowm.xchange.binance.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class BinanceAdaptiveRateLimiterTest {
+
+  private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:10Z"));
+  private final BinanceAdaptiveRateLimiter limiter = new BinanceAdaptiveRateLimiter(6000, clock);
+
+  @Test
+  public void testSyncsUsedWeightFromHeaders() {
+    limiter.update(telemetry("x-mbx-used-weight-1m", "5000"));
+
+    assertThat(limiter.getHeadroom()).isEqualTo(1000);
+    assertThat(limiter.getWaitTime()).isZero();
+
+    // the server count includes other processes and may go down only in a new minute
+    limiter.update(telemetry("x-mbx-used-weight-1m", "5500"));
+    assertThat(limiter.getHeadroom()).isEqualTo(500);
+  }
+
+  @Test
+  public void testHoldsCallsUntilNextMinuteOnceWeightIsUsedUp() {
+    limiter.update(telemetry("x-mbx-used-weight-1m", "6000"));
+
+    assertThat(limiter.getHeadroom()).isZero();
+    assertThat(limiter.getWaitTime()).isEqualTo(Duration.ofSeconds(50));
+
+    clock.advance(Duration.ofSeconds(50));
+    assertThat(limiter.getHeadroom()).isEqualTo(6000);
+    assertThat(limiter.getWaitTime()).isZero();
+  }
+
+  @Test
+  public void testHonorsRetryAfter() {
+    limiter.onRateLimitExceeded(telemetry("Retry-After", "120"));
+
+    assertThat(limiter.getHeadroom()).isZero();
+    assertThat(limiter.getWaitTime()).isEqualTo(Duration.ofSeconds(120));
+
+    clock.advance(Duration.ofSeconds(60));
+    assertThat(limiter.getWaitTime()).isEqualTo(Duration.ofSeconds(60));
+  }
+
+  @Test
+  public void testRateLimitWithoutRetryAfterHoldsUntilNextMinute() {
+    limiter.onRateLimitExceeded(telemetry("x-mbx-used-weight-1m", "10"));
+
+    assertThat(limiter.getWaitTime()).isEqualTo(Duration.ofSeconds(50));
+  }
+
+  @Test
+  public void testKeepsOrderCount() {
+    assertThat(limiter.getOrderCount10s()).isNull();
+
+    limiter.update(telemetry("x-mbx-order-count-10s", "7"));
+
+    assertThat(limiter.getOrderCount10s()).isEqualTo(7);
+  }
+
+  @Test
+  public void testDelaysCallsAtMostForTheTimeoutOfTheRateLimiter() {
+    RateLimiter rateLimiter = rateLimiter(Duration.ofMinutes(1));
+    limiter.update(telemetry("x-mbx-used-weight-1m", "6000"));
+
+    assertThat(limiter.getPermissionDelay(rateLimiter)).isEqualTo(Duration.ofSeconds(50));
+
+    limiter.onRateLimitExceeded(telemetry("Retry-After", "7200"));
+
+    assertThat(catchThrowable(() -> limiter.getPermissionDelay(rateLimiter)))
+        .isInstanceOf(RequestNotPermitted.class);
+  }
+
+  @Test
+  public void testRejectsCallsHeldLongerThanTheTimeoutWithoutWaiting() {
+    limiter.onRateLimitExceeded(telemetry("Retry-After", "7200"));
+
+    Throwable thrown = catchThrowable(() -> limiter.awaitPermission(rateLimiter(Duration.ZERO)));
+
+    assertThat(thrown).isInstanceOf(RequestNotPermitted.class);
+  }
+
+  @Test
+  public void testPermitsCallsRightAwayWithinTheWeightLimit() throws InterruptedException {
+    limiter.update(telemetry("x-mbx-used-weight-1m", "10"));
+
+    limiter.awaitPermission(rateLimiter(Duration.ZERO));
+
+    assertThat(limiter.getPermissionDelay(rateLimiter(Duration.ZERO))).isZero();
+  }
+
+  private static RateLimiter rateLimiter(Duration timeout) {
+    return RateLimiter.of(
+        "weight",
+        RateLimiterConfig.custom()
+            .limitRefreshPeriod(Duration.ofMinutes(1))
+            .limitForPeriod(6000)
+            .timeoutDuration(timeout)
+            .build());
+  }
+
+  private static BinanceRateLimitTelemetry telemetry(String header, String value) {
+    Map<String, List<String>> headers = Map.of(header, List.of(value));
+    return BinanceRateLimitTelemetry.fromHeaders(headers);
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant instant;
+
+    MutableClock(Instant instant) {
+      this.instant = instant;
+    }
+
+    void advance(Duration duration) {
+      instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
@@ -13,15 +13,18 @@ import io.github.resilience4j.ratelimiter.RateLimiterConfig;
 import io.github.resilience4j.ratelimiter.RequestNotPermitted;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 import org.junit.Test;
 import org.knowm.xchange.binance.AbstractResilienceTest;
 import org.knowm.xchange.binance.BinanceAdapters;
 import org.knowm.xchange.binance.BinanceExchange;
 import org.knowm.xchange.binance.BinanceResilience;
+import org.knowm.xchange.client.HttpTransport;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.marketdata.OrderBook;
 import org.knowm.xchange.dto.marketdata.Ticker;
 import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.service.marketdata.AsyncMarketDataService;
 import org.knowm.xchange.service.marketdata.MarketDataService;
 
 public class MarketDataServiceResilienceTest extends AbstractResilienceTest {
@@ -96,6 +99,153 @@ public class MarketDataServiceResilienceTest extends AbstractResilienceTest {
     assertThat(exception).isInstanceOf(RequestNotPermitted.class);
   }
 
+  @Test
+  public void shouldRetryAsyncCallIfFirstCallTimeouted() throws Exception {
+    BinanceAdapters.putSymbolMapping("BNBBTC", new CurrencyPair("BNB/BTC"));
+    // given
+    AsyncMarketDataService service = createExchangeWithRetryEnabled().getAsyncMarketDataService();
+    stubForTicker24WithFirstCallTimetoutAndSecondSuccessful();
+    Instrument instrument = new CurrencyPair("BNB/BTC");
+    // when
+    Ticker ticker = service.getTicker(instrument).get(10, TimeUnit.SECONDS);
+
+    // then
+    assertThat(ticker.getLast()).isEqualByComparingTo("4.00000200");
+  }
+
+  @Test(timeout = 2000)
+  public void shouldFailAsyncCallNotPermittedByRateLimiter() throws Exception {
+    // given
+    BinanceExchange exchange = createExchangeWithRateLimiterEnabled();
+    exchange
+        .getResilienceRegistries()
+        .rateLimiters()
+        .replace(
+            BinanceResilience.REQUEST_WEIGHT_RATE_LIMITER,
+            RateLimiter.of(
+                BinanceResilience.REQUEST_WEIGHT_RATE_LIMITER,
+                RateLimiterConfig.custom()
+                    .limitRefreshPeriod(Duration.ofMinutes(1))
+                    .limitForPeriod(350)
+                    .timeoutDuration(Duration.ofMillis(10))
+                    .build()));
+    AsyncMarketDataService service = exchange.getAsyncMarketDataService();
+    stubForDepth();
+    Instrument instrument = CurrencyPair.ETH_BTC;
+    // when
+    OrderBook orderBook = service.getOrderBook(instrument, 5000).join();
+    Throwable exception = catchThrowable(() -> service.getOrderBook(instrument, 5000).join());
+
+    // then
+    assertThat(orderBook.getAsks()).isNotEmpty();
+    assertThat(exception).hasCauseInstanceOf(RequestNotPermitted.class);
+  }
+
+  @Test
+  public void shouldSyncRateLimitersWithUsedWeightHeader() throws Exception {
+    // given
+    BinanceExchange exchange = createExchangeWithRateLimiterEnabled();
+    MarketDataService service = exchange.getMarketDataService();
+    stubFor(
+        get(urlPathEqualTo("/api/v3/depth"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withHeader("x-mbx-used-weight-1m", "5990")
+                    .withBodyFile("depth.json")));
+    // when
+    service.getOrderBook(CurrencyPair.ETH_BTC, 100);
+
+    // then
+    assertThat(exchange.getAdaptiveRateLimiter().getHeadroom()).isEqualTo(10);
+    assertThat(
+            exchange
+                .getResilienceRegistries()
+                .rateLimiters()
+                .rateLimiter(BinanceResilience.REQUEST_WEIGHT_RATE_LIMITER)
+                .getMetrics()
+                .getAvailablePermissions())
+        .isLessThanOrEqualTo(10);
+  }
+
+  @Test
+  public void shouldSyncRateLimitersWithUsedWeightHeaderOfAnyResponse() throws Exception {
+    BinanceAdapters.putSymbolMapping("BNBBTC", new CurrencyPair("BNB/BTC"));
+    // given
+    BinanceExchange exchange = createExchange(false, true, HttpTransport.JDK_HTTP_CLIENT);
+    MarketDataService service = exchange.getMarketDataService();
+    stubFor(
+        get(urlPathEqualTo("/api/v3/ticker/24hr"))
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withHeader("x-mbx-used-weight-1m", "5990")
+                    .withBodyFile("single-24hr-ticker.json")));
+    // when
+    service.getTicker(new CurrencyPair("BNB/BTC"));
+
+    // then
+    assertThat(exchange.getAdaptiveRateLimiter().getHeadroom()).isEqualTo(10);
+    assertThat(
+            exchange
+                .getResilienceRegistries()
+                .rateLimiters()
+                .rateLimiter(BinanceResilience.REQUEST_WEIGHT_RATE_LIMITER)
+                .getMetrics()
+                .getAvailablePermissions())
+        .isLessThanOrEqualTo(10);
+  }
+
+  @Test
+  public void shouldHoldCallsAfterRetryAfter() throws Exception {
+    // given
+    BinanceExchange exchange = createExchangeWithRateLimiterEnabled();
+    MarketDataService service = exchange.getMarketDataService();
+    stubFor(
+        get(urlPathEqualTo("/api/v3/depth"))
+            .willReturn(
+                aResponse()
+                    .withStatus(429)
+                    .withHeader("Content-Type", "application/json")
+                    .withHeader("Retry-After", "30")
+                    .withBody("{\"code\":-1003,\"msg\":\"Too many requests.\"}")));
+    // when
+    catchThrowable(() -> service.getOrderBook(CurrencyPair.ETH_BTC, 100));
+
+    // then
+    assertThat(exchange.getAdaptiveRateLimiter().getHeadroom()).isZero();
+    assertThat(exchange.getAdaptiveRateLimiter().getWaitTime())
+        .isGreaterThan(Duration.ofSeconds(29));
+  }
+
+  @Test(timeout = 2000)
+  public void shouldRejectCallsHeldLongerThanTheRateLimiterTimeout() throws Exception {
+    // given
+    BinanceExchange exchange = createExchangeWithRateLimiterEnabled();
+    MarketDataService service = exchange.getMarketDataService();
+    AsyncMarketDataService asyncService = exchange.getAsyncMarketDataService();
+    stubFor(
+        get(urlPathEqualTo("/api/v3/depth"))
+            .willReturn(
+                aResponse()
+                    .withStatus(418)
+                    .withHeader("Content-Type", "application/json")
+                    .withHeader("Retry-After", "7200")
+                    .withBody("{\"code\":-1003,\"msg\":\"Way too many requests.\"}")));
+    catchThrowable(() -> service.getOrderBook(CurrencyPair.ETH_BTC, 100));
+
+    // when
+    Throwable exception = catchThrowable(() -> service.getOrderBook(CurrencyPair.ETH_BTC, 100));
+    Throwable asyncException =
+        catchThrowable(() -> asyncService.getOrderBook(CurrencyPair.ETH_BTC, 100).join());
+
+    // then
+    assertThat(exception).isInstanceOf(RequestNotPermitted.class);
+    assertThat(asyncException).hasCauseInstanceOf(RequestNotPermitted.class);
+  }
+
   private void stubForTicker24WithFirstCallTimetoutAndSecondSuccessful() {
     stubFor(
         get(urlPathEqualTo("/api/v3/ticker/24hr"))
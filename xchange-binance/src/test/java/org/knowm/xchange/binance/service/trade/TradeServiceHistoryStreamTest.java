@@ -0,0 +1,114 @@
+package org.knowm.xchange.binance.service.trade;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.assertj.core.groups.Tuple;
+import org.junit.Test;
+import org.knowm.xchange.binance.AbstractResilienceTest;
+import org.knowm.xchange.binance.BinanceExchange;
+import org.knowm.xchange.binance.dto.trade.BinanceTradeHistoryParams;
+import org.knowm.xchange.binance.service.BinanceTradeService;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.Trades.TradeSortType;
+import org.knowm.xchange.dto.trade.UserTrade;
+import org.knowm.xchange.dto.trade.UserTrades;
+import org.knowm.xchange.service.trade.params.TradeHistoryParams;
+
+public class TradeServiceHistoryStreamTest extends AbstractResilienceTest {
+
+  private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+  private static final long T0 = 1_700_000_000_000L;
+
+  @Test
+  public void testWalksTheDayWindowsThenPagesByIdFromTheFirstTrades() {
+    StubTradeService service = new StubTradeService(createExchangeWithRetryDisabled());
+    service.trades.add(trade(10, T0 + 30 * HOUR));
+    service.trades.add(trade(11, T0 + 31 * HOUR));
+    service.trades.add(trade(12, T0 + 50 * HOUR));
+    BinanceTradeHistoryParams params = new BinanceTradeHistoryParams(CurrencyPair.BTC_USDT);
+    params.setStartTime(new Date(T0));
+    params.setEndTime(new Date(T0 + 60 * HOUR));
+    params.setLimit(2);
+
+    List<String> ids;
+    try (Stream<UserTrade> trades = service.getTradeHistoryStream(params)) {
+      ids = trades.map(UserTrade::getId).collect(Collectors.toList());
+    }
+
+    assertThat(ids).containsExactly("10", "11", "12");
+    assertThat(service.queries)
+        .containsExactly(
+            tuple(T0, T0 + 24 * HOUR, null),
+            tuple(T0 + 24 * HOUR + 1, T0 + 48 * HOUR + 1, null),
+            tuple(null, null, "12"));
+  }
+
+  @Test
+  public void testStopsAtTheEndTimeWhenNoWindowHoldsTrades() {
+    StubTradeService service = new StubTradeService(createExchangeWithRetryDisabled());
+    BinanceTradeHistoryParams params = new BinanceTradeHistoryParams(CurrencyPair.BTC_USDT);
+    params.setStartTime(new Date(T0));
+    params.setEndTime(new Date(T0 + 30 * HOUR));
+
+    List<UserTrade> trades;
+    try (Stream<UserTrade> stream = service.getTradeHistoryStream(params)) {
+      trades = stream.collect(Collectors.toList());
+    }
+
+    assertThat(trades).isEmpty();
+    assertThat(service.queries)
+        .containsExactly(
+            tuple(T0, T0 + 24 * HOUR, null), tuple(T0 + 24 * HOUR + 1, T0 + 30 * HOUR, null));
+  }
+
+  private static UserTrade trade(long id, long time) {
+    return UserTrade.builder()
+        .type(OrderType.BID)
+        .originalAmount(BigDecimal.ONE)
+        .instrument(CurrencyPair.BTC_USDT)
+        .price(BigDecimal.TEN)
+        .timestamp(new Date(time))
+        .id(Long.toString(id))
+        .build();
+  }
+
+  /** Answers myTrades from a list of trades, the way Binance selects them, without a connection. */
+  private static class StubTradeService extends BinanceTradeService {
+    final List<UserTrade> trades = new ArrayList<>();
+    final List<Tuple> queries = new CopyOnWriteArrayList<>();
+
+    StubTradeService(BinanceExchange exchange) {
+      super(exchange, exchange.getResilienceRegistries());
+    }
+
+    @Override
+    public UserTrades getTradeHistory(TradeHistoryParams params) {
+      BinanceTradeHistoryParams query = (BinanceTradeHistoryParams) params;
+      Long startTime = query.getStartTime() == null ? null : query.getStartTime().getTime();
+      Long endTime = query.getEndTime() == null ? null : query.getEndTime().getTime();
+      queries.add(tuple(startTime, endTime, query.getStartId()));
+      int limit = query.getLimit() == null ? 500 : query.getLimit();
+      List<UserTrade> page =
+          trades.stream()
+              .filter(
+                  trade ->
+                      query.getStartId() != null
+                          ? Long.parseLong(trade.getId()) >= Long.parseLong(query.getStartId())
+                          : trade.getTimestamp().getTime() >= startTime
+                              && trade.getTimestamp().getTime() <= endTime)
+              .limit(limit)
+              .collect(Collectors.toList());
+      return new UserTrades(page, TradeSortType.SortByID);
+    }
+  }
+}
@@ -32,9 +32,15 @@ import org.knowm.xchange.bybit.dto.marketdata.tickers.linear.BybitLinearInverseT
 import org.knowm.xchange.bybit.dto.marketdata.tickers.option.BybitOptionTicker;
 import org.knowm.xchange.bybit.dto.marketdata.tickers.spot.BybitSpotTicker;
 import org.knowm.xchange.bybit.dto.trade.*;
+import org.knowm.xchange.bybit.dto.trade.batch.BybitBatchAmendOrderRequest;
+import org.knowm.xchange.bybit.dto.trade.batch.BybitBatchOrderResult;
+import org.knowm.xchange.bybit.dto.trade.batch.BybitBatchPlaceOrderRequest;
+import org.knowm.xchange.bybit.dto.trade.batch.BybitBatchResult;
+import org.knowm.xchange.bybit.dto.trade.batch.BybitBatchRetExtItem;
 import org.knowm.xchange.bybit.dto.trade.details.BybitHedgeMode;
 import org.knowm.xchange.bybit.dto.trade.details.BybitOrderDetail;
 import org.knowm.xchange.bybit.dto.trade.details.BybitTimeInForce;
+import org.knowm.xchange.bybit.dto.trade.execution.BybitExecution;
 import org.knowm.xchange.bybit.service.BybitException;
 import org.knowm.xchange.currency.Currency;
 import org.knowm.xchange.currency.CurrencyPair;
@@ -56,6 +62,8 @@ import org.knowm.xchange.dto.marketdata.Ticker.Builder;
 import org.knowm.xchange.dto.meta.InstrumentMetaData;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.MarketOrder;
+import org.knowm.xchange.dto.trade.OrderResult;
+import org.knowm.xchange.dto.trade.UserTrade;
 import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.instrument.Instrument;
 
@@ -431,6 +439,20 @@ public class BybitAdapters {
         .build();
   }
 
+  public static UserTrade adaptUserTrade(BybitExecution execution, BybitCategory category) {
+    return UserTrade.builder()
+        .id(execution.getExecId())
+        .orderId(execution.getOrderId())
+        .orderUserReference(execution.getOrderLinkId())
+        .instrument(convertBybitSymbolToInstrument(execution.getSymbol(), category))
+        .type(getOrderType(execution.getSide()))
+        .originalAmount(new BigDecimal(execution.getExecQty()))
+        .price(new BigDecimal(execution.getExecPrice()))
+        .feeAmount(execution.getExecFee() == null ? null : new BigDecimal(execution.getExecFee()))
+        .timestamp(new Date(Long.parseLong(execution.getExecTime())))
+        .build();
+  }
+
   /**
    * Maps one Bybit position to the generic {@link OpenPosition} model. The hedge-mode subposition
    * identity is preserved in the id ({@code symbol:positionIdx}) because the generic model has no
@@ -643,6 +665,67 @@ public class BybitAdapters {
         null);
   }
 
+  public static BybitBatchPlaceOrderRequest adaptBatchPlaceOrder(BybitPlaceOrderPayload payload) {
+    return BybitBatchPlaceOrderRequest.builder()
+        .symbol(payload.getSymbol())
+        .side(payload.getSide())
+        .orderType(payload.getOrderType())
+        .qty(payload.getQty())
+        .orderLinkId(payload.getOrderLinkId())
+        .price(payload.getPrice())
+        .timeInForce(payload.getTimeInForce())
+        .reduceOnly(payload.getReduceOnly())
+        .positionIdx(payload.getPositionIdx())
+        .stopLoss(payload.getStopLoss())
+        .slTriggerBy(payload.getSlTriggerBy())
+        .slLimitPrice(payload.getSlLimitPrice())
+        .tpslMode(payload.getTpslMode())
+        .build();
+  }
+
+  public static BybitBatchAmendOrderRequest adaptBatchAmendOrder(BybitAmendOrderPayload payload) {
+    return BybitBatchAmendOrderRequest.builder()
+        .symbol(payload.getSymbol())
+        .orderId(payload.getOrderId())
+        .orderLinkId(payload.getOrderLinkId())
+        .qty(payload.getQty())
+        .price(payload.getPrice())
+        .build();
+  }
+
+  /**
+   * One result per order of a batch, the outcome of each order is in {@code retExtInfo.list}
+   * at the same index. The results carry the order link id the order was sent with.
+   */
+  public static List<OrderResult> adaptBatchResult(BybitBatchResult batchResult) {
+    List<BybitBatchOrderResult> orders =
+        batchResult.getResult() == null ? null : batchResult.getResult().getList();
+    List<BybitBatchRetExtItem> outcomes =
+        batchResult.getRetExtInfo() == null ? null : batchResult.getRetExtInfo().getList();
+    if (orders == null || outcomes == null || orders.size() != outcomes.size()) {
+      throw new BybitException(
+          batchResult.getRetCode(), batchResult.getRetMsg(), batchResult.getRetExtInfo());
+    }
+    List<OrderResult> results = new ArrayList<>(orders.size());
+    for (int i = 0; i < orders.size(); i++) {
+      String orderId = emptyToNull(orders.get(i).getOrderId());
+      String orderLinkId = emptyToNull(orders.get(i).getOrderLinkId());
+      BybitBatchRetExtItem outcome = outcomes.get(i);
+      results.add(
+          outcome.getCode() == null || outcome.getCode() == 0
+              ? OrderResult.success(orderId).withUserReference(orderLinkId)
+              : OrderResult.failure(outcome.getCode() + ": " + outcome.getMsg())
+                  .withOrderId(orderId)
+                  .withUserReference(orderLinkId));
+    }
+    return results;
+  }
+
+  /** Bybit answers the identifiers of a rejected order as empty strings. */
+  private static String emptyToNull(String value) {
+    return value == null || value.isEmpty() ? null : value;
+  }
+
   public static CandleStickData adaptCandleStickData(
       BybitKlines bybitKlines, BybitCategory category) {
     Instrument instrument = convertBybitSymbolToInstrument(bybitKlines.getSymbol(), category);
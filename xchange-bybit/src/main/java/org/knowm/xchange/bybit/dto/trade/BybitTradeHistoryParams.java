@@ -0,0 +1,35 @@
+package org.knowm.xchange.bybit.dto.trade;
+
+import java.util.Date;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.service.trade.params.TradeHistoryParamInstrument;
+import org.knowm.xchange.service.trade.params.TradeHistoryParamLimit;
+import org.knowm.xchange.service.trade.params.TradeHistoryParamNextPageCursor;
+import org.knowm.xchange.service.trade.params.TradeHistoryParamsTimeSpan;
+
+/**
+ * Executions of an instrument from {@code /v5/execution/list}. The time span is at most 7 days,
+ * the limit at most 100, and the cursor is the one of the previous page.
+ */
+@Data
+@NoArgsConstructor
+public class BybitTradeHistoryParams
+    implements TradeHistoryParamInstrument,
+        TradeHistoryParamsTimeSpan,
+        TradeHistoryParamLimit,
+        TradeHistoryParamNextPageCursor {
+
+  /** mandatory */
+  private Instrument instrument;
+
+  private Date startTime;
+  private Date endTime;
+  private Integer limit;
+  private String nextPageCursor;
+
+  public BybitTradeHistoryParams(Instrument instrument) {
+    this.instrument = instrument;
+  }
+}
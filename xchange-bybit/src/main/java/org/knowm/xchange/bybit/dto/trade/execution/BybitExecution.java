@@ -31,6 +31,9 @@ public class BybitExecution {
   @JsonProperty("execType")
   String execType;
 
+  @JsonProperty("execId")
+  String execId;
+
   @JsonProperty("execFee")
   String execFee;
 
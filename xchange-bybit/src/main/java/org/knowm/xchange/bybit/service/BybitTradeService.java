@@ -1,6 +1,9 @@
 package org.knowm.xchange.bybit.service;
 
 import static org.knowm.xchange.bybit.BybitAdapters.adaptBybitOrderDetails;
+import static org.knowm.xchange.bybit.BybitAdapters.adaptBatchAmendOrder;
+import static org.knowm.xchange.bybit.BybitAdapters.adaptBatchPlaceOrder;
+import static org.knowm.xchange.bybit.BybitAdapters.adaptBatchResult;
 import static org.knowm.xchange.bybit.BybitAdapters.adaptBybitPosition;
 import static org.knowm.xchange.bybit.BybitAdapters.adaptChangeOrder;
 import static org.knowm.xchange.bybit.BybitAdapters.adaptLimitOrder;
@@ -14,6 +17,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.knowm.xchange.bybit.BybitAdapters;
 import org.knowm.xchange.bybit.BybitExchange;
 import org.knowm.xchange.bybit.dto.BybitCategory;
@@ -26,27 +30,50 @@ import org.knowm.xchange.bybit.dto.trade.BybitCancelAllOrdersParams;
 import org.knowm.xchange.bybit.dto.trade.BybitCancelOrderParams;
 import org.knowm.xchange.bybit.dto.trade.BybitOpenOrdersParam;
 import org.knowm.xchange.bybit.dto.trade.BybitOrderResponse;
+import org.knowm.xchange.bybit.dto.trade.BybitTradeHistoryParams;
+import org.knowm.xchange.bybit.dto.trade.batch.BybitBatchAmendPayload;
+import org.knowm.xchange.bybit.dto.trade.batch.BybitBatchCancelOrderRequest;
+import org.knowm.xchange.bybit.dto.trade.batch.BybitBatchCancelPayload;
+import org.knowm.xchange.bybit.dto.trade.batch.BybitBatchPlacePayload;
 import org.knowm.xchange.bybit.dto.trade.details.BybitOrderDetail;
 import org.knowm.xchange.bybit.dto.trade.details.BybitOrderDetails;
+import org.knowm.xchange.bybit.dto.trade.execution.BybitExecutions;
 import org.knowm.xchange.client.ResilienceRegistries;
 import org.knowm.xchange.dto.Order;
 import org.knowm.xchange.dto.account.OpenPosition;
+import org.knowm.xchange.dto.marketdata.Trades.TradeSortType;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.MarketOrder;
 import org.knowm.xchange.dto.trade.OpenOrders;
+import org.knowm.xchange.dto.trade.OrderResult;
+import org.knowm.xchange.dto.trade.UserTrade;
+import org.knowm.xchange.dto.trade.UserTrades;
 import org.knowm.xchange.dto.account.OpenPositions;
 import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.instrument.Instrument;
 import org.knowm.xchange.service.trade.TradeService;
+import org.knowm.xchange.service.trade.batch.OrderBatches;
+import org.knowm.xchange.service.trade.history.TradeHistoryCursor;
+import org.knowm.xchange.service.trade.history.TradeHistoryIterator;
 import org.knowm.xchange.service.trade.params.CancelAllOrders;
 import org.knowm.xchange.service.trade.params.CancelOrderByIdParams;
 import org.knowm.xchange.service.trade.params.CancelOrderByInstrument;
 import org.knowm.xchange.service.trade.params.CancelOrderByUserReferenceParams;
 import org.knowm.xchange.service.trade.params.CancelOrderParams;
+import org.knowm.xchange.service.trade.params.TradeHistoryParamInstrument;
+import org.knowm.xchange.service.trade.params.TradeHistoryParamLimit;
+import org.knowm.xchange.service.trade.params.TradeHistoryParamNextPageCursor;
+import org.knowm.xchange.service.trade.params.TradeHistoryParams;
+import org.knowm.xchange.service.trade.params.TradeHistoryParamsTimeSpan;
 import org.knowm.xchange.service.trade.params.orders.OpenOrdersParams;
 
 public class BybitTradeService extends BybitTradeServiceRaw implements TradeService {
 
+  /** Orders per batch request, spot takes fewer than the derivatives. */
+  private static final int SPOT_BATCH_LIMIT = 10;
+
+  private static final int BATCH_LIMIT = 20;
+
   public BybitTradeService(BybitExchange exchange, ResilienceRegistries resilienceRegistries) {
     super(exchange, resilienceRegistries);
   }
@@ -191,6 +218,77 @@ public class BybitTradeService extends BybitTradeServiceRaw implements TradeServ
     return null;
   }
 
+  /**
+   * Gets a page of executions of the instrument of the params, newest first. The page carries the
+   * cursor of the next one.
+   */
+  @Override
+  public UserTrades getTradeHistory(TradeHistoryParams params) throws IOException {
+    if (!(params instanceof TradeHistoryParamInstrument)
+        || ((TradeHistoryParamInstrument) params).getInstrument() == null) {
+      throw new UnsupportedOperationException(
+          "Params must be instance of TradeHistoryParamInstrument with an instrument");
+    }
+    Instrument instrument = ((TradeHistoryParamInstrument) params).getInstrument();
+    BybitCategory category = BybitAdapters.getCategory(instrument);
+    String startTime = null;
+    String endTime = null;
+    if (params instanceof TradeHistoryParamsTimeSpan) {
+      TradeHistoryParamsTimeSpan timeSpan = (TradeHistoryParamsTimeSpan) params;
+      if (timeSpan.getStartTime() != null) {
+        startTime = Long.toString(timeSpan.getStartTime().getTime());
+      }
+      if (timeSpan.getEndTime() != null) {
+        endTime = Long.toString(timeSpan.getEndTime().getTime());
+      }
+    }
+    Integer limit =
+        params instanceof TradeHistoryParamLimit
+            ? ((TradeHistoryParamLimit) params).getLimit()
+            : null;
+    String cursor =
+        params instanceof TradeHistoryParamNextPageCursor
+            ? ((TradeHistoryParamNextPageCursor) params).getNextPageCursor()
+            : null;
+
+    BybitExecutions executions =
+        getExecutions(
+                category,
+                convertToBybitSymbol(instrument),
+                null,
+                null,
+                null,
+                startTime,
+                endTime,
+                limit,
+                cursor)
+            .getResult();
+    List<UserTrade> trades =
+        executions.getList() == null
+            ? Collections.emptyList()
+            : executions.getList().stream()
+                .map(execution -> BybitAdapters.adaptUserTrade(execution, category))
+                .collect(Collectors.toList());
+    return new UserTrades(
+        trades, 0, TradeSortType.SortByTimestamp, executions.getNextPageCursor());
+  }
+
+  /** Streams the executions of the instrument of the params, newest first. */
+  @Override
+  public Stream<UserTrade> getTradeHistoryStream(TradeHistoryParams params) throws IOException {
+    if (!(params instanceof TradeHistoryParamNextPageCursor)) {
+      throw new UnsupportedOperationException(
+          "Params must be instance of TradeHistoryParamNextPageCursor");
+    }
+    return TradeHistoryIterator.stream(
+        this::getTradeHistory, params, TradeHistoryCursor.nextPageCursor());
+  }
+
+  @Override
+  public TradeHistoryParams createTradeHistoryParams() {
+    return new BybitTradeHistoryParams();
+  }
+
   @Override
   public String changeOrder(LimitOrder order) throws IOException {
     BybitCategory category = BybitAdapters.getCategory(order.getInstrument());
@@ -237,6 +335,90 @@ public class BybitTradeService extends BybitTradeServiceRaw implements TradeServ
     }
   }
 
+  /** Places the orders by batches of the same category. */
+  @Override
+  public List<OrderResult> placeLimitOrders(List<LimitOrder> limitOrders) throws IOException {
+    return OrderBatches.inChunks(
+        limitOrders,
+        order -> BybitAdapters.getCategory(order.getInstrument()),
+        BybitTradeService::batchLimit,
+        chunk -> {
+          BybitCategory category = BybitAdapters.getCategory(chunk.get(0).getInstrument());
+          return adaptBatchResult(
+              createBatch(
+                  BybitBatchPlacePayload.builder()
+                      .category(category.getValue())
+                      .request(
+                          chunk.stream()
+                              .map(order -> adaptBatchPlaceOrder(adaptLimitOrder(order, category)))
+                              .collect(Collectors.toList()))
+                      .build()));
+        });
+  }
+
+  /** Amends the orders by batches of the same category. */
+  @Override
+  public List<OrderResult> changeOrders(List<LimitOrder> limitOrders) throws IOException {
+    return OrderBatches.inChunks(
+        limitOrders,
+        order -> BybitAdapters.getCategory(order.getInstrument()),
+        BybitTradeService::batchLimit,
+        chunk -> {
+          BybitCategory category = BybitAdapters.getCategory(chunk.get(0).getInstrument());
+          return adaptBatchResult(
+              amendBatch(
+                  BybitBatchAmendPayload.builder()
+                      .category(category.getValue())
+                      .request(
+                          chunk.stream()
+                              .map(order -> adaptBatchAmendOrder(adaptChangeOrder(order, category)))
+                              .collect(Collectors.toList()))
+                      .build()));
+        });
+  }
+
+  /**
+   * Cancels the orders by batches of the same category, the params must be instances of {@link
+   * BybitCancelOrderParams}.
+   */
+  @Override
+  public List<OrderResult> cancelOrders(List<CancelOrderParams> orderParams) throws IOException {
+    List<BybitCancelOrderParams> cancels = new ArrayList<>(orderParams.size());
+    for (CancelOrderParams params : orderParams) {
+      if (!(params instanceof BybitCancelOrderParams)
+          || ((BybitCancelOrderParams) params).getInstrument() == null) {
+        throw new UnsupportedOperationException(
+            "Params must be instances of BybitCancelOrderParams with an instrument");
+      }
+      cancels.add((BybitCancelOrderParams) params);
+    }
+    return OrderBatches.inChunks(
+        cancels,
+        params -> BybitAdapters.getCategory(params.getInstrument()),
+        BybitTradeService::batchLimit,
+        chunk ->
+            adaptBatchResult(
+                cancelBatch(
+                    BybitBatchCancelPayload.builder()
+                        .category(
+                            BybitAdapters.getCategory(chunk.get(0).getInstrument()).getValue())
+                        .request(
+                            chunk.stream()
+                                .map(
+                                    params ->
+                                        BybitBatchCancelOrderRequest.builder()
+                                            .symbol(convertToBybitSymbol(params.getInstrument()))
+                                            .orderId(params.getOrderId())
+                                            .orderLinkId(params.getUserReference())
+                                            .build())
+                                .collect(Collectors.toList()))
+                        .build())));
+  }
+
+  private static int batchLimit(BybitCategory category) {
+    return category == BybitCategory.SPOT ? SPOT_BATCH_LIMIT : BATCH_LIMIT;
+  }
+
   @Override
   public Collection<String> cancelAllOrders(CancelAllOrders params) throws IOException {
     if (params instanceof BybitCancelAllOrdersParams) {
@@ -0,0 +1,59 @@
+package org.knowm.xchange.bybit.service;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.tomakehurst.wiremock.matching.StringValuePattern;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.knowm.xchange.bybit.dto.trade.BybitTradeHistoryParams;
+import org.knowm.xchange.derivative.FuturesContract;
+import org.knowm.xchange.dto.trade.UserTrade;
+import org.knowm.xchange.service.trade.TradeService;
+
+/** The trade history stream follows the execution cursor until a page comes without one. */
+public class BybitTradeHistoryStreamTest extends BaseWiremockTest {
+
+  private static final String EXECUTIONS_PATH = "/v5/execution/list";
+
+  private void stubExecutionsPage(StringValuePattern cursorMatcher, String responseBody)
+      throws IOException {
+    stubFor(
+        get(urlPathEqualTo(EXECUTIONS_PATH))
+            .withQueryParam("cursor", cursorMatcher)
+            .willReturn(
+                aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody(IOUtils.resourceToString(responseBody, StandardCharsets.UTF_8))));
+  }
+
+  @Test
+  public void followsTheExecutionCursorUntilTheLastPage() throws IOException {
+    stubExecutionsPage(absent(), "/getExecutionsPage1.json5");
+    stubExecutionsPage(equalTo("page-2"), "/getExecutionsPage2.json5");
+    TradeService tradeService = createExchange().getTradeService();
+    BybitTradeHistoryParams params =
+        new BybitTradeHistoryParams(new FuturesContract("BTC/USDT/PERP"));
+
+    List<String> ids;
+    try (Stream<UserTrade> trades = tradeService.getTradeHistoryStream(params)) {
+      ids = trades.map(UserTrade::getId).collect(Collectors.toList());
+    }
+
+    assertThat(ids).containsExactly("exec-2", "exec-1");
+    verify(2, getRequestedFor(urlPathEqualTo(EXECUTIONS_PATH)));
+  }
+}
@@ -23,6 +23,7 @@ import org.knowm.xchange.dto.Order.OrderStatus;
 import org.knowm.xchange.dto.Order.OrderType;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.MarketOrder;
+import org.knowm.xchange.dto.trade.OrderResult;
 import org.knowm.xchange.instrument.Instrument;
 import org.knowm.xchange.service.trade.TradeService;
 
@@ -96,6 +97,38 @@ public class BybitTradeServiceTest extends BaseWiremockTest {
     assertThat(limitOrderId).isEqualTo("1321003749386327552");
   }
 
+  @Test
+  public void testPlaceLimitOrdersInBatchesPerCategory() throws IOException {
+    initPostStub("/v5/order/create-batch", "/createBatch.json5");
+
+    List<OrderResult> results =
+        tradeService.placeLimitOrders(
+            List.of(
+                limitOrder(new FuturesContract("BTC/USDT/PERP"), "link-batch-001"),
+                limitOrder(BTC_USDT, "link-spot-001"),
+                limitOrder(new FuturesContract("ETH/USDT/PERP"), "link-batch-002")));
+
+    assertThat(results.get(0))
+        .isEqualTo(
+            OrderResult.success("8e7d6c5b-4a3e-2f1d-0c9b-8a7b6c5d4e3f")
+                .withUserReference("link-batch-001"));
+    // the spot batch of one order is answered with two results, so it fails as a whole
+    assertThat(results.get(1).isSuccess()).isFalse();
+    assertThat(results.get(1).getUserReference()).isEqualTo("link-spot-001");
+    assertThat(results.get(2))
+        .isEqualTo(
+            OrderResult.failure("110007: The order is not found or does not exist")
+                .withUserReference("link-batch-002"));
+  }
+
+  private static LimitOrder limitOrder(Instrument instrument, String userReference) {
+    return new LimitOrder.Builder(OrderType.BID, instrument)
+        .originalAmount(new BigDecimal("0.1"))
+        .limitPrice(new BigDecimal("110"))
+        .userReference(userReference)
+        .build();
+  }
+
   @Test
   public void testChangeBybitOrder() throws IOException {
     initPostStub("/v5/order/amend", "/changeOrder.json5");
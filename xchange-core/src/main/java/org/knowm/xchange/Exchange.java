@@ -2,13 +2,21 @@ package org.knowm.xchange;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.Executor;
+import org.knowm.xchange.client.BlockingExecutors;
 import org.knowm.xchange.client.ResilienceRegistries;
 import org.knowm.xchange.dto.meta.ExchangeMetaData;
 import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.exceptions.NotYetImplementedForExchangeException;
 import org.knowm.xchange.instrument.Instrument;
 import org.knowm.xchange.service.account.AccountService;
+import org.knowm.xchange.service.account.AsyncAccountService;
+import org.knowm.xchange.service.account.AsyncAccountServiceAdapter;
+import org.knowm.xchange.service.marketdata.AsyncMarketDataService;
+import org.knowm.xchange.service.marketdata.AsyncMarketDataServiceAdapter;
 import org.knowm.xchange.service.marketdata.MarketDataService;
+import org.knowm.xchange.service.trade.AsyncTradeService;
+import org.knowm.xchange.service.trade.AsyncTradeServiceAdapter;
 import org.knowm.xchange.service.trade.TradeService;
 import si.mazi.rescu.SynchronizedValueFactory;
 
@@ -109,6 +117,44 @@ public interface Exchange {
    */
   AccountService getAccountService();
 
+  /**
+   * The non-blocking version of {@link #getMarketDataService()}. Unless the exchange implements it
+   * natively, its calls are those of the blocking service run on {@link #getAsyncExecutor()}.
+   *
+   * @return The exchange's asynchronous market data service
+   */
+  default AsyncMarketDataService getAsyncMarketDataService() {
+    return new AsyncMarketDataServiceAdapter(getMarketDataService(), getAsyncExecutor());
+  }
+
+  /**
+   * The non-blocking version of {@link #getTradeService()}. Unless the exchange implements it
+   * natively, its calls are those of the blocking service run on {@link #getAsyncExecutor()}.
+   *
+   * @return The exchange's asynchronous trade service
+   */
+  default AsyncTradeService getAsyncTradeService() {
+    return new AsyncTradeServiceAdapter(getTradeService(), getAsyncExecutor());
+  }
+
+  /**
+   * The non-blocking version of {@link #getAccountService()}. Unless the exchange implements it
+   * natively, its calls are those of the blocking service run on {@link #getAsyncExecutor()}.
+   *
+   * @return The exchange's asynchronous account service
+   */
+  default AsyncAccountService getAsyncAccountService() {
+    return new AsyncAccountServiceAdapter(getAccountService(), getAsyncExecutor());
+  }
+
+  /**
+   * @return The executor running the calls of the asynchronous services, virtual threads if
+   *     {@link ExchangeSpecification#isVirtualThreadsEnabled()}
+   */
+  default Executor getAsyncExecutor() {
+    return BlockingExecutors.forSpecification(getExchangeSpecification());
+  }
+
   /**
    * Initialize this instance with the remote meta data. Most exchanges require this method to be
    * called before {@link #getExchangeMetaData()}. Some exchanges require it before using some of
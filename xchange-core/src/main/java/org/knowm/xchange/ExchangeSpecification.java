@@ -1,8 +1,13 @@
 package org.knowm.xchange;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.knowm.xchange.client.HttpTransport;
+import si.mazi.rescu.IRestProxyFactory;
 
 /**
  * Specification to provide the following to {@link ExchangeFactory}:
@@ -74,8 +79,17 @@ public class ExchangeSpecification {
    */
   private int httpReadTimeout;
 
+  /**
+   * Run the blocking calls made on behalf of the caller, e.g. those of the asynchronous services,
+   * of the pooled http transport and the order book snapshots of the streaming services, on
+   * virtual threads rather than on pools of platform threads.
+   */
+  private boolean virtualThreadsEnabled;
+
   private ResilienceSpecification resilience = new ResilienceSpecification();
 
+  private HttpSpecification http = new HttpSpecification();
+
   /**
    * Override file for generating the {@link org.knowm.xchange.dto.meta.ExchangeMetaData} object. By
    * default, the {@link org.knowm.xchange.dto.meta.ExchangeMetaData} object is loaded at startup
@@ -180,4 +194,40 @@ public class ExchangeSpecification {
      */
     private boolean rateLimiterEnabled;
   }
+
+  @Data
+  public static class HttpSpecification {
+
+    /**
+     * Transport of the REST proxies of the exchange. With {@link HttpTransport#JDK_HTTP_CLIENT} all
+     * proxies share one connection pool, the settings below apply to that transport only.
+     */
+    private HttpTransport transport = HttpTransport.URL_CONNECTION;
+
+    /** Negotiate HTTP/2 with hosts supporting it, HTTP/1.1 otherwise. */
+    private boolean http2Enabled = true;
+
+    /**
+     * Maximum number of requests in flight per host, further requests wait for one to complete. 0
+     * for no limit.
+     */
+    private int maxConnectionsPerHost;
+
+    /** Ask for gzip compressed responses. */
+    private boolean compressionEnabled = true;
+
+    /**
+     * How long a connection stays idle in the pool before it is closed, null for the default of
+     * the JDK client. As the JDK client reads it once per JVM, it only applies if no JDK client was
+     * created before and the application did not set the {@code jdk.httpclient.keepalive.timeout}
+     * system properties itself.
+     */
+    private Duration idleConnectionTimeout;
+
+    /**
+     * Factory of the REST proxies. Overrides the {@link #transport} if set, otherwise it is created
+     * on first use and shared by all proxies of the exchange.
+     */
+    @EqualsAndHashCode.Exclude @ToString.Exclude private IRestProxyFactory restProxyFactory;
+  }
 }
@@ -0,0 +1,43 @@
+package org.knowm.xchange.client;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.knowm.xchange.ExchangeSpecification;
+
+/**
+ * Executors running blocking calls, e.g. REST calls waiting for their response or for rate limiter
+ * permits, off the thread of the caller.
+ *
+ * <p>With {@link ExchangeSpecification#isVirtualThreadsEnabled()} each call gets a virtual thread,
+ * so thousands of calls may wait at the same time without sizing a thread pool.
+ */
+public final class BlockingExecutors {
+
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+  /** Platform daemon threads, created as needed and reused */
+  public static final ExecutorService PLATFORM_THREADS =
+      Executors.newCachedThreadPool(
+          runnable -> {
+            Thread thread =
+                new Thread(runnable, "xchange-blocking-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  /** A new virtual thread per call */
+  public static final ExecutorService VIRTUAL_THREADS =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("xchange-virtual-", 0).factory());
+
+  private BlockingExecutors() {}
+
+  /**
+   * @return the executor of the blocking calls of an exchange
+   */
+  public static ExecutorService forSpecification(ExchangeSpecification exchangeSpecification) {
+    return exchangeSpecification != null && exchangeSpecification.isVirtualThreadsEnabled()
+        ? VIRTUAL_THREADS
+        : PLATFORM_THREADS;
+  }
+}
@@ -5,6 +5,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.knowm.xchange.ExchangeSpecification;
+import org.knowm.xchange.ExchangeSpecification.HttpSpecification;
 import org.knowm.xchange.interceptor.InterceptorProvider;
 import si.mazi.rescu.ClientConfig;
 import si.mazi.rescu.IRestProxyFactory;
@@ -20,7 +21,7 @@ public final class ExchangeRestProxyBuilder<T> {
   private ClientConfig clientConfig;
   private ResilienceRegistries resilienceRegistries;
   private String baseUrl;
-  private IRestProxyFactory restProxyFactory = new RestProxyFactoryImpl();
+  private IRestProxyFactory restProxyFactory;
 
   private ExchangeRestProxyBuilder(
       Class<T> restInterface, ExchangeSpecification exchangeSpecification) {
@@ -75,12 +76,40 @@ public final class ExchangeRestProxyBuilder<T> {
     if (resilienceRegistries == null) {
       resilienceRegistries = new ResilienceRegistries();
     }
+    if (restProxyFactory == null) {
+      restProxyFactory = createRestProxyFactory(exchangeSpecification);
+    }
     clientConfigCustomizers.forEach(
         clientConfigCustomizer -> clientConfigCustomizer.customize(clientConfig));
     return restProxyFactory.createProxy(
         restInterface, baseUrl, clientConfig, customInterceptors.toArray(new Interceptor[0]));
   }
 
+  /**
+   * Get the factory of the REST proxies of an exchange, as configured by its {@link
+   * HttpSpecification}. A pooled transport is created once and shared by all proxies of the
+   * exchange.
+   *
+   * @return a rescu proxy factory
+   */
+  public static IRestProxyFactory createRestProxyFactory(
+      ExchangeSpecification exchangeSpecification) {
+    HttpSpecification http = exchangeSpecification.getHttp();
+    synchronized (http) {
+      if (http.getRestProxyFactory() != null) {
+        return http.getRestProxyFactory();
+      }
+      switch (http.getTransport()) {
+        case JDK_HTTP_CLIENT:
+          http.setRestProxyFactory(new HttpClientRestProxyFactory(exchangeSpecification));
+          return http.getRestProxyFactory();
+        case URL_CONNECTION:
+        default:
+          return new RestProxyFactoryImpl();
+      }
+    }
+  }
+
   /**
    * Get a ClientConfig object which contains exchange-specific timeout values
    * (<i>httpConnTimeout</i> and <i>httpReadTimeout</i>) if they were present in the
@@ -0,0 +1,261 @@
+package org.knowm.xchange.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.Path;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.GZIPInputStream;
+import si.mazi.rescu.ClientConfig;
+import si.mazi.rescu.HttpResponseAware;
+import si.mazi.rescu.InvocationResult;
+import si.mazi.rescu.JacksonObjectMapperFactory;
+import si.mazi.rescu.JacksonResponseReader;
+import si.mazi.rescu.RequestWriterResolver;
+import si.mazi.rescu.RestInvocation;
+import si.mazi.rescu.RestMethodMetadata;
+import si.mazi.rescu.SynchronizedValueFactory;
+import si.mazi.rescu.serialization.jackson.DefaultJacksonObjectMapperFactory;
+
+/**
+ * Invokes the methods of a rescu interface over the {@link java.net.http.HttpClient} of a {@link
+ * HttpClientRestProxyFactory}.
+ */
+class HttpClientInvocationHandler implements InvocationHandler {
+
+  /** Headers the JDK client sets itself and refuses to take from the caller */
+  private static final Set<String> RESTRICTED_HEADERS =
+      Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+  private final HttpClientRestProxyFactory factory;
+  private final String baseUrl;
+  private final String intfacePath;
+  private final ClientConfig config;
+  private final RequestWriterResolver requestWriterResolver;
+  private final JacksonResponseReader responseReader;
+  private final Map<Method, RestMethodMetadata> methodMetadata = new ConcurrentHashMap<>();
+
+  HttpClientInvocationHandler(
+      HttpClientRestProxyFactory factory,
+      Class<?> restInterface,
+      String baseUrl,
+      ClientConfig config) {
+    this.factory = factory;
+    this.baseUrl = baseUrl;
+    this.config = config;
+    Path path = restInterface.getAnnotation(Path.class);
+    this.intfacePath = path == null ? "" : path.value();
+
+    JacksonObjectMapperFactory mapperFactory = config.getJacksonObjectMapperFactory();
+    ObjectMapper mapper =
+        (mapperFactory == null ? new DefaultJacksonObjectMapperFactory() : mapperFactory)
+            .createObjectMapper();
+    this.requestWriterResolver = RequestWriterResolver.createDefault(mapper);
+    this.responseReader = new JacksonResponseReader(mapper, config.isIgnoreHttpErrorCodes());
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    if (method.getDeclaringClass() == Object.class) {
+      return method.invoke(this, args);
+    }
+    RestMethodMetadata metadata =
+        methodMetadata.computeIfAbsent(
+            method, m -> RestMethodMetadata.create(m, baseUrl, intfacePath));
+
+    // as with rescu, a nonce is taken and its response awaited under one lock: a request sent
+    // asynchronously could otherwise overtake the one holding the previous nonce on the wire
+    Object nonceFactory = nonceFactory(args);
+    HttpResponse<byte[]> response;
+    if (nonceFactory == null) {
+      response = exchange(metadata, args);
+    } else {
+      synchronized (nonceFactory) {
+        response = exchange(metadata, args);
+      }
+    }
+    return read(metadata, response, new String(decode(response), charset(response)));
+  }
+
+  private HttpResponse<byte[]> exchange(RestMethodMetadata metadata, Object[] args)
+      throws IOException {
+    PendingResponse pending = send(metadata, args);
+    HttpResponse<byte[]> response = pending.await();
+    factory
+        .getMetrics()
+        .responded(pending.host, pending.started, response.statusCode(), response.body().length);
+    factory.responded(pending.host, response.statusCode(), response.headers().map());
+    return response;
+  }
+
+  private PendingResponse send(RestMethodMetadata metadata, Object[] args) throws IOException {
+    RestInvocation invocation =
+        RestInvocation.create(requestWriterResolver, metadata, args, config.getDefaultParamsMap());
+    HttpRequest request = request(invocation);
+    String host = request.uri().getHost();
+    try {
+      factory.acquire(host);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted waiting for a connection to " + host);
+    }
+    long started = factory.getMetrics().started(host);
+    try {
+      return new PendingResponse(
+          host,
+          started,
+          factory.getHttpClient().sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()));
+    } catch (RuntimeException e) {
+      factory.getMetrics().failed(host, started);
+      factory.release(host);
+      throw e;
+    }
+  }
+
+  private HttpRequest request(RestInvocation invocation) {
+    String body = invocation.getRequestBody();
+    HttpRequest.Builder builder =
+        HttpRequest.newBuilder(URI.create(invocation.getInvocationUrl()))
+            .method(
+                invocation.getHttpMethod(),
+                body == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8));
+    if (config.getHttpReadTimeout() > 0) {
+      builder.timeout(Duration.ofMillis(config.getHttpReadTimeout()));
+    }
+    if (invocation.getReqContentType() != null && body != null) {
+      builder.header("Content-Type", invocation.getReqContentType());
+    }
+    builder.header("Accept", "application/json");
+    if (factory.isCompressionEnabled()) {
+      builder.header("Accept-Encoding", "gzip");
+    }
+    invocation
+        .getHttpHeadersFromParams()
+        .forEach(
+            (name, value) -> {
+              if (value != null && !RESTRICTED_HEADERS.contains(name.toLowerCase())) {
+                builder.setHeader(name, value);
+              }
+            });
+    return builder.build();
+  }
+
+  private Object read(RestMethodMetadata metadata, HttpResponse<byte[]> response, String body)
+      throws IOException {
+    Map<String, List<String>> headers = response.headers().map();
+    int status = response.statusCode();
+    if (metadata.getReturnType() == String.class && status / 100 == 2) {
+      return body;
+    }
+    Object result;
+    try {
+      result = responseReader.read(new InvocationResult(body, status), metadata);
+    } catch (RuntimeException | IOException e) {
+      if (e instanceof HttpResponseAware) {
+        ((HttpResponseAware) e).setResponseHeaders(headers);
+      }
+      throw e;
+    }
+    if (result instanceof HttpResponseAware) {
+      ((HttpResponseAware) result).setResponseHeaders(headers);
+    }
+    return result;
+  }
+
+  private static Object nonceFactory(Object[] args) {
+    if (args != null) {
+      for (Object arg : args) {
+        if (arg instanceof SynchronizedValueFactory) {
+          return arg;
+        }
+      }
+    }
+    return null;
+  }
+
+  private static byte[] decode(HttpResponse<byte[]> response) throws IOException {
+    boolean gzip =
+        response
+            .headers()
+            .firstValue("Content-Encoding")
+            .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+            .orElse(false);
+    if (!gzip || response.body().length == 0) {
+      return response.body();
+    }
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+      return in.readAllBytes();
+    }
+  }
+
+  private static Charset charset(HttpResponse<byte[]> response) {
+    return response
+        .headers()
+        .firstValue("Content-Type")
+        .flatMap(
+            contentType -> {
+              for (String part : contentType.split(";")) {
+                String trimmed = part.trim();
+                if (trimmed.regionMatches(true, 0, "charset=", 0, 8)) {
+                  try {
+                    return Optional.of(Charset.forName(trimmed.substring(8).replace("\"", "")));
+                  } catch (RuntimeException e) {
+                    return Optional.empty();
+                  }
+                }
+              }
+              return Optional.empty();
+            })
+        .orElse(StandardCharsets.UTF_8);
+  }
+
+  /** A request sent and its response to come. */
+  private final class PendingResponse {
+    final String host;
+    final long started;
+    final CompletableFuture<HttpResponse<byte[]>> response;
+
+    PendingResponse(String host, long started, CompletableFuture<HttpResponse<byte[]>> response) {
+      this.host = host;
+      this.started = started;
+      this.response = response;
+    }
+
+    HttpResponse<byte[]> await() throws IOException {
+      try {
+        return response.get();
+      } catch (InterruptedException e) {
+        response.cancel(true);
+        factory.getMetrics().failed(host, started);
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted waiting for a response from " + host);
+      } catch (ExecutionException e) {
+        factory.getMetrics().failed(host, started);
+        if (e.getCause() instanceof IOException) {
+          throw (IOException) e.getCause();
+        }
+        throw new IOException(e.getCause());
+      } finally {
+        factory.release(host);
+      }
+    }
+  }
+}
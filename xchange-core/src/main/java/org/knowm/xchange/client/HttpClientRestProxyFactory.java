@@ -0,0 +1,195 @@
+package org.knowm.xchange.client;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+import org.knowm.xchange.ExchangeSpecification;
+import org.knowm.xchange.ExchangeSpecification.HttpSpecification;
+import si.mazi.rescu.ClientConfig;
+import si.mazi.rescu.IRestProxyFactory;
+import si.mazi.rescu.Interceptor;
+
+/**
+ * Creates rescu proxies sending their requests with one shared JDK {@link HttpClient}.
+ *
+ * <p>All proxies of a factory share the connection pool of its client, so a TLS handshake is paid
+ * once per connection rather than once per request, and HTTP/2 multiplexes concurrent requests
+ * over a single connection per host. Requests are signed, serialized and their responses mapped by
+ * rescu exactly as with its default transport, interceptors included.
+ *
+ * <p>Configured from the {@link HttpSpecification} of an exchange:
+ *
+ * <ul>
+ *   <li>{@code maxConnectionsPerHost} bounds the requests in flight per host, further requests
+ *       wait for one to complete
+ *   <li>{@code compressionEnabled} requests gzip responses
+ *   <li>{@code idleConnectionTimeout} sets how long idle connections stay in the pool
+ * </ul>
+ *
+ * The connect timeout, http proxy and whether to run on virtual threads come from the {@link
+ * ExchangeSpecification}, the read timeout of each request from the {@link ClientConfig} of its
+ * proxy. A custom SSL socket factory or hostname verifier of the {@link ClientConfig} cannot be
+ * applied to the JDK client, such proxies are rejected rather than created without them.
+ */
+public class HttpClientRestProxyFactory implements IRestProxyFactory {
+
+  private static final AtomicInteger THREAD_IDS = new AtomicInteger();
+
+  private static final String[] KEEP_ALIVE_PROPERTIES = {
+    "jdk.httpclient.keepalive.timeout", "jdk.httpclient.keepalive.timeout.h2"
+  };
+
+  @Getter private final HttpClient httpClient;
+  @Getter private final HttpMetrics metrics = new HttpMetrics();
+  private final ExecutorService executor;
+  private final int maxConnectionsPerHost;
+  private final boolean compressionEnabled;
+  private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+  private final List<HttpResponseListener> responseListeners = new CopyOnWriteArrayList<>();
+
+  public HttpClientRestProxyFactory(ExchangeSpecification exchangeSpecification) {
+    HttpSpecification http = exchangeSpecification.getHttp();
+    this.maxConnectionsPerHost = http.getMaxConnectionsPerHost();
+    this.compressionEnabled = http.isCompressionEnabled();
+    if (http.getIdleConnectionTimeout() != null) {
+      applyIdleConnectionTimeout(http.getIdleConnectionTimeout());
+    }
+    this.executor =
+        exchangeSpecification.isVirtualThreadsEnabled()
+            ? BlockingExecutors.VIRTUAL_THREADS
+            : Executors.newCachedThreadPool(
+                runnable -> {
+                  Thread thread =
+                      new Thread(runnable, "xchange-http-" + THREAD_IDS.incrementAndGet());
+                  thread.setDaemon(true);
+                  return thread;
+                });
+
+    HttpClient.Builder builder =
+        HttpClient.newBuilder()
+            .version(http.isHttp2Enabled() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .executor(executor);
+    if (exchangeSpecification.getHttpConnTimeout() > 0) {
+      builder.connectTimeout(Duration.ofMillis(exchangeSpecification.getHttpConnTimeout()));
+    }
+    if (exchangeSpecification.getProxyHost() != null
+        && exchangeSpecification.getProxyPort() != null) {
+      builder.proxy(
+          ProxySelector.of(
+              new InetSocketAddress(
+                  exchangeSpecification.getProxyHost(), exchangeSpecification.getProxyPort())));
+    }
+    this.httpClient = builder.build();
+  }
+
+  @Override
+  public <I> I createProxy(
+      Class<I> restInterface, String baseUrl, ClientConfig config, Interceptor... interceptors) {
+    if (config != null
+        && (config.getSslSocketFactory() != null || config.getHostnameVerifier() != null)) {
+      throw new IllegalArgumentException(
+          "A custom SSL socket factory or hostname verifier is not supported by the "
+              + HttpTransport.JDK_HTTP_CLIENT
+              + " transport, use "
+              + HttpTransport.URL_CONNECTION
+              + " for "
+              + restInterface.getName());
+    }
+    InvocationHandler handler =
+        new HttpClientInvocationHandler(
+            this, restInterface, baseUrl, config == null ? new ClientConfig() : config);
+    if (interceptors != null) {
+      for (Interceptor interceptor : interceptors) {
+        InvocationHandler next = handler;
+        handler = (proxy, method, args) -> interceptor.aroundInvoke(next, proxy, method, args);
+      }
+    }
+    return restInterface.cast(
+        Proxy.newProxyInstance(
+            restInterface.getClassLoader(), new Class<?>[] {restInterface}, handler));
+  }
+
+  @Override
+  public <I> I createProxy(Class<I> restInterface, String baseUrl) {
+    return createProxy(restInterface, baseUrl, null);
+  }
+
+  /**
+   * Runs a call of a proxy of this factory without blocking the caller, e.g. {@code
+   * factory.async(() -> binance.ticker24h(symbol))}.
+   *
+   * @return completes with the result of the call, or exceptionally with the exception it threw
+   */
+  public <R> CompletableFuture<R> async(Callable<R> call) {
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try {
+            return call.call();
+          } catch (RuntimeException e) {
+            throw e;
+          } catch (Exception e) {
+            throw new CompletionException(e);
+          }
+        },
+        executor);
+  }
+
+  /**
+   * Registers a listener called with the headers of every response of the proxies of this factory,
+   * which rescu only hands to results implementing {@link si.mazi.rescu.HttpResponseAware}.
+   */
+  public void addResponseListener(HttpResponseListener listener) {
+    responseListeners.add(listener);
+  }
+
+  /**
+   * Sets the keep-alive system properties of the JDK client unless the application did, they are
+   * read when the first JDK client of the JVM is created.
+   */
+  private static void applyIdleConnectionTimeout(Duration timeout) {
+    for (String property : KEEP_ALIVE_PROPERTIES) {
+      if (System.getProperty(property) == null) {
+        System.setProperty(property, String.valueOf(Math.max(1, timeout.getSeconds())));
+      }
+    }
+  }
+
+  void responded(String host, int statusCode, Map<String, List<String>> headers) {
+    for (HttpResponseListener listener : responseListeners) {
+      listener.onResponse(host, statusCode, headers);
+    }
+  }
+
+  boolean isCompressionEnabled() {
+    return compressionEnabled;
+  }
+
+  /** Waits for a request slot of the host, see {@link #release(String)}. */
+  void acquire(String host) throws InterruptedException {
+    if (maxConnectionsPerHost > 0) {
+      hostPermits.computeIfAbsent(host, h -> new Semaphore(maxConnectionsPerHost)).acquire();
+    }
+  }
+
+  void release(String host) {
+    if (maxConnectionsPerHost > 0) {
+      hostPermits.get(host).release();
+    }
+  }
+}
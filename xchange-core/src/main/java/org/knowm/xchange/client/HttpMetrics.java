@@ -0,0 +1,101 @@
+package org.knowm.xchange.client;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Value;
+
+/** Request counters per host of a {@link HttpClientRestProxyFactory}. */
+public final class HttpMetrics {
+
+  private final Map<String, Counters> hosts = new ConcurrentHashMap<>();
+
+  /** Statistics of one host at the time of {@link #snapshot()}. */
+  @Value
+  public static class HostStats {
+
+    /** Requests that got a response, whatever its status */
+    long responses;
+
+    /** Responses with a status of 400 or above */
+    long errorResponses;
+
+    /** Requests that failed without a response, e.g. on a timeout */
+    long failures;
+
+    /** Requests sent and not completed yet */
+    int inFlight;
+
+    /** Response bytes received, as sent over the wire (i.e. compressed) */
+    long bytesReceived;
+
+    /** Total time from sending a request to its response or failure */
+    Duration totalTime;
+
+    public Duration getAverageTime() {
+      long completed = responses + failures;
+      return completed == 0 ? Duration.ZERO : totalTime.dividedBy(completed);
+    }
+  }
+
+  /** Statistics per host, sorted by host. */
+  public Map<String, HostStats> snapshot() {
+    Map<String, HostStats> snapshot = new TreeMap<>();
+    hosts.forEach((host, counters) -> snapshot.put(host, counters.stats()));
+    return snapshot;
+  }
+
+  /** Statistics of a host, all zero if no request was sent to it. */
+  public HostStats get(String host) {
+    return counters(host).stats();
+  }
+
+  long started(String host) {
+    counters(host).inFlight.incrementAndGet();
+    return System.nanoTime();
+  }
+
+  void responded(String host, long startNanos, int status, long bytes) {
+    Counters counters = counters(host);
+    counters.inFlight.decrementAndGet();
+    counters.responses.increment();
+    if (status >= 400) {
+      counters.errorResponses.increment();
+    }
+    counters.bytesReceived.add(bytes);
+    counters.nanos.add(System.nanoTime() - startNanos);
+  }
+
+  void failed(String host, long startNanos) {
+    Counters counters = counters(host);
+    counters.inFlight.decrementAndGet();
+    counters.failures.increment();
+    counters.nanos.add(System.nanoTime() - startNanos);
+  }
+
+  private Counters counters(String host) {
+    return hosts.computeIfAbsent(host, h -> new Counters());
+  }
+
+  private static final class Counters {
+    final LongAdder responses = new LongAdder();
+    final LongAdder errorResponses = new LongAdder();
+    final LongAdder failures = new LongAdder();
+    final AtomicInteger inFlight = new AtomicInteger();
+    final LongAdder bytesReceived = new LongAdder();
+    final LongAdder nanos = new LongAdder();
+
+    HostStats stats() {
+      return new HostStats(
+          responses.sum(),
+          errorResponses.sum(),
+          failures.sum(),
+          inFlight.get(),
+          bytesReceived.sum(),
+          Duration.ofNanos(nanos.sum()));
+    }
+  }
+}
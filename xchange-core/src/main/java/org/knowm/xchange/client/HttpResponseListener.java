@@ -0,0 +1,21 @@
+package org.knowm.xchange.client;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Called by a {@link HttpClientRestProxyFactory} with every response it receives, whatever the
+ * result type of the call, e.g. to read rate limit headers.
+ */
+@FunctionalInterface
+public interface HttpResponseListener {
+
+  /**
+   * Called on the thread of the call, before its response is mapped.
+   *
+   * @param host the host the request was sent to
+   * @param statusCode the status of the response
+   * @param headers the headers of the response
+   */
+  void onResponse(String host, int statusCode, Map<String, List<String>> headers);
+}
@@ -0,0 +1,15 @@
+package org.knowm.xchange.client;
+
+/** Transport of the REST proxies, see {@link ExchangeRestProxyBuilder}. */
+public enum HttpTransport {
+
+  /** rescu's default transport, one {@link java.net.HttpURLConnection} per request. */
+  URL_CONNECTION,
+
+  /**
+   * The JDK {@link java.net.http.HttpClient}, see {@link HttpClientRestProxyFactory}. Connections
+   * are pooled and shared by all proxies of an exchange, and HTTP/2 multiplexes requests over one
+   * connection per host.
+   */
+  JDK_HTTP_CLIENT
+}
@@ -0,0 +1,20 @@
+package org.knowm.xchange.client;
+
+/**
+ * Priority classes of the calls sharing the rate limiters of an exchange, from the most to the
+ * least urgent, see {@link RequestScheduler}.
+ */
+public enum RequestPriority {
+
+  /** Placing, amending and cancelling orders. */
+  ORDER_ENTRY,
+
+  /** Calls without a priority of their own, like account and open order queries. */
+  DEFAULT,
+
+  /** Market data snapshots. */
+  MARKET_DATA,
+
+  /** Bulk history, backfills and pagination. */
+  HISTORY
+}
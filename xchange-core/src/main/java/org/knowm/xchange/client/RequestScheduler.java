@@ -0,0 +1,280 @@
+package org.knowm.xchange.client;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out the permits of rate limiters by {@link RequestPriority}, so urgent calls don't wait
+ * behind bulk traffic on the same budget.
+ *
+ * <p>A call getting no permit right away is queued by its priority class. Only the first call of
+ * the most urgent non-empty class takes permits as they are refreshed, a more urgent call arriving
+ * meanwhile goes first. A queued call is dropped with {@link RequestNotPermitted} once the timeout
+ * of the rate limiter, or the one it was given, has passed.
+ *
+ * <p>The first queued call waits for the next refresh of permits. The rate limiter doesn't tell
+ * when that is, so it is derived from the refresh period of its config and the last time its
+ * available permits were seen going up, polling until they were.
+ *
+ * <p>{@link ResilienceRegistries#requestScheduler()} schedules the calls decorated by {@link
+ * org.knowm.xchange.service.BaseResilientExchangeService#decorateApiCall(RequestPriority,
+ * ResilienceUtils.CallableApi)}.
+ */
+public final class RequestScheduler {
+
+  private static final RequestPriority[] PRIORITIES = RequestPriority.values();
+
+  /** wait of the first queued call until a refresh of permits has been seen */
+  private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private final Map<RateLimiter, Lane> lanes = new ConcurrentHashMap<>();
+
+  /**
+   * Decorates a call to acquire its permits through this scheduler, like {@link
+   * RateLimiter#decorateCallable(RateLimiter, int, java.util.concurrent.Callable)} does.
+   */
+  public <T> ResilienceUtils.CallableApi<T> decorateCallable(
+      RateLimiter rateLimiter,
+      int permits,
+      RequestPriority priority,
+      ResilienceUtils.CallableApi<T> callable) {
+    return () -> {
+      acquirePermission(rateLimiter, permits, priority);
+      try {
+        T result = callable.call();
+        rateLimiter.onResult(result);
+        return result;
+      } catch (IOException | RuntimeException e) {
+        rateLimiter.onError(e);
+        throw e;
+      }
+    };
+  }
+
+  /**
+   * Acquires permits, waiting at most the timeout of the rate limiter.
+   *
+   * @throws RequestNotPermitted if the permits were not acquired in time
+   */
+  public void acquirePermission(RateLimiter rateLimiter, int permits, RequestPriority priority) {
+    acquirePermission(
+        rateLimiter, permits, priority, rateLimiter.getRateLimiterConfig().getTimeoutDuration());
+  }
+
+  /**
+   * Acquires permits, waiting at most the given timeout.
+   *
+   * @throws RequestNotPermitted if the permits were not acquired in time
+   */
+  public void acquirePermission(
+      RateLimiter rateLimiter, int permits, RequestPriority priority, Duration timeout) {
+    long deadline = System.nanoTime() + timeout.toNanos();
+    Lane lane = lanes.computeIfAbsent(rateLimiter, Lane::new);
+    long nanosToWait;
+    try {
+      nanosToWait = lane.acquire(permits, priority, deadline);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw RequestNotPermitted.createRequestNotPermitted(rateLimiter);
+    }
+    if (nanosToWait < 0) {
+      lane.droppedRequests.incrementAndGet(priority.ordinal());
+      throw RequestNotPermitted.createRequestNotPermitted(rateLimiter);
+    }
+    if (nanosToWait > 0) {
+      // permits reserved by the rate limiter itself after another caller took the free ones
+      try {
+        TimeUnit.NANOSECONDS.sleep(nanosToWait);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw RequestNotPermitted.createRequestNotPermitted(rateLimiter);
+      }
+    }
+  }
+
+  /**
+   * Acquires permits without blocking the caller, waiting at most the timeout of the rate limiter.
+   * Permits free or reserved right away are waited for without holding a thread, a call queued
+   * behind others waits on a thread of the executor.
+   *
+   * @return completes once the permits are acquired, or exceptionally with {@link
+   *     RequestNotPermitted} if they were not acquired in time
+   */
+  public CompletableFuture<Void> acquirePermissionAsync(
+      RateLimiter rateLimiter, int permits, RequestPriority priority, Executor executor) {
+    long nanosToWait = lanes.computeIfAbsent(rateLimiter, Lane::new).tryAcquireFirst(permits);
+    if (nanosToWait >= 0) {
+      return ResilienceUtils.delay(nanosToWait, executor);
+    }
+    return CompletableFuture.runAsync(
+        () -> acquirePermission(rateLimiter, permits, priority), executor);
+  }
+
+  /**
+   * @return the number of calls of a priority class waiting for the permits of a rate limiter
+   */
+  public int getQueueDepth(RateLimiter rateLimiter, RequestPriority priority) {
+    Lane lane = lanes.get(rateLimiter);
+    return lane == null ? 0 : lane.queueDepths.get(priority.ordinal());
+  }
+
+  /**
+   * @return the number of calls of a priority class dropped for not getting the permits of a rate
+   *     limiter in time
+   */
+  public long getDroppedRequests(RateLimiter rateLimiter, RequestPriority priority) {
+    Lane lane = lanes.get(rateLimiter);
+    return lane == null ? 0 : lane.droppedRequests.get(priority.ordinal());
+  }
+
+  /** The queues of the calls waiting for the permits of one rate limiter. */
+  private final class Lane {
+
+    private final RateLimiter rateLimiter;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final AtomicIntegerArray queueDepths = new AtomicIntegerArray(PRIORITIES.length);
+    private final AtomicLongArray droppedRequests = new AtomicLongArray(PRIORITIES.length);
+
+    /** queued calls by priority, guarded by lock */
+    private final ArrayDeque<Object>[] queues;
+
+    /** guarded by lock */
+    private int waiting;
+
+    /** available permits left by the last call of tryAcquire, guarded by lock */
+    private int lastAvailable = Integer.MAX_VALUE;
+
+    /** nanoTime at which the available permits were last seen going up, guarded by lock */
+    private long refreshSeenNanos;
+
+    /** guarded by lock */
+    private boolean refreshSeen;
+
+    @SuppressWarnings("unchecked")
+    Lane(RateLimiter rateLimiter) {
+      this.rateLimiter = rateLimiter;
+      this.queues = new ArrayDeque[PRIORITIES.length];
+      for (int i = 0; i < queues.length; i++) {
+        queues[i] = new ArrayDeque<>();
+      }
+    }
+
+    /**
+     * @return nanoseconds to wait for reserved permits, or -1 if the deadline passed
+     */
+    long acquire(int permits, RequestPriority priority, long deadline) throws InterruptedException {
+      lock.lock();
+      try {
+        if (waiting == 0) {
+          long nanosToWait = tryAcquire(permits);
+          if (nanosToWait >= 0) {
+            return nanosToWait;
+          }
+        }
+        Object waiter = new Object();
+        enqueue(waiter, priority);
+        try {
+          while (true) {
+            long remaining = deadline - System.nanoTime();
+            long nanosToWait = remaining;
+            if (next() == waiter) {
+              long reserved = tryAcquire(permits);
+              if (reserved >= 0) {
+                return reserved;
+              }
+              nanosToWait = Math.min(remaining, nanosToRefresh());
+            }
+            if (remaining <= 0) {
+              return -1;
+            }
+            changed.awaitNanos(nanosToWait);
+          }
+        } finally {
+          dequeue(waiter, priority);
+          changed.signalAll();
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * @return nanoseconds to wait for the permits, or -1 if not available or other calls are queued
+     */
+    long tryAcquireFirst(int permits) {
+      lock.lock();
+      try {
+        return waiting == 0 ? tryAcquire(permits) : -1;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void enqueue(Object waiter, RequestPriority priority) {
+      queues[priority.ordinal()].addLast(waiter);
+      waiting++;
+      queueDepths.incrementAndGet(priority.ordinal());
+    }
+
+    private void dequeue(Object waiter, RequestPriority priority) {
+      queues[priority.ordinal()].remove(waiter);
+      waiting--;
+      queueDepths.decrementAndGet(priority.ordinal());
+    }
+
+    private Object next() {
+      for (ArrayDeque<Object> queue : queues) {
+        if (!queue.isEmpty()) {
+          return queue.peekFirst();
+        }
+      }
+      return null;
+    }
+
+    /**
+     * @return nanoseconds to wait for the permits, 0 if taken right away, or -1 if not available
+     */
+    private long tryAcquire(int permits) {
+      int available = rateLimiter.getMetrics().getAvailablePermissions();
+      if (available > lastAvailable) {
+        // only a refresh adds permits
+        refreshSeenNanos = System.nanoTime();
+        refreshSeen = true;
+      }
+      lastAvailable = available;
+      if (available < permits) {
+        return -1;
+      }
+      long nanosToWait = rateLimiter.reservePermission(permits);
+      if (nanosToWait >= 0) {
+        lastAvailable = available - permits;
+      }
+      return nanosToWait;
+    }
+
+    /**
+     * @return nanoseconds to the next refresh of permits, counted in refresh periods from the last
+     *     one seen, or the poll interval if none was seen yet
+     */
+    private long nanosToRefresh() {
+      long refreshPeriod = rateLimiter.getRateLimiterConfig().getLimitRefreshPeriod().toNanos();
+      if (!refreshSeen) {
+        return Math.min(POLL_NANOS, refreshPeriod);
+      }
+      return refreshPeriod - Math.floorMod(System.nanoTime() - refreshSeenNanos, refreshPeriod);
+    }
+  }
+}
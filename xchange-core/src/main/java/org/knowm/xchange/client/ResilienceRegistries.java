@@ -55,6 +55,8 @@ public class ResilienceRegistries {
 
   private final RateLimiterRegistry rateLimiterRegistry;
 
+  private final RequestScheduler requestScheduler = new RequestScheduler();
+
   public ResilienceRegistries() {
     this(DEFAULT_RETRY_CONFIG, DEFAULT_NON_IDEMPOTENT_CALLS_RETRY_CONFIG);
   }
@@ -87,6 +89,11 @@ public class ResilienceRegistries {
     return rateLimiterRegistry;
   }
 
+  /** Hands out the permits of {@link #rateLimiters()} to the calls by their priority. */
+  public RequestScheduler requestScheduler() {
+    return requestScheduler;
+  }
+
   private static RetryRegistry retryRegistryOf(
       RetryConfig globalRetryConfig, RetryConfig nonIdempotentCallsRetryConfig) {
     RetryRegistry registry = RetryRegistry.of(globalRetryConfig);
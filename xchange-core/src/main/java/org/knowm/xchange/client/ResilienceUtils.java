@@ -2,21 +2,58 @@ package org.knowm.xchange.client;
 
 import io.github.resilience4j.core.functions.Either;
 import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
 import io.github.resilience4j.retry.Retry;
 import jakarta.ws.rs.core.Response;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import org.knowm.xchange.ExchangeSpecification;
 import si.mazi.rescu.HttpStatusExceptionSupport;
 
 public final class ResilienceUtils {
 
+  /** Schedules the attempts of asynchronous retries, the attempts themselves run elsewhere */
+  private static final ScheduledExecutorService RETRY_SCHEDULER =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "xchange-retry-scheduler");
+            thread.setDaemon(true);
+            return thread;
+          });
+
   private ResilienceUtils() {}
 
   public static <T> DecorateCallableApi<T> decorateApiCall(
       ExchangeSpecification.ResilienceSpecification resilienceSpecification,
       CallableApi<T> callable) {
-    return new DecorateCallableApi<>(resilienceSpecification, callable);
+    return new DecorateCallableApi<>(resilienceSpecification, callable, null, null);
+  }
+
+  /**
+   * Decorates a call whose rate limiter permits are acquired through a {@link RequestScheduler}.
+   *
+   * @param requestScheduler scheduler handing out the permits
+   * @param priority priority of the call
+   */
+  public static <T> DecorateCallableApi<T> decorateApiCall(
+      ExchangeSpecification.ResilienceSpecification resilienceSpecification,
+      CallableApi<T> callable,
+      RequestScheduler requestScheduler,
+      RequestPriority priority) {
+    return new DecorateCallableApi<>(resilienceSpecification, callable, requestScheduler, priority);
   }
 
   /** Function which can be used check if a particular HTTP status code was returned */
@@ -47,21 +84,38 @@ public final class ResilienceUtils {
     }
   }
 
+  /** Decorates an asynchronous call, see {@link DecorateCallableApi#callAsync(Executor)}. */
+  private interface AsyncDecorator<T> {
+
+    Supplier<CompletionStage<T>> decorate(Supplier<CompletionStage<T>> call, Executor executor);
+  }
+
   public static class DecorateCallableApi<T> {
     private final ExchangeSpecification.ResilienceSpecification resilienceSpecification;
+    private final RequestScheduler requestScheduler;
+    private final RequestPriority priority;
+    private final CallableApi<T> undecorated;
+    private final List<AsyncDecorator<T>> asyncDecorators = new ArrayList<>();
     private CallableApi<T> callable;
 
     private DecorateCallableApi(
         ExchangeSpecification.ResilienceSpecification resilienceSpecification,
-        CallableApi<T> callable) {
+        CallableApi<T> callable,
+        RequestScheduler requestScheduler,
+        RequestPriority priority) {
       this.resilienceSpecification = resilienceSpecification;
+      this.undecorated = callable;
       this.callable = callable;
+      this.requestScheduler = requestScheduler;
+      this.priority = priority;
     }
 
     public DecorateCallableApi<T> withRetry(Retry retryContext) {
       if (resilienceSpecification.isRetryEnabled()) {
         this.callable =
             CallableApi.wrapCallable(Retry.decorateCallable(retryContext, this.callable));
+        this.asyncDecorators.add(
+            (call, executor) -> Retry.decorateCompletionStage(retryContext, RETRY_SCHEDULER, call));
       }
       return this;
     }
@@ -75,9 +129,58 @@ public final class ResilienceUtils {
 
     public DecorateCallableApi<T> withRateLimiter(RateLimiter rateLimiter, int permits) {
       if (resilienceSpecification.isRateLimiterEnabled()) {
+        if (requestScheduler != null) {
+          this.callable =
+              requestScheduler.decorateCallable(rateLimiter, permits, priority, this.callable);
+        } else {
+          this.callable =
+              CallableApi.wrapCallable(
+                  RateLimiter.decorateCallable(rateLimiter, permits, this.callable));
+        }
+        this.asyncDecorators.add(
+            (call, executor) ->
+                () ->
+                    acquirePermissionAsync(rateLimiter, permits, executor)
+                        .thenCompose(permitted -> call.get())
+                        .whenComplete(
+                            (result, e) -> {
+                              if (e == null) {
+                                rateLimiter.onResult(result);
+                              } else {
+                                rateLimiter.onError(unwrap(e));
+                              }
+                            }));
+      }
+      return this;
+    }
+
+    /**
+     * Holds the call while a limiter outside resilience4j asks to wait, for instance one following
+     * the usage the exchange reports. The delay is asked again before every attempt and after every
+     * wait; {@link #call()} sleeps through it, while {@link #callAsync(Executor)} schedules the call
+     * after it without holding a thread.
+     *
+     * @param delay returns how long the call has to wait, zero if it can be made right away, or
+     *     throws, e.g. {@link RequestNotPermitted}, if the call must not be made
+     */
+    public DecorateCallableApi<T> withDelay(Supplier<Duration> delay) {
+      if (resilienceSpecification.isRateLimiterEnabled()) {
+        CallableApi<T> delayed = this.callable;
         this.callable =
-            CallableApi.wrapCallable(
-                RateLimiter.decorateCallable(rateLimiter, permits, this.callable));
+            () -> {
+              Duration waitTime;
+              while (!(waitTime = delay.get()).isZero()) {
+                try {
+                  Thread.sleep(Math.max(1, waitTime.toMillis()));
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                  throw new InterruptedIOException("Interrupted while the call was held");
+                }
+              }
+              return delayed.call();
+            };
+        this.asyncDecorators.add(
+            (call, executor) -> () -> awaitDelay(delay, executor).thenCompose(waited -> call.get()));
       }
       return this;
     }
@@ -85,5 +188,82 @@ public final class ResilienceUtils {
     public T call() throws IOException {
       return this.callable.call();
     }
+
+    /**
+     * Makes the call without blocking the caller. The call itself runs on the executor, while
+     * waiting for rate limiter permits or for the next retry attempt holds no thread, unless a
+     * {@link RequestScheduler} queues the call behind more urgent ones.
+     *
+     * @param executor runs the call
+     * @return completes with the result, or exceptionally with the exception the call would have
+     *     thrown, e.g. {@link IOException} or {@link RequestNotPermitted}
+     */
+    public CompletableFuture<T> callAsync(Executor executor) {
+      Supplier<CompletionStage<T>> call =
+          () ->
+              CompletableFuture.supplyAsync(
+                  () -> {
+                    try {
+                      return undecorated.call();
+                    } catch (IOException e) {
+                      throw new CompletionException(e);
+                    }
+                  },
+                  executor);
+      for (AsyncDecorator<T> decorator : asyncDecorators) {
+        call = decorator.decorate(call, executor);
+      }
+      try {
+        return call.get().toCompletableFuture();
+      } catch (RuntimeException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+    }
+
+    private static CompletableFuture<Void> awaitDelay(
+        Supplier<Duration> delay, Executor executor) {
+      Duration waitTime;
+      try {
+        waitTime = delay.get();
+      } catch (RuntimeException e) {
+        return CompletableFuture.failedFuture(e);
+      }
+      if (waitTime.isZero()) {
+        return CompletableFuture.completedFuture(null);
+      }
+      return delay(waitTime.toNanos(), executor)
+          .thenCompose(waited -> awaitDelay(delay, executor));
+    }
+
+    private CompletableFuture<Void> acquirePermissionAsync(
+        RateLimiter rateLimiter, int permits, Executor executor) {
+      if (requestScheduler != null) {
+        return requestScheduler.acquirePermissionAsync(rateLimiter, permits, priority, executor);
+      }
+      long nanosToWait = rateLimiter.reservePermission(permits);
+      if (nanosToWait < 0) {
+        return CompletableFuture.failedFuture(
+            RequestNotPermitted.createRequestNotPermitted(rateLimiter));
+      }
+      return delay(nanosToWait, executor);
+    }
+  }
+
+  /** Completes after the delay without holding a thread meanwhile. */
+  static CompletableFuture<Void> delay(long nanos, Executor executor) {
+    if (nanos <= 0) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return CompletableFuture.runAsync(
+        () -> {}, CompletableFuture.delayedExecutor(nanos, TimeUnit.NANOSECONDS, executor));
+  }
+
+  /** The exception thrown by an asynchronous call, rather than its wrapper. */
+  public static Throwable unwrap(Throwable throwable) {
+    while ((throwable instanceof CompletionException || throwable instanceof ExecutionException)
+        && throwable.getCause() != null) {
+      throwable = throwable.getCause();
+    }
+    return throwable;
   }
 }
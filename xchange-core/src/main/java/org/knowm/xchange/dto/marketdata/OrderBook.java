@@ -5,8 +5,12 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.locks.StampedLock;
@@ -21,6 +25,12 @@ import org.knowm.xchange.instrument.Instrument;
 public final class OrderBook implements Serializable {
 
   private static final long serialVersionUID = -7788306758114464314L;
+
+  private static final LimitOrder[] NO_ORDERS = new LimitOrder[0];
+
+  private static final Comparator<OrderBookUpdate> UPDATE_ORDER =
+      Comparator.comparing(OrderBookUpdate::getLimitOrder);
+
   @JsonIgnore public final StampedLock lock = new StampedLock();
 
   /** the asks */
@@ -32,6 +42,12 @@ public final class OrderBook implements Serializable {
   /** the timestamp of the orderbook according to the exchange's server, null if not provided */
   @Getter private Date timeStamp;
 
+  /** number of updates applied to this book, see {@link #snapshot()} */
+  @JsonIgnore @Getter private long version;
+
+  /** levels set aside by {@link #update(Collection)} while it merges, reused across batches */
+  private transient ArrayDeque<LimitOrder> displaced;
+
   /**
    * Constructor
    *
@@ -151,6 +167,7 @@ public final class OrderBook implements Serializable {
             limitOrders.add(idx, limitOrder);
           }
           updateDate(limitOrder.getTimestamp());
+          version++;
           break;
         } else {
           lock.unlockRead(stamp);
@@ -194,6 +211,7 @@ public final class OrderBook implements Serializable {
             limitOrders.add(idx, updatedOrder);
           }
           updateDate(limitOrder.getTimestamp());
+          version++;
           break;
         } else {
           lock.unlockRead(stamp);
@@ -210,6 +228,167 @@ public final class OrderBook implements Serializable {
     }
   }
 
+  /**
+   * Applies a batch of OrderBookUpdates, e.g. all price levels of a single depth event, as if each
+   * of them was passed to {@link #update(OrderBookUpdate)} in iteration order.
+   *
+   * <p>The updates are sorted per side and merged into the existing levels in a single linear pass,
+   * under a single acquisition of the write lock. timeStamp is updated once, to the latest non-null
+   * timestamp of the batch if that is in the future.
+   *
+   * @param orderBookUpdates the new OrderBookUpdates
+   */
+  public void update(Collection<OrderBookUpdate> orderBookUpdates) {
+    if (orderBookUpdates.isEmpty()) {
+      return;
+    }
+    if (orderBookUpdates.size() == 1) {
+      update(orderBookUpdates.iterator().next());
+      return;
+    }
+    List<OrderBookUpdate> askUpdates = new ArrayList<>(orderBookUpdates.size());
+    List<OrderBookUpdate> bidUpdates = new ArrayList<>(orderBookUpdates.size());
+    Date latest = null;
+    for (OrderBookUpdate orderBookUpdate : orderBookUpdates) {
+      LimitOrder limitOrder = orderBookUpdate.getLimitOrder();
+      (limitOrder.getType() == OrderType.ASK ? askUpdates : bidUpdates).add(orderBookUpdate);
+      Date date = limitOrder.getTimestamp();
+      if (date != null && (latest == null || date.after(latest))) {
+        latest = date;
+      }
+    }
+    // the sort is stable, so the last update of a price level stays the last one
+    askUpdates.sort(UPDATE_ORDER);
+    bidUpdates.sort(UPDATE_ORDER);
+
+    long stamp = lock.writeLock();
+    try {
+      merge(asks, askUpdates);
+      merge(bids, bidUpdates);
+      updateDate(latest);
+      version++;
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  // Merges updates sorted in book order into the sorted limitOrders in place. The merged levels are
+  // written over the consumed ones, an unread level is only set aside while a new level takes its
+  // slot, and the levels before the first and after the last update are not touched.
+  private void merge(List<LimitOrder> limitOrders, List<OrderBookUpdate> sortedUpdates) {
+    if (sortedUpdates.isEmpty()) {
+      return;
+    }
+    if (displaced == null) {
+      displaced = new ArrayDeque<>();
+    }
+    int first = Collections.binarySearch(limitOrders, sortedUpdates.get(0).getLimitOrder());
+    int read = first >= 0 ? first : -first - 1;
+    int write = read;
+    int j = 0;
+    while (j < sortedUpdates.size()) {
+      OrderBookUpdate orderBookUpdate = sortedUpdates.get(j++);
+      LimitOrder limitOrder = orderBookUpdate.getLimitOrder();
+      // only the last update for a price counts
+      while (j < sortedUpdates.size()
+          && sortedUpdates.get(j).getLimitOrder().compareTo(limitOrder) == 0) {
+        orderBookUpdate = sortedUpdates.get(j++);
+        limitOrder = orderBookUpdate.getLimitOrder();
+      }
+      LimitOrder next;
+      while ((next = displaced.isEmpty() ? levelAt(limitOrders, read) : displaced.peekFirst())
+              != null
+          && next.compareTo(limitOrder) <= 0) {
+        if (displaced.isEmpty()) {
+          read++;
+        } else {
+          displaced.pollFirst();
+        }
+        // a level at the price of the update is replaced or removed by it
+        if (next.compareTo(limitOrder) < 0) {
+          read = place(limitOrders, write++, read, next);
+        }
+      }
+      BigDecimal volume = orderBookUpdate.getTotalVolume();
+      if (volume.compareTo(BigDecimal.ZERO) != 0) {
+        read = place(limitOrders, write++, read, withAmount(limitOrder, volume));
+      }
+    }
+    if (displaced.isEmpty()) {
+      // close the gap left by removed levels
+      limitOrders.subList(write, read).clear();
+    }
+    while (!displaced.isEmpty()) {
+      read = place(limitOrders, write++, read, displaced.pollFirst());
+    }
+  }
+
+  // Writes limitOrder to the slot at write, setting aside the unread level in it, and returns the
+  // index of the next unread level.
+  private int place(List<LimitOrder> limitOrders, int write, int read, LimitOrder limitOrder) {
+    if (write < read) {
+      limitOrders.set(write, limitOrder);
+      return read;
+    }
+    if (read < limitOrders.size()) {
+      displaced.addLast(limitOrders.set(write, limitOrder));
+    } else {
+      limitOrders.add(limitOrder);
+    }
+    return read + 1;
+  }
+
+  private static LimitOrder levelAt(List<LimitOrder> limitOrders, int index) {
+    return index < limitOrders.size() ? limitOrders.get(index) : null;
+  }
+
+  /**
+   * Returns an immutable copy of this order book, tagged with the {@link #getVersion() version} it
+   * was taken at.
+   *
+   * <p>Meant for books which are updated by a single stream thread and read by others. The copy is
+   * taken under an optimistic read of {@link #lock}, retried until no update came in between, so
+   * readers never block the writer and never observe a half-applied update. Unlike iterating {@link
+   * #getBids()} or {@link #getAsks()} directly this never throws a {@link
+   * java.util.ConcurrentModificationException}, provided that all changes go through the {@code
+   * update} methods.
+   *
+   * @return an immutable snapshot of this order book
+   */
+  public OrderBook snapshot() {
+    while (true) {
+      long stamp = lock.tryOptimisticRead();
+      if (stamp != 0L) {
+        try {
+          OrderBook snapshot = copy();
+          if (lock.validate(stamp)) {
+            return snapshot;
+          }
+        } catch (RuntimeException e) {
+          // the lists were modified while copying them, the stamp cannot be valid anymore
+          if (lock.validate(stamp)) {
+            throw e;
+          }
+        }
+      }
+      Thread.onSpinWait();
+    }
+  }
+
+  private OrderBook copy() {
+    long copyVersion = version;
+    Date copyTimeStamp = timeStamp;
+    LimitOrder[] askCopy = asks.toArray(NO_ORDERS);
+    LimitOrder[] bidCopy = bids.toArray(NO_ORDERS);
+    OrderBook snapshot =
+        new OrderBook(
+            copyTimeStamp,
+            Collections.unmodifiableList(Arrays.asList(askCopy)),
+            Collections.unmodifiableList(Arrays.asList(bidCopy)));
+    snapshot.version = copyVersion;
+    return snapshot;
+  }
+
   /**
    * @return true, if wee need to run binarySearch again
    */
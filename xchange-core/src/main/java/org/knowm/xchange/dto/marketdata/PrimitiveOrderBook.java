@@ -0,0 +1,369 @@
+package org.knowm.xchange.dto.marketdata;
+
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.RandomAccess;
+import lombok.Getter;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.instrument.Instrument;
+
+/**
+ * Array-backed order book keeping prices and sizes as {@code long}s scaled by a fixed number of
+ * decimal places.
+ *
+ * <p>Each side is a pair of sorted primitive arrays stored from the worst to the best level, so the
+ * frequent updates close to the top of the book only shift a handful of elements. Applying a level
+ * update through {@link #update(OrderType, long, long)} does not allocate unless a side has to
+ * grow.
+ *
+ * <p>Existing callers can keep working with {@link LimitOrder} lists through {@link #getBids()},
+ * {@link #getAsks()} and {@link #toOrderBook()}. Those are read-only views which materialize a
+ * {@link LimitOrder} only when an element is accessed.
+ *
+ * <p>Instances are not thread safe and are meant to be mutated by a single (stream) thread.
+ */
+public final class PrimitiveOrderBook {
+
+  @Getter private final Instrument instrument;
+
+  /** number of decimal places the long prices are scaled by */
+  @Getter private final int priceScale;
+
+  /** number of decimal places the long sizes are scaled by */
+  @Getter private final int sizeScale;
+
+  private final Side asks;
+  private final Side bids;
+
+  private final List<LimitOrder> askView;
+  private final List<LimitOrder> bidView;
+
+  /** the timestamp of the last applied update in epoch millis, 0 if not provided */
+  @Getter private long timeStamp;
+
+  /**
+   * Constructor
+   *
+   * @param instrument the instrument of the book, used when materializing {@link LimitOrder}s
+   * @param priceScale number of decimal places kept for prices
+   * @param sizeScale number of decimal places kept for sizes
+   * @param initialDepth expected number of levels per side
+   */
+  public PrimitiveOrderBook(
+      Instrument instrument, int priceScale, int sizeScale, int initialDepth) {
+    if (priceScale < 0 || sizeScale < 0) {
+      throw new IllegalArgumentException("Scales must not be negative");
+    }
+    this.instrument = instrument;
+    this.priceScale = priceScale;
+    this.sizeScale = sizeScale;
+    this.asks = new Side(false, Math.max(initialDepth, 16));
+    this.bids = new Side(true, Math.max(initialDepth, 16));
+    this.askView = new LevelView(OrderType.ASK, asks);
+    this.bidView = new LevelView(OrderType.BID, bids);
+  }
+
+  /**
+   * Builds a primitive book holding the same levels as the given order book.
+   *
+   * @param orderBook the source book
+   * @param instrument the instrument of the book
+   * @param priceScale number of decimal places kept for prices
+   * @param sizeScale number of decimal places kept for sizes
+   * @return a new primitive order book
+   */
+  public static PrimitiveOrderBook of(
+      OrderBook orderBook, Instrument instrument, int priceScale, int sizeScale) {
+    PrimitiveOrderBook book =
+        new PrimitiveOrderBook(
+            instrument,
+            priceScale,
+            sizeScale,
+            Math.max(orderBook.getAsks().size(), orderBook.getBids().size()));
+    book.reset(orderBook);
+    return book;
+  }
+
+  /**
+   * Replaces all levels by the ones of the given order book, e.g. after a fresh REST snapshot.
+   *
+   * @param orderBook the source book
+   */
+  public void reset(OrderBook orderBook) {
+    clear();
+    for (LimitOrder ask : orderBook.getAsks()) {
+      update(OrderType.ASK, ask.getLimitPrice(), ask.getRemainingAmount());
+    }
+    for (LimitOrder bid : orderBook.getBids()) {
+      update(OrderType.BID, bid.getLimitPrice(), bid.getRemainingAmount());
+    }
+    timeStamp = orderBook.getTimeStamp() == null ? 0L : orderBook.getTimeStamp().getTime();
+  }
+
+  /** Removes all levels from both sides. */
+  public void clear() {
+    asks.count = 0;
+    bids.count = 0;
+    timeStamp = 0L;
+  }
+
+  /**
+   * Sets the absolute size of a price level. A size of zero removes the level.
+   *
+   * @param type the side of the book
+   * @param price the price scaled by {@link #getPriceScale()}
+   * @param size the total size at this price scaled by {@link #getSizeScale()}
+   */
+  public void update(OrderType type, long price, long size) {
+    side(type).set(price, size);
+  }
+
+  /**
+   * Sets the absolute size of a price level. A size of zero removes the level.
+   *
+   * @param type the side of the book
+   * @param price the price
+   * @param size the total size at this price
+   * @throws ArithmeticException if a value does not fit the configured scale
+   */
+  public void update(OrderType type, BigDecimal price, BigDecimal size) {
+    update(type, toScaled(price, priceScale), toScaled(size, sizeScale));
+  }
+
+  /**
+   * Applies an {@link OrderBookUpdate} the same way {@link OrderBook#update(OrderBookUpdate)} does.
+   *
+   * @param orderBookUpdate the new OrderBookUpdate
+   */
+  public void update(OrderBookUpdate orderBookUpdate) {
+    LimitOrder limitOrder = orderBookUpdate.getLimitOrder();
+    update(limitOrder.getType(), limitOrder.getLimitPrice(), orderBookUpdate.getTotalVolume());
+    updateDate(limitOrder.getTimestamp());
+  }
+
+  /**
+   * Replace timeStamp if the provided one is in the future.
+   *
+   * @param epochMillis the new timestamp in epoch millis
+   */
+  public void updateDate(long epochMillis) {
+    if (epochMillis > timeStamp) {
+      timeStamp = epochMillis;
+    }
+  }
+
+  /**
+   * Replace timeStamp if the provided date is non-null and in the future.
+   *
+   * @param updateDate the new timestamp
+   */
+  public void updateDate(Date updateDate) {
+    if (updateDate != null) {
+      updateDate(updateDate.getTime());
+    }
+  }
+
+  /**
+   * @param type the side of the book
+   * @return the number of price levels on the side
+   */
+  public int depth(OrderType type) {
+    return side(type).count;
+  }
+
+  /**
+   * @param type the side of the book
+   * @param level the level, 0 being the best price
+   * @return the scaled price of the level
+   */
+  public long priceAt(OrderType type, int level) {
+    Side side = side(type);
+    return side.prices[side.index(level)];
+  }
+
+  /**
+   * @param type the side of the book
+   * @param level the level, 0 being the best price
+   * @return the scaled size of the level
+   */
+  public long sizeAt(OrderType type, int level) {
+    Side side = side(type);
+    return side.sizes[side.index(level)];
+  }
+
+  /**
+   * @param type the side of the book
+   * @param price the scaled price
+   * @return the scaled size at the price, 0 if there is no such level
+   */
+  public long sizeAtPrice(OrderType type, long price) {
+    Side side = side(type);
+    int idx = side.search(price);
+    return idx >= 0 ? side.sizes[idx] : 0L;
+  }
+
+  /**
+   * @return read-only view of the asks, materializing a {@link LimitOrder} per accessed level
+   */
+  public List<LimitOrder> getAsks() {
+    return askView;
+  }
+
+  /**
+   * @return read-only view of the bids, materializing a {@link LimitOrder} per accessed level
+   */
+  public List<LimitOrder> getBids() {
+    return bidView;
+  }
+
+  /**
+   * Adapts this book to an {@link OrderBook} backed by the lazy {@link #getAsks()} and {@link
+   * #getBids()} views. The result reflects further updates of this book and must not be updated
+   * itself.
+   *
+   * @return an order book view of this book
+   */
+  public OrderBook toOrderBook() {
+    return new OrderBook(timeStamp == 0L ? null : new Date(timeStamp), askView, bidView);
+  }
+
+  /**
+   * @param value the scaled value
+   * @param scale number of decimal places the value is scaled by
+   * @return the value as BigDecimal
+   */
+  public static BigDecimal fromScaled(long value, int scale) {
+    return BigDecimal.valueOf(value, scale);
+  }
+
+  /**
+   * @param value the value
+   * @param scale number of decimal places to keep
+   * @return the value scaled to a long
+   * @throws ArithmeticException if the value has more decimal places than the scale or overflows
+   */
+  public static long toScaled(BigDecimal value, int scale) {
+    return value.movePointRight(scale).longValueExact();
+  }
+
+  private Side side(OrderType type) {
+    return type == OrderType.ASK ? asks : bids;
+  }
+
+  @Override
+  public String toString() {
+    return "PrimitiveOrderBook [instrument="
+        + instrument
+        + ", timestamp: "
+        + timeStamp
+        + ", asks="
+        + askView
+        + ", bids="
+        + bidView
+        + "]";
+  }
+
+  /**
+   * One side of the book. Levels are sorted from the worst to the best price, so that the best
+   * price sits at {@code count - 1}.
+   */
+  private static final class Side {
+
+    private final boolean descending;
+    private long[] prices;
+    private long[] sizes;
+    private int count;
+
+    private Side(boolean descending, int capacity) {
+      this.descending = descending;
+      this.prices = new long[capacity];
+      this.sizes = new long[capacity];
+    }
+
+    private int index(int level) {
+      if (level < 0 || level >= count) {
+        throw new IndexOutOfBoundsException("Level " + level + " of " + count);
+      }
+      return count - 1 - level;
+    }
+
+    /**
+     * Binary search with the same contract as {@link Arrays#binarySearch(long[], long)}. The
+     * storage order is the reverse of the book order, i.e. ascending prices for bids and descending
+     * prices for asks.
+     */
+    private int search(long price) {
+      int low = 0;
+      int high = count - 1;
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+        long midPrice = prices[mid];
+        if (midPrice == price) {
+          return mid;
+        }
+        if (descending == (midPrice < price)) {
+          low = mid + 1;
+        } else {
+          high = mid - 1;
+        }
+      }
+      return -(low + 1);
+    }
+
+    private void set(long price, long size) {
+      int idx = search(price);
+      if (idx >= 0) {
+        if (size == 0L) {
+          System.arraycopy(prices, idx + 1, prices, idx, count - idx - 1);
+          System.arraycopy(sizes, idx + 1, sizes, idx, count - idx - 1);
+          count--;
+        } else {
+          sizes[idx] = size;
+        }
+      } else if (size != 0L) {
+        idx = -idx - 1;
+        if (count == prices.length) {
+          prices = Arrays.copyOf(prices, count << 1);
+          sizes = Arrays.copyOf(sizes, count << 1);
+        }
+        System.arraycopy(prices, idx, prices, idx + 1, count - idx);
+        System.arraycopy(sizes, idx, sizes, idx + 1, count - idx);
+        prices[idx] = price;
+        sizes[idx] = size;
+        count++;
+      }
+    }
+  }
+
+  private final class LevelView extends AbstractList<LimitOrder> implements RandomAccess {
+
+    private final OrderType type;
+    private final Side side;
+
+    private LevelView(OrderType type, Side side) {
+      this.type = type;
+      this.side = side;
+    }
+
+    @Override
+    public LimitOrder get(int level) {
+      int idx = side.index(level);
+      return new LimitOrder(
+          type,
+          fromScaled(side.sizes[idx], sizeScale),
+          instrument,
+          "",
+          timeStamp == 0L ? null : new Date(timeStamp),
+          fromScaled(side.prices[idx], priceScale));
+    }
+
+    @Override
+    public int size() {
+      return side.count;
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package org.knowm.xchange.dto.trade;
+
+import lombok.Value;
+import lombok.With;
+
+/**
+ * Outcome of one order of a bulk order request, see {@link
+ * org.knowm.xchange.service.trade.TradeService#placeLimitOrders(java.util.List)}.
+ *
+ * <p>The identifiers of the order are set by name, e.g. {@code
+ * OrderResult.failure(error).withOrderId(orderId).withUserReference(userReference)}, so that none
+ * can be passed in place of another.
+ */
+@Value
+public class OrderResult {
+
+  /** The order id, for failures the id of the order as far as it is known */
+  @With String orderId;
+
+  /** The user reference of the order as far as it is known, null if it has none */
+  @With String userReference;
+
+  boolean success;
+
+  /** Why the exchange rejected the order or the request failed, null on success */
+  String error;
+
+  /** The order with this id succeeded. */
+  public static OrderResult success(String orderId) {
+    return new OrderResult(orderId, null, true, null);
+  }
+
+  /** The order failed for this reason; its identifiers are set with the {@code with} methods. */
+  public static OrderResult failure(String error) {
+    return new OrderResult(null, null, false, error);
+  }
+}
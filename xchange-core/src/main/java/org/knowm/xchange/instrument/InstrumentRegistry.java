@@ -0,0 +1,44 @@
+package org.knowm.xchange.instrument;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Interns instruments such as {@link org.knowm.xchange.currency.CurrencyPair}, {@link
+ * org.knowm.xchange.derivative.FuturesContract} and {@link
+ * org.knowm.xchange.derivative.OptionsContract}, so that the instruments parsed from exchange
+ * symbols are shared instead of allocated per message. Thread-safe and lock-free for instruments
+ * already interned.
+ *
+ * <p>Instruments are interned by class and {@link Object#toString()} rather than by {@link
+ * Object#equals}: {@code XBT/USD} equals {@code BTC/USD}, but each keeps the codes it was created
+ * with.
+ */
+public final class InstrumentRegistry {
+
+  private static final ClassValue<ConcurrentMap<String, Instrument>> INSTRUMENTS =
+      new ClassValue<ConcurrentMap<String, Instrument>>() {
+        @Override
+        protected ConcurrentMap<String, Instrument> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  private InstrumentRegistry() {}
+
+  /**
+   * Returns the instrument interned for the given one, interning it if there is none.
+   *
+   * @param instrument an instrument, or {@code null}
+   * @return the interned instrument, or {@code null} for {@code null}
+   */
+  @SuppressWarnings("unchecked")
+  public static <I extends Instrument> I intern(I instrument) {
+    if (instrument == null) {
+      return null;
+    }
+    Instrument interned =
+        INSTRUMENTS.get(instrument.getClass()).putIfAbsent(instrument.toString(), instrument);
+    return interned == null ? instrument : (I) interned;
+  }
+}
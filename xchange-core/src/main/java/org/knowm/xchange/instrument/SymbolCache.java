@@ -0,0 +1,67 @@
+package org.knowm.xchange.instrument;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Resolves the symbols of one exchange to interned instruments. A symbol is parsed once, the
+ * first time it is seen; after that it resolves with a single lock-free lookup of the symbol as
+ * received, without case conversion or allocation. Thread-safe.
+ *
+ * <p>A cache may be bounded, for symbols which are not a fixed listing, such as options and
+ * prediction markets expiring daily. Once full, the symbols not cached yet are parsed on every
+ * lookup, and neither cached nor interned, until the cache is {@link #clear() cleared}.
+ *
+ * @param <I> the instruments of the symbols
+ */
+public final class SymbolCache<I extends Instrument> {
+
+  private final ConcurrentMap<String, I> instruments = new ConcurrentHashMap<>();
+  private final Function<String, I> parser;
+  private final int maxSize;
+
+  /**
+   * @param parser parses a symbol into its instrument, or returns {@code null} for a symbol it
+   *     does not know; unknown symbols are not cached, and parsed again on the next lookup
+   */
+  public SymbolCache(Function<String, I> parser) {
+    this(parser, Integer.MAX_VALUE);
+  }
+
+  /**
+   * @param parser see {@link #SymbolCache(Function)}
+   * @param maxSize the most symbols cached by lookups
+   */
+  public SymbolCache(Function<String, I> parser, int maxSize) {
+    this.parser = parser;
+    this.maxSize = maxSize;
+  }
+
+  /** The instrument of a symbol, or {@code null} if the parser does not know it. */
+  public I get(String symbol) {
+    I instrument = instruments.get(symbol);
+    if (instrument != null) {
+      return instrument;
+    }
+    if (instruments.size() >= maxSize) {
+      return parser.apply(symbol);
+    }
+    instrument = InstrumentRegistry.intern(parser.apply(symbol));
+    if (instrument == null) {
+      return null;
+    }
+    I previous = instruments.putIfAbsent(symbol, instrument);
+    return previous != null ? previous : instrument;
+  }
+
+  /** Resolves a symbol to the given instrument from now on. */
+  public void put(String symbol, I instrument) {
+    instruments.put(symbol, InstrumentRegistry.intern(instrument));
+  }
+
+  /** Forgets all symbols, for instance after the exchange has relisted its instruments. */
+  public void clear() {
+    instruments.clear();
+  }
+}
@@ -0,0 +1,38 @@
+package org.knowm.xchange.service;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import org.knowm.xchange.client.ResilienceUtils;
+
+/**
+ * Top of the hierarchy abstract class for an asynchronous "exchange service", whose calls return
+ * a {@link CompletableFuture} rather than blocking the caller.
+ */
+public abstract class BaseAsyncService {
+
+  /** Runs the calls of this service */
+  protected final Executor executor;
+
+  protected BaseAsyncService(Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Runs a blocking call on the {@link #executor}.
+   *
+   * @return completes with the result of the call, or exceptionally with the exception it threw
+   */
+  protected <R> CompletableFuture<R> submit(ResilienceUtils.CallableApi<R> call) {
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try {
+            return call.call();
+          } catch (IOException e) {
+            throw new CompletionException(e);
+          }
+        },
+        executor);
+  }
+}
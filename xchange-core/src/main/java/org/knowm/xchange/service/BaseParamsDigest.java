@@ -6,7 +6,10 @@ import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import javax.crypto.Mac;
 import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.SecretKeySpec;
+import org.knowm.xchange.utils.ObjectPool;
+import org.knowm.xchange.utils.SigningBuffer;
 import si.mazi.rescu.ParamsDigest;
 
 public abstract class BaseParamsDigest implements ParamsDigest {
@@ -19,6 +22,15 @@ public abstract class BaseParamsDigest implements ParamsDigest {
 
   private final Mac mac;
 
+  /**
+   * Clones of {@link #mac}, which is not thread-safe and not free to clone per request. Cached per
+   * thread for {@link #getMac()}, so a call running on a new virtual thread still clones it.
+   */
+  private final ThreadLocal<Mac> threadMac = ThreadLocal.withInitial(this::cloneMac);
+
+  /** Clones of {@link #mac} reused whatever the thread, see {@link #acquireMac()}. */
+  private final ObjectPool<Mac> macs = new ObjectPool<>(this::cloneMac);
+
   /**
    * Constructor
    *
@@ -62,7 +74,66 @@ public abstract class BaseParamsDigest implements ParamsDigest {
     return Base64.getDecoder().decode(secretKey);
   }
 
+  /**
+   * The {@link Mac} of the calling thread, reset and ready for a new signature. It is reused by the
+   * next call on the same thread, so it must not be kept after the signature is computed.
+   */
   public Mac getMac() {
+    Mac threadMac = this.threadMac.get();
+    threadMac.reset();
+    return threadMac;
+  }
+
+  /**
+   * A {@link Mac} of the pool of this digest, ready for a new signature. Unlike {@link #getMac()}
+   * it is reused across virtual threads.
+   *
+   * @return to {@link #releaseMac(Mac)} once the signature is computed
+   */
+  protected Mac acquireMac() {
+    return macs.acquire();
+  }
+
+  /** Resets a {@link Mac} of {@link #acquireMac()} and returns it to the pool. */
+  protected void releaseMac(Mac mac) {
+    mac.reset();
+    macs.release(mac);
+  }
+
+  /** The lower case hex HMAC of the UTF-8 bytes of {@code payload}. */
+  protected String hmacHex(CharSequence payload) {
+    SigningBuffer buffer = SigningBuffer.acquire();
+    try {
+      return buffer.hex(buffer.output(mac.getMacLength()), hmac(buffer, payload));
+    } finally {
+      buffer.release();
+    }
+  }
+
+  /** The Base64 HMAC of the UTF-8 bytes of {@code payload}. */
+  protected String hmacBase64(CharSequence payload) {
+    SigningBuffer buffer = SigningBuffer.acquire();
+    try {
+      return buffer.base64(buffer.output(mac.getMacLength()), hmac(buffer, payload));
+    } finally {
+      buffer.release();
+    }
+  }
+
+  private int hmac(SigningBuffer buffer, CharSequence payload) {
+    Mac pooledMac = acquireMac();
+    try {
+      pooledMac.update(buffer.input(), 0, buffer.encode(payload));
+      pooledMac.doFinal(buffer.output(pooledMac.getMacLength()), 0);
+      return pooledMac.getMacLength();
+    } catch (ShortBufferException e) {
+      throw new IllegalStateException(e);
+    } finally {
+      releaseMac(pooledMac);
+    }
+  }
+
+  private Mac cloneMac() {
     try {
       return (Mac) mac.clone();
     } catch (CloneNotSupportedException e) {
@@ -3,6 +3,8 @@ package org.knowm.xchange.service;
 import io.github.resilience4j.ratelimiter.RateLimiter;
 import io.github.resilience4j.retry.Retry;
 import org.knowm.xchange.Exchange;
+import org.knowm.xchange.client.RequestPriority;
+import org.knowm.xchange.client.RequestScheduler;
 import org.knowm.xchange.client.ResilienceRegistries;
 import org.knowm.xchange.client.ResilienceUtils;
 
@@ -30,8 +32,25 @@ public abstract class BaseResilientExchangeService<E extends Exchange>
    */
   public <R> ResilienceUtils.DecorateCallableApi<R> decorateApiCall(
       ResilienceUtils.CallableApi<R> callable) {
+    return decorateApiCall(RequestPriority.DEFAULT, callable);
+  }
+
+  /**
+   * Use this method to decorate API calls competing with other calls for the same rate limiters,
+   * the permits go to the calls of the more urgent priority first, see {@link RequestScheduler}.
+   *
+   * @param priority priority of the call
+   * @param callable call to exchange API
+   * @param <R> type returned by the API call
+   * @return builder of a decorated API call
+   */
+  public <R> ResilienceUtils.DecorateCallableApi<R> decorateApiCall(
+      RequestPriority priority, ResilienceUtils.CallableApi<R> callable) {
     return ResilienceUtils.decorateApiCall(
-        exchange.getExchangeSpecification().getResilience(), callable);
+        exchange.getExchangeSpecification().getResilience(),
+        callable,
+        resilienceRegistries == null ? null : resilienceRegistries.requestScheduler(),
+        priority);
   }
 
   /**
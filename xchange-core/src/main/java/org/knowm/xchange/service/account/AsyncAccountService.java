@@ -0,0 +1,43 @@
+package org.knowm.xchange.service.account;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.knowm.xchange.Exchange;
+import org.knowm.xchange.currency.Currency;
+import org.knowm.xchange.dto.account.AccountInfo;
+import org.knowm.xchange.dto.account.FundingRecord;
+import org.knowm.xchange.service.trade.params.TradeHistoryParams;
+import org.knowm.xchange.service.trade.params.WithdrawFundsParams;
+
+/**
+ * Interface to provide the following to {@link Exchange}:
+ *
+ * <ul>
+ *   <li>The methods of {@link AccountService} without blocking the caller
+ * </ul>
+ *
+ * <p>Each method completes with what its {@link AccountService} counterpart returns, or
+ * exceptionally with what it throws.
+ */
+public interface AsyncAccountService {
+
+  /**
+   * @see AccountService#getAccountInfo()
+   */
+  CompletableFuture<AccountInfo> getAccountInfo();
+
+  /**
+   * @see AccountService#withdrawFunds(WithdrawFundsParams)
+   */
+  CompletableFuture<String> withdrawFunds(WithdrawFundsParams params);
+
+  /**
+   * @see AccountService#requestDepositAddress(Currency, String...)
+   */
+  CompletableFuture<String> requestDepositAddress(Currency currency, String... args);
+
+  /**
+   * @see AccountService#getFundingHistory(TradeHistoryParams)
+   */
+  CompletableFuture<List<FundingRecord>> getFundingHistory(TradeHistoryParams params);
+}
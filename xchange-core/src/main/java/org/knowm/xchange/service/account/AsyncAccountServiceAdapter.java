@@ -0,0 +1,45 @@
+package org.knowm.xchange.service.account;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.knowm.xchange.currency.Currency;
+import org.knowm.xchange.dto.account.AccountInfo;
+import org.knowm.xchange.dto.account.FundingRecord;
+import org.knowm.xchange.service.BaseAsyncService;
+import org.knowm.xchange.service.trade.params.TradeHistoryParams;
+import org.knowm.xchange.service.trade.params.WithdrawFundsParams;
+
+/**
+ * {@link AsyncAccountService} running the calls of a blocking {@link AccountService} on an
+ * executor.
+ */
+public class AsyncAccountServiceAdapter extends BaseAsyncService implements AsyncAccountService {
+
+  protected final AccountService accountService;
+
+  public AsyncAccountServiceAdapter(AccountService accountService, Executor executor) {
+    super(executor);
+    this.accountService = accountService;
+  }
+
+  @Override
+  public CompletableFuture<AccountInfo> getAccountInfo() {
+    return submit(accountService::getAccountInfo);
+  }
+
+  @Override
+  public CompletableFuture<String> withdrawFunds(WithdrawFundsParams params) {
+    return submit(() -> accountService.withdrawFunds(params));
+  }
+
+  @Override
+  public CompletableFuture<String> requestDepositAddress(Currency currency, String... args) {
+    return submit(() -> accountService.requestDepositAddress(currency, args));
+  }
+
+  @Override
+  public CompletableFuture<List<FundingRecord>> getFundingHistory(TradeHistoryParams params) {
+    return submit(() -> accountService.getFundingHistory(params));
+  }
+}
@@ -0,0 +1,65 @@
+package org.knowm.xchange.service.marketdata;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.knowm.xchange.Exchange;
+import org.knowm.xchange.dto.marketdata.CandleStickData;
+import org.knowm.xchange.dto.marketdata.FundingRate;
+import org.knowm.xchange.dto.marketdata.FundingRates;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.Ticker;
+import org.knowm.xchange.dto.marketdata.Trades;
+import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.service.marketdata.params.Params;
+import org.knowm.xchange.service.trade.params.CandleStickDataParams;
+
+/**
+ * Interface to provide the following to {@link Exchange}:
+ *
+ * <ul>
+ *   <li>The methods of {@link MarketDataService} without blocking the caller
+ * </ul>
+ *
+ * <p>Each method completes with what its {@link MarketDataService} counterpart returns, or
+ * exceptionally with what it throws, e.g. an {@link java.io.IOException} or {@link
+ * org.knowm.xchange.exceptions.NotYetImplementedForExchangeException}. Fanning out a call across
+ * many exchanges holds no thread per call while the rate limiters of the exchanges make them wait.
+ */
+public interface AsyncMarketDataService {
+
+  /**
+   * @see MarketDataService#getTicker(Instrument, Object...)
+   */
+  CompletableFuture<Ticker> getTicker(Instrument instrument, Object... args);
+
+  /**
+   * @see MarketDataService#getTickers(Params)
+   */
+  CompletableFuture<List<Ticker>> getTickers(Params params);
+
+  /**
+   * @see MarketDataService#getOrderBook(Instrument, Object...)
+   */
+  CompletableFuture<OrderBook> getOrderBook(Instrument instrument, Object... args);
+
+  /**
+   * @see MarketDataService#getTrades(Instrument, Object...)
+   */
+  CompletableFuture<Trades> getTrades(Instrument instrument, Object... args);
+
+  /**
+   * @see MarketDataService#getCandleStickData(Instrument, CandleStickDataParams)
+   */
+  CompletableFuture<CandleStickData> getCandleStickData(
+      Instrument instrument, CandleStickDataParams params);
+
+  /**
+   * @see MarketDataService#getFundingRates()
+   */
+  CompletableFuture<FundingRates> getFundingRates();
+
+  /**
+   * @see MarketDataService#getFundingRate(Instrument)
+   */
+  CompletableFuture<FundingRate> getFundingRate(Instrument instrument);
+}
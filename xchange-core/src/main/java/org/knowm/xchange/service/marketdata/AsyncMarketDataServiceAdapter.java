@@ -0,0 +1,66 @@
+package org.knowm.xchange.service.marketdata;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.knowm.xchange.dto.marketdata.CandleStickData;
+import org.knowm.xchange.dto.marketdata.FundingRate;
+import org.knowm.xchange.dto.marketdata.FundingRates;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.Ticker;
+import org.knowm.xchange.dto.marketdata.Trades;
+import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.service.BaseAsyncService;
+import org.knowm.xchange.service.marketdata.params.Params;
+import org.knowm.xchange.service.trade.params.CandleStickDataParams;
+
+/**
+ * {@link AsyncMarketDataService} running the calls of a blocking {@link MarketDataService} on an
+ * executor. Exchanges making some of the calls natively asynchronous override them.
+ */
+public class AsyncMarketDataServiceAdapter extends BaseAsyncService
+    implements AsyncMarketDataService {
+
+  protected final MarketDataService marketDataService;
+
+  public AsyncMarketDataServiceAdapter(MarketDataService marketDataService, Executor executor) {
+    super(executor);
+    this.marketDataService = marketDataService;
+  }
+
+  @Override
+  public CompletableFuture<Ticker> getTicker(Instrument instrument, Object... args) {
+    return submit(() -> marketDataService.getTicker(instrument, args));
+  }
+
+  @Override
+  public CompletableFuture<List<Ticker>> getTickers(Params params) {
+    return submit(() -> marketDataService.getTickers(params));
+  }
+
+  @Override
+  public CompletableFuture<OrderBook> getOrderBook(Instrument instrument, Object... args) {
+    return submit(() -> marketDataService.getOrderBook(instrument, args));
+  }
+
+  @Override
+  public CompletableFuture<Trades> getTrades(Instrument instrument, Object... args) {
+    return submit(() -> marketDataService.getTrades(instrument, args));
+  }
+
+  @Override
+  public CompletableFuture<CandleStickData> getCandleStickData(
+      Instrument instrument, CandleStickDataParams params) {
+    return submit(() -> marketDataService.getCandleStickData(instrument, params));
+  }
+
+  @Override
+  public CompletableFuture<FundingRates> getFundingRates() {
+    return submit(marketDataService::getFundingRates);
+  }
+
+  @Override
+  public CompletableFuture<FundingRate> getFundingRate(Instrument instrument) {
+    return submit(() -> marketDataService.getFundingRate(instrument));
+  }
+}
@@ -0,0 +1,163 @@
+package org.knowm.xchange.service.marketdata.backfill;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.knowm.xchange.dto.marketdata.CandleStick;
+import org.knowm.xchange.dto.marketdata.CandleStickData;
+import org.knowm.xchange.instrument.Instrument;
+
+/**
+ * Fetches the candles of a time range page by page, several pages at a time.
+ *
+ * <p>The range is split into pages of {@code pageSize} candles on a fixed grid, so the pages of
+ * later runs line up with the ones already cached. Up to {@code parallelism} pages are fetched at
+ * once; the calls still take their permits from the rate limiters of the exchange, which keeps the
+ * backfill within the request budget.
+ *
+ * <p>With a {@link CandleStickCache}, every page ending before the backfill started is written to
+ * disk as soon as it is fetched, and pages found on disk are not fetched again. A run interrupted
+ * by a crash thus resumes with the pages still missing, and a later run only fetches the tail.
+ */
+public final class CandleStickBackfill {
+
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+  private final CandleStickPageFetcher fetcher;
+  private final long intervalMillis;
+  private final int pageSize;
+  private final int parallelism;
+  private final Clock clock;
+
+  private final AtomicLong fetchedPages = new AtomicLong();
+  private final AtomicLong cachedPages = new AtomicLong();
+
+  public CandleStickBackfill(
+      CandleStickPageFetcher fetcher, long intervalMillis, int pageSize, int parallelism) {
+    this(fetcher, intervalMillis, pageSize, parallelism, Clock.systemUTC());
+  }
+
+  public CandleStickBackfill(
+      CandleStickPageFetcher fetcher,
+      long intervalMillis,
+      int pageSize,
+      int parallelism,
+      Clock clock) {
+    if (intervalMillis <= 0 || pageSize <= 0 || parallelism <= 0) {
+      throw new IllegalArgumentException(
+          "intervalMillis, pageSize and parallelism must be positive");
+    }
+    this.fetcher = fetcher;
+    this.intervalMillis = intervalMillis;
+    this.pageSize = pageSize;
+    this.parallelism = parallelism;
+    this.clock = clock;
+  }
+
+  /**
+   * Gets the candles whose timestamp is within the range.
+   *
+   * @param instrument the instrument
+   * @param startMillis start of the range, inclusive
+   * @param endMillis end of the range, exclusive
+   * @param cache cache to read and write pages, null for none
+   * @return the candles ordered by timestamp
+   * @throws IOException - Indication that a networking error occurred while fetching JSON data, or
+   *     that the cache could not be read or written
+   */
+  public CandleStickData backfill(
+      Instrument instrument, long startMillis, long endMillis, CandleStickCache cache)
+      throws IOException {
+    long now = clock.millis();
+    CandleStickCache.Series series =
+        cache == null ? null : cache.series(instrument, intervalMillis);
+
+    long pageMillis = intervalMillis * pageSize;
+    List<long[]> pages = new ArrayList<>();
+    for (long page = Math.floorDiv(startMillis, pageMillis) * pageMillis;
+        page < endMillis;
+        page += pageMillis) {
+      pages.add(new long[] {page, page + pageMillis});
+    }
+
+    List<Future<List<CandleStick>>> results = new ArrayList<>(pages.size());
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            Math.min(parallelism, Math.max(1, pages.size())),
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "candlestick-backfill-" + THREAD_COUNTER.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    try {
+      for (long[] page : pages) {
+        results.add(executor.submit(() -> page(instrument, page[0], page[1], series, now)));
+      }
+
+      List<CandleStick> candles = new ArrayList<>();
+      for (Future<List<CandleStick>> result : results) {
+        for (CandleStick candle : result.get()) {
+          long timestamp = candle.getTimestamp().toEpochMilli();
+          if (timestamp >= startMillis && timestamp < endMillis) {
+            candles.add(candle);
+          }
+        }
+      }
+      return new CandleStickData(instrument, candles);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while backfilling " + instrument, e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException(cause);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private List<CandleStick> page(
+      Instrument instrument,
+      long startMillis,
+      long endMillis,
+      CandleStickCache.Series series,
+      long now)
+      throws IOException {
+    if (series != null) {
+      List<CandleStick> cached = series.read(startMillis, endMillis);
+      if (cached != null) {
+        cachedPages.incrementAndGet();
+        return cached;
+      }
+    }
+    List<CandleStick> candles = fetcher.fetch(instrument, startMillis, endMillis);
+    fetchedPages.incrementAndGet();
+    if (series != null && endMillis <= now) {
+      series.append(startMillis, endMillis, candles);
+    }
+    return candles;
+  }
+
+  /** Number of pages fetched from the exchange so far. */
+  public long getFetchedPages() {
+    return fetchedPages.get();
+  }
+
+  /** Number of pages read from the cache so far. */
+  public long getCachedPages() {
+    return cachedPages.get();
+  }
+}
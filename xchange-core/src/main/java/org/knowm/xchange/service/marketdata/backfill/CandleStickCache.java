@@ -0,0 +1,386 @@
+package org.knowm.xchange.service.marketdata.backfill;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+import org.knowm.xchange.dto.marketdata.CandleStick;
+import org.knowm.xchange.instrument.Instrument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * On-disk cache of the candles fetched by a {@link CandleStickBackfill}.
+ *
+ * <p>Every instrument and interval has its own file in the cache directory. A page of candles is
+ * appended to it as one block, column by column: the timestamps, then open, high, low, close,
+ * volume and quote volume. Decimals are stored as a scale byte and an unscaled long, or as bytes
+ * when they don't fit. Each block carries a CRC32, a block torn by a crash is cut off the file when
+ * it is opened again.
+ *
+ * <p>Only the timestamp, prices and volumes of the candles are kept, the other fields of {@link
+ * CandleStick} read back as null.
+ */
+public final class CandleStickCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CandleStickCache.class);
+
+  private static final int MAGIC = 0x58435343; // XCSC
+  private static final int VERSION = 1;
+  private static final int FILE_HEADER_BYTES = 16;
+  private static final int BLOCK_HEADER_BYTES = 12;
+
+  private static final byte COMPACT_COLUMN = 0;
+  private static final byte WIDE_COLUMN = 1;
+
+  private static final List<Function<CandleStick, BigDecimal>> DECIMAL_COLUMNS =
+      List.of(
+          CandleStick::getOpen,
+          CandleStick::getHigh,
+          CandleStick::getLow,
+          CandleStick::getClose,
+          CandleStick::getVolume,
+          CandleStick::getQuotaVolume);
+
+  private final Path directory;
+  private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+  public CandleStickCache(Path directory) {
+    this.directory = directory;
+  }
+
+  public Path getDirectory() {
+    return directory;
+  }
+
+  /** The candles of one instrument and interval, loaded from disk on first use. */
+  public Series series(Instrument instrument, long intervalMillis) throws IOException {
+    String fileName =
+        instrument.toString().replaceAll("[^A-Za-z0-9.-]", "_") + "-" + intervalMillis + ".candles";
+    try {
+      return series.computeIfAbsent(
+          fileName,
+          name -> {
+            try {
+              return new Series(directory.resolve(name), intervalMillis);
+            } catch (IOException e) {
+              throw new CacheLoadException(e);
+            }
+          });
+    } catch (CacheLoadException e) {
+      throw (IOException) e.getCause();
+    }
+  }
+
+  /** The pages of candles of one instrument and interval. Thread safe. */
+  public static final class Series {
+
+    private final Path file;
+    private final long intervalMillis;
+
+    /** page start -> block, guarded by this */
+    private final NavigableMap<Long, Block> blocks = new TreeMap<>();
+
+    /** end of the last valid block, guarded by this */
+    private long fileLength;
+
+    Series(Path file, long intervalMillis) throws IOException {
+      this.file = file;
+      this.intervalMillis = intervalMillis;
+      load();
+    }
+
+    public Path getFile() {
+      return file;
+    }
+
+    /** Whether the page from {@code startMillis} to {@code endMillis} is cached. */
+    public synchronized boolean contains(long startMillis, long endMillis) {
+      Block block = blocks.get(startMillis);
+      return block != null && block.endMillis == endMillis;
+    }
+
+    /** Number of pages cached. */
+    public synchronized int size() {
+      return blocks.size();
+    }
+
+    /**
+     * Reads a cached page.
+     *
+     * @return the candles of the page, null if it isn't cached
+     */
+    public List<CandleStick> read(long startMillis, long endMillis) throws IOException {
+      Block block;
+      synchronized (this) {
+        block = blocks.get(startMillis);
+      }
+      if (block == null || block.endMillis != endMillis) {
+        return null;
+      }
+      ByteBuffer buffer = ByteBuffer.allocate(block.length);
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        while (buffer.hasRemaining()) {
+          if (channel.read(buffer, block.offset + buffer.position()) < 0) {
+            throw new IOException("Unexpected end of " + file);
+          }
+        }
+      }
+      return decode(buffer.array());
+    }
+
+    /** Appends a page, replacing a cached page with the same start. */
+    public synchronized void append(long startMillis, long endMillis, List<CandleStick> candles)
+        throws IOException {
+      byte[] payload = encode(startMillis, endMillis, candles);
+      CRC32 crc = new CRC32();
+      crc.update(payload, 0, payload.length);
+
+      ByteBuffer buffer = ByteBuffer.allocate(BLOCK_HEADER_BYTES + payload.length);
+      buffer.putInt(payload.length).putLong(crc.getValue()).put(payload).flip();
+      try (FileChannel channel =
+          FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+        if (fileLength == 0) {
+          ByteBuffer header = fileHeader();
+          while (header.hasRemaining()) {
+            fileLength += channel.write(header, fileLength);
+          }
+        }
+        long offset = fileLength;
+        while (buffer.hasRemaining()) {
+          channel.write(buffer, offset + buffer.position());
+        }
+        channel.force(false);
+        fileLength = offset + buffer.limit();
+        blocks.put(
+            startMillis, new Block(endMillis, offset + BLOCK_HEADER_BYTES, payload.length));
+      }
+    }
+
+    private ByteBuffer fileHeader() {
+      return ByteBuffer.allocate(FILE_HEADER_BYTES)
+          .putInt(MAGIC)
+          .putInt(VERSION)
+          .putLong(intervalMillis)
+          .flip();
+    }
+
+    private void load() throws IOException {
+      if (!Files.exists(file)) {
+        Files.createDirectories(file.getParent());
+        return;
+      }
+      try (FileChannel channel =
+          FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+        long size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+        readFully(channel, header, 0);
+        if (header.hasRemaining()) {
+          LOG.warn("Discarding cache file {} without header", file);
+          channel.truncate(0);
+          return;
+        }
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+          throw new IOException(file + " is not a candle cache file of this version");
+        }
+        if (header.getLong() != intervalMillis) {
+          throw new IOException(file + " holds candles of another interval");
+        }
+
+        long position = FILE_HEADER_BYTES;
+        ByteBuffer blockHeader = ByteBuffer.allocate(BLOCK_HEADER_BYTES);
+        while (position < size) {
+          blockHeader.clear();
+          readFully(channel, blockHeader, position);
+          if (blockHeader.hasRemaining()) {
+            break;
+          }
+          blockHeader.flip();
+          int length = blockHeader.getInt();
+          long checksum = blockHeader.getLong();
+          if (length < 0 || position + BLOCK_HEADER_BYTES + length > size) {
+            break;
+          }
+          ByteBuffer payload = ByteBuffer.allocate(length);
+          readFully(channel, payload, position + BLOCK_HEADER_BYTES);
+          CRC32 crc = new CRC32();
+          crc.update(payload.array(), 0, length);
+          if (crc.getValue() != checksum) {
+            break;
+          }
+          DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload.array()));
+          long startMillis = in.readLong();
+          long endMillis = in.readLong();
+          blocks.put(
+              startMillis, new Block(endMillis, position + BLOCK_HEADER_BYTES, length));
+          position += BLOCK_HEADER_BYTES + length;
+        }
+        if (position < size) {
+          LOG.warn("Cutting torn block off cache file {} at {} of {} bytes", file, position, size);
+          channel.truncate(position);
+          channel.force(false);
+        }
+        fileLength = position;
+      }
+    }
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        return;
+      }
+    }
+  }
+
+  static byte[] encode(long startMillis, long endMillis, List<CandleStick> candles)
+      throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + candles.size() * 80);
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeLong(startMillis);
+    out.writeLong(endMillis);
+    out.writeInt(candles.size());
+    for (CandleStick candle : candles) {
+      out.writeLong(candle.getTimestamp().toEpochMilli());
+    }
+    BigDecimal[] column = new BigDecimal[candles.size()];
+    for (Function<CandleStick, BigDecimal> getter : DECIMAL_COLUMNS) {
+      boolean compact = true;
+      for (int i = 0; i < column.length; i++) {
+        BigDecimal value = getter.apply(candles.get(i));
+        column[i] = value == null ? null : value.stripTrailingZeros();
+        compact &= column[i] != null && isCompact(column[i]);
+      }
+      writeColumn(out, column, compact);
+    }
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  private static boolean isCompact(BigDecimal value) {
+    return value.scale() >= Byte.MIN_VALUE
+        && value.scale() <= Byte.MAX_VALUE
+        && value.unscaledValue().bitLength() < Long.SIZE;
+  }
+
+  private static void writeColumn(DataOutputStream out, BigDecimal[] column, boolean compact)
+      throws IOException {
+    if (compact) {
+      out.writeByte(COMPACT_COLUMN);
+      for (BigDecimal value : column) {
+        out.writeByte(value.scale());
+      }
+      for (BigDecimal value : column) {
+        out.writeLong(value.unscaledValue().longValue());
+      }
+    } else {
+      out.writeByte(WIDE_COLUMN);
+      for (BigDecimal value : column) {
+        if (value == null) {
+          out.writeInt(0);
+          out.writeInt(-1);
+        } else {
+          byte[] unscaled = value.unscaledValue().toByteArray();
+          out.writeInt(value.scale());
+          out.writeInt(unscaled.length);
+          out.write(unscaled);
+        }
+      }
+    }
+  }
+
+  static List<CandleStick> decode(byte[] payload) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+    in.readLong();
+    in.readLong();
+    int count = in.readInt();
+    long[] timestamps = new long[count];
+    for (int i = 0; i < count; i++) {
+      timestamps[i] = in.readLong();
+    }
+    BigDecimal[][] columns = new BigDecimal[DECIMAL_COLUMNS.size()][];
+    for (int c = 0; c < columns.length; c++) {
+      columns[c] = readColumn(in, count);
+    }
+
+    List<CandleStick> candles = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      candles.add(
+          new CandleStick.Builder()
+              .timestamp(Instant.ofEpochMilli(timestamps[i]))
+              .open(columns[0][i])
+              .high(columns[1][i])
+              .low(columns[2][i])
+              .close(columns[3][i])
+              .volume(columns[4][i])
+              .quotaVolume(columns[5][i])
+              .completed(true)
+              .build());
+    }
+    return candles;
+  }
+
+  private static BigDecimal[] readColumn(DataInputStream in, int count) throws IOException {
+    BigDecimal[] column = new BigDecimal[count];
+    byte encoding = in.readByte();
+    if (encoding == COMPACT_COLUMN) {
+      byte[] scales = new byte[count];
+      in.readFully(scales);
+      for (int i = 0; i < count; i++) {
+        column[i] = BigDecimal.valueOf(in.readLong(), scales[i]);
+      }
+    } else if (encoding == WIDE_COLUMN) {
+      for (int i = 0; i < count; i++) {
+        int scale = in.readInt();
+        int length = in.readInt();
+        if (length >= 0) {
+          byte[] unscaled = new byte[length];
+          in.readFully(unscaled);
+          column[i] = new BigDecimal(new BigInteger(unscaled), scale);
+        }
+      }
+    } else {
+      throw new IOException("Unknown column encoding " + encoding);
+    }
+    return column;
+  }
+
+  private static final class Block {
+
+    private final long endMillis;
+    private final long offset;
+    private final int length;
+
+    private Block(long endMillis, long offset, int length) {
+      this.endMillis = endMillis;
+      this.offset = offset;
+      this.length = length;
+    }
+  }
+
+  private static final class CacheLoadException extends RuntimeException {
+
+    private CacheLoadException(IOException cause) {
+      super(cause);
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package org.knowm.xchange.service.marketdata.backfill;
+
+import java.io.IOException;
+import java.util.List;
+import org.knowm.xchange.dto.marketdata.CandleStick;
+import org.knowm.xchange.instrument.Instrument;
+
+/** Fetches one page of candles for a {@link CandleStickBackfill}. */
+@FunctionalInterface
+public interface CandleStickPageFetcher {
+
+  /**
+   * @param instrument the instrument
+   * @param startMillis start of the page, inclusive
+   * @param endMillis end of the page, exclusive
+   * @return the candles whose timestamp is within the page, ordered by timestamp
+   * @throws IOException - Indication that a networking error occurred while fetching JSON data
+   */
+  List<CandleStick> fetch(Instrument instrument, long startMillis, long endMillis)
+      throws IOException;
+}
@@ -0,0 +1,96 @@
+package org.knowm.xchange.service.trade;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.knowm.xchange.Exchange;
+import org.knowm.xchange.dto.Order;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.dto.trade.MarketOrder;
+import org.knowm.xchange.dto.trade.OpenOrders;
+import org.knowm.xchange.dto.trade.OrderResult;
+import org.knowm.xchange.dto.trade.StopOrder;
+import org.knowm.xchange.dto.trade.UserTrades;
+import org.knowm.xchange.service.trade.params.CancelAllOrders;
+import org.knowm.xchange.service.trade.params.CancelOrderParams;
+import org.knowm.xchange.service.trade.params.TradeHistoryParams;
+import org.knowm.xchange.service.trade.params.orders.OpenOrdersParams;
+import org.knowm.xchange.service.trade.params.orders.OrderQueryParams;
+
+/**
+ * Interface to provide the following to {@link Exchange}:
+ *
+ * <ul>
+ *   <li>The methods of {@link TradeService} without blocking the caller
+ * </ul>
+ *
+ * <p>Each method completes with what its {@link TradeService} counterpart returns, or
+ * exceptionally with what it throws.
+ */
+public interface AsyncTradeService {
+
+  /**
+   * @see TradeService#getOpenOrders()
+   */
+  CompletableFuture<OpenOrders> getOpenOrders();
+
+  /**
+   * @see TradeService#getOpenOrders(OpenOrdersParams)
+   */
+  CompletableFuture<OpenOrders> getOpenOrders(OpenOrdersParams params);
+
+  /**
+   * @see TradeService#placeMarketOrder(MarketOrder)
+   */
+  CompletableFuture<String> placeMarketOrder(MarketOrder marketOrder);
+
+  /**
+   * @see TradeService#placeLimitOrder(LimitOrder)
+   */
+  CompletableFuture<String> placeLimitOrder(LimitOrder limitOrder);
+
+  /**
+   * @see TradeService#placeLimitOrders(List)
+   */
+  CompletableFuture<List<OrderResult>> placeLimitOrders(List<LimitOrder> limitOrders);
+
+  /**
+   * @see TradeService#placeStopOrder(StopOrder)
+   */
+  CompletableFuture<String> placeStopOrder(StopOrder stopOrder);
+
+  /**
+   * @see TradeService#changeOrder(LimitOrder)
+   */
+  CompletableFuture<String> changeOrder(LimitOrder limitOrder);
+
+  /**
+   * @see TradeService#cancelOrder(String)
+   */
+  CompletableFuture<Boolean> cancelOrder(String orderId);
+
+  /**
+   * @see TradeService#cancelOrder(CancelOrderParams)
+   */
+  CompletableFuture<Boolean> cancelOrder(CancelOrderParams orderParams);
+
+  /**
+   * @see TradeService#cancelOrders(List)
+   */
+  CompletableFuture<List<OrderResult>> cancelOrders(List<CancelOrderParams> orderParams);
+
+  /**
+   * @see TradeService#cancelAllOrders(CancelAllOrders)
+   */
+  CompletableFuture<Collection<String>> cancelAllOrders(CancelAllOrders orderParams);
+
+  /**
+   * @see TradeService#getTradeHistory(TradeHistoryParams)
+   */
+  CompletableFuture<UserTrades> getTradeHistory(TradeHistoryParams params);
+
+  /**
+   * @see TradeService#getOrder(OrderQueryParams...)
+   */
+  CompletableFuture<Collection<Order>> getOrder(OrderQueryParams... orderQueryParams);
+}
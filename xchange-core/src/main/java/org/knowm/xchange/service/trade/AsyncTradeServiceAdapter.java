@@ -0,0 +1,95 @@
+package org.knowm.xchange.service.trade;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.knowm.xchange.dto.Order;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.dto.trade.MarketOrder;
+import org.knowm.xchange.dto.trade.OpenOrders;
+import org.knowm.xchange.dto.trade.OrderResult;
+import org.knowm.xchange.dto.trade.StopOrder;
+import org.knowm.xchange.dto.trade.UserTrades;
+import org.knowm.xchange.service.BaseAsyncService;
+import org.knowm.xchange.service.trade.params.CancelAllOrders;
+import org.knowm.xchange.service.trade.params.CancelOrderParams;
+import org.knowm.xchange.service.trade.params.TradeHistoryParams;
+import org.knowm.xchange.service.trade.params.orders.OpenOrdersParams;
+import org.knowm.xchange.service.trade.params.orders.OrderQueryParams;
+
+/** {@link AsyncTradeService} running the calls of a blocking {@link TradeService} on an executor. */
+public class AsyncTradeServiceAdapter extends BaseAsyncService implements AsyncTradeService {
+
+  protected final TradeService tradeService;
+
+  public AsyncTradeServiceAdapter(TradeService tradeService, Executor executor) {
+    super(executor);
+    this.tradeService = tradeService;
+  }
+
+  @Override
+  public CompletableFuture<OpenOrders> getOpenOrders() {
+    return submit(tradeService::getOpenOrders);
+  }
+
+  @Override
+  public CompletableFuture<OpenOrders> getOpenOrders(OpenOrdersParams params) {
+    return submit(() -> tradeService.getOpenOrders(params));
+  }
+
+  @Override
+  public CompletableFuture<String> placeMarketOrder(MarketOrder marketOrder) {
+    return submit(() -> tradeService.placeMarketOrder(marketOrder));
+  }
+
+  @Override
+  public CompletableFuture<String> placeLimitOrder(LimitOrder limitOrder) {
+    return submit(() -> tradeService.placeLimitOrder(limitOrder));
+  }
+
+  @Override
+  public CompletableFuture<List<OrderResult>> placeLimitOrders(List<LimitOrder> limitOrders) {
+    return submit(() -> tradeService.placeLimitOrders(limitOrders));
+  }
+
+  @Override
+  public CompletableFuture<String> placeStopOrder(StopOrder stopOrder) {
+    return submit(() -> tradeService.placeStopOrder(stopOrder));
+  }
+
+  @Override
+  public CompletableFuture<String> changeOrder(LimitOrder limitOrder) {
+    return submit(() -> tradeService.changeOrder(limitOrder));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> cancelOrder(String orderId) {
+    return submit(() -> tradeService.cancelOrder(orderId));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> cancelOrder(CancelOrderParams orderParams) {
+    return submit(() -> tradeService.cancelOrder(orderParams));
+  }
+
+  @Override
+  public CompletableFuture<List<OrderResult>> cancelOrders(List<CancelOrderParams> orderParams) {
+    return submit(() -> tradeService.cancelOrders(orderParams));
+  }
+
+  @Override
+  public CompletableFuture<Collection<String>> cancelAllOrders(CancelAllOrders orderParams) {
+    return submit(() -> tradeService.cancelAllOrders(orderParams));
+  }
+
+  @Override
+  public CompletableFuture<UserTrades> getTradeHistory(TradeHistoryParams params) {
+    return submit(() -> tradeService.getTradeHistory(params));
+  }
+
+  @Override
+  public CompletableFuture<Collection<Order>> getOrder(OrderQueryParams... orderQueryParams) {
+    return submit(() -> tradeService.getOrder(orderQueryParams));
+  }
+}
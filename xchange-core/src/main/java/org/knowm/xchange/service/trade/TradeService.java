@@ -2,17 +2,23 @@ package org.knowm.xchange.service.trade;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 import org.knowm.xchange.dto.Order;
 import org.knowm.xchange.dto.account.OpenPositions;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.MarketOrder;
 import org.knowm.xchange.dto.trade.OpenOrders;
+import org.knowm.xchange.dto.trade.OrderResult;
 import org.knowm.xchange.dto.trade.StopOrder;
+import org.knowm.xchange.dto.trade.UserTrade;
 import org.knowm.xchange.dto.trade.UserTrades;
 import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.exceptions.NotAvailableFromExchangeException;
 import org.knowm.xchange.exceptions.NotYetImplementedForExchangeException;
 import org.knowm.xchange.service.BaseService;
+import org.knowm.xchange.service.trade.batch.OrderBatches;
+import org.knowm.xchange.service.trade.history.TradeHistoryIterator;
 import org.knowm.xchange.service.trade.params.CancelAllOrders;
 import org.knowm.xchange.service.trade.params.CancelOrderByIdParams;
 import org.knowm.xchange.service.trade.params.CancelOrderByInstrument;
@@ -144,6 +150,21 @@ public interface TradeService extends BaseService {
     throw new NotYetImplementedForExchangeException("placeLimitOrder");
   }
 
+  /**
+   * Place several limit orders, in native batches where the exchange supports them and by
+   * parallel calls of {@link #placeLimitOrder(LimitOrder)} otherwise.
+   *
+   * @param limitOrders the orders, on any instruments
+   * @return one result per order, in the order of {@code limitOrders}, carrying the order ID
+   * @throws NotYetImplementedForExchangeException - Indication that the exchange supports the
+   *     requested function or data, but it has not yet been implemented
+   * @see OrderBatches
+   */
+  default List<OrderResult> placeLimitOrders(List<LimitOrder> limitOrders) throws IOException {
+    return OrderBatches.inParallel(
+        limitOrders, limitOrder -> OrderResult.success(placeLimitOrder(limitOrder)));
+  }
+
   /**
    * Place a stop order
    *
@@ -197,6 +218,22 @@ public interface TradeService extends BaseService {
     return placeLimitOrder(limitOrder);
   }
 
+  /**
+   * Modify or cancel/replace several limit orders, see {@link #changeOrder(LimitOrder)}. Native
+   * batches are used where the exchange supports them, parallel calls of {@link
+   * #changeOrder(LimitOrder)} otherwise.
+   *
+   * @param limitOrders the orders' data to change
+   * @return one result per order, in the order of {@code limitOrders}, carrying the order ID
+   * @throws NotYetImplementedForExchangeException - Indication that the exchange supports the
+   *     requested function or data, but it has not yet been implemented
+   * @see OrderBatches
+   */
+  default List<OrderResult> changeOrders(List<LimitOrder> limitOrders) throws IOException {
+    return OrderBatches.inParallel(
+        limitOrders, limitOrder -> OrderResult.success(changeOrder(limitOrder)));
+  }
+
   /**
    * cancels order with matching orderId (conveniance method, typical just delegate to
    * cancelOrder(CancelOrderByIdParams))
@@ -232,6 +269,31 @@ public interface TradeService extends BaseService {
     throw new NotYetImplementedForExchangeException("cancelOrder");
   }
 
+  /**
+   * cancels several orders, in native batches where the exchange supports them and by parallel
+   * calls of {@link #cancelOrder(CancelOrderParams)} otherwise.
+   *
+   * @param orderParams the orders to cancel
+   * @return one result per order, in the order of {@code orderParams}, carrying the order ID when
+   *     the params have one
+   * @throws NotYetImplementedForExchangeException - Indication that the exchange supports the
+   *     requested function or data, but it has not yet been implemented
+   * @see OrderBatches
+   */
+  default List<OrderResult> cancelOrders(List<CancelOrderParams> orderParams) throws IOException {
+    return OrderBatches.inParallel(
+        orderParams,
+        params -> {
+          String orderId =
+              params instanceof CancelOrderByIdParams
+                  ? ((CancelOrderByIdParams) params).getOrderId()
+                  : null;
+          return cancelOrder(params)
+              ? OrderResult.success(orderId)
+              : OrderResult.failure("Order was not cancelled").withOrderId(orderId);
+        });
+  }
+
   default Collection<String> cancelAllOrders(CancelAllOrders orderParams) throws IOException {
     throw new NotYetImplementedForExchangeException("cancelAllOpenOrders");
   }
@@ -275,6 +337,29 @@ public interface TradeService extends BaseService {
     throw new NotYetImplementedForExchangeException("getTradeHistory");
   }
 
+  /**
+   * Get the trade history as a lazy stream, fetching it page by page as it is consumed.
+   *
+   * <p>The first page is selected by the params as in {@link #getTradeHistory(TradeHistoryParams)},
+   * the next ones the way the exchange pages through its history. The next page is fetched while
+   * the current one is consumed, and at most two pages are held in memory. The params are changed
+   * from page to page and must not be reused while the stream is open. Close the stream to stop
+   * fetching before its end.
+   *
+   * @param params The parameters describing the filter and the first page
+   * @return the trades, a networking error is thrown as {@link java.io.UncheckedIOException} while
+   *     consuming it
+   * @throws NotAvailableFromExchangeException - Indication that the exchange does not support the
+   *     requested function or data
+   * @throws NotYetImplementedForExchangeException - Indication that the exchange supports the
+   *     requested function or data, but it has not yet been implemented
+   * @throws IOException - Indication that a networking error occurred while fetching JSON data
+   * @see TradeHistoryIterator
+   */
+  default Stream<UserTrade> getTradeHistoryStream(TradeHistoryParams params) throws IOException {
+    throw new NotYetImplementedForExchangeException("getTradeHistoryStream");
+  }
+
   /**
    * Create {@link TradeHistoryParams} object specific to this exchange. Object created by this
    * method may be used to discover supported and required {@link
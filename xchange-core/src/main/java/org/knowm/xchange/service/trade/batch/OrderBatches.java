@@ -0,0 +1,245 @@
+package org.knowm.xchange.service.trade.batch;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import org.knowm.xchange.dto.Order;
+import org.knowm.xchange.dto.trade.OrderResult;
+import org.knowm.xchange.service.trade.params.CancelOrderByIdParams;
+import org.knowm.xchange.service.trade.params.CancelOrderByUserReferenceParams;
+
+/**
+ * Runs bulk order requests either as native batches, chunked to the batch size of the exchange,
+ * or as single calls in parallel. Results are always returned in the order of the requests, one
+ * per request.
+ *
+ * <p>A failed request fails the orders it carried but not the others. Such a failure carries the
+ * order id and user reference of its request, see {@link Failure}, and, as the request may have
+ * reached the exchange, the orders should be reconciled against the open orders before they are
+ * retried. Only {@link UnsupportedOperationException}s, such as {@link
+ * org.knowm.xchange.exceptions.NotYetImplementedForExchangeException}, are thrown as they concern
+ * every order alike.
+ */
+public final class OrderBatches {
+
+  /** Single calls of one bulk request in flight at the same time */
+  public static final int PARALLELISM = 8;
+
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+  private static final ExecutorService EXECUTOR =
+      Executors.newCachedThreadPool(
+          runnable -> {
+            Thread thread = new Thread(runnable, "order-batch-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private OrderBatches() {}
+
+  /** One order through the single order API. */
+  @FunctionalInterface
+  public interface SingleCall<T> {
+
+    OrderResult call(T request) throws IOException;
+  }
+
+  /** A chunk of orders through a batch endpoint, returns one result per request in order. */
+  @FunctionalInterface
+  public interface BatchCall<T> {
+
+    List<OrderResult> call(List<T> chunk) throws IOException;
+  }
+
+  /**
+   * The failure of a request which got no result of its own, carrying the identifiers of its order.
+   */
+  @FunctionalInterface
+  public interface Failure<T> {
+
+    OrderResult of(T request, String error);
+  }
+
+  /**
+   * The failure of a request identified by the generic types: the id and user reference of an
+   * {@link Order}, those of {@link CancelOrderByIdParams} and {@link
+   * CancelOrderByUserReferenceParams}, none for other requests.
+   */
+  public static OrderResult failure(Object request, String error) {
+    if (request instanceof Order) {
+      Order order = (Order) request;
+      return OrderResult.failure(error)
+          .withOrderId(order.getId())
+          .withUserReference(order.getUserReference());
+    }
+    return OrderResult.failure(error)
+        .withOrderId(
+            request instanceof CancelOrderByIdParams
+                ? ((CancelOrderByIdParams) request).getOrderId()
+                : null)
+        .withUserReference(
+            request instanceof CancelOrderByUserReferenceParams
+                ? ((CancelOrderByUserReferenceParams) request).getUserReference()
+                : null);
+  }
+
+  /** Calls {@code call} for every request, at most {@link #PARALLELISM} at a time. */
+  public static <T> List<OrderResult> inParallel(List<T> requests, SingleCall<T> call) {
+    return inParallel(requests, call, OrderBatches::failure);
+  }
+
+  /**
+   * Like {@link #inParallel(List, SingleCall)} for requests whose identifiers are not those of the
+   * generic types.
+   */
+  public static <T> List<OrderResult> inParallel(
+      List<T> requests, SingleCall<T> call, Failure<? super T> failure) {
+    OrderResult[] results = new OrderResult[requests.size()];
+    AtomicInteger next = new AtomicInteger();
+    Runnable worker =
+        () -> {
+          for (int i = next.getAndIncrement(); i < results.length; i = next.getAndIncrement()) {
+            results[i] = single(call, requests.get(i), failure);
+          }
+        };
+    CompletableFuture<?>[] workers =
+        new CompletableFuture<?>[Math.min(PARALLELISM, results.length)];
+    for (int i = 0; i < workers.length; i++) {
+      workers[i] = CompletableFuture.runAsync(worker, EXECUTOR);
+    }
+    try {
+      CompletableFuture.allOf(workers).join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+    }
+    return Arrays.asList(results);
+  }
+
+  /** Splits the requests into chunks of at most {@code batchSize} and calls them one by one. */
+  public static <T> List<OrderResult> inChunks(
+      List<T> requests, int batchSize, BatchCall<T> call) {
+    return inChunks(requests, batchSize, call, OrderBatches::failure);
+  }
+
+  /**
+   * Like {@link #inChunks(List, int, BatchCall)} for requests whose identifiers are not those of
+   * the generic types.
+   */
+  public static <T> List<OrderResult> inChunks(
+      List<T> requests, int batchSize, BatchCall<T> call, Failure<? super T> failure) {
+    List<OrderResult> results = new ArrayList<>(requests.size());
+    for (int start = 0; start < requests.size(); start += batchSize) {
+      int end = Math.min(requests.size(), start + batchSize);
+      results.addAll(batch(call, requests.subList(start, end), failure));
+    }
+    return results;
+  }
+
+  /**
+   * Like {@link #inChunks(List, int, BatchCall)} for exchanges whose batches must not mix some
+   * property of the orders, e.g. the instrument. Each group is chunked on its own.
+   */
+  public static <T, K> List<OrderResult> inChunks(
+      List<T> requests, Function<T, K> groupBy, int batchSize, BatchCall<T> call) {
+    return inChunks(requests, groupBy, group -> batchSize, call, OrderBatches::failure);
+  }
+
+  /**
+   * Like {@link #inChunks(List, Function, int, BatchCall)} for requests whose identifiers are not
+   * those of the generic types.
+   */
+  public static <T, K> List<OrderResult> inChunks(
+      List<T> requests,
+      Function<T, K> groupBy,
+      int batchSize,
+      BatchCall<T> call,
+      Failure<? super T> failure) {
+    return inChunks(requests, groupBy, group -> batchSize, call, failure);
+  }
+
+  /**
+   * Like {@link #inChunks(List, Function, int, BatchCall)} for exchanges whose batch size depends
+   * on the group, e.g. the product type.
+   */
+  public static <T, K> List<OrderResult> inChunks(
+      List<T> requests, Function<T, K> groupBy, ToIntFunction<K> batchSize, BatchCall<T> call) {
+    return inChunks(requests, groupBy, batchSize, call, OrderBatches::failure);
+  }
+
+  /**
+   * Like {@link #inChunks(List, Function, ToIntFunction, BatchCall)} for requests whose
+   * identifiers are not those of the generic types.
+   */
+  public static <T, K> List<OrderResult> inChunks(
+      List<T> requests,
+      Function<T, K> groupBy,
+      ToIntFunction<K> batchSize,
+      BatchCall<T> call,
+      Failure<? super T> failure) {
+    Map<K, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < requests.size(); i++) {
+      groups.computeIfAbsent(groupBy.apply(requests.get(i)), key -> new ArrayList<>()).add(i);
+    }
+    OrderResult[] results = new OrderResult[requests.size()];
+    for (Map.Entry<K, List<Integer>> entry : groups.entrySet()) {
+      List<Integer> indexes = entry.getValue();
+      List<T> group = new ArrayList<>(indexes.size());
+      indexes.forEach(index -> group.add(requests.get(index)));
+      List<OrderResult> groupResults =
+          inChunks(group, batchSize.applyAsInt(entry.getKey()), call, failure);
+      for (int i = 0; i < indexes.size(); i++) {
+        results[indexes.get(i)] = groupResults.get(i);
+      }
+    }
+    return Arrays.asList(results);
+  }
+
+  private static <T> OrderResult single(
+      SingleCall<T> call, T request, Failure<? super T> failure) {
+    try {
+      return call.call(request);
+    } catch (UnsupportedOperationException e) {
+      throw e;
+    } catch (IOException | RuntimeException e) {
+      return failure.of(request, e.getMessage());
+    }
+  }
+
+  private static <T> List<OrderResult> batch(
+      BatchCall<T> call, List<T> chunk, Failure<? super T> failure) {
+    List<OrderResult> results;
+    try {
+      results = call.call(chunk);
+    } catch (UnsupportedOperationException e) {
+      throw e;
+    } catch (IOException | RuntimeException e) {
+      return failures(chunk, e.getMessage(), failure);
+    }
+    if (results.size() != chunk.size()) {
+      return failures(
+          chunk,
+          "Batch returned " + results.size() + " results for " + chunk.size() + " orders",
+          failure);
+    }
+    return results;
+  }
+
+  private static <T> List<OrderResult> failures(
+      List<T> chunk, String error, Failure<? super T> failure) {
+    List<OrderResult> failures = new ArrayList<>(chunk.size());
+    for (T request : chunk) {
+      failures.add(failure.of(request, error));
+    }
+    return failures;
+  }
+}
@@ -0,0 +1,64 @@
+package org.knowm.xchange.service.trade.history;
+
+import java.util.List;
+import java.util.Objects;
+import org.knowm.xchange.dto.trade.UserTrade;
+import org.knowm.xchange.dto.trade.UserTrades;
+import org.knowm.xchange.service.trade.params.TradeHistoryParamNextPageCursor;
+import org.knowm.xchange.service.trade.params.TradeHistoryParamPaging;
+import org.knowm.xchange.service.trade.params.TradeHistoryParams;
+
+/**
+ * Moves {@link TradeHistoryParams} from one page of trade history to the next, the way an exchange
+ * pages through it.
+ *
+ * @see TradeHistoryIterator
+ */
+@FunctionalInterface
+public interface TradeHistoryCursor {
+
+  /**
+   * Sets the params to select the page after {@code page}.
+   *
+   * @param params the params which selected {@code page}
+   * @param page the page just fetched
+   * @return false if {@code page} is the last page
+   */
+  boolean advance(TradeHistoryParams params, UserTrades page);
+
+  /**
+   * Follows {@link UserTrades#getNextPageCursor()} into {@link TradeHistoryParamNextPageCursor}.
+   * The last page is the one without a cursor, without trades or repeating the current cursor.
+   */
+  static TradeHistoryCursor nextPageCursor() {
+    return (params, page) -> {
+      String cursor = page.getNextPageCursor();
+      TradeHistoryParamNextPageCursor cursorParams = (TradeHistoryParamNextPageCursor) params;
+      if (cursor == null
+          || cursor.isEmpty()
+          || page.getUserTrades().isEmpty()
+          || Objects.equals(cursor, cursorParams.getNextPageCursor())) {
+        return false;
+      }
+      cursorParams.setNextPageCursor(cursor);
+      return true;
+    };
+  }
+
+  /**
+   * Counts up the 0-based page number of {@link TradeHistoryParamPaging}. The last page is the
+   * first one with less trades than the page length.
+   */
+  static TradeHistoryCursor pageNumber() {
+    return (params, page) -> {
+      TradeHistoryParamPaging paging = (TradeHistoryParamPaging) params;
+      List<UserTrade> trades = page.getUserTrades();
+      if (trades.isEmpty()
+          || (paging.getPageLength() != null && trades.size() < paging.getPageLength())) {
+        return false;
+      }
+      paging.setPageNumber(paging.getPageNumber() == null ? 1 : paging.getPageNumber() + 1);
+      return true;
+    };
+  }
+}
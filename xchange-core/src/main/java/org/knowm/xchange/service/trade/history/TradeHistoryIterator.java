@@ -0,0 +1,141 @@
+package org.knowm.xchange.service.trade.history;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.knowm.xchange.dto.trade.UserTrade;
+import org.knowm.xchange.dto.trade.UserTrades;
+import org.knowm.xchange.service.trade.params.TradeHistoryParams;
+
+/**
+ * Iterates over the trade history page by page, fetching the next page while the current one is
+ * consumed.
+ *
+ * <p>At most two pages are held at a time: the one being consumed and the one being fetched. The
+ * params are moved from page to page by a {@link TradeHistoryCursor}, so they must not be changed
+ * by the caller meanwhile.
+ *
+ * <p>Errors of the calls are thrown from {@link #hasNext()}, an {@link IOException} wrapped in an
+ * {@link UncheckedIOException}.
+ */
+public final class TradeHistoryIterator implements Iterator<UserTrade>, AutoCloseable {
+
+  /** Fetches one page of trade history, usually {@code TradeService::getTradeHistory}. */
+  @FunctionalInterface
+  public interface PageFetcher {
+
+    UserTrades fetch(TradeHistoryParams params) throws IOException;
+  }
+
+  private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+  private static final ExecutorService PREFETCH_EXECUTOR =
+      Executors.newCachedThreadPool(
+          runnable -> {
+            Thread thread =
+                new Thread(runnable, "trade-history-prefetch-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final PageFetcher fetcher;
+  private final TradeHistoryParams params;
+  private final TradeHistoryCursor cursor;
+  private final Executor executor;
+
+  private Iterator<UserTrade> current = Collections.emptyIterator();
+  private CompletableFuture<UserTrades> next;
+
+  public TradeHistoryIterator(
+      PageFetcher fetcher, TradeHistoryParams params, TradeHistoryCursor cursor) {
+    this(fetcher, params, cursor, PREFETCH_EXECUTOR);
+  }
+
+  public TradeHistoryIterator(
+      PageFetcher fetcher,
+      TradeHistoryParams params,
+      TradeHistoryCursor cursor,
+      Executor executor) {
+    this.fetcher = fetcher;
+    this.params = params;
+    this.cursor = cursor;
+    this.executor = executor;
+    this.next = fetch();
+  }
+
+  /** A sequential stream over the trade history, closing it stops the prefetching. */
+  public static Stream<UserTrade> stream(
+      PageFetcher fetcher, TradeHistoryParams params, TradeHistoryCursor cursor) {
+    TradeHistoryIterator iterator = new TradeHistoryIterator(fetcher, params, cursor);
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(
+                iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+            false)
+        .onClose(iterator::close);
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (!current.hasNext()) {
+      if (next == null) {
+        return false;
+      }
+      UserTrades page = await(next);
+      next = cursor.advance(params, page) ? fetch() : null;
+      current = page.getUserTrades().iterator();
+    }
+    return true;
+  }
+
+  @Override
+  public UserTrade next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return current.next();
+  }
+
+  /** Stops fetching pages, the trades of the current page remain available. */
+  @Override
+  public void close() {
+    if (next != null) {
+      next.cancel(true);
+      next = null;
+    }
+  }
+
+  private CompletableFuture<UserTrades> fetch() {
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try {
+            return fetcher.fetch(params);
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        },
+        executor);
+  }
+
+  private static UserTrades await(CompletableFuture<UserTrades> page) {
+    try {
+      return page.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package org.knowm.xchange.service.trade.params;
+
+import java.nio.file.Path;
+import java.util.Date;
+
+/**
+ * Candles of a time range of any length, fetched page by page by exchanges supporting it.
+ *
+ * @see org.knowm.xchange.service.marketdata.backfill.CandleStickBackfill
+ */
+public class CandleStickBackfillParams extends DefaultCandleStickParam {
+
+  private final int parallelism;
+  private final Path cacheDirectory;
+
+  /**
+   * @param parallelism maximal number of pages fetched at once
+   * @param cacheDirectory directory of the on-disk cache, null to fetch every page
+   */
+  public CandleStickBackfillParams(
+      Date startDate, Date endDate, long periodInSecs, int parallelism, Path cacheDirectory) {
+    super(startDate, endDate, periodInSecs);
+    this.parallelism = parallelism;
+    this.cacheDirectory = cacheDirectory;
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public Path getCacheDirectory() {
+    return cacheDirectory;
+  }
+}
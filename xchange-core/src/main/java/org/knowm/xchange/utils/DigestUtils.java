@@ -2,9 +2,10 @@ package org.knowm.xchange.utils;
 
 public class DigestUtils {
 
+  private static final char[] hexArray = "0123456789abcdef".toCharArray();
+
   public static String bytesToHex(byte[] bytes) {
 
-    char[] hexArray = "0123456789abcdef".toCharArray();
     char[] hexChars = new char[bytes.length * 2];
     for (int j = 0; j < bytes.length; j++) {
       int v = bytes[j] & 0xFF;
@@ -0,0 +1,50 @@
+package org.knowm.xchange.utils;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A small pool of objects which are not thread-safe and costly to create, such as a {@link
+ * javax.crypto.Mac}, each used by one thread at a time.
+ *
+ * <p>Unlike a {@link ThreadLocal} it keeps reusing them when every call runs on a new thread, as
+ * with the virtual threads of {@link org.knowm.xchange.client.BlockingExecutors#VIRTUAL_THREADS}.
+ * An object is created whenever none is idle, and at most {@code capacity} idle ones are kept.
+ */
+public final class ObjectPool<T> {
+
+  private final Supplier<T> factory;
+  private final int capacity;
+  private final ConcurrentLinkedQueue<T> idle = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger idleCount = new AtomicInteger();
+
+  /** A pool keeping as many idle objects as there are processors. */
+  public ObjectPool(Supplier<T> factory) {
+    this(factory, Runtime.getRuntime().availableProcessors());
+  }
+
+  public ObjectPool(Supplier<T> factory, int capacity) {
+    this.factory = factory;
+    this.capacity = capacity;
+  }
+
+  /** An idle object, or a new one. It must be {@link #release(Object) released} once used. */
+  public T acquire() {
+    T object = idle.poll();
+    if (object == null) {
+      return factory.get();
+    }
+    idleCount.decrementAndGet();
+    return object;
+  }
+
+  /** Returns an object to the pool, or drops it if the pool is full. */
+  public void release(T object) {
+    if (idleCount.incrementAndGet() <= capacity) {
+      idle.offer(object);
+    } else {
+      idleCount.decrementAndGet();
+    }
+  }
+}
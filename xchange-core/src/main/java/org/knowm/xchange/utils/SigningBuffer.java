@@ -0,0 +1,120 @@
+package org.knowm.xchange.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Pooled scratch space for signing requests without allocating per request.
+ *
+ * <p>The payload is encoded as UTF-8 into {@link #input()}, the signature is written to {@link
+ * #output(int)} and encoded from there. Only the final {@code String} rescu needs is allocated. A
+ * buffer is used by one signature at a time, from {@link #acquire()} to {@link #release()}.
+ */
+public final class SigningBuffer {
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+  private static final char[] BASE64 =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+  private static final ObjectPool<SigningBuffer> BUFFERS = new ObjectPool<>(SigningBuffer::new);
+
+  private byte[] input = new byte[1024];
+  private byte[] output = new byte[64];
+  private char[] chars = new char[128];
+
+  private SigningBuffer() {}
+
+  /** An idle buffer, to {@link #release()} once the signature is encoded. */
+  public static SigningBuffer acquire() {
+    return BUFFERS.acquire();
+  }
+
+  /** Returns this buffer to the pool, it must not be used anymore. */
+  public void release() {
+    BUFFERS.release(this);
+  }
+
+  /**
+   * Encodes text as UTF-8 into {@link #input()}.
+   *
+   * @return the number of bytes written
+   */
+  public int encode(CharSequence text) {
+    int length = text.length();
+    ensureInput(length);
+    for (int i = 0; i < length; i++) {
+      char c = text.charAt(i);
+      if (c >= 0x80) {
+        return encodeNonAscii(text);
+      }
+      input[i] = (byte) c;
+    }
+    return length;
+  }
+
+  private int encodeNonAscii(CharSequence text) {
+    byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+    ensureInput(bytes.length);
+    System.arraycopy(bytes, 0, input, 0, bytes.length);
+    return bytes.length;
+  }
+
+  /** Bytes of the payload written by {@link #encode(CharSequence)}. */
+  public byte[] input() {
+    return input;
+  }
+
+  /** A buffer of at least {@code size} bytes for the signature. */
+  public byte[] output(int size) {
+    if (output.length < size) {
+      output = new byte[size];
+    }
+    return output;
+  }
+
+  /** Lower case hex of the first {@code length} bytes. */
+  public String hex(byte[] bytes, int length) {
+    char[] hex = chars(length * 2);
+    for (int i = 0; i < length; i++) {
+      int v = bytes[i] & 0xFF;
+      hex[i * 2] = HEX[v >>> 4];
+      hex[i * 2 + 1] = HEX[v & 0x0F];
+    }
+    return new String(hex, 0, length * 2);
+  }
+
+  /** Base64 with padding of the first {@code length} bytes. */
+  public String base64(byte[] bytes, int length) {
+    char[] base64 = chars(4 * ((length + 2) / 3));
+    int out = 0;
+    int i = 0;
+    for (; i + 2 < length; i += 3) {
+      int v = (bytes[i] & 0xFF) << 16 | (bytes[i + 1] & 0xFF) << 8 | (bytes[i + 2] & 0xFF);
+      base64[out++] = BASE64[v >>> 18];
+      base64[out++] = BASE64[(v >>> 12) & 0x3F];
+      base64[out++] = BASE64[(v >>> 6) & 0x3F];
+      base64[out++] = BASE64[v & 0x3F];
+    }
+    if (i < length) {
+      int v = (bytes[i] & 0xFF) << 16 | (i + 1 < length ? (bytes[i + 1] & 0xFF) << 8 : 0);
+      base64[out++] = BASE64[v >>> 18];
+      base64[out++] = BASE64[(v >>> 12) & 0x3F];
+      base64[out++] = i + 1 < length ? BASE64[(v >>> 6) & 0x3F] : '=';
+      base64[out++] = '=';
+    }
+    return new String(base64, 0, out);
+  }
+
+  private char[] chars(int size) {
+    if (chars.length < size) {
+      chars = new char[size];
+    }
+    return chars;
+  }
+
+  private void ensureInput(int size) {
+    if (input.length < size) {
+      input = Arrays.copyOf(input, Math.max(size, input.length * 2));
+    }
+  }
+}
@@ -10,10 +10,15 @@ import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.derivative.FuturesContract;
 import org.knowm.xchange.derivative.OptionsContract;
 import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.instrument.SymbolCache;
 import org.knowm.xchange.prediction.PredictionMarketContract;
 
 public class InstrumentDeserializer extends JsonDeserializer<Instrument> {
 
+  /** Bounded, as options and prediction markets bring new symbols every day. */
+  private static final SymbolCache<Instrument> INSTRUMENTS =
+      new SymbolCache<>(InstrumentDeserializer::toInstrument, 1 << 16);
+
   public InstrumentDeserializer() {
     this(null);
   }
@@ -28,7 +33,10 @@ public class InstrumentDeserializer extends JsonDeserializer<Instrument> {
 
     final ObjectCodec oc = jsonParser.getCodec();
     final JsonNode node = oc.readTree(jsonParser);
-    final String instrumentString = node.asText();
+    return INSTRUMENTS.get(node.asText());
+  }
+
+  private static Instrument toInstrument(String instrumentString) {
     // PredictionMarketContract (PRED/provider/[eventId/]marketId/outcomeId/quote) is prefix-tagged
     // and must be checked before slash-count conventions.
     if (PredictionMarketContract.isWireString(instrumentString))
@@ -5,6 +5,13 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.apache.commons.lang3.SerializationUtils;
 import org.junit.Test;
 import org.knowm.xchange.currency.Currency;
@@ -32,6 +39,25 @@ public class CurrencyTest {
     assertEquals(new Currency("cny"), Currency.getInstanceNoCreate("CNY"));
   }
 
+  @Test
+  public void testGetInstanceOfAnUnknownCodeFromManyThreads() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      Callable<Currency> getInstance = () -> Currency.getInstance("notlisted");
+      List<Future<Currency>> currencies =
+          executor.invokeAll(
+              IntStream.range(0, 64).mapToObj(i -> getInstance).collect(Collectors.toList()));
+
+      Currency currency = Currency.getInstanceNoCreate("NOTLISTED");
+      assertThat(currency.getCurrencyCode()).isEqualTo("NOTLISTED");
+      for (Future<Currency> future : currencies) {
+        assertThat(future.get()).isSameAs(currency);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   public void testEquals() {
     assertEquals(Currency.BTC, Currency.XBT);
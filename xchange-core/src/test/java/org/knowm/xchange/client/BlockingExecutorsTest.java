@@ -0,0 +1,33 @@
+package org.knowm.xchange.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.knowm.xchange.BaseExchange;
+import org.knowm.xchange.ExchangeSpecification;
+
+public class BlockingExecutorsTest {
+
+  private final ExchangeSpecification specification = new ExchangeSpecification(BaseExchange.class);
+
+  @Test
+  public void testRunsOnPlatformThreadsByDefault() throws Exception {
+    assertThat(runsOnVirtualThread()).isFalse();
+  }
+
+  @Test
+  public void testRunsOnVirtualThreadsWhenEnabled() throws Exception {
+    specification.setVirtualThreadsEnabled(true);
+
+    assertThat(runsOnVirtualThread()).isTrue();
+  }
+
+  private boolean runsOnVirtualThread() throws Exception {
+    return CompletableFuture.supplyAsync(
+            () -> Thread.currentThread().isVirtual(),
+            BlockingExecutors.forSpecification(specification))
+        .get(5, TimeUnit.SECONDS);
+  }
+}
@@ -0,0 +1,337 @@
+package org.knowm.xchange.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+import javax.net.ssl.SSLSocketFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knowm.xchange.BaseExchange;
+import org.knowm.xchange.ExchangeSpecification;
+import si.mazi.rescu.HttpStatusExceptionSupport;
+import si.mazi.rescu.HttpStatusIOException;
+import si.mazi.rescu.SynchronizedValueFactory;
+
+public class HttpClientRestProxyFactoryTest {
+
+  @Path("api")
+  @Produces(MediaType.APPLICATION_JSON)
+  public interface TestApi {
+
+    @GET
+    @Path("ticker")
+    Map<String, Object> ticker(
+        @QueryParam("symbol") String symbol, @HeaderParam("X-API-KEY") String apiKey)
+        throws IOException;
+
+    @GET
+    @Path("ticker")
+    String rawTicker(@QueryParam("symbol") String symbol) throws IOException;
+
+    @GET
+    @Path("error")
+    Map<String, Object> error(@QueryParam("status") int status)
+        throws IOException, TestApiException;
+
+    @GET
+    @Path("error")
+    String rawError(@QueryParam("status") int status) throws IOException;
+
+    @GET
+    @Path("signed")
+    String signed(@QueryParam("nonce") SynchronizedValueFactory<Long> nonce) throws IOException;
+  }
+
+  public static class TestApiException extends HttpStatusExceptionSupport {
+
+    @JsonCreator
+    public TestApiException(@JsonProperty("msg") String message) {
+      super(message);
+    }
+  }
+
+  private final Map<String, String> receivedHeaders = new ConcurrentHashMap<>();
+  private final List<Long> receivedNonces = Collections.synchronizedList(new ArrayList<>());
+  private final AtomicInteger signedInFlight = new AtomicInteger();
+  private final AtomicInteger maxSignedInFlight = new AtomicInteger();
+  private final ExecutorService serverExecutor = Executors.newFixedThreadPool(8);
+  private HttpServer server;
+  private ExchangeSpecification specification;
+
+  @Before
+  public void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext(
+        "/api/ticker",
+        exchange -> {
+          exchange
+              .getRequestHeaders()
+              .forEach((name, values) -> receivedHeaders.put(name.toLowerCase(), values.get(0)));
+          byte[] body =
+              ("{\"symbol\":\"" + exchange.getRequestURI().getQuery().substring(7) + "\"}")
+                  .getBytes(StandardCharsets.UTF_8);
+          if ("gzip".equals(exchange.getRequestHeaders().getFirst("Accept-Encoding"))) {
+            body = gzip(body);
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+          }
+          exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+          exchange.sendResponseHeaders(200, body.length);
+          try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+          }
+        });
+    server.createContext(
+        "/api/error",
+        exchange -> {
+          int status = Integer.parseInt(exchange.getRequestURI().getQuery().substring(7));
+          respond(exchange, status, "{\"msg\":\"rejected\"}");
+        });
+    server.createContext(
+        "/api/signed",
+        exchange -> {
+          maxSignedInFlight.accumulateAndGet(signedInFlight.incrementAndGet(), Math::max);
+          receivedNonces.add(Long.parseLong(exchange.getRequestURI().getQuery().substring(6)));
+          try {
+            Thread.sleep(5);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          signedInFlight.decrementAndGet();
+          respond(exchange, 200, "ok");
+        });
+    server.setExecutor(serverExecutor);
+    server.start();
+
+    specification = new ExchangeSpecification(BaseExchange.class);
+    specification.setSslUri("http://127.0.0.1:" + server.getAddress().getPort());
+    specification.getHttp().setTransport(HttpTransport.JDK_HTTP_CLIENT);
+    specification.getHttp().setMaxConnectionsPerHost(2);
+  }
+
+  @After
+  public void tearDown() {
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  @Test
+  public void testDecodesCompressedResponses() throws IOException {
+    TestApi api = ExchangeRestProxyBuilder.forInterface(TestApi.class, specification).build();
+
+    assertThat(api.ticker("BTCUSDT", "key")).containsEntry("symbol", "BTCUSDT");
+    assertThat(api.rawTicker("ETHUSDT")).isEqualTo("{\"symbol\":\"ETHUSDT\"}");
+    assertThat(receivedHeaders).containsEntry("x-api-key", "key");
+    assertThat(receivedHeaders).containsEntry("accept-encoding", "gzip");
+  }
+
+  @Test
+  public void testSharesOneFactoryPerExchange() throws Exception {
+    ExchangeRestProxyBuilder.forInterface(TestApi.class, specification).build();
+    ExchangeRestProxyBuilder.forInterface(TestApi.class, specification).build();
+
+    HttpClientRestProxyFactory factory =
+        (HttpClientRestProxyFactory) specification.getHttp().getRestProxyFactory();
+    TestApi api = ExchangeRestProxyBuilder.forInterface(TestApi.class, specification).build();
+    assertThat(factory.async(() -> api.ticker("BTCUSDT", null)).get())
+        .containsEntry("symbol", "BTCUSDT");
+
+    assertThat(ExchangeRestProxyBuilder.createRestProxyFactory(specification)).isSameAs(factory);
+    HttpMetrics.HostStats stats = factory.getMetrics().get("127.0.0.1");
+    assertThat(stats.getResponses()).isEqualTo(1);
+    assertThat(stats.getErrorResponses()).isZero();
+    assertThat(stats.getInFlight()).isZero();
+    assertThat(stats.getBytesReceived()).isPositive();
+  }
+
+  @Test
+  public void testHandsEveryResponseToTheResponseListeners() throws IOException {
+    TestApi api = ExchangeRestProxyBuilder.forInterface(TestApi.class, specification).build();
+    HttpClientRestProxyFactory factory =
+        (HttpClientRestProxyFactory) specification.getHttp().getRestProxyFactory();
+    List<String> responses = Collections.synchronizedList(new ArrayList<>());
+    factory.addResponseListener(
+        (host, statusCode, headers) ->
+            responses.add(host + " " + statusCode + " " + headers.get("content-type")));
+
+    api.ticker("BTCUSDT", null);
+    assertThatThrownBy(() -> api.error(400)).isInstanceOf(TestApiException.class);
+
+    assertThat(responses)
+        .containsExactly(
+            "127.0.0.1 200 [application/json; charset=utf-8]",
+            "127.0.0.1 400 [application/json; charset=utf-8]");
+  }
+
+  @Test
+  public void testKeepsTheDefaultTransport() throws IOException {
+    specification.getHttp().setTransport(HttpTransport.URL_CONNECTION);
+
+    TestApi api = ExchangeRestProxyBuilder.forInterface(TestApi.class, specification).build();
+
+    assertThat(api.rawTicker("BTCUSDT")).contains("BTCUSDT");
+    assertThat(specification.getHttp().getRestProxyFactory()).isNull();
+  }
+
+  @Test
+  public void testRejectsCustomSslSocketFactories() {
+    ExchangeRestProxyBuilder<TestApi> builder =
+        ExchangeRestProxyBuilder.forInterface(TestApi.class, specification)
+            .clientConfigCustomizer(
+                config ->
+                    config.setSslSocketFactory((SSLSocketFactory) SSLSocketFactory.getDefault()));
+
+    assertThatThrownBy(builder::build)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining(TestApi.class.getName());
+  }
+
+  @Test
+  public void testSetsTheIdleConnectionTimeoutUnlessTheApplicationDid() {
+    String timeout = "jdk.httpclient.keepalive.timeout";
+    String h2Timeout = "jdk.httpclient.keepalive.timeout.h2";
+    String previous = System.getProperty(timeout);
+    String previousH2 = System.getProperty(h2Timeout);
+    try {
+      System.clearProperty(timeout);
+      System.setProperty(h2Timeout, "5");
+      specification.getHttp().setIdleConnectionTimeout(Duration.ofSeconds(30));
+
+      new HttpClientRestProxyFactory(specification);
+
+      assertThat(System.getProperty(timeout)).isEqualTo("30");
+      assertThat(System.getProperty(h2Timeout)).isEqualTo("5");
+    } finally {
+      restore(timeout, previous);
+      restore(h2Timeout, previousH2);
+    }
+  }
+
+  @Test
+  public void testMapsErrorResponsesToTheDeclaredException() {
+    TestApi api = ExchangeRestProxyBuilder.forInterface(TestApi.class, specification).build();
+
+    assertThatThrownBy(() -> api.error(400))
+        .isInstanceOfSatisfying(
+            TestApiException.class,
+            e -> {
+              assertThat(e.getHttpStatusCode()).isEqualTo(400);
+              assertThat(e.getMessage()).contains("rejected");
+            });
+  }
+
+  @Test
+  public void testMapsErrorResponsesToHttpStatusIOException() {
+    TestApi api = ExchangeRestProxyBuilder.forInterface(TestApi.class, specification).build();
+
+    assertThatThrownBy(() -> api.rawError(503))
+        .isInstanceOfSatisfying(
+            HttpStatusIOException.class,
+            e -> {
+              assertThat(e.getHttpStatusCode()).isEqualTo(503);
+              assertThat(e.getHttpBody()).isEqualTo("{\"msg\":\"rejected\"}");
+            });
+    HttpClientRestProxyFactory factory =
+        (HttpClientRestProxyFactory) specification.getHttp().getRestProxyFactory();
+    HttpMetrics.HostStats stats = factory.getMetrics().get("127.0.0.1");
+    assertThat(stats.getResponses()).isEqualTo(1);
+    assertThat(stats.getErrorResponses()).isEqualTo(1);
+  }
+
+  @Test
+  public void testReleasesTheHostOnConnectionFailures() throws IOException {
+    int closedPort;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      closedPort = socket.getLocalPort();
+    }
+    specification.setSslUri("http://127.0.0.1:" + closedPort);
+    specification.getHttp().setMaxConnectionsPerHost(1);
+    TestApi api = ExchangeRestProxyBuilder.forInterface(TestApi.class, specification).build();
+
+    // a leaked slot would block the second call
+    for (int i = 0; i < 2; i++) {
+      assertThatThrownBy(() -> api.rawTicker("BTCUSDT")).isInstanceOf(ConnectException.class);
+    }
+    HttpClientRestProxyFactory factory =
+        (HttpClientRestProxyFactory) specification.getHttp().getRestProxyFactory();
+    HttpMetrics.HostStats stats = factory.getMetrics().get("127.0.0.1");
+    assertThat(stats.getFailures()).isEqualTo(2);
+    assertThat(stats.getInFlight()).isZero();
+  }
+
+  @Test
+  public void testSendsSignedRequestsInNonceOrder() throws Exception {
+    TestApi api = ExchangeRestProxyBuilder.forInterface(TestApi.class, specification).build();
+    AtomicLong nonces = new AtomicLong();
+    SynchronizedValueFactory<Long> nonceFactory = nonces::incrementAndGet;
+    ExecutorService callers = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> calls = new ArrayList<>();
+      for (int i = 0; i < 32; i++) {
+        calls.add(callers.submit(() -> api.signed(nonceFactory)));
+      }
+      for (Future<String> call : calls) {
+        assertThat(call.get()).isEqualTo("ok");
+      }
+    } finally {
+      callers.shutdownNow();
+    }
+
+    assertThat(receivedNonces).hasSize(32).isSorted();
+    assertThat(maxSignedInFlight).hasValue(1);
+  }
+
+  private static void restore(String property, String value) {
+    if (value == null) {
+      System.clearProperty(property);
+    } else {
+      System.setProperty(property, value);
+    }
+  }
+
+  private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  private static byte[] gzip(byte[] body) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+      out.write(body);
+    }
+    return bytes.toByteArray();
+  }
+}
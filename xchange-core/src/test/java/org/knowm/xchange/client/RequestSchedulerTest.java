@@ -0,0 +1,129 @@
+package org.knowm.xchange.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class RequestSchedulerTest {
+
+  private final RequestScheduler scheduler = new RequestScheduler();
+
+  @Test
+  public void testAcquiresFreePermitsRightAway() {
+    RateLimiter rateLimiter = rateLimiter(2, Duration.ofMinutes(1), Duration.ZERO);
+
+    scheduler.acquirePermission(rateLimiter, 2, RequestPriority.HISTORY);
+
+    assertThat(rateLimiter.getMetrics().getAvailablePermissions()).isZero();
+    assertThat(scheduler.getDroppedRequests(rateLimiter, RequestPriority.HISTORY)).isZero();
+  }
+
+  @Test
+  public void testDropsCallsNotServedBeforeTimeout() {
+    RateLimiter rateLimiter = rateLimiter(1, Duration.ofMinutes(1), Duration.ofMillis(20));
+    scheduler.acquirePermission(rateLimiter, 1, RequestPriority.DEFAULT);
+
+    assertThatThrownBy(() -> scheduler.acquirePermission(rateLimiter, 1, RequestPriority.HISTORY))
+        .isInstanceOf(RequestNotPermitted.class);
+
+    assertThat(scheduler.getDroppedRequests(rateLimiter, RequestPriority.HISTORY)).isEqualTo(1);
+    assertThat(scheduler.getDroppedRequests(rateLimiter, RequestPriority.DEFAULT)).isZero();
+    assertThat(scheduler.getQueueDepth(rateLimiter, RequestPriority.HISTORY)).isZero();
+  }
+
+  @Test
+  public void testKeysMetricsByRateLimiter() throws Exception {
+    RateLimiter busy = rateLimiter(1, Duration.ofMillis(500), Duration.ofSeconds(5));
+    RateLimiter idle = rateLimiter(1, Duration.ofMinutes(1), Duration.ZERO);
+    scheduler.acquirePermission(busy, 1, RequestPriority.HISTORY);
+    scheduler.acquirePermission(idle, 1, RequestPriority.HISTORY);
+
+    Thread history =
+        acquireInBackground(busy, RequestPriority.HISTORY, new CopyOnWriteArrayList<>());
+    awaitQueueDepth(busy, RequestPriority.HISTORY, 1);
+    assertThatThrownBy(() -> scheduler.acquirePermission(idle, 1, RequestPriority.HISTORY))
+        .isInstanceOf(RequestNotPermitted.class);
+
+    assertThat(scheduler.getQueueDepth(idle, RequestPriority.HISTORY)).isZero();
+    assertThat(scheduler.getDroppedRequests(idle, RequestPriority.HISTORY)).isEqualTo(1);
+    assertThat(scheduler.getDroppedRequests(busy, RequestPriority.HISTORY)).isZero();
+    history.join(TimeUnit.SECONDS.toMillis(5));
+    assertThat(scheduler.getQueueDepth(busy, RequestPriority.HISTORY)).isZero();
+  }
+
+  @Test
+  public void testServesUrgentCallsFirst() throws Exception {
+    RateLimiter rateLimiter = rateLimiter(1, Duration.ofMillis(500), Duration.ofSeconds(5));
+    scheduler.acquirePermission(rateLimiter, 1, RequestPriority.DEFAULT);
+    List<RequestPriority> served = new CopyOnWriteArrayList<>();
+
+    Thread history = acquireInBackground(rateLimiter, RequestPriority.HISTORY, served);
+    awaitQueueDepth(rateLimiter, RequestPriority.HISTORY, 1);
+    Thread orderEntry = acquireInBackground(rateLimiter, RequestPriority.ORDER_ENTRY, served);
+    awaitQueueDepth(rateLimiter, RequestPriority.ORDER_ENTRY, 1);
+
+    orderEntry.join(TimeUnit.SECONDS.toMillis(5));
+    history.join(TimeUnit.SECONDS.toMillis(5));
+
+    assertThat(served).containsExactly(RequestPriority.ORDER_ENTRY, RequestPriority.HISTORY);
+    assertThat(scheduler.getQueueDepth(rateLimiter, RequestPriority.HISTORY)).isZero();
+    assertThat(scheduler.getQueueDepth(rateLimiter, RequestPriority.ORDER_ENTRY)).isZero();
+  }
+
+  @Test
+  public void testAcquiresAsyncBehindQueuedCalls() throws Exception {
+    RateLimiter rateLimiter = rateLimiter(1, Duration.ofMillis(200), Duration.ofSeconds(5));
+    Executor executor = Executors.newCachedThreadPool();
+
+    scheduler.acquirePermissionAsync(rateLimiter, 1, RequestPriority.DEFAULT, executor).get();
+    CompletableFuture<Void> queued =
+        scheduler.acquirePermissionAsync(rateLimiter, 1, RequestPriority.HISTORY, executor);
+
+    assertThat(queued.isDone()).isFalse();
+    queued.get(5, TimeUnit.SECONDS);
+    assertThat(scheduler.getQueueDepth(rateLimiter, RequestPriority.HISTORY)).isZero();
+  }
+
+  private Thread acquireInBackground(
+      RateLimiter rateLimiter, RequestPriority priority, List<RequestPriority> served) {
+    Thread thread =
+        new Thread(
+            () -> {
+              scheduler.acquirePermission(rateLimiter, 1, priority);
+              served.add(priority);
+            });
+    thread.start();
+    return thread;
+  }
+
+  private void awaitQueueDepth(RateLimiter rateLimiter, RequestPriority priority, int depth)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (scheduler.getQueueDepth(rateLimiter, priority) != depth
+        && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertThat(scheduler.getQueueDepth(rateLimiter, priority)).isEqualTo(depth);
+  }
+
+  private static RateLimiter rateLimiter(int limit, Duration refreshPeriod, Duration timeout) {
+    return RateLimiter.of(
+        "test",
+        RateLimiterConfig.custom()
+            .limitForPeriod(limit)
+            .limitRefreshPeriod(refreshPeriod)
+            .timeoutDuration(timeout)
+            .build());
+  }
+}
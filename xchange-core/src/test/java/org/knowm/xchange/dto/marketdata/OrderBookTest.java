@@ -1,6 +1,7 @@
 package org.knowm.xchange.dto.marketdata;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
@@ -11,6 +12,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.Before;
 import org.junit.Test;
 import org.knowm.xchange.currency.CurrencyPair;
@@ -215,4 +218,121 @@ public class OrderBookTest {
     // idx=-1, higher order
     assertThat(method.invoke(orderBook, orderBook.getBids(), higherBidOrder, -1)).isEqualTo(false);
   }
+
+  @Test
+  public void testSnapshotIsImmutableCopy() {
+    long version = orderBook.getVersion();
+    OrderBook snapshot = orderBook.snapshot();
+
+    orderBook.update(
+        new OrderBookUpdate(
+            OrderType.BID,
+            BigDecimal.ONE,
+            CurrencyPair.BTC_USD,
+            BigDecimal.ONE,
+            new Date(0),
+            BigDecimal.ONE));
+
+    assertThat(orderBook.getVersion()).isEqualTo(version + 1);
+    assertThat(snapshot.getVersion()).isEqualTo(version);
+    assertThat(snapshot.getBids()).hasSize(1);
+    assertThat(snapshot.getAsks()).isEqualTo(orderBook.getAsks());
+    assertThat(snapshot.getTimeStamp()).isEqualTo(orderBook.getTimeStamp());
+    assertThat(orderBook.snapshot().getBids()).hasSize(2);
+    assertThatThrownBy(() -> snapshot.getBids().clear())
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  public void testSnapshotWhileWriting() throws InterruptedException {
+    AtomicBoolean running = new AtomicBoolean(true);
+    Thread writer =
+        new Thread(
+            () -> {
+              int i = 0;
+              while (running.get()) {
+                BigDecimal price = BigDecimal.valueOf(1000 + i++ % 50);
+                // every update pair leaves the book with a single extra bid level
+                orderBook.update(
+                    new OrderBookUpdate(
+                        OrderType.BID,
+                        BigDecimal.ONE,
+                        CurrencyPair.BTC_USD,
+                        price,
+                        null,
+                        BigDecimal.ONE));
+                orderBook.update(
+                    new OrderBookUpdate(
+                        OrderType.BID,
+                        BigDecimal.ONE,
+                        CurrencyPair.BTC_USD,
+                        price,
+                        null,
+                        BigDecimal.ZERO));
+              }
+            });
+    writer.start();
+    try {
+      for (int i = 0; i < 10_000; i++) {
+        OrderBook snapshot = orderBook.snapshot();
+        assertThat(snapshot.getBids().size()).isEqualTo(1 + (int) (snapshot.getVersion() % 2));
+      }
+    } finally {
+      running.set(false);
+      writer.join();
+    }
+  }
+
+  @Test
+  public void testBatchUpdateMatchesSequentialUpdates() {
+    OrderBook sequential = new OrderBook(null, new ArrayList<>(), new ArrayList<>());
+    OrderBook batched = new OrderBook(null, new ArrayList<>(), new ArrayList<>());
+    Random random = new Random(42);
+    for (int round = 0; round < 200; round++) {
+      List<OrderBookUpdate> updates = new ArrayList<>();
+      for (int i = 0; i < 1 + random.nextInt(20); i++) {
+        updates.add(
+            new OrderBookUpdate(
+                random.nextBoolean() ? OrderType.BID : OrderType.ASK,
+                BigDecimal.ONE,
+                CurrencyPair.BTC_USD,
+                BigDecimal.valueOf(random.nextInt(30)),
+                new Date(random.nextInt(1000)),
+                BigDecimal.valueOf(random.nextInt(3))));
+      }
+      updates.forEach(sequential::update);
+      batched.update(updates);
+      assertThat(batched).isEqualTo(sequential);
+    }
+  }
+
+  @Test
+  public void testBatchUpdateLastUpdateOfPriceWins() {
+    Date timeStamp = new Date(orderBook.getTimeStamp().getTime() + 1000);
+    orderBook.update(
+        Arrays.asList(
+            new OrderBookUpdate(
+                OrderType.BID,
+                BigDecimal.ONE,
+                CurrencyPair.BTC_USD,
+                BigDecimal.ONE,
+                timeStamp,
+                BigDecimal.TEN),
+            new OrderBookUpdate(
+                OrderType.BID,
+                BigDecimal.ONE,
+                CurrencyPair.BTC_USD,
+                BigDecimal.TEN,
+                null,
+                BigDecimal.ZERO),
+            new OrderBookUpdate(
+                OrderType.BID,
+                BigDecimal.ONE,
+                CurrencyPair.BTC_USD,
+                BigDecimal.ONE,
+                null,
+                BigDecimal.ZERO)));
+    assertThat(orderBook.getTimeStamp()).isEqualTo(timeStamp);
+    assertThat(orderBook.getBids()).isEmpty();
+  }
 }
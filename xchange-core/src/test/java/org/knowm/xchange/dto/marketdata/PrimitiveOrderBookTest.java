@@ -0,0 +1,122 @@
+package org.knowm.xchange.dto.marketdata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Date;
+import org.junit.Before;
+import org.junit.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.trade.LimitOrder;
+
+public class PrimitiveOrderBookTest {
+
+  private PrimitiveOrderBook orderBook;
+
+  @Before
+  public void setUp() {
+    orderBook = new PrimitiveOrderBook(CurrencyPair.BTC_USD, 2, 4, 4);
+    orderBook.update(OrderType.BID, new BigDecimal("100.00"), new BigDecimal("1"));
+    orderBook.update(OrderType.BID, new BigDecimal("99.50"), new BigDecimal("2"));
+    orderBook.update(OrderType.ASK, new BigDecimal("101"), new BigDecimal("0.5"));
+    orderBook.update(OrderType.ASK, new BigDecimal("102.25"), new BigDecimal("3"));
+  }
+
+  @Test
+  public void testLevelsAreSortedBestFirst() {
+    assertThat(orderBook.priceAt(OrderType.BID, 0)).isEqualTo(10000L);
+    assertThat(orderBook.priceAt(OrderType.BID, 1)).isEqualTo(9950L);
+    assertThat(orderBook.priceAt(OrderType.ASK, 0)).isEqualTo(10100L);
+    assertThat(orderBook.priceAt(OrderType.ASK, 1)).isEqualTo(10225L);
+    assertThat(orderBook.sizeAt(OrderType.ASK, 0)).isEqualTo(5000L);
+  }
+
+  @Test
+  public void testUpdateReplacesAndRemovesLevels() {
+    orderBook.update(OrderType.BID, 10000L, 70000L);
+    assertThat(orderBook.depth(OrderType.BID)).isEqualTo(2);
+    assertThat(orderBook.sizeAtPrice(OrderType.BID, 10000L)).isEqualTo(70000L);
+
+    orderBook.update(OrderType.BID, 10000L, 0L);
+    assertThat(orderBook.depth(OrderType.BID)).isEqualTo(1);
+    assertThat(orderBook.priceAt(OrderType.BID, 0)).isEqualTo(9950L);
+
+    // removing an unknown level is a no-op
+    orderBook.update(OrderType.ASK, 99999L, 0L);
+    assertThat(orderBook.depth(OrderType.ASK)).isEqualTo(2);
+  }
+
+  @Test
+  public void testGrowsBeyondInitialCapacity() {
+    for (int i = 1; i <= 100; i++) {
+      orderBook.update(OrderType.ASK, 20000L + i, i);
+      orderBook.update(OrderType.BID, 5000L - i, i);
+    }
+    assertThat(orderBook.depth(OrderType.ASK)).isEqualTo(102);
+    assertThat(orderBook.depth(OrderType.BID)).isEqualTo(102);
+    assertThat(orderBook.priceAt(OrderType.ASK, 101)).isEqualTo(20100L);
+    assertThat(orderBook.priceAt(OrderType.BID, 101)).isEqualTo(4900L);
+  }
+
+  @Test
+  public void testLimitOrderViewsMatchOrderBook() {
+    orderBook.updateDate(new Date(1000L));
+    OrderBook view = orderBook.toOrderBook();
+
+    assertThat(view.getTimeStamp()).isEqualTo(new Date(1000L));
+    assertThat(view.getBids()).hasSize(2);
+    LimitOrder bestBid = view.getBids().get(0);
+    assertThat(bestBid.getType()).isEqualTo(OrderType.BID);
+    assertThat(bestBid.getInstrument()).isEqualTo(CurrencyPair.BTC_USD);
+    assertThat(bestBid.getLimitPrice()).isEqualByComparingTo("100");
+    assertThat(bestBid.getOriginalAmount()).isEqualByComparingTo("1");
+    assertThat(view.getAsks().get(1).getLimitPrice()).isEqualByComparingTo("102.25");
+
+    orderBook.update(OrderType.ASK, new BigDecimal("100.5"), BigDecimal.ONE);
+    assertThat(view.getAsks()).hasSize(3);
+    assertThat(view.getAsks().get(0).getLimitPrice()).isEqualByComparingTo("100.5");
+  }
+
+  @Test
+  public void testOfOrderBookAndOrderBookUpdate() {
+    OrderBook source =
+        new OrderBook(
+            new Date(5L),
+            Arrays.asList(
+                new LimitOrder(
+                    OrderType.ASK, BigDecimal.ONE, CurrencyPair.BTC_USD, "", null, BigDecimal.TEN)),
+            Arrays.asList(
+                new LimitOrder(
+                    OrderType.BID,
+                    BigDecimal.ONE,
+                    CurrencyPair.BTC_USD,
+                    "",
+                    null,
+                    BigDecimal.ONE)));
+    PrimitiveOrderBook book = PrimitiveOrderBook.of(source, CurrencyPair.BTC_USD, 2, 2);
+    book.update(
+        new OrderBookUpdate(
+            OrderType.BID,
+            BigDecimal.ONE,
+            CurrencyPair.BTC_USD,
+            new BigDecimal("2"),
+            new Date(10L),
+            new BigDecimal("3")));
+
+    assertThat(book.getTimeStamp()).isEqualTo(10L);
+    assertThat(book.getBids()).hasSize(2);
+    assertThat(book.getBids().get(0).getLimitPrice()).isEqualByComparingTo("2");
+    assertThat(book.getBids().get(0).getOriginalAmount()).isEqualByComparingTo("3");
+    assertThat(book.getAsks().get(0).getLimitPrice()).isEqualByComparingTo("10");
+  }
+
+  @Test
+  public void testRejectsValuesBeyondScale() {
+    assertThatThrownBy(
+            () -> orderBook.update(OrderType.BID, new BigDecimal("1.001"), BigDecimal.ONE))
+        .isInstanceOf(ArithmeticException.class);
+  }
+}
@@ -0,0 +1,75 @@
+package org.knowm.xchange.instrument;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.derivative.FuturesContract;
+
+public class SymbolCacheTest {
+
+  @Test
+  public void testParsesEachSymbolOnce() {
+    AtomicInteger parsed = new AtomicInteger();
+    SymbolCache<CurrencyPair> cache =
+        new SymbolCache<>(
+            symbol -> {
+              parsed.incrementAndGet();
+              return symbol.endsWith("USDT")
+                  ? new CurrencyPair(symbol.substring(0, symbol.length() - 4), "USDT")
+                  : null;
+            });
+
+    CurrencyPair pair = cache.get("ETHUSDT");
+
+    assertThat(pair).isEqualTo(new CurrencyPair("ETH/USDT"));
+    assertThat(cache.get("ETHUSDT")).isSameAs(pair);
+    assertThat(parsed).hasValue(1);
+    assertThat(cache.get("ETHBTC")).isNull();
+    assertThat(cache.get("ETHBTC")).isNull();
+    assertThat(parsed).hasValue(3);
+  }
+
+  @Test
+  public void testStopsCachingWhenFull() {
+    AtomicInteger parsed = new AtomicInteger();
+    SymbolCache<FuturesContract> cache =
+        new SymbolCache<>(
+            symbol -> {
+              parsed.incrementAndGet();
+              return new FuturesContract(symbol);
+            },
+            1);
+
+    FuturesContract cached = cache.get("BTC/USD/241227");
+    FuturesContract uncached = cache.get("BTC/USD/241228");
+
+    assertThat(cache.get("BTC/USD/241227")).isSameAs(cached);
+    assertThat(cache.get("BTC/USD/241228")).isEqualTo(uncached).isNotSameAs(uncached);
+    assertThat(parsed).hasValue(3);
+
+    cache.clear();
+    assertThat(cache.get("BTC/USD/241228")).isSameAs(cache.get("BTC/USD/241228"));
+  }
+
+  @Test
+  public void testSharesInstrumentsAcrossCaches() {
+    SymbolCache<FuturesContract> dashed =
+        new SymbolCache<>(symbol -> new FuturesContract(symbol.replace('-', '/')));
+    SymbolCache<FuturesContract> slashed = new SymbolCache<>(FuturesContract::new);
+
+    assertThat(dashed.get("BTC-USDT-PERP")).isSameAs(slashed.get("BTC/USDT/PERP"));
+  }
+
+  @Test
+  public void testInternsByCodes() {
+    CurrencyPair xbt = InstrumentRegistry.intern(new CurrencyPair("XBT/USD"));
+    CurrencyPair btc = InstrumentRegistry.intern(new CurrencyPair("BTC/USD"));
+
+    assertThat(xbt).isEqualTo(btc).isNotSameAs(btc);
+    assertThat(xbt.toString()).isEqualTo("XBT/USD");
+    assertThat(InstrumentRegistry.intern(new CurrencyPair("XBT", "USD"))).isSameAs(xbt);
+    assertThat(InstrumentRegistry.intern((Instrument) null)).isNull();
+  }
+}
@@ -0,0 +1,122 @@
+package org.knowm.xchange.service.marketdata.backfill;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.marketdata.CandleStick;
+import org.knowm.xchange.dto.marketdata.CandleStickData;
+
+public class CandleStickBackfillTest {
+
+  private static final long MINUTE = 60_000;
+
+  private final AtomicInteger fetches = new AtomicInteger();
+  private Path directory;
+
+  @Before
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("candles");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  @Test
+  public void testFetchesEveryCandleOfTheRange() throws IOException {
+    CandleStickData data =
+        backfill(1_000 * MINUTE).backfill(CurrencyPair.BTC_USDT, 5 * MINUTE, 95 * MINUTE, null);
+
+    assertThat(data.getCandleSticks()).hasSize(90);
+    assertThat(data.getCandleSticks().get(0).getTimestamp().toEpochMilli()).isEqualTo(5 * MINUTE);
+    assertThat(data.getCandleSticks().get(89).getTimestamp().toEpochMilli())
+        .isEqualTo(94 * MINUTE);
+    assertThat(fetches).hasValue(10);
+  }
+
+  @Test
+  public void testFetchesOnlyPagesMissingFromTheCache() throws IOException {
+    CandleStickCache cache = new CandleStickCache(directory);
+    backfill(50 * MINUTE).backfill(CurrencyPair.BTC_USDT, 0, 50 * MINUTE, cache);
+    assertThat(fetches).hasValue(5);
+
+    CandleStickBackfill later = backfill(100 * MINUTE);
+    CandleStickData data =
+        later.backfill(CurrencyPair.BTC_USDT, 0, 100 * MINUTE, new CandleStickCache(directory));
+
+    assertThat(data.getCandleSticks()).hasSize(100);
+    assertThat(later.getCachedPages()).isEqualTo(5);
+    assertThat(later.getFetchedPages()).isEqualTo(5);
+    assertThat(data.getCandleSticks().get(7).getClose()).isEqualByComparingTo("107.5");
+    assertThat(data.getCandleSticks().get(7).getVolume())
+        .isEqualByComparingTo("123456789012345678901234.5");
+  }
+
+  @Test
+  public void testDoesNotCachePagesEndingAfterTheStart() throws IOException {
+    CandleStickCache cache = new CandleStickCache(directory);
+    backfill(45 * MINUTE).backfill(CurrencyPair.BTC_USDT, 0, 45 * MINUTE, cache);
+
+    assertThat(cache.series(CurrencyPair.BTC_USDT, MINUTE).size()).isEqualTo(4);
+  }
+
+  @Test
+  public void testCutsTornBlockOffTheCache() throws IOException {
+    CandleStickCache cache = new CandleStickCache(directory);
+    backfill(30 * MINUTE).backfill(CurrencyPair.BTC_USDT, 0, 30 * MINUTE, cache);
+    Path file = cache.series(CurrencyPair.BTC_USDT, MINUTE).getFile();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      channel.truncate(channel.size() - 3);
+    }
+
+    CandleStickCache.Series series =
+        new CandleStickCache(directory).series(CurrencyPair.BTC_USDT, MINUTE);
+
+    assertThat(series.size()).isEqualTo(2);
+    assertThat(series.read(0, 10 * MINUTE)).hasSize(10);
+  }
+
+  private CandleStickBackfill backfill(long now) {
+    CandleStickPageFetcher fetcher =
+        (instrument, start, end) -> {
+          fetches.incrementAndGet();
+          List<CandleStick> candles = new ArrayList<>();
+          for (long time = start; time < end; time += MINUTE) {
+            BigDecimal close = BigDecimal.valueOf(100 + time / MINUTE).add(new BigDecimal("0.5"));
+            candles.add(
+                new CandleStick.Builder()
+                    .timestamp(Instant.ofEpochMilli(time))
+                    .open(BigDecimal.valueOf(100))
+                    .high(close)
+                    .low(BigDecimal.valueOf(99))
+                    .close(close)
+                    .volume(new BigDecimal("123456789012345678901234.5"))
+                    .quotaVolume(BigDecimal.ONE)
+                    .build());
+          }
+          return candles;
+        };
+    return new CandleStickBackfill(
+        fetcher, MINUTE, 10, 3, Clock.fixed(Instant.ofEpochMilli(now), ZoneOffset.UTC));
+  }
+}
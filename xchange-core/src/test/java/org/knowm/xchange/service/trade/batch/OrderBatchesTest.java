@@ -0,0 +1,158 @@
+package org.knowm.xchange.service.trade.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import org.junit.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.dto.trade.OrderResult;
+import org.knowm.xchange.exceptions.NotYetImplementedForExchangeException;
+import org.knowm.xchange.service.trade.params.DefaultCancelOrderByUserReferenceParams;
+import org.knowm.xchange.service.trade.params.DefaultCancelOrderParamId;
+
+public class OrderBatchesTest {
+
+  private final List<List<String>> chunks = new CopyOnWriteArrayList<>();
+
+  @Test
+  public void testKeepsTheOrderOfTheRequestsInParallel() {
+    List<Integer> requests = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      requests.add(i);
+    }
+
+    List<OrderResult> results =
+        OrderBatches.inParallel(
+            requests,
+            request -> {
+              if (request % 7 == 0) {
+                throw new IOException("rejected " + request);
+              }
+              return OrderResult.success(Integer.toString(request));
+            });
+
+    assertThat(results).hasSize(50);
+    assertThat(results.get(3)).isEqualTo(OrderResult.success("3"));
+    assertThat(results.get(14)).isEqualTo(OrderResult.failure("rejected 14"));
+  }
+
+  @Test
+  public void testChunksEveryGroupOnItsOwn() {
+    List<String> requests = Arrays.asList("a1", "b1", "a2", "a3", "b2", "a4", "a5");
+
+    List<OrderResult> results =
+        OrderBatches.inChunks(
+            requests, request -> request.charAt(0), group -> group == 'a' ? 2 : 3, this::echo);
+
+    assertThat(chunks)
+        .containsExactly(
+            Arrays.asList("a1", "a2"),
+            Arrays.asList("a3", "a4"),
+            Arrays.asList("a5"),
+            Arrays.asList("b1", "b2"));
+    assertThat(results.stream().map(OrderResult::getOrderId).collect(Collectors.toList()))
+        .isEqualTo(requests);
+  }
+
+  @Test
+  public void testFailsOnlyTheOrdersOfAFailedChunk() {
+    List<String> requests = Arrays.asList("a", "b", "c", "d", "e");
+
+    List<OrderResult> results =
+        OrderBatches.inChunks(
+            requests,
+            2,
+            chunk -> {
+              if (chunk.contains("c")) {
+                throw new IOException("timeout");
+              }
+              return echo(chunk);
+            });
+
+    assertThat(results)
+        .containsExactly(
+            OrderResult.success("a"),
+            OrderResult.success("b"),
+            OrderResult.failure("timeout"),
+            OrderResult.failure("timeout"),
+            OrderResult.success("e"));
+  }
+
+  @Test
+  public void testFailsAChunkWithMissingResults() {
+    List<OrderResult> results =
+        OrderBatches.inChunks(
+            Arrays.asList("a", "b"), 2, chunk -> echo(chunk.subList(0, 1)));
+
+    assertThat(results).extracting(OrderResult::isSuccess).containsExactly(false, false);
+  }
+
+  @Test
+  public void testFailuresCarryTheIdentifiersOfTheirRequests() {
+    LimitOrder order =
+        new LimitOrder.Builder(OrderType.BID, CurrencyPair.BTC_USD)
+            .id("order-1")
+            .userReference("ref-1")
+            .originalAmount(BigDecimal.ONE)
+            .limitPrice(BigDecimal.TEN)
+            .build();
+
+    List<OrderResult> results =
+        OrderBatches.inParallel(
+            Arrays.asList(
+                order,
+                new DefaultCancelOrderParamId("order-2"),
+                new DefaultCancelOrderByUserReferenceParams("ref-3")),
+            request -> {
+              throw new IOException("timeout");
+            });
+
+    assertThat(results)
+        .containsExactly(
+            OrderResult.failure("timeout").withOrderId("order-1").withUserReference("ref-1"),
+            OrderResult.failure("timeout").withOrderId("order-2"),
+            OrderResult.failure("timeout").withUserReference("ref-3"));
+  }
+
+  @Test
+  public void testFailsTheChunksOfVenueRequestsWithTheirIdentifiers() {
+    List<OrderResult> results =
+        OrderBatches.inChunks(
+            Arrays.asList("a", "b", "c"),
+            2,
+            chunk -> {
+              throw new IOException("timeout");
+            },
+            (request, error) -> OrderResult.failure(error).withUserReference("ref-" + request));
+
+    assertThat(results)
+        .extracting(OrderResult::getUserReference)
+        .containsExactly("ref-a", "ref-b", "ref-c");
+  }
+
+  @Test
+  public void testThrowsUnsupportedOperations() {
+    assertThatThrownBy(
+            () ->
+                OrderBatches.inParallel(
+                    Arrays.asList("a", "b"),
+                    request -> {
+                      throw new NotYetImplementedForExchangeException("placeLimitOrder");
+                    }))
+        .isInstanceOf(NotYetImplementedForExchangeException.class);
+  }
+
+  private List<OrderResult> echo(List<String> chunk) {
+    chunks.add(new ArrayList<>(chunk));
+    return chunk.stream().map(OrderResult::success).collect(Collectors.toList());
+  }
+}
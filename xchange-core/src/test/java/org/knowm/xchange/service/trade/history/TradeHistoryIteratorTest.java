@@ -0,0 +1,117 @@
+package org.knowm.xchange.service.trade.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.Trades.TradeSortType;
+import org.knowm.xchange.dto.trade.UserTrade;
+import org.knowm.xchange.dto.trade.UserTrades;
+import org.knowm.xchange.service.trade.params.TradeHistoryParams;
+import org.knowm.xchange.service.trade.params.TradeHistoryParamsAll;
+
+public class TradeHistoryIteratorTest {
+
+  private final List<Integer> fetchedPages = new CopyOnWriteArrayList<>();
+
+  @Test
+  public void testFollowsThePageNumbers() {
+    TradeHistoryParamsAll params = new TradeHistoryParamsAll();
+    params.setPageLength(3);
+    params.setPageNumber(0);
+
+    List<String> ids;
+    try (Stream<UserTrade> trades =
+        TradeHistoryIterator.stream(this::page, params, TradeHistoryCursor.pageNumber())) {
+      ids = trades.map(UserTrade::getId).collect(Collectors.toList());
+    }
+
+    assertThat(ids).containsExactly("0", "1", "2", "3", "4", "5", "6", "7");
+    assertThat(fetchedPages).containsExactly(0, 1, 2);
+  }
+
+  @Test
+  public void testPrefetchesOnlyTheNextPage() {
+    TradeHistoryParamsAll params = new TradeHistoryParamsAll();
+    params.setPageLength(3);
+    params.setPageNumber(0);
+    Queue<Runnable> pendingFetches = new ArrayDeque<>();
+
+    TradeHistoryIterator iterator =
+        new TradeHistoryIterator(
+            this::page, params, TradeHistoryCursor.pageNumber(), pendingFetches::add);
+    runAll(pendingFetches);
+    assertThat(iterator.next().getId()).isEqualTo("0");
+
+    assertThat(pendingFetches).hasSize(1);
+    runAll(pendingFetches);
+    assertThat(iterator.next().getId()).isEqualTo("1");
+    assertThat(iterator.next().getId()).isEqualTo("2");
+
+    assertThat(pendingFetches).isEmpty();
+    assertThat(fetchedPages).containsExactly(0, 1);
+    iterator.close();
+  }
+
+  @Test
+  public void testThrowsErrorsOfTheCalls() {
+    TradeHistoryParamsAll params = new TradeHistoryParamsAll();
+    params.setPageLength(3);
+    params.setPageNumber(0);
+    TradeHistoryIterator.PageFetcher failing =
+        pageParams -> {
+          if (((TradeHistoryParamsAll) pageParams).getPageNumber() > 0) {
+            throw new IOException("connection reset");
+          }
+          return page(pageParams);
+        };
+
+    TradeHistoryIterator iterator =
+        new TradeHistoryIterator(failing, params, TradeHistoryCursor.pageNumber());
+    for (int i = 0; i < 3; i++) {
+      iterator.next();
+    }
+
+    assertThatThrownBy(iterator::hasNext)
+        .isInstanceOf(UncheckedIOException.class)
+        .hasMessageContaining("connection reset");
+  }
+
+  private static void runAll(Queue<Runnable> tasks) {
+    while (!tasks.isEmpty()) {
+      tasks.poll().run();
+    }
+  }
+
+  /** pages of 3 trades out of 8 */
+  private UserTrades page(TradeHistoryParams params) {
+    int pageNumber = ((TradeHistoryParamsAll) params).getPageNumber();
+    fetchedPages.add(pageNumber);
+    List<UserTrade> trades = new ArrayList<>();
+    for (int id = pageNumber * 3; id < Math.min(8, pageNumber * 3 + 3); id++) {
+      trades.add(
+          UserTrade.builder()
+              .type(OrderType.BID)
+              .originalAmount(BigDecimal.ONE)
+              .instrument(CurrencyPair.BTC_USDT)
+              .price(BigDecimal.TEN)
+              .timestamp(new Date(id))
+              .id(Integer.toString(id))
+              .build());
+    }
+    return new UserTrades(trades, TradeSortType.SortByID);
+  }
+}
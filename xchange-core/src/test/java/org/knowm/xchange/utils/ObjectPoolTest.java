@@ -0,0 +1,43 @@
+package org.knowm.xchange.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class ObjectPoolTest {
+
+  private final AtomicInteger created = new AtomicInteger();
+  private final ObjectPool<Object> pool = new ObjectPool<>(this::create, 1);
+
+  @Test
+  public void testReusesReleasedObjectsAcrossThreads() throws InterruptedException {
+    Object first = pool.acquire();
+    pool.release(first);
+
+    Object[] acquired = new Object[1];
+    Thread thread = new Thread(() -> acquired[0] = pool.acquire());
+    thread.start();
+    thread.join();
+
+    assertThat(acquired[0]).isSameAs(first);
+    assertThat(created).hasValue(1);
+  }
+
+  @Test
+  public void testKeepsAtMostCapacityIdleObjects() {
+    Object first = pool.acquire();
+    Object second = pool.acquire();
+    pool.release(first);
+    pool.release(second);
+
+    assertThat(pool.acquire()).isSameAs(first);
+    assertThat(pool.acquire()).isNotSameAs(second);
+    assertThat(created).hasValue(3);
+  }
+
+  private Object create() {
+    created.incrementAndGet();
+    return new Object();
+  }
+}
@@ -0,0 +1,52 @@
+package org.knowm.xchange.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import org.junit.After;
+import org.junit.Test;
+
+public class SigningBufferTest {
+
+  private final SigningBuffer buffer = SigningBuffer.acquire();
+
+  @After
+  public void release() {
+    buffer.release();
+  }
+
+  @Test
+  public void testEncodesUtf8() {
+    String text = "symbol=BTCUSDT&note=čaj€";
+
+    int length = buffer.encode(text);
+
+    assertThat(Arrays.copyOf(buffer.input(), length))
+        .isEqualTo(text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testGrowsForLongPayloads() {
+    String text = "a".repeat(5000);
+
+    assertThat(buffer.encode(text)).isEqualTo(5000);
+    assertThat(buffer.input()[4999]).isEqualTo((byte) 'a');
+  }
+
+  @Test
+  public void testEncodesLikeTheJdk() {
+    byte[] bytes = new byte[70];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) (i * 37 - 128);
+    }
+
+    for (int length = 0; length <= bytes.length; length++) {
+      byte[] prefix = Arrays.copyOf(bytes, length);
+      assertThat(buffer.base64(bytes, length))
+          .isEqualTo(Base64.getEncoder().encodeToString(prefix));
+      assertThat(buffer.hex(bytes, length)).isEqualTo(DigestUtils.bytesToHex(prefix));
+    }
+  }
+}
@@ -1,27 +1,36 @@
 package org.knowm.xchange.gateio.service;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.Validate;
+import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.Order;
 import org.knowm.xchange.dto.Order.OrderStatus;
 import org.knowm.xchange.dto.marketdata.Trades.TradeSortType;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.MarketOrder;
 import org.knowm.xchange.dto.trade.OpenOrders;
+import org.knowm.xchange.dto.trade.OrderResult;
 import org.knowm.xchange.dto.trade.UserTrade;
 import org.knowm.xchange.dto.trade.UserTrades;
 import org.knowm.xchange.gateio.GateioAdapters;
 import org.knowm.xchange.gateio.GateioErrorAdapter;
 import org.knowm.xchange.gateio.GateioExchange;
 import org.knowm.xchange.gateio.dto.GateioException;
+import org.knowm.xchange.gateio.dto.account.GateioAmendOrderRequest;
+import org.knowm.xchange.gateio.dto.account.GateioCancelBatchRequest;
+import org.knowm.xchange.gateio.dto.account.GateioCancelOrderResult;
 import org.knowm.xchange.gateio.dto.account.GateioOrder;
 import org.knowm.xchange.gateio.service.params.GateioTradeHistoryParams;
 import org.knowm.xchange.instrument.Instrument;
 import org.knowm.xchange.service.trade.TradeService;
+import org.knowm.xchange.service.trade.batch.OrderBatches;
 import org.knowm.xchange.service.trade.params.CancelOrderParams;
 import org.knowm.xchange.service.trade.params.DefaultCancelOrderByInstrumentAndIdParams;
 import org.knowm.xchange.service.trade.params.InstrumentParam;
@@ -32,6 +41,12 @@ import org.knowm.xchange.service.trade.params.orders.OrderQueryParams;
 
 public class GateioTradeService extends GateioTradeServiceRaw implements TradeService {
 
+  /** Orders per pair in one batch placement */
+  private static final int BATCH_ORDER_LIMIT = 10;
+
+  /** Orders in one batch cancellation */
+  private static final int BATCH_CANCEL_LIMIT = 20;
+
   public GateioTradeService(GateioExchange exchange) {
     super(exchange);
   }
@@ -68,6 +83,104 @@ public class GateioTradeService extends GateioTradeServiceRaw implements TradeSe
     }
   }
 
+  /**
+   * Places the orders through the batch endpoint, up to 10 orders of one pair per request. Gate
+   * returns the result of each order in the order of the request.
+   */
+  @Override
+  public List<OrderResult> placeLimitOrders(List<LimitOrder> limitOrders) throws IOException {
+    List<GateioOrder> orders =
+        limitOrders.stream().map(GateioAdapters::toGateioOrder).collect(Collectors.toList());
+    return OrderBatches.inChunks(
+        orders,
+        GateioOrder::getCurrencyPair,
+        BATCH_ORDER_LIMIT,
+        chunk -> {
+          try {
+            return createBatchOrders(chunk).stream()
+                .map(
+                    result ->
+                        Boolean.TRUE.equals(result.getSucceeded())
+                            ? OrderResult.success(result.getId())
+                                .withUserReference(result.getClientOrderId())
+                            : OrderResult.failure(result.getLabel() + ": " + result.getMessage())
+                                .withOrderId(result.getId())
+                                .withUserReference(result.getClientOrderId()))
+                .collect(Collectors.toList());
+          } catch (GateioException e) {
+            throw GateioErrorAdapter.adapt(e);
+          }
+        },
+        (order, error) -> OrderResult.failure(error).withUserReference(order.getClientOrderId()));
+  }
+
+  /** Amends the price and amount of the order in place. */
+  @Override
+  public String changeOrder(LimitOrder limitOrder) throws IOException {
+    try {
+      GateioOrder order =
+          amendOrder(
+              limitOrder.getId(),
+              (CurrencyPair) limitOrder.getInstrument(),
+              GateioAmendOrderRequest.builder()
+                  .amount(limitOrder.getOriginalAmount())
+                  .price(limitOrder.getLimitPrice())
+                  .build());
+      return order.getId();
+    } catch (GateioException e) {
+      throw GateioErrorAdapter.adapt(e);
+    }
+  }
+
+  /**
+   * Cancels through the batch endpoint, up to 20 orders per request. The results are matched back
+   * to the requests by order id.
+   */
+  @Override
+  public List<OrderResult> cancelOrders(List<CancelOrderParams> orderParams) throws IOException {
+    List<GateioCancelBatchRequest> requests = new ArrayList<>(orderParams.size());
+    for (CancelOrderParams params : orderParams) {
+      Validate.isInstanceOf(DefaultCancelOrderByInstrumentAndIdParams.class, params);
+      DefaultCancelOrderByInstrumentAndIdParams byId =
+          (DefaultCancelOrderByInstrumentAndIdParams) params;
+      requests.add(
+          GateioCancelBatchRequest.builder()
+              .currencyPair((CurrencyPair) byId.getInstrument())
+              .orderId(byId.getOrderId())
+              .build());
+    }
+    return OrderBatches.inChunks(
+        requests,
+        BATCH_CANCEL_LIMIT,
+        chunk -> {
+          Map<String, GateioCancelOrderResult> resultsById = new HashMap<>();
+          try {
+            cancelBatchOrders(chunk).forEach(result -> resultsById.put(result.getId(), result));
+          } catch (GateioException e) {
+            throw GateioErrorAdapter.adapt(e);
+          }
+          List<OrderResult> results = new ArrayList<>(chunk.size());
+          for (GateioCancelBatchRequest request : chunk) {
+            GateioCancelOrderResult result = resultsById.get(request.getOrderId());
+            if (result == null) {
+              results.add(
+                  OrderResult.failure("No result returned for the order")
+                      .withOrderId(request.getOrderId()));
+            } else if (Boolean.TRUE.equals(result.getSucceeded())) {
+              results.add(
+                  OrderResult.success(result.getId()).withUserReference(result.getClientOrderId()));
+            } else {
+              results.add(
+                  OrderResult.failure(result.getLabel() + ": " + result.getMessage())
+                      .withOrderId(result.getId())
+                      .withUserReference(result.getClientOrderId()));
+            }
+          }
+          return results;
+        },
+        (request, error) -> OrderResult.failure(error).withOrderId(request.getOrderId()));
+  }
+
   @Override
   public Collection<Order> getOrder(OrderQueryParams... orderQueryParams) throws IOException {
     // todo: implement getting of several orders
@@ -6,8 +6,11 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 import org.knowm.xchange.currency.Currency;
 import org.knowm.xchange.currency.CurrencyPair;
@@ -17,13 +20,20 @@ import org.knowm.xchange.dto.Order.OrderType;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.MarketOrder;
 import org.knowm.xchange.dto.trade.OpenOrders;
+import org.knowm.xchange.dto.trade.OrderResult;
 import org.knowm.xchange.dto.trade.UserTrade;
 import org.knowm.xchange.dto.trade.UserTrades;
 import org.knowm.xchange.exceptions.FundsExceededException;
+import org.knowm.xchange.gateio.GateioExchange;
 import org.knowm.xchange.gateio.GateioExchangeWiremock;
+import org.knowm.xchange.gateio.dto.account.GateioBatchOrderResult;
+import org.knowm.xchange.gateio.dto.account.GateioCancelBatchRequest;
+import org.knowm.xchange.gateio.dto.account.GateioCancelOrderResult;
+import org.knowm.xchange.gateio.dto.account.GateioOrder;
 import org.knowm.xchange.gateio.dto.trade.GateioUserTrade;
 import org.knowm.xchange.gateio.dto.trade.Role;
 import org.knowm.xchange.gateio.service.params.GateioTradeHistoryParams;
+import org.knowm.xchange.service.trade.params.CancelOrderParams;
 import org.knowm.xchange.service.trade.params.DefaultCancelOrderByInstrumentAndIdParams;
 import org.knowm.xchange.service.trade.params.orders.DefaultOpenOrdersParamInstrument;
 import org.knowm.xchange.service.trade.params.orders.DefaultQueryOrderParamInstrument;
@@ -254,4 +264,118 @@ class GateioTradeServiceTest extends GateioExchangeWiremock {
                         .build()))
         .withMessageContaining("use bounded pagination");
   }
+
+  @Test
+  void batch_orders_match_the_result_of_each_order() throws IOException {
+    List<OrderResult> results =
+        gateioTradeService.placeLimitOrders(
+            List.of(
+                limitOrder(CurrencyPair.BTC_USDT, "t-batch-1"),
+                limitOrder(CurrencyPair.BTC_USDT, "t-batch-2")));
+
+    assertThat(results)
+        .containsExactly(
+            OrderResult.success("745504484392").withUserReference("t-batch-1"),
+            OrderResult.failure("ORDER_NOT_FOUND: order not found")
+                .withOrderId("745504484400")
+                .withUserReference("t-batch-2"));
+  }
+
+  @Test
+  void batch_orders_are_chunked_per_pair() throws IOException {
+    StubTradeService service = new StubTradeService(exchange);
+    List<LimitOrder> orders = new ArrayList<>();
+    for (int i = 0; i < 15; i++) {
+      orders.add(limitOrder(i % 5 == 4 ? CurrencyPair.ETH_USDT : CurrencyPair.BTC_USDT, "t-" + i));
+    }
+    service.failingClientOrderId = "t-4";
+
+    List<OrderResult> results = service.placeLimitOrders(orders);
+
+    assertThat(service.chunks)
+        .containsExactly(
+            List.of("t-0", "t-1", "t-2", "t-3", "t-5", "t-6", "t-7", "t-8", "t-10", "t-11"),
+            List.of("t-12", "t-13"),
+            List.of("t-4", "t-9", "t-14"));
+    assertThat(results.get(0)).isEqualTo(OrderResult.success("id-t-0").withUserReference("t-0"));
+    assertThat(results.get(13)).isEqualTo(OrderResult.success("id-t-13").withUserReference("t-13"));
+    assertThat(results.get(4)).isEqualTo(OrderResult.failure("timeout").withUserReference("t-4"));
+    assertThat(results.get(14)).isEqualTo(OrderResult.failure("timeout").withUserReference("t-14"));
+  }
+
+  @Test
+  void batch_cancels_match_results_by_order_id() throws IOException {
+    StubTradeService service = new StubTradeService(exchange);
+    List<CancelOrderParams> params = new ArrayList<>();
+    for (int i = 0; i < 22; i++) {
+      params.add(new DefaultCancelOrderByInstrumentAndIdParams(CurrencyPair.BTC_USDT, "id-" + i));
+    }
+    service.missingOrderId = "id-3";
+
+    List<OrderResult> results = service.cancelOrders(params);
+
+    assertThat(service.chunks).extracting(List::size).containsExactly(20, 2);
+    assertThat(results).hasSize(22);
+    assertThat(results.get(0)).isEqualTo(OrderResult.success("id-0"));
+    assertThat(results.get(3))
+        .isEqualTo(OrderResult.failure("No result returned for the order").withOrderId("id-3"));
+    assertThat(results.get(21)).isEqualTo(OrderResult.success("id-21"));
+  }
+
+  private static LimitOrder limitOrder(CurrencyPair pair, String userReference) {
+    return new LimitOrder.Builder(OrderType.BID, pair)
+        .userReference(userReference)
+        .originalAmount(new BigDecimal("0.001"))
+        .limitPrice(new BigDecimal("10000"))
+        .build();
+  }
+
+  /** Answers batches without a connection, the cancellations in reverse order. */
+  private static class StubTradeService extends GateioTradeService {
+    final List<List<String>> chunks = new ArrayList<>();
+    String failingClientOrderId;
+    String missingOrderId;
+
+    StubTradeService(GateioExchange exchange) {
+      super(exchange);
+    }
+
+    @Override
+    public List<GateioBatchOrderResult> createBatchOrders(List<GateioOrder> gateioOrders)
+        throws IOException {
+      chunks.add(
+          gateioOrders.stream().map(GateioOrder::getClientOrderId).collect(Collectors.toList()));
+      List<GateioBatchOrderResult> results = new ArrayList<>();
+      for (GateioOrder order : gateioOrders) {
+        if (order.getClientOrderId().equals(failingClientOrderId)) {
+          throw new IOException("timeout");
+        }
+        GateioBatchOrderResult result = new GateioBatchOrderResult();
+        result.setId("id-" + order.getClientOrderId());
+        result.setClientOrderId(order.getClientOrderId());
+        result.setSucceeded(true);
+        results.add(result);
+      }
+      return results;
+    }
+
+    @Override
+    public List<GateioCancelOrderResult> cancelBatchOrders(
+        List<GateioCancelBatchRequest> cancelRequests) {
+      chunks.add(
+          cancelRequests.stream()
+              .map(GateioCancelBatchRequest::getOrderId)
+              .collect(Collectors.toList()));
+      List<GateioCancelOrderResult> results = new ArrayList<>();
+      for (GateioCancelBatchRequest request : cancelRequests) {
+        if (!request.getOrderId().equals(missingOrderId)) {
+          GateioCancelOrderResult result = new GateioCancelOrderResult();
+          result.setId(request.getOrderId());
+          result.setSucceeded(true);
+          results.add(0, result);
+        }
+      }
+      return results;
+    }
+  }
 }
@@ -36,14 +36,17 @@ public class KrakenAddOrderBatchResponse {
     private final String transactionId;
     private final String orderDescription;
     private final String closeDescription;
+    private final String error;
 
     public KrakenBatchOrder(
         @JsonProperty("txid") String transactionId,
-        @JsonProperty("descr") KrakenOrderResponse.KrakenOrderResponseDescription description) {
+        @JsonProperty("descr") KrakenOrderResponse.KrakenOrderResponseDescription description,
+        @JsonProperty("error") String error) {
 
       this.transactionId = transactionId;
       this.orderDescription = description == null ? null : description.getOrderDescription();
       this.closeDescription = description == null ? null : description.getCloseDescription();
+      this.error = error;
     }
 
     /**
@@ -67,6 +70,13 @@ public class KrakenAddOrderBatchResponse {
       return closeDescription;
     }
 
+    /**
+     * @return why this order of the batch was rejected, null when it was placed
+     */
+    public String getError() {
+      return error;
+    }
+
     @Override
     public String toString() {
       return "KrakenBatchOrder [transactionId="
@@ -75,6 +85,8 @@ public class KrakenAddOrderBatchResponse {
           + orderDescription
           + ", closeDescription="
           + closeDescription
+          + ", error="
+          + error
           + "]";
     }
   }
@@ -3,11 +3,15 @@ package org.knowm.xchange.kraken.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.ws.rs.FormParam;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
 import org.knowm.xchange.service.BaseParamsDigest;
+import org.knowm.xchange.utils.ObjectPool;
+import org.knowm.xchange.utils.SigningBuffer;
 import si.mazi.rescu.RestInvocation;
 
 /**
@@ -15,6 +19,11 @@ import si.mazi.rescu.RestInvocation;
  */
 public class KrakenDigest extends BaseParamsDigest {
 
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static final ObjectPool<MessageDigest> SHA_256 =
+      new ObjectPool<>(KrakenDigest::createSha256);
+
   /**
    * Constructor
    *
@@ -37,14 +46,6 @@ public class KrakenDigest extends BaseParamsDigest {
   @Override
   public String digestParams(RestInvocation restInvocation) {
 
-    MessageDigest sha256;
-    try {
-      sha256 = MessageDigest.getInstance("SHA-256");
-    } catch (NoSuchAlgorithmException e) {
-      throw new RuntimeException(
-          "Illegal algorithm for post body digest. Check the implementation.");
-    }
-
     // Get nonce - try FormParam first, then extract from JSON body if not available
     String nonce;
     Object nonceParam = restInvocation.getParamValue(FormParam.class, "nonce");
@@ -55,8 +56,7 @@ public class KrakenDigest extends BaseParamsDigest {
       try {
         String requestBody = restInvocation.getRequestBody();
         if (requestBody != null && requestBody.contains("nonce")) {
-          ObjectMapper mapper = new ObjectMapper();
-          JsonNode jsonNode = mapper.readTree(requestBody);
+          JsonNode jsonNode = MAPPER.readTree(requestBody);
           JsonNode nonceNode = jsonNode.get("nonce");
           if (nonceNode != null) {
             nonce = nonceNode.asText();
@@ -71,13 +71,36 @@ public class KrakenDigest extends BaseParamsDigest {
       }
     }
 
-    sha256.update(nonce.getBytes());
-    sha256.update(restInvocation.getRequestBody().getBytes());
+    SigningBuffer buffer = SigningBuffer.acquire();
+    MessageDigest sha256 = SHA_256.acquire();
+    Mac mac512 = acquireMac();
+    try {
+      sha256.update(buffer.input(), 0, buffer.encode(nonce));
+      sha256.update(buffer.input(), 0, buffer.encode(restInvocation.getRequestBody()));
 
-    Mac mac512 = getMac();
-    mac512.update(("/" + restInvocation.getPath()).getBytes());
-    mac512.update(sha256.digest());
+      mac512.update((byte) '/');
+      mac512.update(buffer.input(), 0, buffer.encode(restInvocation.getPath()));
+      byte[] output = buffer.output(sha256.getDigestLength() + mac512.getMacLength());
+      sha256.digest(output, 0, sha256.getDigestLength());
+      mac512.update(output, 0, sha256.getDigestLength());
+      mac512.doFinal(output, 0);
+      return buffer.base64(output, mac512.getMacLength());
+    } catch (DigestException | ShortBufferException e) {
+      throw new IllegalStateException(e);
+    } finally {
+      releaseMac(mac512);
+      sha256.reset();
+      SHA_256.release(sha256);
+      buffer.release();
+    }
+  }
 
-    return Base64.getEncoder().encodeToString(mac512.doFinal()).trim();
+  private static MessageDigest createSha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(
+          "Illegal algorithm for post body digest. Check the implementation.");
+    }
   }
 }
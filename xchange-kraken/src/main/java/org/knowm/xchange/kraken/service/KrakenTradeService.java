@@ -1,9 +1,13 @@
 package org.knowm.xchange.kraken.service;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.knowm.xchange.Exchange;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.Order;
@@ -11,16 +15,23 @@ import org.knowm.xchange.dto.account.OpenPositions;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.MarketOrder;
 import org.knowm.xchange.dto.trade.OpenOrders;
+import org.knowm.xchange.dto.trade.OrderResult;
+import org.knowm.xchange.dto.trade.UserTrade;
 import org.knowm.xchange.dto.trade.UserTrades;
 import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.instrument.Instrument;
 import org.knowm.xchange.kraken.KrakenAdapters;
 import org.knowm.xchange.kraken.KrakenUtils;
+import org.knowm.xchange.kraken.dto.trade.KrakenAddOrderBatchResponse.KrakenBatchOrder;
 import org.knowm.xchange.kraken.dto.trade.KrakenAmendOrderResponse;
 import org.knowm.xchange.kraken.dto.trade.KrakenCancelAllOrdersAfterResponse;
 import org.knowm.xchange.kraken.dto.trade.KrakenOrder;
+import org.knowm.xchange.kraken.dto.trade.KrakenStandardOrder;
 import org.knowm.xchange.kraken.dto.trade.KrakenTrade;
+import org.knowm.xchange.kraken.dto.trade.results.KrakenTradeHistoryResult.KrakenTradeHistory;
 import org.knowm.xchange.service.trade.TradeService;
+import org.knowm.xchange.service.trade.batch.OrderBatches;
+import org.knowm.xchange.service.trade.history.TradeHistoryIterator;
 import org.knowm.xchange.service.trade.params.CancelAllOrders;
 import org.knowm.xchange.service.trade.params.CancelOrderByIdParams;
 import org.knowm.xchange.service.trade.params.CancelOrderByUserReferenceParams;
@@ -39,6 +50,9 @@ import org.knowm.xchange.utils.DateUtils;
 
 public class KrakenTradeService extends KrakenTradeServiceRaw implements TradeService {
 
+  /** AddOrderBatch takes 2 to 15 orders, all of one pair */
+  private static final int BATCH_ORDER_LIMIT = 15;
+
   /**
    * Constructor
    *
@@ -91,6 +105,47 @@ public class KrakenTradeService extends KrakenTradeServiceRaw implements TradeSe
     return KrakenAdapters.adaptOrderId(super.placeKrakenLimitOrder(limitOrder));
   }
 
+  /**
+   * Places the orders through AddOrderBatch, one batch per pair of up to 15 orders. A pair with a
+   * single order goes through AddOrder as the batch endpoint needs at least two. Kraken returns
+   * the orders of a batch in the order they were sent.
+   */
+  @Override
+  public List<OrderResult> placeLimitOrders(List<LimitOrder> limitOrders) throws IOException {
+    List<KrakenStandardOrder> orders =
+        limitOrders.stream().map(this::krakenLimitOrder).collect(Collectors.toList());
+    return OrderBatches.inChunks(
+        orders,
+        KrakenStandardOrder::getAssetPair,
+        BATCH_ORDER_LIMIT,
+        chunk -> {
+          if (chunk.size() == 1) {
+            return Collections.singletonList(
+                OrderResult.success(KrakenAdapters.adaptOrderId(placeKrakenOrder(chunk.get(0))))
+                    .withUserReference(userReferenceOf(chunk.get(0))));
+          }
+          List<KrakenBatchOrder> placed = placeKrakenOrdersBatch(chunk).getOrders();
+          List<OrderResult> results = new ArrayList<>(placed.size());
+          for (int i = 0; i < placed.size() && i < chunk.size(); i++) {
+            KrakenBatchOrder order = placed.get(i);
+            results.add(
+                order.getError() == null
+                    ? OrderResult.success(order.getTransactionId())
+                        .withUserReference(userReferenceOf(chunk.get(i)))
+                    : OrderResult.failure(order.getError())
+                        .withOrderId(order.getTransactionId())
+                        .withUserReference(userReferenceOf(chunk.get(i))));
+          }
+          return results;
+        },
+        (order, error) -> OrderResult.failure(error).withUserReference(userReferenceOf(order)));
+  }
+
+  /** The cl_ord_id the order was sent with, or its userref. */
+  private static String userReferenceOf(KrakenStandardOrder order) {
+    return order.getClientOrderId() != null ? order.getClientOrderId() : order.getUserRefId();
+  }
+
   @Override
   public boolean cancelOrder(String orderId) throws IOException {
 
@@ -209,14 +264,20 @@ public class KrakenTradeService extends KrakenTradeServiceRaw implements TradeSe
       includeTrades = Boolean.TRUE.equals(krakenParams.getIncludeTrades());
       consolidateTrades = krakenParams.getConsolidateTrades();
     }
+    String nextPageCursor = null;
     if (offset == null) {
       // no explicit cursor: fetch the full history with bounded pagination
       krakenTradeHistory =
           getKrakenTradeHistoryAll(null, includeTrades, start, end, consolidateTrades).getTrades();
     } else {
-      krakenTradeHistory =
-          getKrakenTradeHistory(null, includeTrades, start, end, offset, consolidateTrades)
-              .getTrades();
+      KrakenTradeHistory page =
+          getKrakenTradeHistory(null, includeTrades, start, end, offset, consolidateTrades);
+      krakenTradeHistory = page.getTrades();
+      // the offset of the next page counts the trades before the currency pair filter
+      long nextOffset = offset + krakenTradeHistory.size();
+      if (!krakenTradeHistory.isEmpty() && nextOffset < page.getCount()) {
+        nextPageCursor = Long.toString(nextOffset);
+      }
     }
 
     if (params instanceof TradeHistoryParamCurrencyPair
@@ -226,7 +287,39 @@ public class KrakenTradeService extends KrakenTradeServiceRaw implements TradeSe
               krakenTradeHistory, ((TradeHistoryParamCurrencyPair) params).getCurrencyPair());
     }
 
-    return KrakenAdapters.adaptTradesHistory(krakenTradeHistory);
+    UserTrades trades = KrakenAdapters.adaptTradesHistory(krakenTradeHistory);
+    return nextPageCursor == null
+        ? trades
+        : new UserTrades(
+            trades.getUserTrades(), 0, trades.getTradeSortType(), nextPageCursor);
+  }
+
+  /**
+   * Streams the trades selected by the params, newest first, by offset pages of 50 trades.
+   *
+   * <p>The params must be a {@link TradeHistoryParamOffset}, the stream starts at its offset or at
+   * the newest trade.
+   */
+  @Override
+  public Stream<UserTrade> getTradeHistoryStream(TradeHistoryParams params) throws IOException {
+    if (!(params instanceof TradeHistoryParamOffset)) {
+      throw new ExchangeException(
+          "Params must implement " + TradeHistoryParamOffset.class.getSimpleName());
+    }
+    TradeHistoryParamOffset offsetParams = (TradeHistoryParamOffset) params;
+    if (offsetParams.getOffset() == null) {
+      offsetParams.setOffset(0L);
+    }
+    return TradeHistoryIterator.stream(
+        this::getTradeHistory,
+        params,
+        (pageParams, page) -> {
+          if (page.getNextPageCursor() == null) {
+            return false;
+          }
+          ((TradeHistoryParamOffset) pageParams).setOffset(Long.valueOf(page.getNextPageCursor()));
+          return true;
+        });
   }
 
   @Override
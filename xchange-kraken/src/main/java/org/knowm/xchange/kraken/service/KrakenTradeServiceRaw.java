@@ -321,6 +321,10 @@ public class KrakenTradeServiceRaw extends KrakenBaseService {
   }
 
   public KrakenOrderResponse placeKrakenLimitOrder(LimitOrder limitOrder) throws IOException {
+    return placeKrakenOrder(krakenLimitOrder(limitOrder));
+  }
+
+  protected KrakenStandardOrder krakenLimitOrder(LimitOrder limitOrder) {
     KrakenType type = KrakenType.fromOrderType(limitOrder.getType());
     KrakenOrderBuilder krakenOrderBuilder =
         KrakenStandardOrder.getLimitOrderBuilder(
@@ -339,7 +343,7 @@ public class KrakenTradeServiceRaw extends KrakenBaseService {
       krakenOrderBuilder.withUserRefId(limitOrder.getUserReference());
     }
 
-    return placeKrakenOrder(krakenOrderBuilder.buildOrder());
+    return krakenOrderBuilder.buildOrder();
   }
 
   protected Optional<String> getClientOrderId(Order order) {
@@ -17,6 +17,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.trade.OrderResult;
 import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.kraken.KrakenExchangeWiremock;
 import org.knowm.xchange.kraken.dto.trade.KrakenAddOrderBatchResponse;
@@ -157,6 +158,40 @@ public class KrakenOrderWorkflowsTest extends KrakenExchangeWiremock {
         .withMessageContaining("at least one order");
   }
 
+  @Test
+  void place_limit_orders_batches_per_pair_and_matches_results_to_orders() throws IOException {
+    stubEndpoint("/0/private/AddOrderBatch", "0_private_addorderbatch-ok.json");
+    stubEndpoint("/0/private/AddOrder", "0_private_addorder-error.json");
+
+    List<OrderResult> results =
+        exchange
+            .getTradeService()
+            .placeLimitOrders(
+                List.of(
+                    limitOrder(CurrencyPair.BTC_USD, "101"),
+                    limitOrder(CurrencyPair.ETH_USD, "102"),
+                    limitOrder(CurrencyPair.BTC_USD, "103")));
+
+    assertThat(results.get(0))
+        .isEqualTo(OrderResult.success("O5OR23-ADFAD-Y2G61C").withUserReference("101"));
+    assertThat(results.get(1).isSuccess()).isFalse();
+    assertThat(results.get(1).getUserReference()).isEqualTo("102");
+    assertThat(results.get(2))
+        .isEqualTo(OrderResult.success("9K6KFS-5H3PL-XBRC7A").withUserReference("103"));
+    verify(1, postRequestedFor(urlEqualTo("/0/private/AddOrderBatch")));
+    verify(1, postRequestedFor(urlEqualTo("/0/private/AddOrder")));
+  }
+
+  private static org.knowm.xchange.dto.trade.LimitOrder limitOrder(
+      CurrencyPair pair, String userReference) {
+    return new org.knowm.xchange.dto.trade.LimitOrder.Builder(
+            org.knowm.xchange.dto.Order.OrderType.BID, pair)
+        .userReference(userReference)
+        .limitPrice(new BigDecimal("50000.0"))
+        .originalAmount(new BigDecimal("0.002"))
+        .build();
+  }
+
   @Test
   void failed_placement_is_not_replayed() {
     stubEndpoint("/0/private/AddOrder", "0_private_addorder-error.json");
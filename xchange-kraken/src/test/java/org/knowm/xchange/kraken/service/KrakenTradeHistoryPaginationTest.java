@@ -11,10 +11,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.trade.UserTrade;
 import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.kraken.KrakenExchangeWiremock;
 import org.knowm.xchange.kraken.dto.trade.results.KrakenTradeHistoryResult.KrakenTradeHistory;
@@ -150,4 +154,25 @@ public class KrakenTradeHistoryPaginationTest extends KrakenExchangeWiremock {
 
     verify(1, postRequestedFor(urlEqualTo(PATH)));
   }
+
+  @Test
+  void stream_follows_the_offset_cursor_until_count() throws IOException {
+    stubPage("0_private_tradeshistory-page1.json");
+    stubPage("0_private_tradeshistory-page2.json", "ofs=2");
+    KrakenTradeHistoryParams params = KrakenTradeHistoryParams.builder().build();
+
+    List<String> ids;
+    try (Stream<UserTrade> trades = exchange.getTradeService().getTradeHistoryStream(params)) {
+      ids = trades.map(UserTrade::getId).collect(Collectors.toList());
+    }
+
+    assertThat(ids)
+        .containsExactlyInAnyOrder(
+            "T7FJQW-EBPSX-R5RK3J",
+            "TAGKDK-PVBGJ-RZ4N35",
+            "TO5YFV-E6NHJ-3OA7IH",
+            "TSVZ66-RESHM-IDZGCE");
+    verify(1, postRequestedFor(urlEqualTo(PATH)).withRequestBody(containing("ofs=0")));
+    verify(2, postRequestedFor(urlEqualTo(PATH)));
+  }
 }
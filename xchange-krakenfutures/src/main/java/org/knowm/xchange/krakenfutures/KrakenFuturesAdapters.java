@@ -14,6 +14,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import org.knowm.xchange.currency.Currency;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.derivative.FuturesContract;
@@ -38,6 +39,7 @@ import org.knowm.xchange.dto.meta.ExchangeMetaData;
 import org.knowm.xchange.dto.meta.InstrumentMetaData;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.OpenOrders;
+import org.knowm.xchange.dto.trade.OrderResult;
 import org.knowm.xchange.dto.trade.StopOrder;
 import org.knowm.xchange.dto.trade.UserTrade;
 import org.knowm.xchange.dto.trade.UserTrades;
@@ -51,6 +53,9 @@ import org.knowm.xchange.krakenfutures.dto.marketData.KrakenFuturesPublicFill;
 import org.knowm.xchange.krakenfutures.dto.marketData.KrakenFuturesPublicFills;
 import org.knowm.xchange.krakenfutures.dto.marketData.KrakenFuturesTicker;
 import org.knowm.xchange.krakenfutures.dto.marketData.KrakenFuturesTickers;
+import org.knowm.xchange.krakenfutures.dto.trade.BatchStatus;
+import org.knowm.xchange.krakenfutures.dto.trade.CancelOrderCommand;
+import org.knowm.xchange.krakenfutures.dto.trade.EditOrderCommand;
 import org.knowm.xchange.krakenfutures.dto.trade.KrakenFuturesFill;
 import org.knowm.xchange.krakenfutures.dto.trade.KrakenFuturesFills;
 import org.knowm.xchange.krakenfutures.dto.trade.KrakenFuturesOpenOrder;
@@ -62,6 +67,8 @@ import org.knowm.xchange.krakenfutures.dto.trade.KrakenFuturesOrderSide;
 import org.knowm.xchange.krakenfutures.dto.trade.KrakenFuturesOrderStatus;
 import org.knowm.xchange.krakenfutures.dto.trade.KrakenFuturesOrderType;
 import org.knowm.xchange.krakenfutures.dto.trade.KrakenFuturesOrdersStatusesResponse;
+import org.knowm.xchange.krakenfutures.dto.trade.OrderCommand;
+import org.knowm.xchange.krakenfutures.dto.trade.SendOrderCommand;
 
 /**
  * @author Jean-Christophe Laruelle
@@ -294,6 +301,79 @@ public class KrakenFuturesAdapters {
         + instrument.getCounter().toString();
   }
 
+  /**
+   * One result per command of a batch order. The statuses are not in the order of the commands,
+   * placements are found by their order tag, edits and cancels by their order id.
+   */
+  public static List<OrderResult> adaptBatchStatuses(
+      List<? extends OrderCommand> commands, List<BatchStatus> statuses) {
+    List<OrderResult> results = new ArrayList<>(commands.size());
+    for (OrderCommand command : commands) {
+      BatchStatus status =
+          statuses == null
+              ? null
+              : statuses.stream().filter(s -> isStatusOf(command, s)).findFirst().orElse(null);
+      if (status == null) {
+        results.add(adaptBatchFailure(command, "No status returned for " + command));
+        continue;
+      }
+      String orderId = status.orderId != null ? status.orderId : orderIdOf(command);
+      String cliOrdId = status.cliOrdId != null ? status.cliOrdId : cliOrdIdOf(command);
+      switch (status.status) {
+        case placed:
+        case attempted:
+        case edited:
+        case cancelled:
+          results.add(OrderResult.success(orderId).withUserReference(cliOrdId));
+          break;
+        default:
+          results.add(
+              OrderResult.failure(String.valueOf(status.status))
+                  .withOrderId(orderId)
+                  .withUserReference(cliOrdId));
+      }
+    }
+    return results;
+  }
+
+  /** The failure of a command which got no status, carrying the identifiers it was sent with. */
+  public static OrderResult adaptBatchFailure(OrderCommand command, String error) {
+    return OrderResult.failure(error)
+        .withOrderId(orderIdOf(command))
+        .withUserReference(cliOrdIdOf(command));
+  }
+
+  private static boolean isStatusOf(OrderCommand command, BatchStatus status) {
+    if (command instanceof SendOrderCommand) {
+      return Objects.equals(((SendOrderCommand) command).getOrderTag(), status.orderTag);
+    }
+    String orderId = orderIdOf(command);
+    String cliOrdId = cliOrdIdOf(command);
+    return orderId != null
+        ? orderId.equals(status.orderId)
+        : cliOrdId != null && cliOrdId.equals(status.cliOrdId);
+  }
+
+  private static String orderIdOf(OrderCommand command) {
+    if (command instanceof EditOrderCommand) {
+      return ((EditOrderCommand) command).getOrderId();
+    } else if (command instanceof CancelOrderCommand) {
+      return ((CancelOrderCommand) command).getOrderId();
+    }
+    return null;
+  }
+
+  private static String cliOrdIdOf(OrderCommand command) {
+    if (command instanceof SendOrderCommand) {
+      return ((SendOrderCommand) command).getCliOrdId();
+    } else if (command instanceof EditOrderCommand) {
+      return ((EditOrderCommand) command).getCliOrdId();
+    } else if (command instanceof CancelOrderCommand) {
+      return ((CancelOrderCommand) command).getCliOrdId();
+    }
+    return null;
+  }
+
   public static Trades adaptTrades(
       KrakenFuturesPublicFills krakenFuturesTrades, Instrument instrument) {
     List<Trade> trades = new ArrayList<>();
@@ -55,6 +55,12 @@ public class BatchStatus {
     postWouldExecute, // the post-only order would be filled upon placement, thus is cancelled
     iocWouldNotExecute, // the immediate-or-cancel order would not call
 
+    // The status of order edition
+    edited, // the order was edited successfully
+    orderForEditNotFound, // the order to edit was not found
+    orderForEditNotAStop, // the stop price of an order which is not a stop order was edited
+    wouldNotReducePosition, // the reduce-only order would not reduce the position
+
     // The status of order cancellation
     cancelled, // the order was found untouched and the entire size was cancelled successfully
     filled, // the order was found completely filled and could not be cancelled
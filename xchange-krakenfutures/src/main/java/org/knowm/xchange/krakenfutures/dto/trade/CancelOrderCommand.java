@@ -0,0 +1,28 @@
+package org.knowm.xchange.krakenfutures.dto.trade;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.ToString;
+
+/** Cancels an order within a {@link BatchOrder}, identified by order id or client order id. */
+@Getter
+@ToString
+@JsonInclude(Include.NON_NULL)
+public class CancelOrderCommand implements OrderCommand {
+
+  @JsonProperty("order")
+  private final String order = "cancel";
+
+  @JsonProperty("order_id")
+  private final String orderId;
+
+  @JsonProperty("cliOrdId")
+  private final String cliOrdId;
+
+  public CancelOrderCommand(String orderId, String cliOrdId) {
+    this.orderId = orderId;
+    this.cliOrdId = cliOrdId;
+  }
+}
@@ -0,0 +1,37 @@
+package org.knowm.xchange.krakenfutures.dto.trade;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import lombok.Getter;
+import lombok.ToString;
+
+/** Edits an open order within a {@link BatchOrder}, identified by order id or client order id. */
+@Getter
+@ToString
+@JsonInclude(Include.NON_NULL)
+public class EditOrderCommand implements OrderCommand {
+
+  @JsonProperty("order")
+  private final String order = "edit";
+
+  @JsonProperty("order_id")
+  private final String orderId;
+
+  @JsonProperty("cliOrdId")
+  private final String cliOrdId;
+
+  @JsonProperty("size")
+  private final BigDecimal size;
+
+  @JsonProperty("limitPrice")
+  private final BigDecimal limitPrice;
+
+  public EditOrderCommand(String orderId, String cliOrdId, BigDecimal size, BigDecimal limitPrice) {
+    this.orderId = orderId;
+    this.cliOrdId = cliOrdId;
+    this.size = size;
+    this.limitPrice = limitPrice;
+  }
+}
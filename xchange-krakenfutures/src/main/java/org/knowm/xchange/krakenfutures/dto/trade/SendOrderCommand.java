@@ -0,0 +1,61 @@
+package org.knowm.xchange.krakenfutures.dto.trade;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
+import lombok.Getter;
+import lombok.ToString;
+
+/** Places an order within a {@link BatchOrder}, its status is found by the order tag. */
+@Getter
+@ToString
+@JsonInclude(Include.NON_NULL)
+public class SendOrderCommand implements OrderCommand {
+
+  @JsonProperty("order")
+  private final String order = "send";
+
+  @JsonProperty("order_tag")
+  private final String orderTag;
+
+  @JsonProperty("orderType")
+  private final KrakenFuturesOrderType orderType;
+
+  @JsonProperty("symbol")
+  private final String symbol;
+
+  @JsonProperty("side")
+  private final KrakenFuturesOrderSide side;
+
+  @JsonProperty("size")
+  private final BigDecimal size;
+
+  @JsonProperty("limitPrice")
+  private final BigDecimal limitPrice;
+
+  @JsonProperty("cliOrdId")
+  private final String cliOrdId;
+
+  @JsonProperty("reduceOnly")
+  private final Boolean reduceOnly;
+
+  public SendOrderCommand(
+      String orderTag,
+      KrakenFuturesOrderType orderType,
+      String symbol,
+      KrakenFuturesOrderSide side,
+      BigDecimal size,
+      BigDecimal limitPrice,
+      String cliOrdId,
+      Boolean reduceOnly) {
+    this.orderTag = orderTag;
+    this.orderType = orderType;
+    this.symbol = symbol;
+    this.side = side;
+    this.size = size;
+    this.limitPrice = limitPrice;
+    this.cliOrdId = cliOrdId;
+    this.reduceOnly = reduceOnly;
+  }
+}
@@ -2,15 +2,25 @@ package org.knowm.xchange.krakenfutures.service;
 
 import jakarta.ws.rs.NotSupportedException;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Collectors;
 import org.knowm.xchange.Exchange;
 import org.knowm.xchange.dto.Order;
 import org.knowm.xchange.dto.account.OpenPositions;
 import org.knowm.xchange.dto.trade.*;
 import org.knowm.xchange.krakenfutures.KrakenFuturesAdapters;
+import org.knowm.xchange.krakenfutures.dto.trade.CancelOrderCommand;
+import org.knowm.xchange.krakenfutures.dto.trade.EditOrderCommand;
 import org.knowm.xchange.krakenfutures.dto.trade.KrakenFuturesCancelAllOrders;
+import org.knowm.xchange.krakenfutures.dto.trade.KrakenFuturesOrderFlags;
+import org.knowm.xchange.krakenfutures.dto.trade.KrakenFuturesOrderSide;
+import org.knowm.xchange.krakenfutures.dto.trade.KrakenFuturesOrderType;
+import org.knowm.xchange.krakenfutures.dto.trade.OrderCommand;
+import org.knowm.xchange.krakenfutures.dto.trade.SendOrderCommand;
 import org.knowm.xchange.service.trade.TradeService;
+import org.knowm.xchange.service.trade.batch.OrderBatches;
 import org.knowm.xchange.service.trade.params.*;
 import org.knowm.xchange.service.trade.params.orders.OpenOrdersParams;
 
@@ -20,6 +30,9 @@ import org.knowm.xchange.service.trade.params.orders.OpenOrdersParams;
 public class KrakenFuturesTradeService extends KrakenFuturesTradeServiceRaw
     implements TradeService {
 
+  /** Commands per batch order, the API documents no limit so this stays conservative. */
+  private static final int BATCH_ORDER_LIMIT = 50;
+
   /**
    * Constructor
    *
@@ -45,6 +58,72 @@ public class KrakenFuturesTradeService extends KrakenFuturesTradeServiceRaw
     return placeKrakenFuturesLimitOrder(limitOrder).getOrderId();
   }
 
+  @Override
+  public List<OrderResult> placeLimitOrders(List<LimitOrder> limitOrders) throws IOException {
+    List<OrderCommand> commands = new ArrayList<>(limitOrders.size());
+    for (int i = 0; i < limitOrders.size(); i++) {
+      LimitOrder order = limitOrders.get(i);
+      commands.add(
+          new SendOrderCommand(
+              Integer.toString(i),
+              order.hasFlag(KrakenFuturesOrderFlags.POST_ONLY)
+                  ? KrakenFuturesOrderType.post
+                  : KrakenFuturesOrderType.lmt,
+              KrakenFuturesAdapters.adaptKrakenFuturesSymbol(order.getInstrument()),
+              order.getType().equals(Order.OrderType.ASK)
+                  ? KrakenFuturesOrderSide.sell
+                  : KrakenFuturesOrderSide.buy,
+              order.getOriginalAmount(),
+              order.getLimitPrice(),
+              order.getUserReference(),
+              order.hasFlag(KrakenFuturesOrderFlags.REDUCE_ONLY) ? Boolean.TRUE : null));
+    }
+    return OrderBatches.inChunks(
+        commands, BATCH_ORDER_LIMIT, this::sendBatch, KrakenFuturesAdapters::adaptBatchFailure);
+  }
+
+  @Override
+  public List<OrderResult> changeOrders(List<LimitOrder> limitOrders) throws IOException {
+    List<OrderCommand> commands = new ArrayList<>(limitOrders.size());
+    for (LimitOrder order : limitOrders) {
+      commands.add(
+          new EditOrderCommand(
+              order.getId(),
+              order.getId() == null ? order.getUserReference() : null,
+              order.getOriginalAmount(),
+              order.getLimitPrice()));
+    }
+    return OrderBatches.inChunks(
+        commands, BATCH_ORDER_LIMIT, this::sendBatch, KrakenFuturesAdapters::adaptBatchFailure);
+  }
+
+  @Override
+  public List<OrderResult> cancelOrders(List<CancelOrderParams> orderParams) throws IOException {
+    List<OrderCommand> commands = new ArrayList<>(orderParams.size());
+    for (CancelOrderParams params : orderParams) {
+      String orderId =
+          params instanceof CancelOrderByIdParams
+              ? ((CancelOrderByIdParams) params).getOrderId()
+              : null;
+      String userReference =
+          params instanceof CancelOrderByUserReferenceParams
+              ? ((CancelOrderByUserReferenceParams) params).getUserReference()
+              : null;
+      if (orderId == null && userReference == null) {
+        throw new NotSupportedException(
+            "CancelOrderParams need to be instance of CancelOrderByIdParams.");
+      }
+      commands.add(new CancelOrderCommand(orderId, orderId == null ? userReference : null));
+    }
+    return OrderBatches.inChunks(
+        commands, BATCH_ORDER_LIMIT, this::sendBatch, KrakenFuturesAdapters::adaptBatchFailure);
+  }
+
+  private List<OrderResult> sendBatch(List<OrderCommand> commands) throws IOException {
+    return KrakenFuturesAdapters.adaptBatchStatuses(
+        commands, sendKrakenFuturesBatchOrder(commands).getBatchStatus());
+  }
+
   @Override
   public Class[] getRequiredCancelOrderParamClasses() {
     return new Class[] {CancelOrderByIdParams.class};
@@ -0,0 +1,100 @@
+package org.knowm.xchange.krakenfutures;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchange.dto.trade.OrderResult;
+import org.knowm.xchange.krakenfutures.dto.trade.BatchStatus;
+import org.knowm.xchange.krakenfutures.dto.trade.BatchStatus.OrderStatus;
+import org.knowm.xchange.krakenfutures.dto.trade.CancelOrderCommand;
+import org.knowm.xchange.krakenfutures.dto.trade.EditOrderCommand;
+import org.knowm.xchange.krakenfutures.dto.trade.KrakenFuturesOrderSide;
+import org.knowm.xchange.krakenfutures.dto.trade.KrakenFuturesOrderType;
+import org.knowm.xchange.krakenfutures.dto.trade.OrderCommand;
+import org.knowm.xchange.krakenfutures.dto.trade.SendOrderCommand;
+
+public class KrakenFuturesAdaptersTest {
+
+  @Test
+  void matches_placement_statuses_by_order_tag() {
+    List<OrderCommand> commands = List.of(send("0", "cl-0"), send("1", "cl-1"), send("2", null));
+
+    List<OrderResult> results =
+        KrakenFuturesAdapters.adaptBatchStatuses(
+            commands,
+            List.of(
+                status(OrderStatus.insufficientAvailableFunds, null, "2", null),
+                status(OrderStatus.placed, "id-0", "0", "cl-0")));
+
+    assertThat(results)
+        .containsExactly(
+            OrderResult.success("id-0").withUserReference("cl-0"),
+            OrderResult.failure("No status returned for " + commands.get(1))
+                .withUserReference("cl-1"),
+            OrderResult.failure("insufficientAvailableFunds"));
+  }
+
+  @Test
+  void matches_edit_and_cancel_statuses_by_order_id_or_client_order_id() {
+    List<OrderCommand> commands =
+        List.of(
+            new EditOrderCommand("id-1", null, BigDecimal.ONE, BigDecimal.TEN),
+            new CancelOrderCommand(null, "cl-2"),
+            new CancelOrderCommand("id-3", null));
+
+    List<OrderResult> results =
+        KrakenFuturesAdapters.adaptBatchStatuses(
+            commands,
+            List.of(
+                status(OrderStatus.notFound, "id-3", null, null),
+                status(OrderStatus.cancelled, "id-2", null, "cl-2"),
+                status(OrderStatus.edited, "id-1", null, null)));
+
+    assertThat(results)
+        .containsExactly(
+            OrderResult.success("id-1"),
+            OrderResult.success("id-2").withUserReference("cl-2"),
+            OrderResult.failure("notFound").withOrderId("id-3"));
+  }
+
+  @Test
+  void fails_every_command_when_no_statuses_are_returned() {
+    List<OrderCommand> commands = List.of(send("0", "cl-0"), new CancelOrderCommand("id-1", null));
+
+    List<OrderResult> results = KrakenFuturesAdapters.adaptBatchStatuses(commands, null);
+
+    assertThat(results)
+        .extracting(OrderResult::getOrderId, OrderResult::getUserReference, OrderResult::isSuccess)
+        .containsExactly(tuple(null, "cl-0", false), tuple("id-1", null, false));
+  }
+
+  @Test
+  void batch_failures_carry_the_identifiers_of_the_command() {
+    assertThat(KrakenFuturesAdapters.adaptBatchFailure(send("0", "cl-0"), "timeout"))
+        .isEqualTo(OrderResult.failure("timeout").withUserReference("cl-0"));
+    assertThat(
+            KrakenFuturesAdapters.adaptBatchFailure(
+                new EditOrderCommand("id-1", null, BigDecimal.ONE, null), "timeout"))
+        .isEqualTo(OrderResult.failure("timeout").withOrderId("id-1"));
+  }
+
+  private static SendOrderCommand send(String orderTag, String cliOrdId) {
+    return new SendOrderCommand(
+        orderTag,
+        KrakenFuturesOrderType.lmt,
+        "PF_XBTUSD",
+        KrakenFuturesOrderSide.buy,
+        BigDecimal.ONE,
+        BigDecimal.TEN,
+        cliOrdId,
+        null);
+  }
+
+  private static BatchStatus status(
+      OrderStatus status, String orderId, String orderTag, String cliOrdId) {
+    return new BatchStatus(null, status, orderId, orderTag, cliOrdId);
+  }
+}
@@ -0,0 +1,127 @@
+package org.knowm.xchange.krakenfutures.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchange.Exchange;
+import org.knowm.xchange.ExchangeFactory;
+import org.knowm.xchange.ExchangeSpecification;
+import org.knowm.xchange.derivative.FuturesContract;
+import org.knowm.xchange.dto.Order;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.dto.trade.OrderResult;
+import org.knowm.xchange.krakenfutures.KrakenFuturesExchange;
+import org.knowm.xchange.krakenfutures.dto.trade.BatchOrderResult;
+import org.knowm.xchange.krakenfutures.dto.trade.BatchStatus;
+import org.knowm.xchange.krakenfutures.dto.trade.CancelOrderCommand;
+import org.knowm.xchange.krakenfutures.dto.trade.OrderCommand;
+import org.knowm.xchange.krakenfutures.dto.trade.SendOrderCommand;
+import org.knowm.xchange.service.trade.params.CancelOrderParams;
+import org.knowm.xchange.service.trade.params.DefaultCancelOrderParamId;
+
+public class KrakenFuturesTradeServiceTest {
+
+  @Test
+  void places_orders_in_chunks_and_matches_results_by_order_tag() throws IOException {
+    StubTradeService service = new StubTradeService();
+    List<LimitOrder> orders = new ArrayList<>();
+    for (int i = 0; i < 52; i++) {
+      orders.add(
+          new LimitOrder.Builder(Order.OrderType.BID, new FuturesContract("BTC/USD/PERP"))
+              .originalAmount(BigDecimal.ONE)
+              .limitPrice(BigDecimal.TEN)
+              .userReference("cl-" + i)
+              .build());
+    }
+    service.rejectedCliOrdId = "cl-7";
+    service.failingCliOrdId = "cl-51";
+
+    List<OrderResult> results = service.placeLimitOrders(orders);
+
+    assertThat(service.chunkSizes).containsExactly(50, 2);
+    assertThat(results).hasSize(52);
+    assertThat(results.get(0)).isEqualTo(OrderResult.success("id-cl-0").withUserReference("cl-0"));
+    assertThat(results.get(7))
+        .isEqualTo(
+            OrderResult.failure("invalidPrice").withOrderId("id-cl-7").withUserReference("cl-7"));
+    assertThat(results.get(49))
+        .isEqualTo(OrderResult.success("id-cl-49").withUserReference("cl-49"));
+    assertThat(results.get(50))
+        .isEqualTo(OrderResult.failure("timeout").withUserReference("cl-50"));
+    assertThat(results.get(51))
+        .isEqualTo(OrderResult.failure("timeout").withUserReference("cl-51"));
+  }
+
+  @Test
+  void cancels_orders_in_chunks_of_the_batch_limit() throws IOException {
+    StubTradeService service = new StubTradeService();
+    List<CancelOrderParams> params = new ArrayList<>();
+    for (int i = 0; i < 101; i++) {
+      params.add(new DefaultCancelOrderParamId("id-" + i));
+    }
+
+    List<OrderResult> results = service.cancelOrders(params);
+
+    assertThat(service.chunkSizes).containsExactly(50, 50, 1);
+    assertThat(results).hasSize(101).allMatch(OrderResult::isSuccess);
+    assertThat(results.get(100).getOrderId()).isEqualTo("id-100");
+  }
+
+  /** Answers batches in reverse order, the way the venue is free to, without a connection. */
+  private static class StubTradeService extends KrakenFuturesTradeService {
+    final List<Integer> chunkSizes = new ArrayList<>();
+    String rejectedCliOrdId;
+    String failingCliOrdId;
+
+    StubTradeService() {
+      super(exchange());
+    }
+
+    private static Exchange exchange() {
+      Exchange exchange =
+          ExchangeFactory.INSTANCE.createExchangeWithoutSpecification(KrakenFuturesExchange.class);
+      ExchangeSpecification specification = exchange.getDefaultExchangeSpecification();
+      specification.setShouldLoadRemoteMetaData(false);
+      exchange.applySpecification(specification);
+      return exchange;
+    }
+
+    @Override
+    public BatchOrderResult sendKrakenFuturesBatchOrder(List<OrderCommand> commands)
+        throws IOException {
+      chunkSizes.add(commands.size());
+      List<BatchStatus> statuses = new ArrayList<>();
+      for (int i = commands.size() - 1; i >= 0; i--) {
+        OrderCommand command = commands.get(i);
+        if (command instanceof SendOrderCommand) {
+          SendOrderCommand send = (SendOrderCommand) command;
+          if (send.getCliOrdId().equals(failingCliOrdId)) {
+            throw new IOException("timeout");
+          }
+          statuses.add(
+              new BatchStatus(
+                  null,
+                  send.getCliOrdId().equals(rejectedCliOrdId)
+                      ? BatchStatus.OrderStatus.invalidPrice
+                      : BatchStatus.OrderStatus.placed,
+                  "id-" + send.getCliOrdId(),
+                  send.getOrderTag(),
+                  send.getCliOrdId()));
+        } else {
+          statuses.add(
+              new BatchStatus(
+                  null,
+                  BatchStatus.OrderStatus.cancelled,
+                  ((CancelOrderCommand) command).getOrderId(),
+                  null,
+                  null));
+        }
+      }
+      return new BatchOrderResult("success", null, null, statuses);
+    }
+  }
+}
@@ -9,6 +9,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.knowm.xchange.client.ResilienceRegistries;
 import org.knowm.xchange.dto.Order;
 import org.knowm.xchange.dto.Order.IOrderFlags;
@@ -25,6 +26,8 @@ import org.knowm.xchange.kucoin.dto.response.OrderResponse;
 import org.knowm.xchange.kucoin.dto.response.Pagination;
 import org.knowm.xchange.kucoin.dto.response.TradeResponse;
 import org.knowm.xchange.service.trade.TradeService;
+import org.knowm.xchange.service.trade.history.TradeHistoryCursor;
+import org.knowm.xchange.service.trade.history.TradeHistoryIterator;
 import org.knowm.xchange.service.trade.params.CancelOrderByIdParams;
 import org.knowm.xchange.service.trade.params.CancelOrderParams;
 import org.knowm.xchange.service.trade.params.TradeHistoryParamCurrencyPair;
@@ -189,6 +192,20 @@ public class KucoinTradeService extends KucoinTradeServiceRaw implements TradeSe
     return new DefaultOpenOrdersParamCurrencyPair();
   }
 
+  /**
+   * Streams the fills of the params page by page, within the time span {@link
+   * #getTradeHistory(TradeHistoryParams)} settles on.
+   */
+  @Override
+  public Stream<UserTrade> getTradeHistoryStream(TradeHistoryParams params) throws IOException {
+    if (!(params instanceof TradeHistoryParamNextPageCursor)) {
+      throw new IllegalArgumentException(
+          "Params must implement " + TradeHistoryParamNextPageCursor.class.getSimpleName());
+    }
+    return TradeHistoryIterator.stream(
+        this::getTradeHistory, params, TradeHistoryCursor.nextPageCursor());
+  }
+
   @Override
   public TradeHistoryParams createTradeHistoryParams() {
     return new KucoinTradeHistoryParams();
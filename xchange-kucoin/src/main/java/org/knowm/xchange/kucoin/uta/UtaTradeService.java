@@ -6,16 +6,20 @@ import static org.knowm.xchange.kucoin.uta.service.UtaExceptionClassifier.callOr
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.knowm.xchange.client.ResilienceRegistries;
 import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.derivative.FuturesContract;
 import org.knowm.xchange.dto.Order;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.MarketOrder;
 import org.knowm.xchange.dto.trade.OpenOrders;
+import org.knowm.xchange.dto.trade.OrderResult;
 import org.knowm.xchange.dto.trade.UserTrade;
 import org.knowm.xchange.dto.trade.UserTrades;
 import org.knowm.xchange.instrument.Instrument;
@@ -40,7 +44,12 @@ import org.knowm.xchange.kucoin.uta.service.UtaApiException.RetryClassification;
 import org.knowm.xchange.kucoin.uta.service.UtaPositionAPI;
 import org.knowm.xchange.kucoin.uta.service.UtaTradeAPI;
 import org.knowm.xchange.service.trade.TradeService;
+import org.knowm.xchange.service.trade.batch.OrderBatches;
+import org.knowm.xchange.service.trade.history.TradeHistoryCursor;
+import org.knowm.xchange.service.trade.history.TradeHistoryIterator;
 import org.knowm.xchange.service.trade.params.CancelOrderByIdParams;
+import org.knowm.xchange.service.trade.params.CancelOrderByInstrument;
+import org.knowm.xchange.service.trade.params.CancelOrderByUserReferenceParams;
 import org.knowm.xchange.service.trade.params.CancelOrderParams;
 import org.knowm.xchange.service.trade.params.TradeHistoryParamCurrencyPair;
 import org.knowm.xchange.service.trade.params.TradeHistoryParamNextPageCursor;
@@ -61,6 +70,8 @@ public class UtaTradeService extends UtaBaseService implements TradeService {
 
   private static final int MAX_PAGES = 100;
   private static final int PAGE_SIZE = 200;
+  /** Orders per request of the batch cancellation */
+  private static final int BATCH_CANCEL_LIMIT = 20;
 
   private final UtaTradeAPI tradeApi;
   private final UtaPositionAPI positionApi;
@@ -570,6 +581,115 @@ public class UtaTradeService extends UtaBaseService implements TradeService {
     return cancelOrder(((CancelOrderByIdParams) genericParams).getOrderId());
   }
 
+  /**
+   * Cancels through the batch endpoint, up to 20 orders of one trade type per call, when every
+   * params names the instrument. Otherwise the orders are looked up and cancelled one by one. The
+   * results of a batch are matched back to the params by order id or client order id.
+   */
+  @Override
+  public List<OrderResult> cancelOrders(List<CancelOrderParams> orderParams) throws IOException {
+    List<UtaBatchCancelRequest.Item> items = new ArrayList<>(orderParams.size());
+    List<String> tradeTypes = new ArrayList<>(orderParams.size());
+    for (CancelOrderParams params : orderParams) {
+      Instrument instrument =
+          params instanceof CancelOrderByInstrument
+              ? ((CancelOrderByInstrument) params).getInstrument()
+              : null;
+      if (instrument == null) {
+        return TradeService.super.cancelOrders(orderParams);
+      }
+      items.add(
+          UtaBatchCancelRequest.Item.builder()
+              .symbol(exchange.getUtaProviderSymbol(instrument))
+              .orderId(
+                  params instanceof CancelOrderByIdParams
+                      ? ((CancelOrderByIdParams) params).getOrderId()
+                      : null)
+              .clientOid(
+                  params instanceof CancelOrderByUserReferenceParams
+                      ? ((CancelOrderByUserReferenceParams) params).getUserReference()
+                      : null)
+              .build());
+      tradeTypes.add(UtaTradeTypes.of(instrument));
+    }
+    List<Integer> indexes = new ArrayList<>(items.size());
+    for (int i = 0; i < items.size(); i++) {
+      indexes.add(i);
+    }
+    return OrderBatches.inChunks(
+        indexes,
+        tradeTypes::get,
+        BATCH_CANCEL_LIMIT,
+        chunk -> {
+          UtaBatchCancelResult result =
+              batchCancel(
+                  UtaBatchCancelRequest.builder()
+                      .tradeType(tradeTypes.get(chunk.get(0)))
+                      .cancelOrderList(
+                          chunk.stream().map(items::get).collect(Collectors.toList()))
+                      .build());
+          List<OrderResult> results = new ArrayList<>(chunk.size());
+          for (Integer index : chunk) {
+            UtaBatchCancelRequest.Item request = items.get(index);
+            UtaBatchCancelResult.Item item =
+                result.getItems() == null
+                    ? null
+                    : result.getItems().stream()
+                        .filter(candidate -> isResultOf(request, candidate))
+                        .findFirst()
+                        .orElse(null);
+            if (item == null) {
+              results.add(
+                  OrderResult.failure("No result returned")
+                      .withOrderId(request.getOrderId())
+                      .withUserReference(request.getClientOid()));
+            } else if (item.isSuccessful()) {
+              results.add(
+                  OrderResult.success(item.getOrderId()).withUserReference(item.getClientOid()));
+            } else {
+              results.add(
+                  OrderResult.failure(item.getCode() + ": " + item.getMsg())
+                      .withOrderId(item.getOrderId())
+                      .withUserReference(item.getClientOid()));
+            }
+          }
+          return results;
+        },
+        (index, error) ->
+            OrderResult.failure(error)
+                .withOrderId(items.get(index).getOrderId())
+                .withUserReference(items.get(index).getClientOid()));
+  }
+
+  private static boolean isResultOf(
+      UtaBatchCancelRequest.Item request, UtaBatchCancelResult.Item item) {
+    return request.getOrderId() != null
+        ? request.getOrderId().equals(item.getOrderId())
+        : request.getClientOid() != null && request.getClientOid().equals(item.getClientOid());
+  }
+
+  /**
+   * Amends futures orders in place. UTA has no amendment for spot orders, they are cancelled and
+   * placed again.
+   */
+  @Override
+  public String changeOrder(LimitOrder limitOrder) throws IOException {
+    if (!(limitOrder.getInstrument() instanceof FuturesContract)) {
+      return TradeService.super.changeOrder(limitOrder);
+    }
+    UtaOrderResult result =
+        amendOrder(
+            UtaAmendOrderRequest.builder()
+                .symbol(exchange.getUtaProviderSymbol(limitOrder.getInstrument()))
+                .orderId(limitOrder.getId())
+                .clientOid(limitOrder.getId() == null ? limitOrder.getUserReference() : null)
+                .newPrice(limitOrder.getLimitPrice())
+                .newSize(limitOrder.getOriginalAmount())
+                .sizeUnit("BASECCY")
+                .build());
+    return result.getOrderId() != null ? result.getOrderId() : limitOrder.getId();
+  }
+
   @Override
   public OpenOrders getOpenOrders() throws IOException {
     return convertOpenOrders(null);
@@ -672,6 +792,17 @@ public class UtaTradeService extends UtaBaseService implements TradeService {
     return new DefaultOpenOrdersParamCurrencyPair();
   }
 
+  /** Streams the spot executions of the params, following the {@code lastId} cursor. */
+  @Override
+  public Stream<UserTrade> getTradeHistoryStream(TradeHistoryParams params) throws IOException {
+    if (!(params instanceof TradeHistoryParamNextPageCursor)) {
+      throw new IllegalArgumentException(
+          "Params must implement " + TradeHistoryParamNextPageCursor.class.getSimpleName());
+    }
+    return TradeHistoryIterator.stream(
+        this::getTradeHistory, params, TradeHistoryCursor.nextPageCursor());
+  }
+
   @Override
   public TradeHistoryParams createTradeHistoryParams() {
     return new UtaTradeHistoryParams();
@@ -0,0 +1,67 @@
+package org.knowm.xchange.kucoin.uta;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.trade.OrderResult;
+import org.knowm.xchange.service.trade.params.CancelOrderParams;
+import org.knowm.xchange.service.trade.params.DefaultCancelOrderByInstrumentAndIdParams;
+
+/**
+ * Batch cancellation contract: params are sent in chunks of 20 and every result is matched back to
+ * its params by order id, whatever order the provider answers in.
+ */
+class UtaTradeServiceBatchCancelTest extends AbstractUtaResilienceTest {
+
+  private static final String CANCEL_BATCH_PATH = "/api/ua/v1/unified/order/cancel-batch";
+
+  @Test
+  void cancelsInChunksAndMatchesResultsByOrderId() throws Exception {
+    wireMockRule.stubFor(
+        WireMock.post(WireMock.urlPathEqualTo(CANCEL_BATCH_PATH))
+            .atPriority(2)
+            .willReturn(
+                WireMock.aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody(
+                        "{\"code\":\"200000\",\"data\":{\"tradeType\":\"SPOT\",\"items\":["
+                            + "{\"code\":\"400100\",\"msg\":\"order not exist\","
+                            + "\"orderId\":\"id-2\"},"
+                            + "{\"code\":\"200000\",\"orderId\":\"id-0\"},"
+                            + "{\"code\":\"200000\",\"orderId\":\"id-1\"}]}}")));
+    wireMockRule.stubFor(
+        WireMock.post(WireMock.urlPathEqualTo(CANCEL_BATCH_PATH))
+            .atPriority(1)
+            .withRequestBody(WireMock.containing("\"id-20\""))
+            .willReturn(
+                WireMock.aResponse()
+                    .withStatus(400)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody("{\"code\":\"400100\",\"msg\":\"invalid request\"}")));
+    List<CancelOrderParams> params = new ArrayList<>();
+    for (int i = 0; i < 22; i++) {
+      params.add(new DefaultCancelOrderByInstrumentAndIdParams(CurrencyPair.BTC_USDT, "id-" + i));
+    }
+
+    List<OrderResult> results = createUtaExchange().getUtaTradeService().cancelOrders(params);
+
+    assertEquals(22, results.size());
+    assertEquals(OrderResult.success("id-0"), results.get(0));
+    assertEquals(OrderResult.success("id-1"), results.get(1));
+    assertEquals(
+        OrderResult.failure("400100: order not exist").withOrderId("id-2"), results.get(2));
+    assertEquals(OrderResult.failure("No result returned").withOrderId("id-3"), results.get(3));
+    assertEquals("id-21", results.get(21).getOrderId());
+    assertFalse(results.get(21).isSuccess());
+    wireMockRule.verify(
+        1,
+        WireMock.postRequestedFor(WireMock.urlPathEqualTo(CANCEL_BATCH_PATH))
+            .withRequestBody(WireMock.containing("\"id-19\"")));
+  }
+}
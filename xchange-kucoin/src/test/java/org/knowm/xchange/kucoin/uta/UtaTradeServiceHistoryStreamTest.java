@@ -0,0 +1,63 @@
+package org.knowm.xchange.kucoin.uta;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.matching.StringValuePattern;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.trade.UserTrade;
+
+/** The trade history stream follows the {@code lastId} cursor until a page comes without trades. */
+class UtaTradeServiceHistoryStreamTest extends AbstractUtaResilienceTest {
+
+  private static final String EXECUTION_PATH = "/api/ua/v1/unified/order/execution";
+
+  @Test
+  void followsTheLastIdCursorUntilAnEmptyPage() throws Exception {
+    stubExecutions(WireMock.absent(), "101", execution("t-2"));
+    stubExecutions(WireMock.equalTo("101"), "100", execution("t-1"));
+    stubExecutions(WireMock.equalTo("100"), "100");
+    UtaTradeHistoryParams params = new UtaTradeHistoryParams();
+    params.setCurrencyPair(CurrencyPair.BTC_USDT);
+
+    List<String> ids;
+    try (Stream<UserTrade> trades =
+        createUtaExchange().getUtaTradeService().getTradeHistoryStream(params)) {
+      ids = trades.map(UserTrade::getId).collect(Collectors.toList());
+    }
+
+    assertEquals(Arrays.asList("t-2", "t-1"), ids);
+    wireMockRule.verify(3, WireMock.getRequestedFor(WireMock.urlPathEqualTo(EXECUTION_PATH)));
+  }
+
+  private static void stubExecutions(
+      StringValuePattern lastIdMatcher, String nextLastId, String... items) {
+    wireMockRule.stubFor(
+        WireMock.get(WireMock.urlPathEqualTo(EXECUTION_PATH))
+            .withQueryParam("lastId", lastIdMatcher)
+            .willReturn(
+                WireMock.aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withBody(
+                        "{\"code\":\"200000\",\"data\":{\"lastId\":"
+                            + nextLastId
+                            + ",\"tradeType\":\"SPOT\",\"items\":["
+                            + String.join(",", items)
+                            + "]}}")));
+  }
+
+  private static String execution(String tradeId) {
+    return "{\"symbol\":\"BTC-USDT\",\"orderId\":\"o-"
+        + tradeId
+        + "\",\"side\":\"BUY\",\"tradeId\":\""
+        + tradeId
+        + "\",\"size\":\"0.1\",\"price\":\"60000\",\"executionTime\":1700000000000000000,"
+        + "\"fee\":\"0.01\",\"feeCurrency\":\"USDT\"}";
+  }
+}
@@ -446,10 +446,26 @@ public class OkxAdapters {
       OrderType orderType,
       Date timestamp,
       BigDecimal contractValue) {
-    return adaptOrderbookOrder(
-        convertContractSizeToVolume(
-            okxPublicOrder.getVolume(), instrument, contractValue, okxPublicOrder.getPrice()),
+    return adaptLimitOrder(
         okxPublicOrder.getPrice(),
+        okxPublicOrder.getVolume(),
+        instrument,
+        orderType,
+        timestamp,
+        contractValue);
+  }
+
+  /** Adapts an order book level whose size is in contracts, as OKX sends it. */
+  public static LimitOrder adaptLimitOrder(
+      BigDecimal price,
+      BigDecimal okxSize,
+      Instrument instrument,
+      OrderType orderType,
+      Date timestamp,
+      BigDecimal contractValue) {
+    return adaptOrderbookOrder(
+        convertContractSizeToVolume(okxSize, instrument, contractValue, price),
+        price,
         instrument,
         orderType,
         timestamp);
@@ -1,11 +1,16 @@
 package org.knowm.xchange.okx.dto.trade;
 
+import lombok.Data;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.ToString;
 import org.knowm.xchange.instrument.Instrument;
 import org.knowm.xchange.service.trade.params.CancelOrderByIdParams;
 import org.knowm.xchange.service.trade.params.CancelOrderByInstrument;
 import org.knowm.xchange.service.trade.params.CancelOrderByUserReferenceParams;
+import org.knowm.xchange.service.trade.params.TradeHistoryParamInstrument;
+import org.knowm.xchange.service.trade.params.TradeHistoryParamLimit;
+import org.knowm.xchange.service.trade.params.TradeHistoryParamNextPageCursor;
 
 /** Author: Max Gao (gaamox@tutanota.com) Created: 10-06-2021 */
 public class OkxTradeParams {
@@ -29,4 +34,23 @@ public class OkxTradeParams {
       this.userReference = null;
     }
   }
+
+  /**
+   * Filled order history of an instrument, newest first. The cursor is the order id the page
+   * starts after, the limit is at most 100.
+   */
+  @Data
+  @NoArgsConstructor
+  public static class OkxTradeHistoryParams
+      implements TradeHistoryParamInstrument,
+          TradeHistoryParamLimit,
+          TradeHistoryParamNextPageCursor {
+    private Instrument instrument;
+    private Integer limit;
+    private String nextPageCursor;
+
+    public OkxTradeHistoryParams(Instrument instrument) {
+      this.instrument = instrument;
+    }
+  }
 }
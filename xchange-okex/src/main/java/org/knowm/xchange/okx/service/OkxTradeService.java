@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.knowm.xchange.client.ResilienceRegistries;
 import org.knowm.xchange.derivative.FuturesContract;
 import org.knowm.xchange.derivative.OptionsContract;
@@ -19,6 +20,8 @@ import org.knowm.xchange.dto.account.OpenPositions;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.MarketOrder;
 import org.knowm.xchange.dto.trade.OpenOrders;
+import org.knowm.xchange.dto.trade.OrderResult;
+import org.knowm.xchange.dto.trade.UserTrade;
 import org.knowm.xchange.dto.trade.UserTrades;
 import org.knowm.xchange.exceptions.FundsExceededException;
 import org.knowm.xchange.instrument.Instrument;
@@ -27,16 +30,24 @@ import org.knowm.xchange.okx.OkxAuthenticated;
 import org.knowm.xchange.okx.OkxExchange;
 import org.knowm.xchange.okx.dto.OkxException;
 import org.knowm.xchange.okx.dto.OkxResponse;
+import org.knowm.xchange.okx.dto.trade.OkxAmendOrderRequest;
 import org.knowm.xchange.okx.dto.trade.OkxCancelOrderRequest;
 import org.knowm.xchange.okx.dto.trade.OkxOrderDetails;
+import org.knowm.xchange.okx.dto.trade.OkxOrderRequest;
 import org.knowm.xchange.okx.dto.trade.OkxOrderResponse;
 import org.knowm.xchange.okx.dto.trade.OkxTradeParams;
+import org.knowm.xchange.okx.dto.trade.OkxTradeParams.OkxTradeHistoryParams;
 import org.knowm.xchange.service.trade.TradeService;
+import org.knowm.xchange.service.trade.batch.OrderBatches;
+import org.knowm.xchange.service.trade.history.TradeHistoryCursor;
+import org.knowm.xchange.service.trade.history.TradeHistoryIterator;
 import org.knowm.xchange.service.trade.params.CancelOrderByIdParams;
 import org.knowm.xchange.service.trade.params.CancelOrderByInstrument;
 import org.knowm.xchange.service.trade.params.CancelOrderByUserReferenceParams;
 import org.knowm.xchange.service.trade.params.CancelOrderParams;
 import org.knowm.xchange.service.trade.params.TradeHistoryParamInstrument;
+import org.knowm.xchange.service.trade.params.TradeHistoryParamLimit;
+import org.knowm.xchange.service.trade.params.TradeHistoryParamNextPageCursor;
 import org.knowm.xchange.service.trade.params.TradeHistoryParams;
 import org.knowm.xchange.service.trade.params.orders.OpenOrdersParamInstrument;
 import org.knowm.xchange.service.trade.params.orders.OpenOrdersParams;
@@ -45,6 +56,13 @@ import org.knowm.xchange.service.trade.params.orders.OrderQueryParams;
 
 /** Author: Max Gao (gaamox@tutanota.com) Created: 08-06-2021 */
 public class OkxTradeService extends OkxTradeServiceRaw implements TradeService {
+
+  /** Orders per request of the batch endpoints */
+  private static final int BATCH_ORDER_LIMIT = 20;
+
+  /** most orders OKX returns per history page, also its default */
+  private static final int HISTORY_PAGE_LIMIT = 100;
+
   public OkxTradeService(OkxExchange exchange, ResilienceRegistries resilienceRegistries) {
     super(exchange, resilienceRegistries);
   }
@@ -110,30 +128,65 @@ public class OkxTradeService extends OkxTradeServiceRaw implements TradeService
         requireData(getPositions(null, null, null)), exchange.getExchangeMetaData());
   }
 
+  /**
+   * Gets a page of filled orders of the instrument of the params, newest first.
+   *
+   * <p>A {@link TradeHistoryParamNextPageCursor} selects the page after the order id it holds, and
+   * a full page carries the cursor of the next one.
+   */
   @Override
   public UserTrades getTradeHistory(TradeHistoryParams params) throws IOException {
     if (params instanceof TradeHistoryParamInstrument) {
       Instrument instrument = ((TradeHistoryParamInstrument) params).getInstrument();
 
       String instrumentType = historyInstrumentType(instrument);
+      String after =
+          params instanceof TradeHistoryParamNextPageCursor
+              ? ((TradeHistoryParamNextPageCursor) params).getNextPageCursor()
+              : null;
+      Integer limit =
+          params instanceof TradeHistoryParamLimit
+              ? ((TradeHistoryParamLimit) params).getLimit()
+              : null;
+      int pageSize = limit == null ? HISTORY_PAGE_LIMIT : Math.min(limit, HISTORY_PAGE_LIMIT);
 
-      return OkxAdapters.adaptUserTrades(
+      List<OkxOrderDetails> orders =
           requireData(
               getOrderHistory(
                   instrumentType,
-                  OkxAdapters.adaptInstrument(
-                      ((TradeHistoryParamInstrument) params).getInstrument()),
-                  null,
+                  OkxAdapters.adaptInstrument(instrument),
                   null,
+                  after,
                   null,
-                  null)),
-          exchange.getExchangeMetaData());
+                  limit == null ? null : String.valueOf(pageSize)));
+      UserTrades trades = OkxAdapters.adaptUserTrades(orders, exchange.getExchangeMetaData());
+      String nextPageCursor =
+          orders.size() < pageSize ? null : orders.get(orders.size() - 1).getOrderId();
+      return new UserTrades(
+          trades.getUserTrades(), 0, trades.getTradeSortType(), nextPageCursor);
     } else {
       throw new NotSupportedException(
           "TradeHistoryParams must implement " + TradeHistoryParamInstrument.class.getSimpleName());
     }
   }
 
+  /** Streams the filled orders of the instrument of the params, newest first. */
+  @Override
+  public Stream<UserTrade> getTradeHistoryStream(TradeHistoryParams params) throws IOException {
+    if (!(params instanceof TradeHistoryParamNextPageCursor)) {
+      throw new NotSupportedException(
+          "TradeHistoryParams must implement "
+              + TradeHistoryParamNextPageCursor.class.getSimpleName());
+    }
+    return TradeHistoryIterator.stream(
+        this::getTradeHistory, params, TradeHistoryCursor.nextPageCursor());
+  }
+
+  @Override
+  public TradeHistoryParams createTradeHistoryParams() {
+    return new OkxTradeHistoryParams();
+  }
+
   @Override
   public OpenOrders getOpenOrders() throws IOException {
     return OkxAdapters.adaptOpenOrders(
@@ -331,4 +384,93 @@ public class OkxTradeService extends OkxTradeServiceRaw implements TradeService
         .map(result -> "0".equals(result.getCode()))
         .collect(Collectors.toList());
   }
+
+  @Override
+  public List<OrderResult> placeLimitOrders(List<LimitOrder> limitOrders) throws IOException {
+    List<OkxOrderRequest> requests = new ArrayList<>(limitOrders.size());
+    for (LimitOrder limitOrder : limitOrders) {
+      requests.add(
+          OkxAdapters.adaptOrder(
+              limitOrder, exchange.getExchangeMetaData(), exchange.accountLevel));
+    }
+    return OrderBatches.inChunks(
+        requests,
+        BATCH_ORDER_LIMIT,
+        chunk ->
+            orderResults(
+                placeOkxOrdersWithPerOrderResults(chunk), OkxAuthenticated.placeBatchOrderPath),
+        (request, error) ->
+            OrderResult.failure(error).withUserReference(request.getClientOrderId()));
+  }
+
+  @Override
+  public List<OrderResult> changeOrders(List<LimitOrder> limitOrders) throws IOException {
+    List<OkxAmendOrderRequest> requests = new ArrayList<>(limitOrders.size());
+    for (LimitOrder limitOrder : limitOrders) {
+      requests.add(OkxAdapters.adaptAmendOrder(limitOrder, exchange.getExchangeMetaData()));
+    }
+    return OrderBatches.inChunks(
+        requests,
+        BATCH_ORDER_LIMIT,
+        chunk -> orderResults(amendOkxOrder(chunk), OkxAuthenticated.amendBatchOrderPath),
+        (request, error) ->
+            OrderResult.failure(error)
+                .withOrderId(request.getOrderId())
+                .withUserReference(request.getClientOrderId()));
+  }
+
+  @Override
+  public List<OrderResult> cancelOrders(List<CancelOrderParams> orderParams) throws IOException {
+    List<OkxCancelOrderRequest> requests = new ArrayList<>(orderParams.size());
+    for (CancelOrderParams params : orderParams) {
+      if (!(params instanceof CancelOrderByInstrument)
+          || ((CancelOrderByInstrument) params).getInstrument() == null) {
+        throw new UnsupportedOperationException(
+            "Instrument and (orderId or userReference) required");
+      }
+      requests.add(
+          OkxCancelOrderRequest.builder()
+              .instrumentId(
+                  OkxAdapters.adaptInstrument(((CancelOrderByInstrument) params).getInstrument()))
+              .orderId(
+                  params instanceof CancelOrderByIdParams
+                      ? ((CancelOrderByIdParams) params).getOrderId()
+                      : null)
+              .clientOrderId(
+                  params instanceof CancelOrderByUserReferenceParams
+                      ? ((CancelOrderByUserReferenceParams) params).getUserReference()
+                      : null)
+              .build());
+    }
+    return OrderBatches.inChunks(
+        requests,
+        BATCH_ORDER_LIMIT,
+        chunk -> orderResults(cancelOkxOrder(chunk), OkxAuthenticated.cancelBatchOrderPath),
+        (request, error) ->
+            OrderResult.failure(error)
+                .withOrderId(request.getOrderId())
+                .withUserReference(request.getClientOrderId()));
+  }
+
+  /**
+   * The per-order results of a batch. OKX answers a partially or entirely failed batch with a
+   * non-zero code but still one entry per order, only a batch without them failed as a whole.
+   */
+  private List<OrderResult> orderResults(
+      OkxResponse<List<OkxOrderResponse>> response, String endpoint) {
+    List<OkxOrderResponse> data = response.getData();
+    if (data == null || data.isEmpty()) {
+      throw orderException(response, endpoint);
+    }
+    return data.stream()
+        .map(
+            order ->
+                "0".equals(order.getCode())
+                    ? OrderResult.success(order.getOrderId())
+                        .withUserReference(order.getClientOrderId())
+                    : OrderResult.failure(order.getCode() + ": " + order.getMessage())
+                        .withOrderId(order.getOrderId())
+                        .withUserReference(order.getClientOrderId()))
+        .collect(Collectors.toList());
+  }
 }
@@ -681,6 +681,22 @@ public class OkxTradeServiceRaw extends OkxBaseService {
   /** Testable seam backing {@link #placeOkxOrder(List)}. */
   OkxResponse<List<OkxOrderResponse>> placeOkxOrderWithReconciliation(List<OkxOrderRequest> orders)
       throws IOException {
+    return placeOkxOrderWithReconciliation(orders, false);
+  }
+
+  /**
+   * Places a batch like {@link #placeOkxOrder(List)} but keeps the rejections of single orders
+   * (nonzero {@code sCode}) in the per-order results instead of throwing, also when OKX reports
+   * the batch as partially or entirely failed. Only a response without one result per order
+   * throws.
+   */
+  OkxResponse<List<OkxOrderResponse>> placeOkxOrdersWithPerOrderResults(
+      List<OkxOrderRequest> orders) throws IOException {
+    return placeOkxOrderWithReconciliation(orders, true);
+  }
+
+  private OkxResponse<List<OkxOrderResponse>> placeOkxOrderWithReconciliation(
+      List<OkxOrderRequest> orders, boolean perOrderResults) throws IOException {
     List<OkxOrderRequest> toPlace = new ArrayList<>();
     List<Integer> toPlaceIndexes = new ArrayList<>();
     List<OkxOrderResponse> responses = new ArrayList<>(Collections.nCopies(orders.size(), null));
@@ -703,10 +719,11 @@ public class OkxTradeServiceRaw extends OkxBaseService {
 
     if (!toPlace.isEmpty()) {
       OkxResponse<List<OkxOrderResponse>> batchResponse = doPlaceBatchOkxOrder(toPlace);
-      if (!batchResponse.isSuccess()) {
+      List<OkxOrderResponse> placed = batchResponse.getData();
+      boolean hasPerOrderResults = placed != null && placed.size() == toPlace.size();
+      if (!batchResponse.isSuccess() && !(perOrderResults && hasPerOrderResults)) {
         throw handleError(OkxException.fromResponse(batchResponse, apiKey, secretKey, passphrase));
       }
-      List<OkxOrderResponse> placed = batchResponse.getData();
       if (placed == null || placed.size() < toPlaceIndexes.size()) {
         throw new ExchangeException(
             "OKX batch order placement returned "
@@ -716,7 +733,9 @@ public class OkxTradeServiceRaw extends OkxBaseService {
                 + " submitted orders: "
                 + batchResponse.getMsg());
       }
-      validatePerOrderSuccess(batchResponse, "order");
+      if (!perOrderResults) {
+        validatePerOrderSuccess(batchResponse, "order");
+      }
       for (int index = 0; index < toPlaceIndexes.size(); index++) {
         responses.set(toPlaceIndexes.get(index), placed.get(index));
       }
@@ -7,17 +7,26 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.Test;
 import org.knowm.xchange.client.ResilienceRegistries;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.derivative.FuturesContract;
 import org.knowm.xchange.derivative.OptionsContract;
 import org.knowm.xchange.dto.Order;
+import org.knowm.xchange.dto.meta.ExchangeMetaData;
+import org.knowm.xchange.dto.meta.InstrumentMetaData;
 import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.MarketOrder;
+import org.knowm.xchange.dto.trade.OrderResult;
+import org.knowm.xchange.dto.trade.UserTrade;
 import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.okx.OkxAuthenticated;
 import org.knowm.xchange.okx.OkxExchange;
@@ -30,6 +39,8 @@ import org.knowm.xchange.okx.dto.trade.OkxOrderDetails;
 import org.knowm.xchange.okx.dto.trade.OkxOrderRequest;
 import org.knowm.xchange.okx.dto.trade.OkxOrderResponse;
 import org.knowm.xchange.okx.dto.trade.OkxTradeParams;
+import org.knowm.xchange.service.trade.params.CancelOrderParams;
+import org.knowm.xchange.service.trade.params.DefaultCancelOrderByInstrumentAndIdParams;
 import org.knowm.xchange.service.trade.params.DefaultTradeHistoryParamInstrument;
 import org.knowm.xchange.service.trade.params.orders.DefaultOpenOrdersParamInstrument;
 import org.knowm.xchange.service.trade.params.orders.DefaultQueryOrderParamInstrument;
@@ -125,6 +136,107 @@ public class OkxTradeServiceTest {
     }
   }
 
+  /** Answers batch placements and cancellations per order, failing the chunks it is told to. */
+  private static class BatchStubTradeService extends StubTradeService {
+    static final ObjectMapper LENIENT =
+        new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    final List<List<String>> placedChunks = new ArrayList<>();
+    final List<Integer> cancelledChunkSizes = new ArrayList<>();
+    String existingClientOrderId;
+    String rejectedClientOrderId;
+    String failingClientOrderId;
+
+    BatchStubTradeService(OkxExchange exchange) {
+      super(exchange);
+    }
+
+    @Override
+    OkxResponse<List<OkxOrderDetails>> getOkxOrderByClientOrderId(
+        String instrumentId, String clientOrderId) throws IOException {
+      if (!clientOrderId.equals(existingClientOrderId)) {
+        return new OkxResponse<>(null, "0", null, Collections.emptyList());
+      }
+      OkxOrderDetails existing =
+          LENIENT.readValue(
+              "{\"ordId\":\"existing\",\"clOrdId\":\"" + clientOrderId + "\"}",
+              OkxOrderDetails.class);
+      return new OkxResponse<>(null, "0", null, Collections.singletonList(existing));
+    }
+
+    @Override
+    OkxResponse<List<OkxOrderResponse>> doPlaceBatchOkxOrder(List<OkxOrderRequest> orders)
+        throws IOException {
+      List<String> chunk = new ArrayList<>();
+      orders.forEach(order -> chunk.add(order.getClientOrderId()));
+      placedChunks.add(chunk);
+      if (chunk.contains(failingClientOrderId)) {
+        throw new IOException("timeout");
+      }
+      List<OkxOrderResponse> results = new ArrayList<>();
+      boolean rejected = false;
+      for (String clientOrderId : chunk) {
+        if (clientOrderId.equals(rejectedClientOrderId)) {
+          rejected = true;
+          results.add(
+              LENIENT.readValue(
+                  "{\"clOrdId\":\""
+                      + clientOrderId
+                      + "\",\"sCode\":\"51008\",\"sMsg\":\"Insufficient balance\"}",
+                  OkxOrderResponse.class));
+        } else {
+          results.add(OkxOrderResponse.replay("id-" + clientOrderId, clientOrderId));
+        }
+      }
+      return new OkxResponse<>(null, rejected ? "2" : "0", null, results);
+    }
+
+    @Override
+    public OkxResponse<List<OkxOrderResponse>> cancelOkxOrder(List<OkxCancelOrderRequest> orders)
+        throws IOException {
+      cancelledChunkSizes.add(orders.size());
+      List<OkxOrderResponse> results = new ArrayList<>();
+      for (OkxCancelOrderRequest order : orders) {
+        results.add(OkxOrderResponse.replay(order.getOrderId(), null));
+      }
+      return new OkxResponse<>(null, "0", null, results);
+    }
+  }
+
+  /** Answers order history pages of 2 filled orders out of 3, newest first, after an order id. */
+  private static class HistoryStubTradeService extends StubTradeService {
+    final List<String> afterCursors = new CopyOnWriteArrayList<>();
+
+    HistoryStubTradeService(OkxExchange exchange) {
+      super(exchange);
+    }
+
+    @Override
+    public OkxResponse<List<OkxOrderDetails>> getOrderHistory(
+        String instrumentType,
+        String instrumentId,
+        String orderType,
+        String after,
+        String before,
+        String limit)
+        throws IOException {
+      afterCursors.add(String.valueOf(after));
+      List<OkxOrderDetails> orders = new ArrayList<>();
+      for (int id = after == null ? 3 : Integer.parseInt(after) - 1;
+          id > 0 && orders.size() < Integer.parseInt(limit);
+          id--) {
+        orders.add(
+            BatchStubTradeService.LENIENT.readValue(
+                "{\"instId\":\"BTC-USDT\",\"sz\":\"1\",\"avgPx\":\"50000\",\"fee\":\"0.5\","
+                    + "\"feeCcy\":\"USDT\",\"side\":\"buy\",\"ordId\":\""
+                    + id
+                    + "\",\"uTime\":\"1690000000000\",\"state\":\"filled\"}",
+                OkxOrderDetails.class));
+      }
+      return new OkxResponse<>(null, "0", null, orders);
+    }
+  }
+
   private StubTradeService stubService() {
     OkxExchange exchange = new OkxExchange();
     exchange.applySpecification(exchange.getDefaultExchangeSpecification());
@@ -136,6 +248,92 @@ public class OkxTradeServiceTest {
     return mapper.readValue(json, OkxOrderResponse.class);
   }
 
+  @Test
+  public void placeLimitOrdersMatchesPerOrderResultsOfEveryChunk() throws Exception {
+    OkxExchange exchange = new OkxExchange();
+    exchange.applySpecification(exchange.getDefaultExchangeSpecification());
+    BatchStubTradeService service = new BatchStubTradeService(exchange);
+    service.existingClientOrderId = "cl3";
+    service.rejectedClientOrderId = "cl5";
+    service.failingClientOrderId = "cl21";
+    List<LimitOrder> orders = new ArrayList<>();
+    for (int i = 0; i < 22; i++) {
+      orders.add(
+          new LimitOrder.Builder(Order.OrderType.BID, new CurrencyPair("BTC/USDT"))
+              .userReference("cl" + i)
+              .originalAmount(new BigDecimal("0.001"))
+              .limitPrice(new BigDecimal("60000"))
+              .build());
+    }
+
+    List<OrderResult> results = service.placeLimitOrders(orders);
+
+    // the order placed before is not sent again
+    assertThat(service.placedChunks).extracting(List::size).containsExactly(19, 2);
+    assertThat(results).hasSize(22);
+    assertThat(results.get(0)).isEqualTo(OrderResult.success("id-cl0").withUserReference("cl0"));
+    assertThat(results.get(3)).isEqualTo(OrderResult.success("existing").withUserReference("cl3"));
+    assertThat(results.get(5))
+        .isEqualTo(OrderResult.failure("51008: Insufficient balance").withUserReference("cl5"));
+    assertThat(results.get(19)).isEqualTo(OrderResult.success("id-cl19").withUserReference("cl19"));
+    assertThat(results.subList(20, 22))
+        .containsExactly(
+            OrderResult.failure("timeout").withUserReference("cl20"),
+            OrderResult.failure("timeout").withUserReference("cl21"));
+  }
+
+  @Test
+  public void cancelOrdersChunksByTheBatchLimit() throws Exception {
+    OkxExchange exchange = new OkxExchange();
+    exchange.applySpecification(exchange.getDefaultExchangeSpecification());
+    BatchStubTradeService service = new BatchStubTradeService(exchange);
+    List<CancelOrderParams> params = new ArrayList<>();
+    for (int i = 0; i < 25; i++) {
+      params.add(
+          new DefaultCancelOrderByInstrumentAndIdParams(
+              new CurrencyPair("BTC/USDT"), Integer.toString(i)));
+    }
+
+    List<OrderResult> results = service.cancelOrders(params);
+
+    assertThat(service.cancelledChunkSizes).containsExactly(20, 5);
+    assertThat(results).extracting(OrderResult::getOrderId).startsWith("0", "1").endsWith("24");
+    assertThat(results).allMatch(OrderResult::isSuccess);
+  }
+
+  @Test
+  public void tradeHistoryStreamFollowsTheLastOrderIdOfFullPages() throws Exception {
+    ExchangeMetaData metaData =
+        new ExchangeMetaData(
+            Map.of(
+                CurrencyPair.BTC_USDT,
+                InstrumentMetaData.builder().contractValue(BigDecimal.ONE).build()),
+            Collections.emptyMap(),
+            null,
+            null,
+            null);
+    OkxExchange exchange =
+        new OkxExchange() {
+          @Override
+          public ExchangeMetaData getExchangeMetaData() {
+            return metaData;
+          }
+        };
+    exchange.applySpecification(exchange.getDefaultExchangeSpecification());
+    HistoryStubTradeService service = new HistoryStubTradeService(exchange);
+    OkxTradeParams.OkxTradeHistoryParams params =
+        new OkxTradeParams.OkxTradeHistoryParams(CurrencyPair.BTC_USDT);
+    params.setLimit(2);
+
+    List<String> ids;
+    try (Stream<UserTrade> trades = service.getTradeHistoryStream(params)) {
+      ids = trades.map(UserTrade::getId).collect(Collectors.toList());
+    }
+
+    assertThat(ids).containsExactly("3", "2", "1");
+    assertThat(service.afterCursors).containsExactly("null", "2");
+  }
+
   @Test
   public void historyInstrumentTypeMapsPerInstrumentFamily() {
     assertThat(OkxTradeService.historyInstrumentType(new CurrencyPair("BTC/USDT")))
@@ -0,0 +1,16 @@
+package info.bitrich.xchangestream.binance;
+
+import java.time.Duration;
+import org.knowm.xchange.instrument.Instrument;
+
+/**
+ * A spot order book brought back in sync with the diff depth stream, see {@link
+ * BinanceStreamingMarketDataService#getOrderBookResyncs()}.
+ *
+ * @param instrument the instrument of the order book
+ * @param duration time from the first event without a consistent book to the book being consistent
+ * @param snapshots number of REST snapshots fetched until one lined up with the buffered events
+ * @param replayedEvents number of buffered events applied on top of the snapshot
+ */
+public record BinanceOrderBookResync(
+    Instrument instrument, Duration duration, int snapshots, int replayedEvents) {}
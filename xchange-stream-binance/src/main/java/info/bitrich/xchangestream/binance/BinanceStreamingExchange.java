@@ -11,6 +11,7 @@ import info.bitrich.xchangestream.service.netty.WebSocketClientHandler;
 import info.bitrich.xchangestream.util.Events;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -41,6 +42,13 @@ public class BinanceStreamingExchange extends BinanceExchange implements Streami
   public static final String USE_REALTIME_BOOK_TICKER = "Binance_Ticker_Use_Realtime";
   public static final String FETCH_ORDER_BOOK_LIMIT = "Binance_Fetch_Order_Book_Limit";
 
+  /**
+   * Number of decimal places (Integer) of the primitive, array-backed book used for spot order
+   * books. Binance spot prices and quantities have at most 8 decimals. Not set by default, in which
+   * case order books are kept as {@link org.knowm.xchange.dto.marketdata.OrderBook} lists.
+   */
+  public static final String PRIMITIVE_ORDER_BOOK_SCALE = "Binance_Orderbook_Primitive_Scale";
+
   private BinanceStreamingService streamingService;
   private BinanceUserDataFutureStreamingService userDataFutureStreamingService;
   private BinanceUserDataSpotStreamingService userDataSpotStreamingService;
@@ -54,6 +62,7 @@ public class BinanceStreamingExchange extends BinanceExchange implements Streami
   private Runnable onApiCall;
   private String orderBookUpdateFrequencyParameter = "";
   private int oderBookFetchLimitParameter = 1000;
+  private int primitiveOrderBookScale = -1;
   private boolean realtimeOrderBookTicker;
 
   @Override
@@ -74,6 +83,11 @@ public class BinanceStreamingExchange extends BinanceExchange implements Streami
     if (fetchOrderBookLimit instanceof Integer) {
       oderBookFetchLimitParameter = (int) fetchOrderBookLimit;
     }
+    Object primitiveScale =
+        exchangeSpecification.getExchangeSpecificParametersItem(PRIMITIVE_ORDER_BOOK_SCALE);
+    if (primitiveScale instanceof Integer) {
+      primitiveOrderBookScale = (int) primitiveScale;
+    }
     applyWebsocketTimeouts(getExchangeSpecification());
   }
 
@@ -162,7 +176,11 @@ public class BinanceStreamingExchange extends BinanceExchange implements Streami
             onApiCall,
             orderBookUpdateFrequencyParameter,
             realtimeOrderBookTicker,
-            oderBookFetchLimitParameter);
+            oderBookFetchLimitParameter,
+            primitiveOrderBookScale);
+    if (exchangeSpecification.isVirtualThreadsEnabled()) {
+      streamingMarketDataService.setBookSnapshotsScheduler(Schedulers.from(getAsyncExecutor()));
+    }
     streamingAccountService =
         new BinanceStreamingAccountService(
             userDataFutureStreamingService, userDataSpotStreamingService, isFuturesEnabled());
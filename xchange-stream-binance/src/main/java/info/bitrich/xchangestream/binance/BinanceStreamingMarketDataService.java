@@ -7,16 +7,17 @@ import static info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelp
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.util.concurrent.RateLimiter;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import info.bitrich.xchangestream.binance.dto.BinanceWebsocketTransaction;
 import info.bitrich.xchangestream.binance.dto.market.*;
 import info.bitrich.xchangestream.binance.exceptions.UpFrontSubscriptionRequiredException;
+import info.bitrich.xchangestream.book.TopOfBook;
 import info.bitrich.xchangestream.core.ProductSubscription;
 import info.bitrich.xchangestream.core.StreamingMarketDataService;
-import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
+import info.bitrich.xchangestream.service.netty.JsonNettyStreamingService;
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableEmitter;
 import io.reactivex.rxjava3.core.Scheduler;
 import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
@@ -24,13 +25,15 @@ import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.functions.Consumer;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import io.reactivex.rxjava3.subjects.BehaviorSubject;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import io.reactivex.rxjava3.subjects.Subject;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -63,15 +66,25 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
   private static final JavaType FUNDING_RATE_TYPE = getFundingRateType();
   private static final JavaType KLINE_TYPE = getKlineType();
 
+  /** Maximum number of depth events buffered while a spot order book is syncing. */
+  private static final int ORDER_BOOK_SYNC_BUFFER_SIZE = 1000;
+
   private final BinanceStreamingService service;
   private final String orderBookUpdateFrequencyParameter;
   private final boolean realtimeOrderBookTicker;
   private final int oderBookFetchLimitParameter;
 
+  /**
+   * Number of decimal places used by the {@link PrimitiveOrderBook} backing spot order books, or a
+   * negative value to keep the {@link OrderBook} lists.
+   */
+  private final int primitiveOrderBookScale;
+
   private final Map<Instrument, Observable<BinanceTicker24h>> tickerSubscriptions;
   private final Map<Instrument, Observable<BinanceTicker24h>> rollingWindowTickerSubscriptions;
   private final Map<Instrument, Observable<BinanceBookTicker>> bookTickerSubscriptions;
   private final Map<Instrument, Observable<OrderBook>> orderbookSubscriptions;
+  private final Map<Instrument, LocalOrderBook> localOrderBooks = new ConcurrentHashMap<>();
   private final Map<Instrument, Observable<BinanceRawTrade>> tradeSubscriptions;
   private final Map<Instrument, Observable<List<OrderBookUpdate>>> orderBookUpdatesSubscriptions;
   private final Map<Instrument, Map<KlineInterval, Observable<BinanceKline>>> klineSubscriptions;
@@ -86,7 +99,7 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
    * A scheduler for initialisation of binance order book snapshots, which is delegated to a
    * dedicated thread in order to avoid blocking of the Web Socket threads.
    */
-  private static final Scheduler bookSnapshotsScheduler =
+  private static final Scheduler DEFAULT_BOOK_SNAPSHOTS_SCHEDULER =
       Schedulers.from(
           Executors.newSingleThreadExecutor(
               new ThreadFactoryBuilder()
@@ -94,13 +107,18 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
                   .setNameFormat("binancefuture-book-snapshots-%d")
                   .build()));
 
-  private final ObjectMapper mapper = StreamingObjectMapperHelper.getObjectMapper();
   private final BinanceMarketDataService marketDataService;
   private final Runnable onApiCall;
 
+  /** Fetches the order book snapshots, see {@link #setBookSnapshotsScheduler(Scheduler)} */
+  private volatile Scheduler bookSnapshotsScheduler = DEFAULT_BOOK_SNAPSHOTS_SCHEDULER;
+
   private final AtomicBoolean fallenBack = new AtomicBoolean();
   private final AtomicReference<Runnable> fallbackOnApiCall = new AtomicReference<>(() -> {});
 
+  private final Subject<BinanceOrderBookResync> orderBookResyncs =
+      PublishSubject.<BinanceOrderBookResync>create().toSerialized();
+
   public BinanceStreamingMarketDataService(
       BinanceStreamingService service,
       BinanceMarketDataService marketDataService,
@@ -108,7 +126,26 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
       final String orderBookUpdateFrequencyParameter,
       boolean realtimeOrderBookTicker,
       int oderBookFetchLimitParameter) {
+    this(
+        service,
+        marketDataService,
+        onApiCall,
+        orderBookUpdateFrequencyParameter,
+        realtimeOrderBookTicker,
+        oderBookFetchLimitParameter,
+        -1);
+  }
+
+  public BinanceStreamingMarketDataService(
+      BinanceStreamingService service,
+      BinanceMarketDataService marketDataService,
+      Runnable onApiCall,
+      final String orderBookUpdateFrequencyParameter,
+      boolean realtimeOrderBookTicker,
+      int oderBookFetchLimitParameter,
+      int primitiveOrderBookScale) {
     this.service = service;
+    this.primitiveOrderBookScale = primitiveOrderBookScale;
     this.orderBookUpdateFrequencyParameter = orderBookUpdateFrequencyParameter;
     this.realtimeOrderBookTicker = realtimeOrderBookTicker;
     this.oderBookFetchLimitParameter = oderBookFetchLimitParameter;
@@ -126,6 +163,14 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
     this.fundingRateInfoSubscriptions = new ConcurrentHashMap<>();
   }
 
+  /**
+   * Fetches the order book snapshots on another scheduler than the single dedicated thread shared
+   * by all instances, e.g. on virtual threads.
+   */
+  public void setBookSnapshotsScheduler(Scheduler bookSnapshotsScheduler) {
+    this.bookSnapshotsScheduler = bookSnapshotsScheduler;
+  }
+
   @Override
   public Observable<OrderBook> getOrderBook(CurrencyPair currencyPair, Object... args) {
     if (!service.isLiveSubscriptionEnabled()
@@ -158,6 +203,19 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
     return orderbookSubscriptions.computeIfAbsent(instrument, this::initOrderBookIfAbsent);
   }
 
+  /**
+   * The best levels of the order book, read from the local book of the instrument after each update
+   * without materializing the levels of a primitive book.
+   */
+  @Override
+  public Observable<TopOfBook> getTopOfBook(Instrument instrument, int depth) {
+    Observable<OrderBook> orderBooks = getOrderBook(instrument);
+    LocalOrderBook localOrderBook = localOrderBooks.get(instrument);
+    return orderBooks
+        .map(orderBook -> localOrderBook.topOfBook(orderBook, depth))
+        .distinctUntilChanged(TopOfBook::hasSameLevels);
+  }
+
   @Override
   public Observable<Ticker> getTicker(Instrument instrument, Object... args) {
     if (realtimeOrderBookTicker) {
@@ -285,9 +343,9 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
   }
 
   private Observable<BinanceKline> klinesStream(Instrument instrument, KlineInterval interval) {
-    return service
-        .subscribeChannel(
-            getChannelPrefix(instrument) + "@" + KLINE.getType() + "_" + interval.code())
+    return subscribeChannel(
+            getChannelPrefix(instrument) + "@" + KLINE.getType() + "_" + interval.code(),
+            KLINE_TYPE)
         .map(
             it ->
                 this.<KlineBinanceWebSocketTransaction>readTransaction(it, KLINE_TYPE, "kline")
@@ -317,6 +375,15 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
         instrument, this::initOrderBookUpdateIfAbsent);
   }
 
+  /**
+   * Api to monitor the syncing of the spot order books of {@link #getOrderBook(Instrument,
+   * Object...)}, emits once the local book of an instrument is consistent again after subscribing
+   * or after a gap in the updates.
+   */
+  public Observable<BinanceOrderBookResync> getOrderBookResyncs() {
+    return orderBookResyncs.hide();
+  }
+
   private Observable<List<OrderBookUpdate>> initOrderBookUpdateIfAbsent(Instrument instrument) {
     orderBookRawUpdatesSubscriptions.computeIfAbsent(
         instrument, s -> triggerObservableBody(rawOrderBookUpdates(instrument)));
@@ -424,6 +491,7 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
     switch (subscriptionType) {
       case DEPTH:
         orderbookSubscriptions.remove(instrument);
+        localOrderBooks.remove(instrument);
         orderBookUpdatesSubscriptions.remove(instrument);
         orderBookRawUpdatesSubscriptions.remove(instrument);
         break;
@@ -519,16 +587,17 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
     } catch (Exception e) {
       return Observable.error(e);
     }
+    SymbolMatcher symbol = new SymbolMatcher(instrument, true);
     try {
-      return service
-          .subscribeChannel(
-              channelFromCurrency(instrument, BinanceSubscriptionType.FUNDING_RATES.getType()))
+      return subscribeChannel(
+              channelFromCurrency(instrument, BinanceSubscriptionType.FUNDING_RATES.getType()),
+              FUNDING_RATE_TYPE)
           .map(
               it ->
                   this.<FundingRateWebsocketTransaction>readTransaction(
                       it, FUNDING_RATE_TYPE, "funding rate"))
           .map(BinanceWebsocketTransaction::getData)
-          .filter(data -> BinanceAdapters.adaptSymbol(data.getSymbol(), true).equals(instrument))
+          .filter(data -> symbol.matches(data.getSymbol()))
           .map(
               transaction ->
                   transaction.toFundingRate(fundingRateInfoMap.getOrDefault(instrument, 8)));
@@ -538,44 +607,36 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
   }
 
   private Observable<BinanceTicker24h> rawTickerStream(Instrument instrument) {
-    return service
-        .subscribeChannel(channelFromCurrency(instrument, BinanceSubscriptionType.TICKER.getType()))
+    SymbolMatcher symbol = new SymbolMatcher(instrument, instrument instanceof FuturesContract);
+    return subscribeChannel(
+            channelFromCurrency(instrument, BinanceSubscriptionType.TICKER.getType()), TICKER_TYPE)
         .map(
             it ->
                 this.<TickerBinanceWebsocketTransaction>readTransaction(it, TICKER_TYPE, "ticker"))
-        .filter(
-            transaction ->
-                BinanceAdapters.adaptSymbol(
-                        transaction.getData().getSymbol(), instrument instanceof FuturesContract)
-                    .equals(instrument))
+        .filter(transaction -> symbol.matches(transaction.getData().getSymbol()))
         .map(transaction -> transaction.getData().getTicker());
   }
 
   private Observable<BinanceTicker24h> rollingWindowStream(
       Instrument instrument, KlineInterval windowSize) {
-    return this.service
-        .subscribeChannel(
+    SymbolMatcher symbol = new SymbolMatcher(instrument, instrument instanceof FuturesContract);
+    return this.subscribeChannel(
             this.getChannelPrefix(instrument)
                 + "@"
                 + BinanceSubscriptionType.TICKER_WINDOW.getType()
                 + windowSize.code(),
-            new Object[0])
+            TICKER_TYPE)
         .map(
             (it) ->
                 this.<TickerBinanceWebsocketTransaction>readTransaction(it, TICKER_TYPE, "ticker"))
-        .filter(
-            transaction ->
-                BinanceAdapters.adaptSymbol(
-                        transaction.getData().getSymbol(), instrument instanceof FuturesContract)
-                    .equals(instrument))
+        .filter(transaction -> symbol.matches(transaction.getData().getSymbol()))
         .map(transaction -> transaction.getData().getTicker());
   }
 
   private Observable<List<BinanceTicker24h>> allRollingWindowStream(KlineInterval windowSize) {
-    return this.service
-        .subscribeChannel(
+    return this.subscribeChannel(
             "!" + BinanceSubscriptionType.TICKER_WINDOW.getType() + windowSize.code() + "@arr",
-            new Object[0])
+            WINDOW_TICKER_TYPE)
         .map(
             (it) ->
                 this.<List<TickerBinanceWebsocketTransaction>>readTransaction(
@@ -588,150 +649,319 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
   }
 
   private Observable<BinanceBookTicker> rawBookTickerStream(Instrument instrument) {
-    return service
-        .subscribeChannel(
-            channelFromCurrency(instrument, BinanceSubscriptionType.BOOK_TICKER.getType()))
+    SymbolMatcher symbol = new SymbolMatcher(instrument, instrument instanceof FuturesContract);
+    return subscribeChannel(
+            channelFromCurrency(instrument, BinanceSubscriptionType.BOOK_TICKER.getType()),
+            BOOK_TICKER_TYPE)
         .map(
             it ->
                 this.<BookTickerBinanceWebSocketTransaction>readTransaction(
                     it, BOOK_TICKER_TYPE, "book ticker"))
-        .filter(
-            transaction ->
-                BinanceAdapters.adaptSymbol(
-                        transaction.getData().getTicker().getSymbol(),
-                        instrument instanceof FuturesContract)
-                    .equals(instrument))
+        .filter(transaction -> symbol.matches(transaction.getData().getTicker().getSymbol()))
         .map(transaction -> transaction.getData().getTicker());
   }
 
-  private final class OrderbookSubscription {
+  /** The book an order book subscription keeps in sync, read on the thread emitting its updates. */
+  private interface LocalOrderBook {
 
-    final Observable<DepthBinanceWebSocketTransaction> stream;
-    final AtomicLong lastUpdateId = new AtomicLong();
-    final AtomicLong snapshotLastUpdateId = new AtomicLong();
-    OrderBook orderBook;
+    /**
+     * @param orderBook the order book just emitted by the subscription
+     * @param depth the number of levels per side at most
+     */
+    TopOfBook topOfBook(OrderBook orderBook, int depth);
+  }
 
-    private OrderbookSubscription(Observable<DepthBinanceWebSocketTransaction> stream) {
+  /**
+   * Keeps the local order book of a spot instrument in sync with the diff depth stream.
+   *
+   * <p>While there is no consistent book, at start and after a gap in the update ids, the events
+   * are queued in a bounded buffer and a snapshot is fetched on {@link #bookSnapshotsScheduler}, so
+   * the socket thread never blocks on the REST call. The buffered events following the snapshot are
+   * replayed onto it, which makes the book consistent as soon as a single snapshot overlaps the
+   * buffered events. Every completed sync is published as a {@link BinanceOrderBookResync}.
+   *
+   * <p>Related doc: <a
+   * href="https://binance-docs.github.io/apidocs/spot/en/#how-to-manage-a-local-order-book-correctly">...</a>
+   */
+  private final class OrderbookSubscription implements LocalOrderBook {
+
+    private final Instrument instrument;
+    private final Observable<DepthBinanceWebSocketTransaction> stream;
+
+    /** events received while syncing, oldest first, guarded by this */
+    private final ArrayDeque<DepthBinanceWebSocketTransaction> buffer = new ArrayDeque<>();
+
+    private ObservableEmitter<OrderBook> emitter;
+    private Disposable snapshotFetch;
+    private boolean synced;
+    private boolean fetching;
+    private long lastUpdateId;
+    private long syncStartNanos;
+    private int snapshots;
+    private OrderBook orderBook;
+    private PrimitiveOrderBook primitiveOrderBook;
+    private boolean primitive = primitiveOrderBookScale >= 0;
+
+    private OrderbookSubscription(
+        Instrument instrument, Observable<DepthBinanceWebSocketTransaction> stream) {
+      this.instrument = instrument;
       this.stream = stream;
     }
 
-    void invalidateSnapshot() {
-      snapshotLastUpdateId.set(0);
+    Observable<OrderBook> connect() {
+      return Observable.<OrderBook>create(
+              emitter -> {
+                synchronized (this) {
+                  this.emitter = emitter;
+                  startSync();
+                }
+                Disposable events = stream.subscribe(this::onDepth, emitter::tryOnError);
+                emitter.setCancellable(
+                    () -> {
+                      events.dispose();
+                      disconnect();
+                    });
+              })
+          .share();
+    }
+
+    private synchronized void disconnect() {
+      emitter = null;
+      synced = false;
+      fetching = false;
+      buffer.clear();
+      if (snapshotFetch != null) {
+        snapshotFetch.dispose();
+        snapshotFetch = null;
+      }
+    }
+
+    private void startSync() {
+      synced = false;
+      syncStartNanos = System.nanoTime();
+      snapshots = 0;
+      buffer.clear();
     }
 
-    void initSnapshotIfInvalid(Instrument instrument) {
-      if (snapshotLastUpdateId.get() != 0) {
+    private synchronized void onDepth(DepthBinanceWebSocketTransaction depth) {
+      if (emitter == null) {
+        return;
+      }
+      if (synced) {
+        // Drop any event where u is <= lastUpdateId of the book
+        if (depth.getLastUpdateId() <= lastUpdateId) {
+          return;
+        }
+        // Each event should have U <= lastUpdateId+1 AND u >= lastUpdateId+1, each update has
+        // absolute numbers so an overlap does no harm
+        if (depth.getFirstUpdateId() <= lastUpdateId + 1) {
+          try {
+            OrderBook updated = applyDepth(depth);
+            lastUpdateId = depth.getLastUpdateId();
+            emitter.onNext(updated);
+            return;
+          } catch (ArithmeticException e) {
+            dropPrimitiveOrderBook(e);
+          }
+        } else {
+          LOG.info(
+              "Orderbook for {} missed updates (last={}, U={}, u={}). Re-syncing.",
+              instrument,
+              lastUpdateId,
+              depth.getFirstUpdateId(),
+              depth.getLastUpdateId());
+        }
+        startSync();
+      }
+      if (buffer.size() == ORDER_BOOK_SYNC_BUFFER_SIZE) {
+        // the snapshot will then be older than the buffered events and fetched again
+        buffer.pollFirst();
+      }
+      buffer.addLast(depth);
+      if (!fetching) {
+        fetchSnapshot();
+      }
+    }
+
+    private void fetchSnapshot() {
+      fetching = true;
+      snapshots++;
+      snapshotFetch =
+          Single.fromCallable(
+                  () -> {
+                    LOG.info("Fetching orderbook snapshot for {}", instrument);
+                    onApiCall.run();
+                    fallbackOnApiCall.get().run();
+                    return fetchBinanceOrderBook(instrument);
+                  })
+              .subscribeOn(bookSnapshotsScheduler)
+              .subscribe(this::onSnapshot, this::onSnapshotError);
+    }
+
+    private synchronized void onSnapshotError(Throwable error) {
+      // Keep the buffered events and try again with the next event
+      LOG.error("Failed to fetch order book snapshot for " + instrument, error);
+      fetching = false;
+    }
+
+    private synchronized void onSnapshot(BinanceOrderbook book) {
+      if (emitter == null) {
+        return;
+      }
+      fetching = false;
+      // Drop any buffered event where u is <= lastUpdateId in the snapshot
+      while (!buffer.isEmpty() && buffer.peekFirst().getLastUpdateId() <= book.lastUpdateId) {
+        buffer.pollFirst();
+      }
+      // Binance may return a snapshot as of 5 while the buffered events start at 7, the events
+      // in between are lost and only a later snapshot can line up with the buffered events
+      DepthBinanceWebSocketTransaction first = buffer.peekFirst();
+      if (first != null && first.getFirstUpdateId() > book.lastUpdateId + 1) {
+        LOG.info(
+            "Orderbook snapshot for {} older than buffered updates (last={}, U={}). Re-fetching.",
+            instrument,
+            book.lastUpdateId,
+            first.getFirstUpdateId());
+        fetchSnapshot();
         return;
       }
+
       try {
-        LOG.info("Fetching initial orderbook snapshot for {} ", instrument);
-        onApiCall.run();
-        fallbackOnApiCall.get().run();
-        BinanceOrderbook book = fetchBinanceOrderBook(instrument);
-        snapshotLastUpdateId.set(book.lastUpdateId);
-        lastUpdateId.set(book.lastUpdateId);
+        initSnapshot(book);
+      } catch (ArithmeticException e) {
+        dropPrimitiveOrderBook(e);
+        initSnapshot(book);
+      }
+      lastUpdateId = book.lastUpdateId;
+      int replayed = 0;
+      DepthBinanceWebSocketTransaction depth;
+      while ((depth = buffer.pollFirst()) != null) {
+        if (depth.getFirstUpdateId() > lastUpdateId + 1) {
+          LOG.info(
+              "Orderbook for {} missed updates while syncing (last={}, U={}). Re-fetching.",
+              instrument,
+              lastUpdateId,
+              depth.getFirstUpdateId());
+          buffer.addFirst(depth);
+          fetchSnapshot();
+          return;
+        }
+        try {
+          applyDepth(depth);
+        } catch (ArithmeticException e) {
+          // the primitive book is half updated, only a new snapshot lines up with the events
+          dropPrimitiveOrderBook(e);
+          buffer.addFirst(depth);
+          fetchSnapshot();
+          return;
+        }
+        lastUpdateId = depth.getLastUpdateId();
+        replayed++;
+      }
+      synced = true;
+      BinanceOrderBookResync resync =
+          new BinanceOrderBookResync(
+              instrument,
+              Duration.ofNanos(System.nanoTime() - syncStartNanos),
+              snapshots,
+              replayed);
+      LOG.info(
+          "Orderbook for {} in sync after {} ms, {} snapshot(s), {} buffered update(s) replayed",
+          instrument,
+          resync.duration().toMillis(),
+          snapshots,
+          replayed);
+      orderBookResyncs.onNext(resync);
+      emitter.onNext(orderBook);
+    }
+
+    private void initSnapshot(BinanceOrderbook book) {
+      if (primitive) {
+        initPrimitiveOrderBook(book);
+      } else {
         orderBook = BinanceMarketDataService.convertOrderBook(book, instrument);
-      } catch (Exception e) {
-        LOG.error("Failed to fetch initial order book for " + instrument, e);
-        snapshotLastUpdateId.set(0);
-        lastUpdateId.set(0);
-        orderBook = null;
       }
     }
+
+    private void initPrimitiveOrderBook(BinanceOrderbook book) {
+      if (primitiveOrderBook == null) {
+        primitiveOrderBook =
+            new PrimitiveOrderBook(
+                instrument,
+                primitiveOrderBookScale,
+                primitiveOrderBookScale,
+                Math.max(book.asks.size(), book.bids.size()));
+      } else {
+        primitiveOrderBook.clear();
+      }
+      book.asks.forEach((price, qty) -> primitiveOrderBook.update(OrderType.ASK, price, qty));
+      book.bids.forEach((price, qty) -> primitiveOrderBook.update(OrderType.BID, price, qty));
+      primitiveOrderBook.updateDate(System.currentTimeMillis());
+      orderBook = primitiveOrderBook.toOrderBook();
+    }
+
+    /**
+     * Keeps the book in BigDecimals once a price or size has more decimal places than the primitive
+     * book is scaled by, the level would be rejected again after every resync otherwise.
+     */
+    private void dropPrimitiveOrderBook(ArithmeticException e) {
+      LOG.warn(
+          "Orderbook for {} has a level beyond {} decimal places, keeping it in BigDecimals: {}",
+          instrument,
+          primitiveOrderBookScale,
+          e.getMessage());
+      primitive = false;
+      primitiveOrderBook = null;
+    }
+
+    @Override
+    public synchronized TopOfBook topOfBook(OrderBook orderBook, int depth) {
+      return primitiveOrderBook != null
+          ? TopOfBook.of(instrument, primitiveOrderBook, depth)
+          : TopOfBook.of(instrument, orderBook, depth);
+    }
+
+    // The data in each event is the absolute quantity for a price level, a quantity of 0 removes
+    // the price level, removing a price level that is not in the local order book is normal
+    private OrderBook applyDepth(DepthBinanceWebSocketTransaction depth) {
+      if (primitiveOrderBook == null) {
+        orderBook.update(extractOrderBookUpdatesToArray(instrument, depth));
+        return orderBook;
+      }
+      BinanceOrderbook diff = depth.getOrderBook();
+      diff.bids.forEach((price, qty) -> primitiveOrderBook.update(OrderType.BID, price, qty));
+      diff.asks.forEach((price, qty) -> primitiveOrderBook.update(OrderType.ASK, price, qty));
+      primitiveOrderBook.updateDate(depth.getEventTime());
+      orderBook.updateDate(depth.getEventTime());
+      return orderBook;
+    }
   }
 
   private Observable<DepthBinanceWebSocketTransaction> rawOrderBookUpdates(Instrument instrument) {
-    return service
-        .subscribeChannel(channelFromCurrency(instrument, BinanceSubscriptionType.DEPTH.getType()))
+    SymbolMatcher symbol = new SymbolMatcher(instrument, instrument instanceof FuturesContract);
+    return subscribeChannel(
+            channelFromCurrency(instrument, BinanceSubscriptionType.DEPTH.getType()), DEPTH_TYPE)
         .map(
             it ->
                 this.<DepthBinanceWebSocketTransaction>readTransaction(
                     it, DEPTH_TYPE, "order book"))
         .map(BinanceWebsocketTransaction::getData)
-        .filter(
-            data ->
-                BinanceAdapters.adaptSymbol(data.getSymbol(), instrument instanceof FuturesContract)
-                    .equals(instrument));
+        .filter(data -> symbol.matches(data.getSymbol()));
   }
 
   private Observable<OrderBook> createOrderBookObservable(Instrument instrument) {
-    // 1. Open a stream to wss://stream.binance.com:9443/ws/bnbbtc@depth
-    // 2. Buffer the events you receive from the stream.
     OrderbookSubscription subscription =
-        new OrderbookSubscription(orderBookRawUpdatesSubscriptions.get(instrument));
-
-    return subscription
-        .stream
-
-        // 3. Get a depth snapshot from
-        // https://www.binance.com/api/v1/depth?symbol=BNBBTC&limit=1000
-        // (we do this if we don't already have one or we've invalidated a previous one)
-        .doOnNext(transaction -> subscription.initSnapshotIfInvalid(instrument))
-
-        // If we failed, don't return anything. Just keep trying until it works
-        .filter(transaction -> subscription.snapshotLastUpdateId.get() > 0L)
-
-        // 4. Drop any event where u is <= lastUpdateId in the snapshot
-        .filter(depth -> depth.getLastUpdateId() > subscription.snapshotLastUpdateId.get())
-
-        // 5. The first processed should have U <= lastUpdateId+1 AND u >= lastUpdateId+1, and
-        // subsequent events would
-        // normally have u == lastUpdateId + 1 which is stricter version of the above - let's be
-        // more relaxed
-        // each update has absolute numbers so even if there's an overlap it does no harm
-        .filter(
-            depth -> {
-              long lastUpdateId = subscription.lastUpdateId.get();
-              boolean result;
-              if (lastUpdateId == 0L) {
-                result = true;
-              } else {
-                result =
-                    depth.getFirstUpdateId() <= lastUpdateId + 1
-                        && depth.getLastUpdateId() >= lastUpdateId + 1;
-              }
-              if (result) {
-                subscription.lastUpdateId.set(depth.getLastUpdateId());
-              } else {
-                // If not, we re-sync.  This will commonly occur a few times when starting up, since
-                // given update ids 1,2,3,4,5,6,7,8,9, Binance may sometimes return a snapshot
-                // as of 5, but update events covering 1-3, 4-6 and 7-9.  We can't apply the 4-6
-                // update event without double-counting 5, and we can't apply the 7-9 update without
-                // missing 6.  The only thing we can do is to keep requesting a fresh snapshot until
-                // we get to a situation where the snapshot and an update event precisely line up.
-                LOG.info(
-                    "Orderbook snapshot for {} out of date (last={}, U={}, u={}). This is normal. Re-syncing.",
-                    instrument,
-                    lastUpdateId,
-                    depth.getFirstUpdateId(),
-                    depth.getLastUpdateId());
-                subscription.invalidateSnapshot();
-              }
-              return result;
-            })
-
-        // 7. The data in each event is the absolute quantity for a price level
-        // 8. If the quantity is 0, remove the price level
-        // 9. Receiving an event that removes a price level that is not in your local order book can
-        // happen and is normal.
-        .map(
-            depth -> {
-              extractOrderBookUpdates(instrument, depth)
-                  .forEach(it -> subscription.orderBook.update(it));
-              return subscription.orderBook;
-            })
-        .share();
+        new OrderbookSubscription(instrument, orderBookRawUpdatesSubscriptions.get(instrument));
+    localOrderBooks.put(instrument, subscription);
+    return subscription.connect();
   }
 
   private Observable<BinanceRawTrade> rawTradeStream(Instrument instrument) {
-    return service
-        .subscribeChannel(channelFromCurrency(instrument, BinanceSubscriptionType.TRADE.getType()))
+    SymbolMatcher symbol = new SymbolMatcher(instrument, instrument instanceof FuturesContract);
+    return subscribeChannel(
+            channelFromCurrency(instrument, BinanceSubscriptionType.TRADE.getType()), TRADE_TYPE)
         .map(it -> this.<TradeBinanceWebsocketTransaction>readTransaction(it, TRADE_TYPE, "trade"))
-        .filter(
-            transaction ->
-                BinanceAdapters.adaptSymbol(
-                        transaction.getData().getSymbol(), instrument instanceof FuturesContract)
-                    .equals(instrument))
+        .filter(transaction -> symbol.matches(transaction.getData().getSymbol()))
         .map(transaction -> transaction.getData().getRawTrade());
   }
 
@@ -745,47 +975,53 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
     return observable;
   }
 
+  /**
+   * Subscribes to a stream whose messages the streaming service binds to the transaction type while
+   * parsing them, see {@link #readTransaction(JsonNode, JavaType, String)}.
+   */
+  private Observable<JsonNode> subscribeChannel(String channelId, JavaType type) {
+    service.registerChannelType(channelId, type);
+    return service.subscribeChannel(channelId);
+  }
+
+  /**
+   * Matches the symbols of the messages of a stream against its instrument. A stream only carries
+   * messages of a single symbol, so the matching symbol is remembered instead of adapting the
+   * symbol of every message.
+   */
+  private static final class SymbolMatcher {
+
+    private final Instrument instrument;
+    private final boolean isFuture;
+    private volatile String matchingSymbol;
+
+    SymbolMatcher(Instrument instrument, boolean isFuture) {
+      this.instrument = instrument;
+      this.isFuture = isFuture;
+    }
+
+    boolean matches(String symbol) {
+      if (symbol.equals(matchingSymbol)) {
+        return true;
+      }
+      boolean matches = BinanceAdapters.adaptSymbol(symbol, isFuture).equals(instrument);
+      if (matches) {
+        matchingSymbol = symbol;
+      }
+      return matches;
+    }
+  }
+
   private <T> BinanceWebsocketTransaction<T> readTransaction(
       JsonNode node, JavaType type, String transactionType) {
     try {
-      return mapper.readValue(mapper.treeAsTokens(node), type);
+      return JsonNettyStreamingService.readChannelValue(node, type);
     } catch (IOException e) {
       throw new ExchangeException(
           String.format("Unable to parse %s transaction", transactionType), e);
     }
   }
 
-  private Stream<OrderBookUpdate> extractOrderBookUpdates(
-      Instrument instrument, DepthBinanceWebSocketTransaction depthTransaction) {
-    BinanceOrderbook orderBookDiff = depthTransaction.getOrderBook();
-
-    Stream<OrderBookUpdate> bidStream =
-        orderBookDiff.bids.entrySet().stream()
-            .map(
-                entry ->
-                    new OrderBookUpdate(
-                        OrderType.BID,
-                        entry.getValue(),
-                        instrument,
-                        entry.getKey(),
-                        depthTransaction.getEventTime(),
-                        entry.getValue()));
-
-    Stream<OrderBookUpdate> askStream =
-        orderBookDiff.asks.entrySet().stream()
-            .map(
-                entry ->
-                    new OrderBookUpdate(
-                        OrderType.ASK,
-                        entry.getValue(),
-                        instrument,
-                        entry.getKey(),
-                        depthTransaction.getEventTime(),
-                        entry.getValue()));
-
-    return Stream.concat(bidStream, askStream);
-  }
-
   private List<OrderBookUpdate> extractOrderBookUpdatesToArray(
       Instrument instrument, DepthBinanceWebSocketTransaction depthTransaction) {
     BinanceOrderbook orderBookDiff = depthTransaction.getOrderBook();
@@ -881,7 +1117,7 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
    * href="https://binance-docs.github.io/apidocs/spot/en/#diff-depth-stream">...</a>
    */
   @SuppressWarnings("Convert2MethodRef")
-  private final class OrderBookFutureSubscription implements Disposable {
+  private final class OrderBookFutureSubscription implements Disposable, LocalOrderBook {
 
     private final Instrument instrument;
     private final Observable<DepthBinanceWebSocketTransaction> deltasObservable;
@@ -966,6 +1202,14 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
       }
     }
 
+    @Override
+    public TopOfBook topOfBook(OrderBook orderBook, int depth) {
+      // the emitted book, as a resync may have dropped the current one since
+      synchronized (bookIntegrityMonitor) {
+        return TopOfBook.of(instrument, orderBook, depth);
+      }
+    }
+
     private void bufferDelta(DepthBinanceWebSocketTransaction delta) {
       synchronized (bookIntegrityMonitor) {
         deltasBuffer.add(delta);
@@ -1021,7 +1265,7 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
         } else {
           finalUpdateIdPrev = delta.getLastUpdateId();
           // FIXME The underlying impl would be more optimal if LimitOrders were created directly.
-          extractOrderBookUpdates(instrument, delta).forEach(update -> book.update(update));
+          book.update(extractOrderBookUpdatesToArray(instrument, delta));
         }
         return true;
       }
@@ -1064,9 +1308,11 @@ public class BinanceStreamingMarketDataService implements StreamingMarketDataSer
   }
 
   private Observable<OrderBook> createOrderBookFutureObservable(Instrument currencyPair) {
-    return new BinanceStreamingMarketDataService.OrderBookFutureSubscription(
-            orderBookRawUpdatesSubscriptions.get(currencyPair), currencyPair)
-        .connect();
+    OrderBookFutureSubscription subscription =
+        new BinanceStreamingMarketDataService.OrderBookFutureSubscription(
+            orderBookRawUpdatesSubscriptions.get(currencyPair), currencyPair);
+    localOrderBooks.put(currencyPair, subscription);
+    return subscription.connect();
   }
 
   private BinanceOrderbook fetchBinanceOrderBook(Instrument instrument)
@@ -71,6 +71,18 @@ public class BinanceStreamingService extends JsonNettyStreamingService {
     this.klineSubscription = klineSubscription;
   }
 
+  /** Market data streams are high rate, parse them without decoding every frame to a String. */
+  @Override
+  protected boolean parseMessagesFromBytes() {
+    return true;
+  }
+
+  /** Lets market data streams bind their messages to the DTOs without building a tree first. */
+  @Override
+  protected String getChannelFieldName() {
+    return "stream";
+  }
+
   @Override
   protected String getChannelNameFromMessage(JsonNode message) {
     return message.get("stream").asText();
@@ -19,6 +19,7 @@ import info.bitrich.xchangestream.binance.dto.trade.ExecutionReportBinanceUserTr
 import info.bitrich.xchangestream.binance.dto.trade.ExecutionReportBinanceUserTransaction.ExecutionType;
 import info.bitrich.xchangestream.binance.dto.trade.OrderTradeUpdateBinanceWebSocketTransaction;
 import info.bitrich.xchangestream.binance.dto.trade.TradeLiteBinanceWebsocketTransaction;
+import info.bitrich.xchangestream.core.OrderAck;
 import info.bitrich.xchangestream.core.StreamingTradeService;
 import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
 import io.github.resilience4j.rxjava3.ratelimiter.operator.RateLimiterOperator;
@@ -73,6 +74,13 @@ public class BinanceStreamingTradeService implements StreamingTradeService {
   private volatile BinanceUserDataSpotStreamingService binanceUserDataSpotStreamingService;
   @Setter private volatile BinanceUserTradeStreamingService binanceUserTradeStreamingService;
 
+  private static final TypeReference<BinanceWebsocketOrderResponse<BinanceNewOrder>>
+      NEW_ORDER_RESPONSE = new TypeReference<>() {};
+
+  private static final TypeReference<
+          BinanceWebsocketOrderResponse<BinanceWebsocketOrderCancelAndReplaceResponse>>
+      CANCEL_REPLACE_RESPONSE = new TypeReference<>() {};
+
   private final ObjectMapper mapper = StreamingObjectMapperHelper.getObjectMapper();
 
   public BinanceStreamingTradeService(
@@ -202,11 +210,24 @@ public class BinanceStreamingTradeService implements StreamingTradeService {
     return placeOrder(order);
   }
 
+  @Override
+  public Single<OrderAck> placeMarketOrderAck(MarketOrder order, Object... args) {
+    return placeOrderAck(order);
+  }
+
+  @Override
+  public Single<OrderAck> placeLimitOrderAck(LimitOrder order, Object... args) {
+    return placeOrderAck(order);
+  }
+
   public Single<Integer> placeOrder(Order order) {
+    return placeOrderAck(order).map(OrderAck::getCode);
+  }
+
+  public Single<OrderAck> placeOrderAck(Order order) {
     if (binanceUserTradeStreamingService.isAuthorized()) {
       if (exchange.isFuturesEnabled()) {
         return placeOrderInternal(order)
-            .firstOrError()
             .compose(
                 RateLimiterOperator.of(
                     resilienceRegistries
@@ -220,7 +241,6 @@ public class BinanceStreamingTradeService implements StreamingTradeService {
       } else {
         if (exchange.isSpotEnabled()) {
           return placeOrderInternal(order)
-              .firstOrError()
               .compose(
                   RateLimiterOperator.of(
                       resilienceRegistries
@@ -243,44 +263,24 @@ public class BinanceStreamingTradeService implements StreamingTradeService {
     }
   }
 
-  private Observable<Integer> placeOrderInternal(Order order) {
+  private Single<OrderAck> placeOrderInternal(Order order) {
     return binanceUserTradeStreamingService
-        .subscribeChannel(String.valueOf(System.nanoTime()), "order.place", order)
-        .flatMap(
-            node -> {
-              TypeReference<BinanceWebsocketOrderResponse<BinanceNewOrder>> typeReference =
-                  new TypeReference<>() {};
-              BinanceWebsocketOrderResponse<BinanceNewOrder> response =
-                  mapper.treeToValue(node, typeReference);
-              if (response.getStatus() == 200) {
-                return Observable.just(0);
-              } else {
-                assert response.getError() != null;
-                return Observable.just(response.getError().getCode());
-              }
-            });
+        .request("order.place", order)
+        .map(node -> orderAck(mapper.treeToValue(node, NEW_ORDER_RESPONSE)));
   }
 
   @Override
   public Single<Integer> changeOrder(LimitOrder limitOrder, Object... args) {
+    return changeOrderAck(limitOrder, args).map(OrderAck::getCode);
+  }
+
+  @Override
+  public Single<OrderAck> changeOrderAck(LimitOrder limitOrder, Object... args) {
     if (binanceUserTradeStreamingService.isAuthorized()) {
       if (exchange.isFuturesEnabled()) {
         return binanceUserTradeStreamingService
-            .subscribeChannel(String.valueOf(System.nanoTime()), "order.modify", limitOrder)
-            .flatMap(
-                node -> {
-                  TypeReference<BinanceWebsocketOrderResponse<BinanceNewOrder>> typeReference =
-                      new TypeReference<>() {};
-                  BinanceWebsocketOrderResponse<BinanceNewOrder> response =
-                      mapper.treeToValue(node, typeReference);
-                  if (response.getStatus() == 200) {
-                    return Observable.just(0);
-                  } else {
-                    assert response.getError() != null;
-                    return Observable.just(response.getError().getCode());
-                  }
-                })
-            .firstOrError()
+            .request("order.modify", limitOrder)
+            .map(node -> orderAck(mapper.treeToValue(node, NEW_ORDER_RESPONSE)))
             .compose(
                 RateLimiterOperator.of(
                     resilienceRegistries
@@ -294,23 +294,13 @@ public class BinanceStreamingTradeService implements StreamingTradeService {
       } else if (exchange.isSpotEnabled()) {
         // Cancel an existing order and immediately place a new order instead of the canceled one.
         return binanceUserTradeStreamingService
-            .subscribeChannel(String.valueOf(System.nanoTime()), "order.cancelReplace", limitOrder)
-            .flatMap(
+            .request("order.cancelReplace", limitOrder)
+            .map(
                 node -> {
-                  TypeReference<
-                          BinanceWebsocketOrderResponse<
-                              BinanceWebsocketOrderCancelAndReplaceResponse>>
-                      typeReference = new TypeReference<>() {};
                   BinanceWebsocketOrderResponse<BinanceWebsocketOrderCancelAndReplaceResponse>
-                      response = mapper.treeToValue(node, typeReference);
-                  if (response.getStatus() == 200) {
-                    return Observable.just(0);
-                  } else {
-                    assert response.getError() != null;
-                    return Observable.just(response.getError().getCode());
-                  }
+                      response = mapper.treeToValue(node, CANCEL_REPLACE_RESPONSE);
+                  return orderAck(response, null, limitOrder.getUserReference());
                 })
-            .firstOrError()
             .compose(
                 RateLimiterOperator.of(
                     resilienceRegistries
@@ -332,26 +322,16 @@ public class BinanceStreamingTradeService implements StreamingTradeService {
 
   @Override
   public Single<Integer> cancelOrder(CancelOrderParams orderParams, Object... args) {
+    return cancelOrderAck(orderParams, args).map(OrderAck::getCode);
+  }
+
+  @Override
+  public Single<OrderAck> cancelOrderAck(CancelOrderParams orderParams, Object... args) {
     if (binanceUserTradeStreamingService.isAuthorized()) {
       if (exchange.isFuturesEnabled() || exchange.isSpotEnabled()) {
-        Observable<Integer> observable =
-            binanceUserTradeStreamingService
-                .subscribeChannel(String.valueOf(System.nanoTime()), "order.cancel", orderParams)
-                .flatMap(
-                    node -> {
-                      TypeReference<BinanceWebsocketOrderResponse<BinanceNewOrder>> typeReference =
-                          new TypeReference<>() {};
-                      BinanceWebsocketOrderResponse<BinanceNewOrder> response =
-                          mapper.treeToValue(node, typeReference);
-                      if (response.getStatus() == 200) {
-                        return Observable.just(0);
-                      } else {
-                        assert response.getError() != null;
-                        return Observable.just(response.getError().getCode());
-                      }
-                    });
-        return observable
-            .firstOrError()
+        return binanceUserTradeStreamingService
+            .request("order.cancel", orderParams)
+            .map(node -> orderAck(mapper.treeToValue(node, NEW_ORDER_RESPONSE)))
             .compose(
                 RateLimiterOperator.of(
                     resilienceRegistries.rateLimiters().rateLimiter(REQUEST_WEIGHT_RATE_LIMITER)));
@@ -363,6 +343,23 @@ public class BinanceStreamingTradeService implements StreamingTradeService {
     }
   }
 
+  private static OrderAck orderAck(BinanceWebsocketOrderResponse<BinanceNewOrder> response) {
+    BinanceNewOrder order = response.getResult();
+    return order == null
+        ? orderAck(response, null, null)
+        : orderAck(response, String.valueOf(order.orderId), order.clientOrderId);
+  }
+
+  private static OrderAck orderAck(
+      BinanceWebsocketOrderResponse<?> response, String orderId, String userReference) {
+    if (response.getStatus() == 200) {
+      return OrderAck.accepted(orderId, userReference);
+    }
+    assert response.getError() != null;
+    return OrderAck.rejected(
+        response.getError().getCode(), response.getError().getMsg(), orderId, userReference);
+  }
+
   /** Registers subsriptions with the streaming service for the given products. */
   public void openSubscriptions() {
     if (binanceUserDataFutureStreamingService != null) {
@@ -9,6 +9,7 @@ import info.bitrich.xchangestream.service.netty.ConnectionStateModel.State;
 import info.bitrich.xchangestream.util.Events;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -173,6 +174,9 @@ public class BinanceUsStreamingExchange extends BinanceUsExchange implements Str
             orderBookUpdateFrequencyParameter,
             realtimeOrderBookTicker,
             oderBookFetchLimitParameter);
+    if (exchangeSpecification.isVirtualThreadsEnabled()) {
+      streamingMarketDataService.setBookSnapshotsScheduler(Schedulers.from(getAsyncExecutor()));
+    }
     streamingAccountService =
         new BinanceStreamingAccountService(
             userDataFutureStreamingService, userDataSpotStreamingService, isFuturesEnabled());
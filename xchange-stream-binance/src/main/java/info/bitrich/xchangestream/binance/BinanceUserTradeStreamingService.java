@@ -21,6 +21,7 @@ import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.CompletableSource;
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.disposables.CompositeDisposable;
 import io.reactivex.rxjava3.disposables.Disposable;
 import java.io.IOException;
@@ -185,6 +186,28 @@ public class BinanceUserTradeStreamingService extends JsonNettyStreamingService
     super.messageHandler(message);
   }
 
+  @Override
+  protected void handleMessage(JsonNode message) {
+    if (pendingRequests.complete(message.path("id").asText(null), message)) {
+      return;
+    }
+    super.handleMessage(message);
+  }
+
+  /**
+   * Sends a request under a new id and emits its response. Requests are pipelined and correlated by
+   * their id, no channel is registered per request.
+   *
+   * @param method one of "order.place", "order.modify", "order.cancel", "order.cancelReplace"
+   */
+  public Single<JsonNode> request(String method, Object payload) {
+    return Single.defer(
+        () ->
+            sendRequest(
+                String.valueOf(requestIdCounter.incrementAndGet()),
+                requestId -> getSubscribeMessage(requestId, method, payload)));
+  }
+
   @Override
   public String getUnsubscribeMessage(String channelName, Object... args) throws IOException {
     return null;
@@ -0,0 +1,153 @@
+package info.bitrich.xchangestream.binance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.knowm.xchange.binance.dto.marketdata.BinanceOrderbook;
+import org.knowm.xchange.binance.service.BinanceMarketDataService;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BinanceStreamingMarketDataServiceOrderBookTest {
+
+  private static final CurrencyPair PAIR = CurrencyPair.BTC_USDT;
+  private static final ObjectMapper MAPPER = StreamingObjectMapperHelper.getObjectMapper();
+
+  @Mock private BinanceStreamingService streamingService;
+  @Mock private BinanceMarketDataService marketDataService;
+
+  private final PublishSubject<JsonNode> depthStream = PublishSubject.create();
+  private BinanceStreamingMarketDataService marketDataServiceUnderTest;
+
+  @Before
+  public void setUp() {
+    when(streamingService.isLiveSubscriptionEnabled()).thenReturn(true);
+    doReturn(depthStream).when(streamingService).subscribeChannel(anyString());
+    marketDataServiceUnderTest =
+        new BinanceStreamingMarketDataService(
+            streamingService, marketDataService, () -> {}, "", false, 1000);
+  }
+
+  @Test
+  public void testReplaysEventsBufferedWhileFetchingSnapshot() throws Exception {
+    CountDownLatch fetching = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(marketDataService.getBinanceOrderbookAllProducts(eq(PAIR), eq(1000)))
+        .thenAnswer(
+            invocation -> {
+              fetching.countDown();
+              release.await();
+              return snapshot(7);
+            });
+    TestObserver<BinanceOrderBookResync> resyncs =
+        marketDataServiceUnderTest.getOrderBookResyncs().test();
+    TestObserver<OrderBook> books = marketDataServiceUnderTest.getOrderBook(PAIR).test();
+
+    depthStream.onNext(depth(1, 5, "[[\"99\",\"1\"]]", "[]"));
+    assertThat(fetching.await(5, TimeUnit.SECONDS)).isTrue();
+    depthStream.onNext(depth(6, 8, "[[\"101\",\"2\"]]", "[]"));
+    depthStream.onNext(depth(9, 10, "[]", "[[\"102\",\"3\"]]"));
+    release.countDown();
+
+    books.awaitCount(1);
+    assertThat(books.values().get(0).getBids())
+        .extracting(LimitOrder::getLimitPrice)
+        .containsExactly(new BigDecimal("101"), new BigDecimal("100"));
+    assertThat(books.values().get(0).getAsks())
+        .extracting(LimitOrder::getLimitPrice)
+        .containsExactly(new BigDecimal("102"));
+
+    resyncs.awaitCount(1);
+    assertThat(resyncs.values().get(0).instrument()).isEqualTo(PAIR);
+    assertThat(resyncs.values().get(0).snapshots()).isEqualTo(1);
+    assertThat(resyncs.values().get(0).replayedEvents()).isEqualTo(2);
+
+    depthStream.onNext(depth(11, 11, "[[\"100\",\"0\"]]", "[]"));
+    books.assertValueCount(2);
+    assertThat(books.values().get(1).getBids())
+        .extracting(LimitOrder::getLimitPrice)
+        .containsExactly(new BigDecimal("101"));
+  }
+
+  @Test
+  public void testFetchesAnotherSnapshotWhenOlderThanBufferedEvents() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    when(marketDataService.getBinanceOrderbookAllProducts(eq(PAIR), eq(1000)))
+        .thenAnswer(
+            invocation -> {
+              release.await();
+              return snapshot(3);
+            })
+        .thenReturn(snapshot(7));
+    TestObserver<BinanceOrderBookResync> resyncs =
+        marketDataServiceUnderTest.getOrderBookResyncs().test();
+    TestObserver<OrderBook> books = marketDataServiceUnderTest.getOrderBook(PAIR).test();
+
+    depthStream.onNext(depth(6, 8, "[[\"101\",\"2\"]]", "[]"));
+    release.countDown();
+
+    books.awaitCount(1);
+    resyncs.awaitCount(1);
+    assertThat(resyncs.values().get(0).snapshots()).isEqualTo(2);
+    assertThat(resyncs.values().get(0).replayedEvents()).isEqualTo(1);
+    verify(marketDataService, times(2)).getBinanceOrderbookAllProducts(eq(PAIR), eq(1000));
+  }
+
+  @Test
+  public void testResyncsInBigDecimalsALevelBeyondThePrimitiveScale() throws Exception {
+    BinanceStreamingMarketDataService primitiveService =
+        new BinanceStreamingMarketDataService(
+            streamingService, marketDataService, () -> {}, "", false, 1000, 2);
+    when(marketDataService.getBinanceOrderbookAllProducts(eq(PAIR), eq(1000)))
+        .thenReturn(snapshot(7), snapshot(8));
+    TestObserver<OrderBook> books = primitiveService.getOrderBook(PAIR).test();
+
+    depthStream.onNext(depth(7, 8, "[[\"101\",\"2\"]]", "[]"));
+    books.awaitCount(1);
+    depthStream.onNext(depth(9, 9, "[[\"100.125\",\"3\"]]", "[]"));
+
+    books.awaitCount(2);
+    books.assertNoErrors();
+    assertThat(books.values().get(1).getBids())
+        .extracting(LimitOrder::getLimitPrice)
+        .containsExactly(new BigDecimal("100.125"), new BigDecimal("100"));
+    verify(marketDataService, times(2)).getBinanceOrderbookAllProducts(eq(PAIR), eq(1000));
+  }
+
+  private static BinanceOrderbook snapshot(long lastUpdateId) {
+    return new BinanceOrderbook(
+        lastUpdateId,
+        Collections.singletonList(new Object[] {"100", "1"}),
+        Collections.<Object[]>emptyList());
+  }
+
+  private static JsonNode depth(long firstUpdateId, long lastUpdateId, String bids, String asks)
+      throws Exception {
+    return MAPPER.readTree(
+        String.format(
+            "{\"stream\":\"btcusdt@depth\",\"data\":{\"e\":\"depthUpdate\",\"E\":1,"
+                + "\"s\":\"BTCUSDT\",\"U\":%d,\"u\":%d,\"b\":%s,\"a\":%s}}",
+            firstUpdateId, lastUpdateId, bids, asks));
+  }
+}
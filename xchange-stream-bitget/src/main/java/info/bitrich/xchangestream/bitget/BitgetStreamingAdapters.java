@@ -7,9 +7,11 @@ import info.bitrich.xchangestream.bitget.dto.response.BitgetTickerNotification;
 import info.bitrich.xchangestream.bitget.dto.response.BitgetTickerNotification.TickerData;
 import info.bitrich.xchangestream.bitget.dto.response.BitgetWsOrderBookSnapshotNotification;
 import info.bitrich.xchangestream.bitget.dto.response.BitgetWsOrderBookSnapshotNotification.OrderBookData;
+import info.bitrich.xchangestream.bitget.dto.response.BitgetWsOrderBookSnapshotNotification.OrderBookData.PriceSizeEntry;
 import info.bitrich.xchangestream.bitget.dto.response.BitgetWsUserTradeNotification;
 import info.bitrich.xchangestream.bitget.dto.response.BitgetWsUserTradeNotification.BitgetFillData;
 import info.bitrich.xchangestream.bitget.dto.response.BitgetWsUserTradeNotification.FeeDetail;
+import info.bitrich.xchangestream.book.BookChecksum;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
@@ -29,6 +31,8 @@ import org.knowm.xchange.instrument.Instrument;
 @UtilityClass
 public class BitgetStreamingAdapters {
 
+  private static final int CHECKSUM_DEPTH = 25;
+
   public Ticker toTicker(BitgetTickerNotification notification) {
     TickerData bitgetTickerDto = notification.getPayloadItems().get(0);
 
@@ -82,6 +86,41 @@ public class BitgetStreamingAdapters {
         .build();
   }
 
+  /**
+   * Whether an order book snapshot matches its checksum: the CRC32 of the first 25 levels of each
+   * side, interleaved as {@code bid1Price:bid1Size:ask1Price:ask1Size:bid2Price:...}. Snapshots
+   * without a checksum, or with a zero one, are taken as they are.
+   */
+  public boolean hasValidChecksum(BitgetWsOrderBookSnapshotNotification notification) {
+    OrderBookData orderBookData = notification.getPayloadItems().get(0);
+    Long expected = orderBookData.getChecksum();
+    if (expected == null || expected == 0) {
+      return true;
+    }
+    BookChecksum checksum = BookChecksum.forCurrentThread();
+    List<PriceSizeEntry> bids = orderBookData.getBids();
+    List<PriceSizeEntry> asks = orderBookData.getAsks();
+    boolean first = true;
+    for (int i = 0; i < CHECKSUM_DEPTH && (i < bids.size() || i < asks.size()); i++) {
+      if (i < bids.size()) {
+        first = appendLevel(checksum, bids.get(i), first);
+      }
+      if (i < asks.size()) {
+        first = appendLevel(checksum, asks.get(i), first);
+      }
+    }
+    // the venue sends the checksum as a signed 32-bit integer
+    return (int) checksum.getValue() == expected.intValue();
+  }
+
+  private boolean appendLevel(BookChecksum checksum, PriceSizeEntry level, boolean first) {
+    if (!first) {
+      checksum.append(':');
+    }
+    checksum.append(level.getPrice()).append(':').append(level.getSize());
+    return false;
+  }
+
   public OrderBook toOrderBook(
       BitgetWsOrderBookSnapshotNotification notification, Instrument instrument) {
     OrderBookData orderBookData = notification.getPayloadItems().get(0);
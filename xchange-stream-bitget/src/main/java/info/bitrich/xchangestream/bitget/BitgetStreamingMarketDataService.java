@@ -6,12 +6,14 @@ import info.bitrich.xchangestream.bitget.dto.response.BitgetTickerNotification;
 import info.bitrich.xchangestream.bitget.dto.response.BitgetWsOrderBookSnapshotNotification;
 import info.bitrich.xchangestream.core.StreamingMarketDataService;
 import io.reactivex.rxjava3.core.Observable;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.Validate;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.marketdata.OrderBook;
 import org.knowm.xchange.dto.marketdata.Ticker;
 
+@Slf4j
 public class BitgetStreamingMarketDataService implements StreamingMarketDataService {
 
   private final BitgetStreamingService service;
@@ -42,9 +44,19 @@ public class BitgetStreamingMarketDataService implements StreamingMarketDataServ
     return service
         .subscribeChannel(null, channelType, MarketType.SPOT, currencyPair)
         .map(BitgetWsOrderBookSnapshotNotification.class::cast)
+        .filter(notification -> hasValidChecksum(notification, currencyPair))
         .map(notification -> BitgetStreamingAdapters.toOrderBook(notification, currencyPair));
   }
 
+  private static boolean hasValidChecksum(
+      BitgetWsOrderBookSnapshotNotification notification, CurrencyPair currencyPair) {
+    if (BitgetStreamingAdapters.hasValidChecksum(notification)) {
+      return true;
+    }
+    log.warn("Dropping {} order book not matching its checksum", currencyPair);
+    return false;
+  }
+
   @Override
   public Observable<Ticker> getTicker(CurrencyPair currencyPair, Object... args) {
     return service
@@ -3,11 +3,10 @@ package info.bitrich.xchangestream.bitget.uta.v3;
 import info.bitrich.xchangestream.bitget.uta.v3.dto.BitgetUtaV3Action;
 import info.bitrich.xchangestream.bitget.uta.v3.dto.BitgetUtaV3OrderBookData;
 import info.bitrich.xchangestream.bitget.uta.v3.dto.BitgetUtaV3OrderBookLevel;
-import java.math.BigDecimal;
+import info.bitrich.xchangestream.book.BookSide;
+import info.bitrich.xchangestream.book.L2OrderBook;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.TreeMap;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -27,6 +26,10 @@ import lombok.extern.slf4j.Slf4j;
  * fresh snapshot. Stale or duplicate updates (sequence not newer than the last applied one) and
  * updates arriving before the snapshot are dropped without error.
  *
+ * <p>The levels are kept in a {@link L2OrderBook}; the sequence rules above are checked here, as
+ * the first-update rule is not one of its {@link info.bitrich.xchangestream.book.SequencePolicy}
+ * rules.
+ *
  * <p>Not thread-safe: drive it from a single Netty event-loop or test thread.
  *
  * @since 5.1.0
@@ -34,15 +37,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class BitgetUtaV3OrderBookAssembler {
 
-  /** Bids sorted descending (best first). */
-  private final TreeMap<BigDecimal, BitgetUtaV3OrderBookLevel> bids =
-      new TreeMap<>(Comparator.reverseOrder());
-
-  /** Asks sorted ascending (best first). */
-  private final TreeMap<BigDecimal, BitgetUtaV3OrderBookLevel> asks = new TreeMap<>();
-
-  private Long lastSeq;
-  private boolean snapshotApplied;
+  private final L2OrderBook book = new L2OrderBook();
   private boolean firstUpdateAfterSnapshot;
 
   /**
@@ -66,17 +61,14 @@ public class BitgetUtaV3OrderBookAssembler {
   }
 
   private void applySnapshot(BitgetUtaV3OrderBookData data) {
-    bids.clear();
-    asks.clear();
-    replaceLevels(bids, data.getBids());
-    replaceLevels(asks, data.getAsks());
-    lastSeq = data.getSeq();
-    snapshotApplied = true;
+    book.startSnapshot(data.getSeq() != null ? data.getSeq() : L2OrderBook.UNKNOWN_SEQUENCE);
+    replaceLevels(book.getBids(), data.getBids());
+    replaceLevels(book.getAsks(), data.getAsks());
     firstUpdateAfterSnapshot = true;
   }
 
   private void applyUpdate(BitgetUtaV3OrderBookData data, String subscriptionId) {
-    if (!snapshotApplied) {
+    if (!book.isSynced()) {
       // update before any snapshot: the provider contract sends the snapshot first
       log.debug("Dropping order-book update for {} before its snapshot", subscriptionId);
       return;
@@ -87,6 +79,7 @@ public class BitgetUtaV3OrderBookAssembler {
       throw new BitgetUtaV3OrderBookContinuityException(
           subscriptionId, "provider sequence-space reset (pseq=0)");
     }
+    Long lastSeq = getLastSeq();
     // stale or duplicate update: never apply one not newer than the last applied seq
     if (data.getSeq() != null && lastSeq != null && data.getSeq() <= lastSeq) {
       log.debug(
@@ -120,58 +113,69 @@ public class BitgetUtaV3OrderBookAssembler {
     }
     firstUpdateAfterSnapshot = false;
 
-    replaceLevels(bids, data.getBids());
-    replaceLevels(asks, data.getAsks());
-    if (data.getSeq() != null) {
-      lastSeq = data.getSeq();
-    }
+    // continuity is checked above, the book only records the sequence
+    book.startDelta(
+        L2OrderBook.UNKNOWN_SEQUENCE,
+        data.getSeq() != null ? data.getSeq() : L2OrderBook.UNKNOWN_SEQUENCE);
+    replaceLevels(book.getBids(), data.getBids());
+    replaceLevels(book.getAsks(), data.getAsks());
   }
 
-  private void replaceLevels(
-      TreeMap<BigDecimal, BitgetUtaV3OrderBookLevel> side, List<BitgetUtaV3OrderBookLevel> levels) {
+  private static void replaceLevels(BookSide side, List<BitgetUtaV3OrderBookLevel> levels) {
     if (levels == null) {
       return;
     }
     for (BitgetUtaV3OrderBookLevel level : levels) {
-      if (level.getSize().signum() <= 0) {
-        // quantity 0 deletes a level; a negative quantity is malformed and must
-        // never surface as a negative-amount level in the book
-        side.remove(level.getPrice());
-      } else {
-        side.put(level.getPrice(), level);
-      }
+      // quantity 0 deletes a level; a negative quantity is malformed and must
+      // never surface as a negative-amount level in the book, so it deletes it too
+      side.set(level.getPrice(), level.getSize());
     }
   }
 
   /** Whether a snapshot has been applied and the book is usable. */
   public boolean hasSnapshot() {
-    return snapshotApplied;
+    return book.isSynced();
+  }
+
+  /** The assembled book, to be read on the thread applying the pushes. */
+  public L2OrderBook getBook() {
+    return book;
   }
 
   /** Current bids, best first. */
   public List<BitgetUtaV3OrderBookLevel> getBids() {
-    return new ArrayList<>(bids.values());
+    return levels(book.getBids());
   }
 
   /** Current asks, best first. */
   public List<BitgetUtaV3OrderBookLevel> getAsks() {
-    return new ArrayList<>(asks.values());
+    return levels(book.getAsks());
+  }
+
+  private static List<BitgetUtaV3OrderBookLevel> levels(BookSide side) {
+    List<BitgetUtaV3OrderBookLevel> levels = new ArrayList<>(side.depth());
+    for (int level = 0; level < side.depth(); level++) {
+      levels.add(
+          BitgetUtaV3OrderBookLevel.builder()
+              .price(side.price(level))
+              .size(side.size(level))
+              .build());
+    }
+    return levels;
   }
 
-  /** Last applied provider sequence, or {@code null} before the first snapshot. */
   /**
    * The sequence number of the last applied push, or {@code null} when no snapshot has been applied
    * yet (or after {@link #reset()}).
    */
   public Long getLastSeq() {
-    return snapshotApplied ? lastSeq : null;
+    long lastSeq = book.getLastSequence();
+    return book.isSynced() && lastSeq != L2OrderBook.UNKNOWN_SEQUENCE ? lastSeq : null;
   }
 
   /** Drops all state so the next snapshot starts a fresh book. */
   public void reset() {
-    bids.clear();
-    asks.clear();
-    snapshotApplied = false;
+    book.reset();
     firstUpdateAfterSnapshot = false;
   }
 }
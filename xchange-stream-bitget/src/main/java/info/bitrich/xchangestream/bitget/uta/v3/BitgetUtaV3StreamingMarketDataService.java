@@ -5,7 +5,6 @@ import info.bitrich.xchangestream.bitget.config.Config;
 import info.bitrich.xchangestream.bitget.uta.v3.dto.BitgetUtaV3Channel;
 import info.bitrich.xchangestream.bitget.uta.v3.dto.BitgetUtaV3KlineData;
 import info.bitrich.xchangestream.bitget.uta.v3.dto.BitgetUtaV3OrderBookData;
-import info.bitrich.xchangestream.bitget.uta.v3.dto.BitgetUtaV3OrderBookLevel;
 import info.bitrich.xchangestream.bitget.uta.v3.dto.BitgetUtaV3PublicTradeData;
 import info.bitrich.xchangestream.bitget.uta.v3.dto.BitgetUtaV3TickerData;
 import info.bitrich.xchangestream.bitget.uta.v3.dto.BitgetUtaV3WsNotification;
@@ -24,13 +23,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.Validate;
 import org.knowm.xchange.currency.CurrencyPair;
-import org.knowm.xchange.dto.Order.OrderType;
 import org.knowm.xchange.dto.marketdata.CandleStickData;
 import org.knowm.xchange.dto.marketdata.CandleStickInterval;
 import org.knowm.xchange.dto.marketdata.OrderBook;
 import org.knowm.xchange.dto.marketdata.Ticker;
 import org.knowm.xchange.dto.marketdata.Trade;
-import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.instrument.Instrument;
 
 /**
@@ -193,24 +190,8 @@ public class BitgetUtaV3StreamingMarketDataService implements StreamingMarketDat
       Instrument instrument,
       BitgetUtaV3OrderBookData data,
       Long envelopeTimestamp) {
-    List<LimitOrder> asks = new ArrayList<>();
-    List<LimitOrder> bids = new ArrayList<>();
-    for (BitgetUtaV3OrderBookLevel level : assembler.getAsks()) {
-      asks.add(
-          new LimitOrder.Builder(OrderType.ASK, instrument)
-              .limitPrice(level.getPrice())
-              .originalAmount(level.getSize())
-              .build());
-    }
-    for (BitgetUtaV3OrderBookLevel level : assembler.getBids()) {
-      bids.add(
-          new LimitOrder.Builder(OrderType.BID, instrument)
-              .limitPrice(level.getPrice())
-              .originalAmount(level.getSize())
-              .build());
-    }
     Long ts = data.getTs() != null ? data.getTs() : envelopeTimestamp;
-    return new OrderBook(ts == null ? null : new Date(ts), asks, bids);
+    return assembler.getBook().toOrderBook(instrument, ts == null ? null : new Date(ts));
   }
 
   @Override
@@ -5,6 +5,7 @@ import info.bitrich.xchangestream.bitget.uta.v3.dto.BitgetUtaV3Channel;
 import info.bitrich.xchangestream.bitget.uta.v3.dto.BitgetUtaV3FillData;
 import info.bitrich.xchangestream.bitget.uta.v3.dto.BitgetUtaV3InstType;
 import info.bitrich.xchangestream.bitget.uta.v3.dto.BitgetUtaV3PositionData;
+import info.bitrich.xchangestream.core.OrderAck;
 import info.bitrich.xchangestream.core.StreamingTradeService;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Single;
@@ -29,6 +30,8 @@ import org.knowm.xchange.dto.trade.MarketOrder;
 import org.knowm.xchange.dto.trade.UserTrade;
 import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.instrument.Instrument;
+import org.knowm.xchange.service.trade.params.CancelOrderByIdParams;
+import org.knowm.xchange.service.trade.params.CancelOrderByUserReferenceParams;
 import org.knowm.xchange.service.trade.params.CancelOrderParams;
 
 /**
@@ -45,9 +48,10 @@ import org.knowm.xchange.service.trade.params.CancelOrderParams;
  * the dedupe survives reconnects so a replayed snapshot does not re-emit stale state.
  *
  * <p>Placements are delegated to the REST {@link BitgetUtaV3TradeService} and answered with {@code
- * 0} (accepted). A client-generated {@code clientOid} is injected when the order carries none; if
- * the private socket disconnects while a placement is pending, the outcome is unknown and each
- * pending placement fails with {@link BitgetUtaV3UnknownOutcomeException} on {@link
+ * 0} (accepted), or with an {@link OrderAck} carrying the order id of the REST response. A
+ * client-generated {@code clientOid} is injected when the order carries none; if the private
+ * socket disconnects while a placement is pending, the outcome is unknown and each pending
+ * placement fails with {@link BitgetUtaV3UnknownOutcomeException} on {@link
  * #subscribePlacementFailures()} instead of being silently replayed.
  *
  * @since 5.1.0
@@ -219,29 +223,50 @@ public class BitgetUtaV3StreamingTradeService implements StreamingTradeService {
 
   @Override
   public Single<Integer> placeMarketOrder(MarketOrder marketOrder, Object... args) {
+    return placeMarketOrderAck(marketOrder, args).map(OrderAck::getCode);
+  }
+
+  @Override
+  public Single<Integer> placeLimitOrder(LimitOrder limitOrder, Object... args) {
+    return placeLimitOrderAck(limitOrder, args).map(OrderAck::getCode);
+  }
+
+  @Override
+  public Single<Integer> cancelOrder(CancelOrderParams params, Object... args) {
+    return cancelOrderAck(params, args).map(OrderAck::getCode);
+  }
+
+  @Override
+  public Single<OrderAck> placeMarketOrderAck(MarketOrder marketOrder, Object... args) {
     return placeOrder(
         marketOrder.getUserReference(), oid -> placeMarketOrderRest(marketOrder, oid));
   }
 
   @Override
-  public Single<Integer> placeLimitOrder(LimitOrder limitOrder, Object... args) {
+  public Single<OrderAck> placeLimitOrderAck(LimitOrder limitOrder, Object... args) {
     return placeOrder(limitOrder.getUserReference(), oid -> placeLimitOrderRest(limitOrder, oid));
   }
 
   @Override
-  public Single<Integer> cancelOrder(CancelOrderParams params, Object... args) {
+  public Single<OrderAck> cancelOrderAck(CancelOrderParams params, Object... args) {
     return Single.fromCallable(
         () -> {
           try {
             restTradeService.cancelOrder(params);
-            return 0;
+            return OrderAck.accepted(
+                params instanceof CancelOrderByIdParams
+                    ? ((CancelOrderByIdParams) params).getOrderId()
+                    : null,
+                params instanceof CancelOrderByUserReferenceParams
+                    ? ((CancelOrderByUserReferenceParams) params).getUserReference()
+                    : null);
           } catch (IOException e) {
             throw new ExchangeException("Failed to cancel order on Bitget UTA v3", e);
           }
         });
   }
 
-  private Single<Integer> placeOrder(String clientOid, PlaceOrder action) {
+  private Single<OrderAck> placeOrder(String clientOid, PlaceOrder action) {
     final String effectiveClientOid =
         clientOid == null || clientOid.isEmpty()
             ? UUID.randomUUID().toString().replace("-", "")
@@ -253,8 +278,7 @@ public class BitgetUtaV3StreamingTradeService implements StreamingTradeService {
           // must not be reported as unknown on a later disconnect.
           pendingClientOids.add(effectiveClientOid);
           try {
-            action.place(effectiveClientOid);
-            return 0;
+            return OrderAck.accepted(action.place(effectiveClientOid), effectiveClientOid);
           } catch (IOException e) {
             throw new ExchangeException("Failed to place order on Bitget UTA v3", e);
           } finally {
@@ -317,7 +341,7 @@ public class BitgetUtaV3StreamingTradeService implements StreamingTradeService {
 
   @FunctionalInterface
   private interface PlaceOrder {
-    void place(String clientOid) throws IOException;
+    String place(String clientOid) throws IOException;
   }
 
   private static <K, V> Map<K, V> boundedLru() {
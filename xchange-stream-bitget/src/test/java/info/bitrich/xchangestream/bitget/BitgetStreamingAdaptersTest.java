@@ -0,0 +1,42 @@
+package info.bitrich.xchangestream.bitget;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import info.bitrich.xchangestream.bitget.dto.response.BitgetWsOrderBookSnapshotNotification;
+import info.bitrich.xchangestream.bitget.dto.response.BitgetWsOrderBookSnapshotNotification.OrderBookData;
+import info.bitrich.xchangestream.bitget.dto.response.BitgetWsOrderBookSnapshotNotification.OrderBookData.PriceSizeEntry;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BitgetStreamingAdaptersTest {
+
+  @Test
+  void verifiesTheChecksumOfInterleavedLevels() {
+    // "102:2:103:3:100.0:1:105:4"
+    assertThat(BitgetStreamingAdapters.hasValidChecksum(snapshot(-563995252L))).isTrue();
+    assertThat(BitgetStreamingAdapters.hasValidChecksum(snapshot(3730972044L))).isTrue();
+    assertThat(BitgetStreamingAdapters.hasValidChecksum(snapshot(12345L))).isFalse();
+  }
+
+  @Test
+  void acceptsSnapshotsWithoutChecksum() {
+    assertThat(BitgetStreamingAdapters.hasValidChecksum(snapshot(0L))).isTrue();
+    assertThat(BitgetStreamingAdapters.hasValidChecksum(snapshot(null))).isTrue();
+  }
+
+  private static BitgetWsOrderBookSnapshotNotification snapshot(Long checksum) {
+    return BitgetWsOrderBookSnapshotNotification.builder()
+        .payloadItem(
+            OrderBookData.builder()
+                .bids(List.of(level("102", "2"), level("100.0", "1")))
+                .asks(List.of(level("103", "3"), level("105", "4")))
+                .checksum(checksum)
+                .build())
+        .build();
+  }
+
+  private static PriceSizeEntry level(String price, String size) {
+    return PriceSizeEntry.builder().price(new BigDecimal(price)).size(new BigDecimal(size)).build();
+  }
+}
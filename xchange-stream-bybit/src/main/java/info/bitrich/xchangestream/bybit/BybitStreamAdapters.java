@@ -8,6 +8,7 @@ import info.bitrich.xchangestream.bybit.dto.trade.*;
 import info.bitrich.xchangestream.bybit.dto.trade.BybitOrderChangesResponse.BybitOrderChanges;
 import info.bitrich.xchangestream.bybit.dto.trade.BybitPositionChangesResponse.BybitPositionChanges;
 import info.bitrich.xchangestream.bybit.dto.trade.BybitStreamBatchAmendOrdersPayload.BybitStreamBatchAmendOrderPayload;
+import info.bitrich.xchangestream.core.OrderAck;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
@@ -18,6 +19,7 @@ import java.util.concurrent.TimeUnit;
 import org.knowm.xchange.bybit.dto.BybitCategory;
 import org.knowm.xchange.bybit.dto.marketdata.candles.BybitCandleStick;
 import org.knowm.xchange.bybit.dto.marketdata.tickers.linear.BybitLinearInverseTicker;
+import org.knowm.xchange.bybit.dto.trade.BybitOrderResponse;
 import org.knowm.xchange.bybit.dto.trade.details.BybitTimeInForce;
 import org.knowm.xchange.dto.Order;
 import org.knowm.xchange.dto.Order.OrderType;
@@ -317,6 +319,28 @@ public class BybitStreamAdapters {
     return new BybitStreamBatchAmendOrdersPayload(category, ordersPayload);
   }
 
+  public static OrderAck adaptOrderAck(BybitStreamOrderResponse response) {
+    BybitOrderResponse data = response.getData();
+    String orderId = data == null ? null : data.getOrderId();
+    String orderLinkId = data == null ? null : data.getOrderLinkId();
+    if (response.getRetCode() == 0) {
+      return OrderAck.accepted(orderId, orderLinkId);
+    }
+    return OrderAck.rejected(response.getRetCode(), response.getRetMsg(), orderId, orderLinkId);
+  }
+
+  public static List<Integer> adaptBatchRetCodes(BybitStreamOrderResponse response) {
+    if (response.getRetCode() != 0) {
+      return List.of(response.getRetCode());
+    }
+    List<Integer> list = new ArrayList<>();
+    response
+        .getRetExtInfo()
+        .getList()
+        .forEach(retExtInfo -> list.add(Integer.valueOf(retExtInfo.getCode())));
+    return list;
+  }
+
   public static CandleStickData adaptCandles(BybitCandleStick bybitCandle, Instrument instrument) {
     List<CandleStick> candleSticks = new ArrayList<>();
     candleSticks.add(
@@ -1,8 +1,10 @@
 package info.bitrich.xchangestream.bybit;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import info.bitrich.xchangestream.core.ProductSubscription;
 import info.bitrich.xchangestream.core.StreamingExchange;
 import info.bitrich.xchangestream.service.netty.ConnectionStateModel.State;
+import info.bitrich.xchangestream.service.netty.ShardedStreamingService;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Observable;
 import org.knowm.xchange.bybit.BybitExchange;
@@ -37,6 +39,14 @@ public class BybitStreamingExchange extends BybitExchange implements StreamingEx
   public static final String EXCHANGE_TYPE = BybitConfiguration.EXCHANGE_TYPE;
 
   private BybitStreamingService streamingService;
+
+  /**
+   * Public connections when {@link #WS_MAX_CHANNELS_PER_CONNECTION} is set, {@link
+   * #streamingService} is its first shard.
+   */
+  private ShardedStreamingService<BybitStreamingService, JsonNode> shardedStreamingService;
+
+  private boolean compressedMessages;
   private BybitStreamingMarketDataService streamingMarketDataService;
   private BybitStreamingTradeService streamingTradeService;
   private BybitUserTradeStreamingService streamingUserTradeService;
@@ -50,10 +60,18 @@ public class BybitStreamingExchange extends BybitExchange implements StreamingEx
     BybitEnvironment environment = configuration.getEnvironment();
     BybitCategory category = BybitConfiguration.resolveStreamCategory(exchangeSpecification);
     applyWebsocketTimeouts(exchangeSpecification);
-    this.streamingService =
-        new BybitStreamingService(
-            environment.getPublicWebsocketUrl(category), exchangeSpecification);
-    applyStreamingSpecification(exchangeSpecification, streamingService);
+    String publicUrl = environment.getPublicWebsocketUrl(category);
+    Integer maxChannelsPerConnection =
+        (Integer) exchangeSpecification.getExchangeSpecificParametersItem(
+            WS_MAX_CHANNELS_PER_CONNECTION);
+    if (maxChannelsPerConnection != null) {
+      this.shardedStreamingService =
+          new ShardedStreamingService<>(
+              () -> createPublicStreamingService(publicUrl), maxChannelsPerConnection);
+      this.streamingService = shardedStreamingService.getShards().get(0);
+    } else {
+      this.streamingService = createPublicStreamingService(publicUrl);
+    }
     if (isApiKeyValid()) {
       this.streamingUserDataService =
           new BybitUserDataStreamingService(
@@ -71,12 +89,22 @@ public class BybitStreamingExchange extends BybitExchange implements StreamingEx
                 + "operations in the demo environment.");
       }
     }
-    this.streamingMarketDataService = new BybitStreamingMarketDataService(streamingService);
+    this.streamingMarketDataService =
+        shardedStreamingService != null
+            ? new BybitStreamingMarketDataService(shardedStreamingService)
+            : new BybitStreamingMarketDataService(streamingService);
     this.streamingTradeService =
         new BybitStreamingTradeService(
             streamingUserDataService, streamingUserTradeService, getResilienceRegistries(), this);
   }
 
+  private BybitStreamingService createPublicStreamingService(String url) {
+    BybitStreamingService service = new BybitStreamingService(url, exchangeSpecification);
+    applyStreamingSpecification(exchangeSpecification, service);
+    service.useCompressedMessages(compressedMessages);
+    return service;
+  }
+
   private boolean isApiKeyValid() {
     return exchangeSpecification.getApiKey() != null
         && !exchangeSpecification.getApiKey().isEmpty()
@@ -88,7 +116,10 @@ public class BybitStreamingExchange extends BybitExchange implements StreamingEx
   public Completable connect(ProductSubscription... args) {
     LOG.info("Connect to BybitStream");
     List<Completable> completableList = new ArrayList<>();
-    completableList.add(streamingService.connect());
+    completableList.add(
+        shardedStreamingService != null
+            ? shardedStreamingService.connect()
+            : streamingService.connect());
     if (isApiKeyValid()) {
       completableList.add(streamingUserDataService.connect());
       if (streamingUserTradeService != null) {
@@ -101,7 +132,14 @@ public class BybitStreamingExchange extends BybitExchange implements StreamingEx
   @Override
   public Completable disconnect() {
     List<Completable> completableList = new ArrayList<>();
-    if (streamingService != null) {
+    if (shardedStreamingService != null) {
+      shardedStreamingService
+          .getShards()
+          .forEach(BybitStreamingService::pingPongDisconnectIfConnected);
+      completableList.add(shardedStreamingService.disconnect());
+      shardedStreamingService = null;
+      streamingService = null;
+    } else if (streamingService != null) {
       streamingService.pingPongDisconnectIfConnected();
       completableList.add(streamingService.disconnect());
       streamingService = null;
@@ -136,15 +174,19 @@ public class BybitStreamingExchange extends BybitExchange implements StreamingEx
   public boolean isAlive() {
     // In a normal situation - streamingService is always runs, userDataStreamingService - depends
     if (streamingService != null) {
+      boolean publicOpen =
+          shardedStreamingService != null
+              ? shardedStreamingService.isSocketOpen()
+              : streamingService.isSocketOpen();
       if (isApiKeyValid()) {
-        return streamingService.isSocketOpen()
+        return publicOpen
             && streamingUserDataService.isSocketOpen()
             && streamingUserDataService.isAuthorized()
             && (streamingUserTradeService == null
                 || (streamingUserTradeService.isSocketOpen()
                     && streamingUserTradeService.isAuthorized()));
       } else {
-        return streamingService.isSocketOpen();
+        return publicOpen;
       }
     }
     return false;
@@ -152,7 +194,14 @@ public class BybitStreamingExchange extends BybitExchange implements StreamingEx
 
   @Override
   public void useCompressedMessages(boolean compressedMessages) {
-    streamingService.useCompressedMessages(compressedMessages);
+    this.compressedMessages = compressedMessages;
+    if (shardedStreamingService != null) {
+      shardedStreamingService
+          .getShards()
+          .forEach(shard -> shard.useCompressedMessages(compressedMessages));
+    } else {
+      streamingService.useCompressedMessages(compressedMessages);
+    }
   }
 
   @Override
@@ -188,7 +237,11 @@ public class BybitStreamingExchange extends BybitExchange implements StreamingEx
 
   @Override
   public void resubscribeChannels() {
-    streamingService.resubscribeChannels();
+    if (shardedStreamingService != null) {
+      shardedStreamingService.getShards().forEach(BybitStreamingService::resubscribeChannels);
+    } else {
+      streamingService.resubscribeChannels();
+    }
     if (streamingUserDataService != null) {
       streamingUserDataService.resubscribeChannels();
     }
@@ -4,6 +4,7 @@ import static info.bitrich.xchangestream.bybit.BybitStreamAdapters.adaptFundingR
 import static org.knowm.xchange.bybit.BybitAdapters.convertToBybitSymbol;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Lists;
 import info.bitrich.xchangestream.bybit.dto.BybitResponse;
@@ -12,6 +13,8 @@ import info.bitrich.xchangestream.bybit.dto.marketdata.BybitOrderbook;
 import info.bitrich.xchangestream.bybit.dto.marketdata.BybitPublicOrder;
 import info.bitrich.xchangestream.bybit.dto.trade.BybitTrade;
 import info.bitrich.xchangestream.core.StreamingMarketDataService;
+import info.bitrich.xchangestream.service.netty.ShardedStreamingService;
+import info.bitrich.xchangestream.service.netty.StreamingChannelService;
 import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.subjects.PublishSubject;
@@ -22,6 +25,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.knowm.xchange.bybit.BybitAdapters;
 import org.knowm.xchange.bybit.dto.marketdata.candles.BybitCandleStick;
@@ -35,7 +39,10 @@ import org.slf4j.LoggerFactory;
 public class BybitStreamingMarketDataService implements StreamingMarketDataService {
 
   private final Logger LOG = LoggerFactory.getLogger(BybitStreamingMarketDataService.class);
-  private final BybitStreamingService streamingService;
+  private final StreamingChannelService<JsonNode> streamingService;
+
+  /** the connection carrying a channel, null if the channel is not subscribed */
+  private final Function<String, BybitStreamingService> connectionOfChannel;
   private final ObjectMapper mapper = StreamingObjectMapperHelper.getObjectMapper();
   public static final String TRADE = "publicTrade.";
   public static final String ORDERBOOK = "orderbook.";
@@ -60,7 +67,20 @@ public class BybitStreamingMarketDataService implements StreamingMarketDataServi
   private final Map<String, BybitLinearInverseTicker> tickerSnapshotMap = new HashMap<>();
 
   public BybitStreamingMarketDataService(BybitStreamingService streamingService) {
+    this(streamingService, channel -> streamingService);
+  }
+
+  /** Spreads the channels over the connections of the sharded service. */
+  public BybitStreamingMarketDataService(
+      ShardedStreamingService<BybitStreamingService, JsonNode> streamingService) {
+    this(streamingService, channel -> streamingService.getShard(channel));
+  }
+
+  private BybitStreamingMarketDataService(
+      StreamingChannelService<JsonNode> streamingService,
+      Function<String, BybitStreamingService> connectionOfChannel) {
     this.streamingService = streamingService;
+    this.connectionOfChannel = connectionOfChannel;
     this.orderBookUpdatesSubscriptions = new ConcurrentHashMap<>();
   }
 
@@ -149,11 +169,13 @@ public class BybitStreamingMarketDataService implements StreamingMarketDataServi
                       if (isDeepestChannel(bybitSymbol, depth)) {
                         orderBookMap.remove(orderBookMapId);
                       }
-                      if (streamingService.isSocketOpen()) {
-                        streamingService.sendMessage(
-                            streamingService.getUnsubscribeMessage(channelUniqueId, args));
-                        streamingService.sendMessage(
-                            streamingService.getSubscribeMessage(channelUniqueId, args));
+                      BybitStreamingService connection =
+                          connectionOfChannel.apply(channelUniqueId);
+                      if (connection != null && connection.isSocketOpen()) {
+                        connection.sendMessage(
+                            connection.getUnsubscribeMessage(channelUniqueId, args));
+                        connection.sendMessage(
+                            connection.getSubscribeMessage(channelUniqueId, args));
                       }
                       return new OrderBook(null, Lists.newArrayList(), Lists.newArrayList(), false);
                     }
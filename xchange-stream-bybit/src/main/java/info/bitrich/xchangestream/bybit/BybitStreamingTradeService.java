@@ -5,8 +5,10 @@ import static info.bitrich.xchangestream.bybit.BybitUserTradeStreamingService.*;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import info.bitrich.xchangestream.bybit.dto.trade.*;
+import info.bitrich.xchangestream.core.OrderAck;
 import info.bitrich.xchangestream.core.StreamingTradeService;
 import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
+import io.github.resilience4j.ratelimiter.RateLimiter;
 import io.github.resilience4j.rxjava3.ratelimiter.operator.RateLimiterOperator;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Single;
@@ -61,106 +63,49 @@ public class BybitStreamingTradeService extends BybitBaseService implements Stre
 
   @Override
   public Single<Integer> placeMarketOrder(MarketOrder order, Object... args) {
+    return placeMarketOrderAck(order, args).map(OrderAck::getCode);
+  }
+
+  @Override
+  public Single<OrderAck> placeMarketOrderAck(MarketOrder order, Object... args) {
     tradeService();
     BybitCategory category = BybitAdapters.getCategory(order.getInstrument());
-    Observable<Integer> observable =
-        userTradeService
-            .subscribeChannel(ORDER_CREATE, order, String.valueOf(System.nanoTime()), category)
-            .flatMap(
-                node -> {
-                  BybitStreamOrderResponse response =
-                      mapper.treeToValue(node, BybitStreamOrderResponse.class);
-                  if (response != null && response.getRetCode() == 0) {
-                    return Observable.just(0);
-                  } else {
-                    assert response != null;
-                    return Observable.just(response.getRetCode());
-                  }
-                });
-    return observable
-        .firstElement()
-        .compose(RateLimiterOperator.of(getCreateOrderRateLimiter(category)))
-        .toSingle();
+    return orderRequest(ORDER_CREATE, order, category, getCreateOrderRateLimiter(category));
   }
 
   @Override
   public Single<Integer> placeLimitOrder(LimitOrder order, Object... args) {
+    return placeLimitOrderAck(order, args).map(OrderAck::getCode);
+  }
+
+  @Override
+  public Single<OrderAck> placeLimitOrderAck(LimitOrder order, Object... args) {
     tradeService();
     BybitCategory category = BybitAdapters.getCategory(order.getInstrument());
-    Observable<Integer> observable =
-        userTradeService
-            .subscribeChannel(ORDER_CREATE, order, String.valueOf(System.nanoTime()), category)
-            .flatMap(
-                node -> {
-                  BybitStreamOrderResponse response =
-                      mapper.treeToValue(node, BybitStreamOrderResponse.class);
-                  if (response != null && response.getRetCode() == 0) {
-                    return Observable.just(0);
-                  } else {
-                    assert response != null;
-                    return Observable.just(response.getRetCode());
-                  }
-                });
-    return observable
-        .firstElement()
-        .compose(RateLimiterOperator.of(getCreateOrderRateLimiter(category)))
-        .toSingle();
+    return orderRequest(ORDER_CREATE, order, category, getCreateOrderRateLimiter(category));
   }
 
   @Override
   public Single<Integer> changeOrder(LimitOrder order, Object... args) {
+    return changeOrderAck(order, args).map(OrderAck::getCode);
+  }
+
+  @Override
+  public Single<OrderAck> changeOrderAck(LimitOrder order, Object... args) {
     tradeService();
     BybitCategory category = BybitAdapters.getCategory(order.getInstrument());
-    Observable<Integer> observable =
-        userTradeService
-            .subscribeChannel(ORDER_CHANGE, order, String.valueOf(System.nanoTime()), category)
-            .flatMap(
-                node -> {
-                  BybitStreamOrderResponse response =
-                      mapper.treeToValue(node, BybitStreamOrderResponse.class);
-                  if (response != null && response.getRetCode() == 0) {
-                    return Observable.just(0);
-                  } else {
-                    assert response != null;
-                    return Observable.just(response.getRetCode());
-                  }
-                });
-    return observable
-        .firstElement()
-        .compose(RateLimiterOperator.of(getAmendOrderRateLimiter(category)))
-        .toSingle();
+    return orderRequest(ORDER_CHANGE, order, category, getAmendOrderRateLimiter(category));
   }
 
   public Single<List<Integer>> batchChangeOrder(List<LimitOrder> orders) {
     tradeService();
     BybitCategory category = BybitAdapters.getCategory(orders.get(0).getInstrument());
     try {
-      Observable<List<Integer>> observable =
-          userTradeService
-              .subscribeChannel(
-                  BATCH_ORDER_CHANGE,
-                  mapper.writeValueAsString(orders.toArray(new LimitOrder[0])),
-                  String.valueOf(System.nanoTime()),
-                  category)
-              .flatMap(
-                  node -> {
-                    BybitStreamOrderResponse response =
-                        mapper.treeToValue(node, BybitStreamOrderResponse.class);
-                    if (response.getRetCode() == 0) {
-                      List<Integer> list = new ArrayList<>();
-                      response
-                          .getRetExtInfo()
-                          .getList()
-                          .forEach(retExtInfo -> list.add(Integer.valueOf(retExtInfo.getCode())));
-                      return Observable.just(list);
-                    } else {
-                      return Observable.just(List.of(response.getRetCode()));
-                    }
-                  });
-      return observable
-          .firstElement()
-          .compose(RateLimiterOperator.of(getBatchAmendOrderRateLimiter(category)))
-          .toSingle();
+      return batchRequest(
+          BATCH_ORDER_CHANGE,
+          mapper.writeValueAsString(orders.toArray(new LimitOrder[0])),
+          category,
+          getBatchAmendOrderRateLimiter(category));
     } catch (JsonProcessingException e) {
       throw new RuntimeException(e);
     }
@@ -168,28 +113,15 @@ public class BybitStreamingTradeService extends BybitBaseService implements Stre
 
   @Override
   public Single<Integer> cancelOrder(CancelOrderParams params, Object... args) {
+    return cancelOrderAck(params, args).map(OrderAck::getCode);
+  }
+
+  @Override
+  public Single<OrderAck> cancelOrderAck(CancelOrderParams params, Object... args) {
     tradeService();
     BybitCancelOrderParams bybitParams = (BybitCancelOrderParams) params;
     BybitCategory category = BybitAdapters.getCategory(bybitParams.getInstrument());
-    Observable<Integer> observable =
-        userTradeService
-            .subscribeChannel(
-                ORDER_CANCEL, bybitParams, String.valueOf(System.nanoTime()), category)
-            .flatMap(
-                node -> {
-                  BybitStreamOrderResponse response =
-                      mapper.treeToValue(node, BybitStreamOrderResponse.class);
-                  if (response != null && response.getRetCode() == 0) {
-                    return Observable.just(0);
-                  } else {
-                    assert response != null;
-                    return Observable.just(response.getRetCode());
-                  }
-                });
-    return observable
-        .firstElement()
-        .compose(RateLimiterOperator.of(getCancelOrderRateLimiter(category)))
-        .toSingle();
+    return orderRequest(ORDER_CANCEL, bybitParams, category, getCancelOrderRateLimiter(category));
   }
 
   public Single<List<Integer>> batchCancelOrder(List<CancelOrderParams> params) {
@@ -198,37 +130,38 @@ public class BybitStreamingTradeService extends BybitBaseService implements Stre
     params.forEach(d -> bybitParams.add((BybitCancelOrderParams) d));
     BybitCategory category = BybitAdapters.getCategory(bybitParams.get(0).getInstrument());
     try {
-      Observable<List<Integer>> observable =
-          userTradeService
-              .subscribeChannel(
-                  BybitUserTradeStreamingService.BATCH_ORDER_CANCEL,
-                  mapper.writeValueAsString(bybitParams.toArray(new BybitCancelOrderParams[0])),
-                  String.valueOf(System.nanoTime()),
-                  category)
-              .flatMap(
-                  node -> {
-                    BybitStreamOrderResponse response =
-                        mapper.treeToValue(node, BybitStreamOrderResponse.class);
-                    if (response.getRetCode() == 0) {
-                      List<Integer> list = new ArrayList<>();
-                      response
-                          .getRetExtInfo()
-                          .getList()
-                          .forEach(retExtInfo -> list.add(Integer.valueOf(retExtInfo.getCode())));
-                      return Observable.just(list);
-                    } else {
-                      return Observable.just(List.of(response.getRetCode()));
-                    }
-                  });
-      return observable
-          .firstElement()
-          .compose(RateLimiterOperator.of(getBatchCancelOrderRateLimiter(category)))
-          .toSingle();
+      return batchRequest(
+          BATCH_ORDER_CANCEL,
+          mapper.writeValueAsString(bybitParams.toArray(new BybitCancelOrderParams[0])),
+          category,
+          getBatchCancelOrderRateLimiter(category));
     } catch (JsonProcessingException e) {
       throw new RuntimeException(e);
     }
   }
 
+  private Single<OrderAck> orderRequest(
+      String operation, Object payload, BybitCategory category, RateLimiter rateLimiter) {
+    return userTradeService
+        .request(operation, payload, category)
+        .map(
+            node ->
+                BybitStreamAdapters.adaptOrderAck(
+                    mapper.treeToValue(node, BybitStreamOrderResponse.class)))
+        .compose(RateLimiterOperator.of(rateLimiter));
+  }
+
+  private Single<List<Integer>> batchRequest(
+      String operation, Object payload, BybitCategory category, RateLimiter rateLimiter) {
+    return userTradeService
+        .request(operation, payload, category)
+        .map(
+            node ->
+                BybitStreamAdapters.adaptBatchRetCodes(
+                    mapper.treeToValue(node, BybitStreamOrderResponse.class)))
+        .compose(RateLimiterOperator.of(rateLimiter));
+  }
+
   @Override
   /*
    * instrument param is not used
@@ -20,6 +20,7 @@ import io.netty.handler.codec.http.websocketx.extensions.WebSocketClientExtensio
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.CompletableSource;
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.disposables.Disposable;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -156,9 +157,23 @@ public class BybitUserTradeStreamingService extends JsonNettyStreamingService {
       LOG.warn("Dropping stale order-entry response from a previous connection: {}", message);
       return;
     }
+    if (pendingRequests.complete(jsonNode.path("reqId").asText(null), jsonNode)) {
+      return;
+    }
     handleMessage(jsonNode);
   }
 
+  /**
+   * Sends an order request and emits its response. Requests are pipelined and correlated by their
+   * reqId, no channel is registered per request.
+   *
+   * @param operation one of {@link #ORDER_CREATE}, {@link #ORDER_CHANGE}, ... and the payload
+   *     {@link #getSubscribeMessage} expects for it
+   */
+  public Single<JsonNode> request(String operation, Object payload, BybitCategory category) {
+    return sendRequest(reqId -> getSubscribeMessage(operation, payload, reqId, category));
+  }
+
   /**
    * A reconnected order-entry socket must never replay pending requests (a replay would
    * duplicate live orders). The outcome of every in-flight request is unknown after the
@@ -175,6 +190,8 @@ public class BybitUserTradeStreamingService extends JsonNettyStreamingService {
       handleChannelError(entry.getKey(), resetError);
     }
     channels.clear();
+    pendingRequests.failAll(
+        "Order-entry connection reset; request outcome unknown, reconcile via REST");
     isAuthorized = false;
     login();
   }
@@ -1,6 +1,10 @@
 package info.bitrich.xchangestream.coinbase;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import info.bitrich.xchangestream.book.ChecksumPolicy;
+import info.bitrich.xchangestream.book.L2OrderBook;
+import info.bitrich.xchangestream.book.SequencePolicy;
+import info.bitrich.xchangestream.book.TopOfBook;
 import info.bitrich.xchangestream.coinbase.adapters.CoinbaseStreamingAdapters;
 import info.bitrich.xchangestream.coinbase.dto.CoinbaseOrderBookGap;
 import info.bitrich.xchangestream.coinbase.dto.CoinbaseStreamingCandle;
@@ -22,11 +26,8 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.NavigableMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.atomic.AtomicLong;
 import org.knowm.xchange.ExchangeSpecification;
 import org.knowm.xchange.coinbase.v3.CoinbaseProductIdentity;
 import org.knowm.xchange.currency.CurrencyPair;
@@ -35,7 +36,6 @@ import org.knowm.xchange.dto.marketdata.CandleStick;
 import org.knowm.xchange.dto.marketdata.OrderBook;
 import org.knowm.xchange.dto.marketdata.Ticker;
 import org.knowm.xchange.dto.marketdata.Trade;
-import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.dto.trade.UserTrade;
 import org.knowm.xchange.instrument.Instrument;
 import org.slf4j.Logger;
@@ -59,6 +59,8 @@ public class CoinbaseStreamingMarketDataService implements StreamingMarketDataSe
   // Cache observables per currency pair to enable replay for new subscribers
   // Key format: "CURRENCY_PAIR:channel" to differentiate between level2 and level2_batch
   private final Map<String, Observable<OrderBook>> orderBookObservables = new ConcurrentHashMap<>();
+  private final Map<String, Observable<CoinbaseStreamingMessage>> orderBookChanges =
+      new ConcurrentHashMap<>();
 
   private final List<Disposable> internalSubscriptions = new CopyOnWriteArrayList<>();
 
@@ -108,6 +110,7 @@ public class CoinbaseStreamingMarketDataService implements StreamingMarketDataSe
     orderBooks.values().forEach(OrderBookState::reset);
     // Clear cached observables on resubscribe to ensure fresh state
     orderBookObservables.clear();
+    orderBookChanges.clear();
   }
 
   @Override
@@ -202,19 +205,51 @@ public class CoinbaseStreamingMarketDataService implements StreamingMarketDataSe
     // Use cached observable with replay to ensure new subscribers get the latest state
     // Include channel in cache key to differentiate between level2 and level2_batch
     final String cacheKey = currencyPair.toString() + ":" + channel.channelName();
-    final CoinbaseChannel finalChannel = channel; // Make final for lambda
-    final String productId = resolveProductId(currencyPair);
-    
     return orderBookObservables.computeIfAbsent(cacheKey, key -> {
+      OrderBookState state = orderBookState(currencyPair);
+      return orderBookChanges(currencyPair, channel)
+          .map(changed -> state.toOrderBook())
+          .doOnNext(ob -> LOG.info("OrderBook emitted for {}: {} bids, {} asks", 
+              currencyPair, ob.getBids().size(), ob.getAsks().size()))
+          .replay(1)
+          .refCount();
+    });
+  }
+
+  /**
+   * The best levels of the order book, read from its state after each level2 message changing it
+   * without materializing the book.
+   */
+  @Override
+  public Observable<TopOfBook> getTopOfBook(Instrument instrument, int depth) {
+    if (!(instrument instanceof CurrencyPair)) {
+      return StreamingMarketDataService.super.getTopOfBook(instrument, depth);
+    }
+    CurrencyPair currencyPair = (CurrencyPair) instrument;
+    OrderBookState state = orderBookState(currencyPair);
+    return orderBookChanges(currencyPair, CoinbaseChannel.LEVEL2)
+        .map(changed -> state.topOfBook(depth))
+        .distinctUntilChanged(TopOfBook::hasSameLevels);
+  }
+
+  private OrderBookState orderBookState(CurrencyPair currencyPair) {
+    return orderBooks.computeIfAbsent(
+        currencyPair, pair -> new OrderBookState(pair, snapshotProvider, resolveProductId(pair)));
+  }
+
+  /** Level2 messages of the channel applied to the state of the book, emitting those changing it. */
+  private Observable<CoinbaseStreamingMessage> orderBookChanges(
+      CurrencyPair currencyPair, CoinbaseChannel channel) {
+    final String cacheKey = currencyPair.toString() + ":" + channel.channelName();
+    return orderBookChanges.computeIfAbsent(cacheKey, key -> {
       CoinbaseSubscriptionRequest request = new CoinbaseSubscriptionRequest(
-          finalChannel,
-          Collections.singletonList(productId),
+          channel,
+          Collections.singletonList(resolveProductId(currencyPair)),
           Collections.emptyMap());
 
-      OrderBookState state = orderBooks.computeIfAbsent(
-          currencyPair, pair -> new OrderBookState(pair, snapshotProvider, productId));
+      OrderBookState state = orderBookState(currencyPair);
 
-      LOG.info("Creating order book observable for {} on channel {}", currencyPair, finalChannel.channelName());
+      LOG.info("Creating order book observable for {} on channel {}", currencyPair, channel.channelName());
       return streamingService
           .observeChannel(request)
           .doOnNext(msg -> LOG.debug("Raw level2 message received for {}: {}", currencyPair, msg))
@@ -232,11 +267,8 @@ public class CoinbaseStreamingMarketDataService implements StreamingMarketDataSe
               }
             }
           })
-          .flatMapMaybe(state::process)
-          .doOnNext(ob -> LOG.info("OrderBook emitted for {}: {} bids, {} asks", 
-              currencyPair, ob.getBids().size(), ob.getAsks().size()))
-          .replay(1)
-          .refCount();
+          .filter(state::apply)
+          .share();
     });
   }
   
@@ -281,9 +313,7 @@ public class CoinbaseStreamingMarketDataService implements StreamingMarketDataSe
    * @return gap events for the pair
    */
   public Observable<CoinbaseOrderBookGap> getOrderBookGaps(CurrencyPair currencyPair) {
-    OrderBookState state = orderBooks.computeIfAbsent(
-        currencyPair, pair -> new OrderBookState(pair, snapshotProvider, resolveProductId(pair)));
-    return state.gapEvents();
+    return orderBookState(currencyPair).gapEvents();
   }
 
   @Override
@@ -576,14 +606,10 @@ public class CoinbaseStreamingMarketDataService implements StreamingMarketDataSe
     private final CurrencyPair currencyPair;
     private final OrderBookSnapshotProvider snapshotProvider;
     private final String expectedProductId;
-    private final NavigableMap<BigDecimal, LimitOrder> bids =
-        new ConcurrentSkipListMap<>(Collections.reverseOrder());
-    private final NavigableMap<BigDecimal, LimitOrder> asks = new ConcurrentSkipListMap<>();
-    // Use AtomicLong to ensure thread-safe access to sequence number
-    // This prevents race conditions when process() is called concurrently from
-    // multiple subscribers or different schedulers
-    private final AtomicLong lastSequence = new AtomicLong(-1);
-    private volatile boolean hasSnapshot;
+    // process() may be called concurrently from multiple subscribers or different schedulers,
+    // the book is only accessed under the lock of this state
+    private final L2OrderBook book =
+        new L2OrderBook(SequencePolicy.CONTIGUOUS, ChecksumPolicy.NONE);
     private final PublishSubject<CoinbaseOrderBookGap> gapEvents = PublishSubject.create();
 
     OrderBookState(CurrencyPair currencyPair, OrderBookSnapshotProvider snapshotProvider) {
@@ -602,22 +628,26 @@ public class CoinbaseStreamingMarketDataService implements StreamingMarketDataSe
       this.expectedProductId = resolved == null || resolved.isBlank() ? defaultProductId : resolved;
     }
 
-    /**
-     * Normalizes a BigDecimal price to ensure consistent map key behavior.
-     * This removes trailing zeros and canonicalizes the scale so that
-     * identical numeric values with different scales (e.g., 1.0 vs 1.00) are
-     * treated as the same key.
-     */
-    private static BigDecimal normalizePrice(BigDecimal price) {
-      if (price == null) {
-        return null;
-      }
-      return price.stripTrailingZeros();
+    synchronized Maybe<OrderBook> process(CoinbaseStreamingMessage message) {
+      return apply(message) ? Maybe.just(toOrderBook()) : Maybe.empty();
     }
 
-    Maybe<OrderBook> process(CoinbaseStreamingMessage message) {
+    synchronized OrderBook toOrderBook() {
+      return book.toOrderBook(currencyPair, null);
+    }
+
+    synchronized TopOfBook topOfBook(int depth) {
+      return book.topOfBook(currencyPair, null, depth);
+    }
+
+    /**
+     * Applies the level2 events of a message to the book.
+     *
+     * @return whether the book changed
+     */
+    synchronized boolean apply(CoinbaseStreamingMessage message) {
       if (message == null || message.getEvents().isEmpty()) {
-        return Maybe.empty();
+        return false;
       }
       boolean changed = false;
       for (CoinbaseStreamingEvent event : message.getEvents()) {
@@ -626,7 +656,10 @@ public class CoinbaseStreamingMarketDataService implements StreamingMarketDataSe
           continue;
         }
         String type = event.getType() == null ? "" : event.getType();
-        long sequence = event.getSequence() == null ? -1L : event.getSequence();
+        long sequence =
+            event.getSequence() == null || event.getSequence() <= 0
+                ? L2OrderBook.UNKNOWN_SEQUENCE
+                : event.getSequence();
         LOG.debug("Processing level2 event: type={}, productId={}, sequence={}, updates={}, bids={}, asks={}", 
             type, productId, sequence, 
             event.getUpdates() != null ? event.getUpdates().size() : 0,
@@ -638,70 +671,49 @@ public class CoinbaseStreamingMarketDataService implements StreamingMarketDataSe
               event.getUpdates() != null ? event.getUpdates().size() : 0,
               event.getBids() != null ? event.getBids().size() : 0,
               event.getAsks() != null ? event.getAsks().size() : 0);
-          applySnapshotEvent(event);
-          if (sequence >= 0) {
-            lastSequence.set(sequence);
-          }
-          hasSnapshot = true;
+          applySnapshotEvent(event, sequence);
           changed = true;
           continue;
         }
-        if (!ensureInitialized(sequence)) {
+        if (!book.isSynced() && !recoverFromSnapshot(sequence)) {
           continue;
         }
-        long currentLastSequence = lastSequence.get();
-        if (sequence > 0 && currentLastSequence >= 0) {
-          long expected = currentLastSequence + 1;
-          if (sequence > expected) {
-            LOG.warn(
-                "Detected Coinbase level2 sequence gap for {}: expected {} but received {}",
-                currencyPair,
-                expected,
-                sequence);
-            boolean recovered = recoverFromSnapshot(sequence);
-            // Always surface the discontinuity; a failed recovery leaves a stale book
-            // and must not be silently swallowed.
-            gapEvents.onNext(
-                new CoinbaseOrderBookGap(currencyPair, expected, sequence, recovered));
-            if (recovered) {
-              changed = true;
-            } else {
-              continue;
-            }
-          } else if (sequence <= currentLastSequence) {
-            LOG.debug(
-                "Skipping stale Coinbase level2 update for {} with sequence {} (last seen {})",
-                currencyPair,
-                sequence,
-                currentLastSequence);
+        long expected = book.getLastSequence() + 1;
+        L2OrderBook.Result result = book.startDelta(sequence, sequence);
+        if (result == L2OrderBook.Result.GAP) {
+          LOG.warn(
+              "Detected Coinbase level2 sequence gap for {}: expected {} but received {}",
+              currencyPair,
+              expected,
+              sequence);
+          boolean recovered = recoverFromSnapshot(sequence);
+          // Always surface the discontinuity; a failed recovery leaves no book to emit
+          // and must not be silently swallowed.
+          gapEvents.onNext(
+              new CoinbaseOrderBookGap(currencyPair, expected, sequence, recovered));
+          if (!recovered) {
             continue;
           }
-        }
-
-        boolean applied = applyUpdates(event);
-        if (applied) {
           changed = true;
+          result = book.startDelta(sequence, sequence);
         }
-        if (sequence > 0) {
-          // Atomically update lastSequence only if the new sequence is greater
-          // This prevents race conditions where concurrent updates might overwrite
-          // a higher sequence with a lower one
-          lastSequence.updateAndGet(current -> sequence > current ? sequence : current);
+        if (result == L2OrderBook.Result.STALE_DROPPED) {
+          LOG.debug(
+              "Skipping stale Coinbase level2 update for {} with sequence {} (last seen {})",
+              currencyPair,
+              sequence,
+              book.getLastSequence());
+          continue;
+        }
+        if (result == L2OrderBook.Result.APPLIED && applyUpdates(event)) {
+          changed = true;
         }
       }
-      if (!changed) {
-        return Maybe.empty();
-      }
-      OrderBook orderBook = new OrderBook(
-          null,
-          new ArrayList<>(asks.values()),
-          new ArrayList<>(bids.values()));
-      return Maybe.just(orderBook);
+      return changed;
     }
 
-    private void applySnapshotEvent(CoinbaseStreamingEvent event) {
-      bids.clear();
-      asks.clear();
+    private void applySnapshotEvent(CoinbaseStreamingEvent event, long sequence) {
+      book.startSnapshot(sequence);
       String productId = event.getProductId();
       if (productId == null || productId.isBlank()) {
         return;
@@ -709,7 +721,6 @@ public class CoinbaseStreamingMarketDataService implements StreamingMarketDataSe
       if (expectedProductId != null && !productId.equals(expectedProductId)) {
         return;
       }
-      CurrencyPair pair = currencyPair;
       // Coinbase level2 snapshots can have either:
       // 1. bids/asks arrays (List<List<String>>) - traditional format
       // 2. updates array with price_level/new_quantity - newer format
@@ -717,39 +728,18 @@ public class CoinbaseStreamingMarketDataService implements StreamingMarketDataSe
       if (!event.getUpdates().isEmpty()) {
         // Snapshot uses updates array format
         LOG.debug("Applying snapshot from updates array ({} updates)", event.getUpdates().size());
-        List<LimitOrder> bidUpdates = adaptLevel2Updates(event, Order.OrderType.BID);
-        List<LimitOrder> askUpdates = adaptLevel2Updates(event, Order.OrderType.ASK);
-        for (LimitOrder order : bidUpdates) {
-          BigDecimal normalizedPrice = normalizePrice(order.getLimitPrice());
-          if (order.getOriginalAmount().compareTo(BigDecimal.ZERO) > 0) {
-            bids.put(normalizedPrice, order);
-          } else {
-            bids.remove(normalizedPrice);
-          }
-        }
-        for (LimitOrder order : askUpdates) {
-          BigDecimal normalizedPrice = normalizePrice(order.getLimitPrice());
-          if (order.getOriginalAmount().compareTo(BigDecimal.ZERO) > 0) {
-            asks.put(normalizedPrice, order);
-          } else {
-            asks.remove(normalizedPrice);
-          }
-        }
+        applyUpdates(event);
       } else {
         // Snapshot uses bids/asks arrays format
         LOG.debug("Applying snapshot from bids/asks arrays ({} bids, {} asks)", 
             event.getBids() != null ? event.getBids().size() : 0,
             event.getAsks() != null ? event.getAsks().size() : 0);
-        populateSnapshotSide(bids, event.getBids(), Order.OrderType.BID, pair);
-        populateSnapshotSide(asks, event.getAsks(), Order.OrderType.ASK, pair);
+        populateSnapshotSide(Order.OrderType.BID, event.getBids());
+        populateSnapshotSide(Order.OrderType.ASK, event.getAsks());
       }
     }
 
-    private void populateSnapshotSide(
-        NavigableMap<BigDecimal, LimitOrder> side,
-        List<List<String>> levels,
-        Order.OrderType orderType,
-        CurrencyPair pair) {
+    private void populateSnapshotSide(Order.OrderType orderType, List<List<String>> levels) {
       if (levels == null || levels.isEmpty()) {
         return;
       }
@@ -763,14 +753,7 @@ public class CoinbaseStreamingMarketDataService implements StreamingMarketDataSe
           continue;
         }
         try {
-          BigDecimal price = new BigDecimal(priceText);
-          BigDecimal size = new BigDecimal(sizeText);
-          BigDecimal normalizedPrice = normalizePrice(price);
-          if (size.compareTo(BigDecimal.ZERO) > 0) {
-            side.put(normalizedPrice, new LimitOrder(orderType, size, pair, null, null, price));
-          } else {
-            side.remove(normalizedPrice);
-          }
+          book.set(orderType, new BigDecimal(priceText), new BigDecimal(sizeText));
         } catch (NumberFormatException ignore) {
           // skip malformed level
         }
@@ -778,76 +761,27 @@ public class CoinbaseStreamingMarketDataService implements StreamingMarketDataSe
     }
 
     private boolean applyUpdates(CoinbaseStreamingEvent event) {
-      boolean changed = false;
       LOG.debug("Applying level2 updates: {} updates total", 
           event.getUpdates() != null ? event.getUpdates().size() : 0);
-      List<LimitOrder> bidUpdates = adaptLevel2Updates(event, Order.OrderType.BID);
-      if (!bidUpdates.isEmpty()) {
-        LOG.debug("Applying {} bid updates", bidUpdates.size());
-        if (applyUpdatesToSide(bids, bidUpdates)) {
-          changed = true;
-        }
-      }
-      List<LimitOrder> askUpdates = adaptLevel2Updates(event, Order.OrderType.ASK);
-      if (!askUpdates.isEmpty()) {
-        LOG.debug("Applying {} ask updates", askUpdates.size());
-        if (applyUpdatesToSide(asks, askUpdates)) {
-          changed = true;
-        }
-      }
-      if (!changed && !event.getUpdates().isEmpty()) {
-        LOG.warn("Received {} updates but none were applied (possibly filtered out)", event.getUpdates().size());
-      }
-      return changed;
-    }
-
-    private List<LimitOrder> adaptLevel2Updates(CoinbaseStreamingEvent event, Order.OrderType side) {
-      List<LimitOrder> orders = new ArrayList<>();
-      if (event == null || event.getUpdates().isEmpty()) {
-        return orders;
+      if (event.getUpdates() == null || event.getUpdates().isEmpty()) {
+        return false;
       }
+      boolean changed = false;
       for (CoinbaseStreamingLevel2Update update : event.getUpdates()) {
-        Order.OrderType orderSide = CoinbaseStreamingAdapters.parseOrderSide(update.getSide());
-        if (orderSide != side) {
-          continue;
-        }
+        Order.OrderType side = CoinbaseStreamingAdapters.parseOrderSide(update.getSide());
         BigDecimal price = update.getPriceLevel();
         BigDecimal amount = update.getNewQuantity();
-        if (price == null || amount == null) {
+        if (side == null || price == null || amount == null) {
           continue;
         }
-        orders.add(new LimitOrder(orderSide, amount, currencyPair, null, null, price));
+        changed |= book.set(side, price, amount);
       }
-      return orders;
-    }
-
-    private boolean applyUpdatesToSide(
-        NavigableMap<BigDecimal, LimitOrder> side, List<LimitOrder> updates) {
-      boolean changed = false;
-      for (LimitOrder update : updates) {
-        BigDecimal price = update.getLimitPrice();
-        BigDecimal size = update.getOriginalAmount();
-        if (price == null || size == null) {
-          continue;
-        }
-        BigDecimal normalizedPrice = normalizePrice(price);
-        if (size.compareTo(BigDecimal.ZERO) <= 0) {
-          changed |= side.remove(normalizedPrice) != null;
-        } else {
-          side.put(normalizedPrice, update);
-          changed = true;
-        }
+      if (!changed) {
+        LOG.debug("Received {} updates but none changed the book", event.getUpdates().size());
       }
       return changed;
     }
 
-    private boolean ensureInitialized(long nextSequence) {
-      if (hasSnapshot) {
-        return true;
-      }
-      return recoverFromSnapshot(nextSequence);
-    }
-
     private boolean recoverFromSnapshot(long nextSequence) {
       if (snapshotProvider == null) {
         LOG.warn(
@@ -863,26 +797,17 @@ public class CoinbaseStreamingMarketDataService implements StreamingMarketDataSe
               currencyPair);
           return false;
         }
-        bids.clear();
-        asks.clear();
+        book.startSnapshot(nextSequence > 0 ? nextSequence - 1 : L2OrderBook.UNKNOWN_SEQUENCE);
         snapshot.getBids().forEach(order -> {
-          if (order.getLimitPrice() != null && order.getOriginalAmount() != null) {
-            BigDecimal normalizedPrice = normalizePrice(order.getLimitPrice());
-            bids.put(normalizedPrice, order);
+          if (order.getLimitPrice() != null) {
+            book.setBid(order.getLimitPrice(), order.getOriginalAmount());
           }
         });
         snapshot.getAsks().forEach(order -> {
-          if (order.getLimitPrice() != null && order.getOriginalAmount() != null) {
-            BigDecimal normalizedPrice = normalizePrice(order.getLimitPrice());
-            asks.put(normalizedPrice, order);
+          if (order.getLimitPrice() != null) {
+            book.setAsk(order.getLimitPrice(), order.getOriginalAmount());
           }
         });
-        hasSnapshot = true;
-        if (nextSequence > 0) {
-          lastSequence.set(nextSequence - 1);
-        } else {
-          lastSequence.set(-1);
-        }
         LOG.debug("Recovered Coinbase order book snapshot for {}", currencyPair);
         return true;
       } catch (IOException e) {
@@ -891,11 +816,17 @@ public class CoinbaseStreamingMarketDataService implements StreamingMarketDataSe
       }
     }
 
-    void reset() {
-      bids.clear();
-      asks.clear();
-      lastSequence.set(-1);
-      hasSnapshot = false;
+    synchronized void reset() {
+      book.reset();
+    }
+
+    synchronized boolean hasSnapshot() {
+      return book.isSynced();
+    }
+
+    /** The sequence of the last level2 event applied, or {@link L2OrderBook#UNKNOWN_SEQUENCE} */
+    synchronized long lastSequence() {
+      return book.getLastSequence();
     }
 
     /** Sequence-discontinuity events detected by this state; late subscribers miss earlier gaps. */
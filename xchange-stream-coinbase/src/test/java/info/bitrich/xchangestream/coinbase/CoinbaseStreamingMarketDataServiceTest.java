@@ -10,7 +10,6 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.reactivex.rxjava3.core.Maybe;
 import io.reactivex.rxjava3.core.Observable;
-import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
@@ -789,20 +788,12 @@ class CoinbaseStreamingMarketDataServiceTest {
   }
 
   private static boolean getHasSnapshotFlag(
-      CoinbaseStreamingMarketDataService.OrderBookState state) throws Exception {
-    Field field = CoinbaseStreamingMarketDataService.OrderBookState.class
-        .getDeclaredField("hasSnapshot");
-    field.setAccessible(true);
-    return field.getBoolean(state);
+      CoinbaseStreamingMarketDataService.OrderBookState state) {
+    return state.hasSnapshot();
   }
 
-  private static Long getLastSequence(
-      CoinbaseStreamingMarketDataService.OrderBookState state) throws Exception {
-    Field field = CoinbaseStreamingMarketDataService.OrderBookState.class
-        .getDeclaredField("lastSequence");
-    field.setAccessible(true);
-    java.util.concurrent.atomic.AtomicLong atomicLong = (java.util.concurrent.atomic.AtomicLong) field.get(state);
-    long value = atomicLong.get();
+  private static Long getLastSequence(CoinbaseStreamingMarketDataService.OrderBookState state) {
+    long value = state.lastSequence();
     return value < 0 ? null : value;
   }
 
@@ -0,0 +1,171 @@
+package info.bitrich.xchangestream.book;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.zip.CRC32;
+
+/**
+ * The CRC32 of the text of order book levels, the way venues checksum their books. Prices, sizes
+ * and separators are appended level by level, best first, as the venue lists them; the text is
+ * encoded into a reused buffer handed to {@link CRC32#update(byte[], int, int)} as it fills, so no
+ * {@link String} or byte array is built per level or per message. A {@link BigDecimal} still costs
+ * the {@link java.math.BigInteger} of its {@link BigDecimal#unscaledValue() unscaled value}, text
+ * appended as it is costs nothing.
+ *
+ * <p>Meant for the ASCII text of numbers and separators. Not thread-safe: keep one per book, or
+ * take the one of the current thread with {@link #forCurrentThread()}.
+ */
+public final class BookChecksum {
+
+  private static final ThreadLocal<BookChecksum> CURRENT_THREAD =
+      ThreadLocal.withInitial(BookChecksum::new);
+
+  /** The most digits of a {@link BigDecimal} written without going through its string. */
+  private static final int MAX_COMPACT_PRECISION = 18;
+
+  private final CRC32 crc = new CRC32();
+  private final byte[] buffer = new byte[256];
+  private final byte[] digits = new byte[MAX_COMPACT_PRECISION];
+  private int length;
+
+  /** The checksum of the current thread, reset. */
+  public static BookChecksum forCurrentThread() {
+    return CURRENT_THREAD.get().reset();
+  }
+
+  public BookChecksum reset() {
+    crc.reset();
+    length = 0;
+    return this;
+  }
+
+  public BookChecksum append(char c) {
+    if (length == buffer.length) {
+      flush();
+    }
+    buffer[length++] = (byte) c;
+    return this;
+  }
+
+  /** Appends text as it is, for instance a price as the venue sent it. */
+  public BookChecksum append(CharSequence text) {
+    for (int i = 0; i < text.length(); i++) {
+      append(text.charAt(i));
+    }
+    return this;
+  }
+
+  /**
+   * Appends the digits of a positive number, without its decimal point and leading zeros: {@code
+   * 0.05000} appends {@code 5000}.
+   */
+  public BookChecksum appendDigits(CharSequence text) {
+    boolean leading = true;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c >= '0' && c <= '9' && !(leading && c == '0')) {
+        leading = false;
+        append(c);
+      }
+    }
+    return this;
+  }
+
+  /** Appends the same text as {@link BigDecimal#toPlainString()}. */
+  public BookChecksum append(BigDecimal value) {
+    if (value.precision() > MAX_COMPACT_PRECISION) {
+      return append(value.toPlainString());
+    }
+    long unscaled = unscaled(value);
+    int scale = value.scale();
+    if (unscaled == 0) {
+      append('0');
+      if (scale > 0) {
+        append('.');
+        zeros(scale);
+      }
+      return this;
+    }
+    if (unscaled < 0) {
+      append('-');
+      unscaled = -unscaled;
+    }
+    int count = toDigits(unscaled);
+    if (scale <= 0) {
+      appendDigits(0, count);
+      return zeros(-scale);
+    }
+    if (count > scale) {
+      appendDigits(0, count - scale);
+      append('.');
+      return appendDigits(count - scale, count);
+    }
+    append('0').append('.');
+    zeros(scale - count);
+    return appendDigits(0, count);
+  }
+
+  /**
+   * Appends a number with a fixed count of decimals, the same text as {@code value.setScale(scale,
+   * RoundingMode.HALF_UP).toPlainString()}.
+   */
+  public BookChecksum append(BigDecimal value, int scale) {
+    return append(value.setScale(scale, RoundingMode.HALF_UP));
+  }
+
+  /** Appends the digits of a positive number, as {@link #appendDigits(CharSequence)} does. */
+  public BookChecksum appendDigits(BigDecimal value) {
+    if (value.precision() > MAX_COMPACT_PRECISION) {
+      return appendDigits(value.toPlainString());
+    }
+    long unscaled = Math.abs(unscaled(value));
+    if (unscaled == 0) {
+      return this;
+    }
+    appendDigits(0, toDigits(unscaled));
+    return zeros(-value.scale());
+  }
+
+  /** The checksum of the text appended since the last reset. */
+  public long getValue() {
+    flush();
+    return crc.getValue();
+  }
+
+  private void flush() {
+    crc.update(buffer, 0, length);
+    length = 0;
+  }
+
+  private BookChecksum zeros(int count) {
+    for (int i = 0; i < count; i++) {
+      append('0');
+    }
+    return this;
+  }
+
+  private BookChecksum appendDigits(int from, int to) {
+    for (int i = from; i < to; i++) {
+      append((char) digits[i]);
+    }
+    return this;
+  }
+
+  /** Writes the digits of a positive number, returning how many there are. */
+  private int toDigits(long value) {
+    int count = 0;
+    for (long rest = value; rest > 0; rest /= 10) {
+      count++;
+    }
+    for (int i = count - 1; i >= 0; i--) {
+      digits[i] = (byte) ('0' + value % 10);
+      value /= 10;
+    }
+    return count;
+  }
+
+  /** The unscaled value of a number of at most 18 digits. */
+  private static long unscaled(BigDecimal value) {
+    return value.unscaledValue().longValue();
+  }
+}
@@ -0,0 +1,185 @@
+package info.bitrich.xchangestream.book;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.instrument.Instrument;
+
+/**
+ * One side of a {@link L2OrderBook}: its price levels in two parallel arrays, sorted so that the
+ * best level is the last one. Most updates of a live book touch the levels near the top, which are
+ * then inserted or removed with little or no copying, and a level is found by a binary search over
+ * contiguous memory rather than a walk down a tree of boxed entries.
+ *
+ * <p>Prices are compared with {@link BigDecimal#compareTo}, so {@code 1.0} and {@code 1.00} are the
+ * same level; a level keeps the price and size last set on it as given. Not thread safe.
+ */
+public final class BookSide {
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final OrderType type;
+  private BigDecimal[] prices = new BigDecimal[INITIAL_CAPACITY];
+  private BigDecimal[] sizes = new BigDecimal[INITIAL_CAPACITY];
+  private int count;
+  private long modifications;
+
+  BookSide(OrderType type) {
+    this.type = type;
+  }
+
+  public OrderType getType() {
+    return type;
+  }
+
+  /** Number of price levels */
+  public int depth() {
+    return count;
+  }
+
+  public boolean isEmpty() {
+    return count == 0;
+  }
+
+  /** Price of the level at the given depth, the best level being at depth 0. */
+  public BigDecimal price(int level) {
+    return prices[index(level)];
+  }
+
+  /** Size of the level at the given depth, the best level being at depth 0. */
+  public BigDecimal size(int level) {
+    return sizes[index(level)];
+  }
+
+  /**
+   * Sets the size of a price level, a {@code null}, zero or negative size removing it.
+   *
+   * @return whether the side changed
+   */
+  public boolean set(BigDecimal price, BigDecimal size) {
+    int i = search(price);
+    if (size == null || size.signum() <= 0) {
+      if (i < 0) {
+        return false;
+      }
+      remove(i);
+      modifications++;
+      return true;
+    }
+    if (i >= 0) {
+      boolean changed = sizes[i].compareTo(size) != 0;
+      prices[i] = price;
+      sizes[i] = size;
+      if (changed) {
+        modifications++;
+      }
+      return changed;
+    }
+    insert(-(i + 1), price, size);
+    modifications++;
+    return true;
+  }
+
+  /** Removes all levels. */
+  public void clear() {
+    if (count > 0) {
+      Arrays.fill(prices, 0, count, null);
+      Arrays.fill(sizes, 0, count, null);
+      count = 0;
+      modifications++;
+    }
+  }
+
+  /** The levels of this side as limit orders, best first. */
+  public List<LimitOrder> toLimitOrders(Instrument instrument) {
+    return toLimitOrders(instrument, count);
+  }
+
+  /** The best {@code maxDepth} levels of this side as limit orders, best first. */
+  public List<LimitOrder> toLimitOrders(Instrument instrument, int maxDepth) {
+    int depth = Math.min(maxDepth, count);
+    List<LimitOrder> orders = new ArrayList<>(depth);
+    for (int i = count - 1; i >= count - depth; i--) {
+      orders.add(
+          new LimitOrder.Builder(type, instrument)
+              .limitPrice(prices[i])
+              .originalAmount(sizes[i])
+              .build());
+    }
+    return orders;
+  }
+
+  long getModifications() {
+    return modifications;
+  }
+
+  /** The prices of the best {@code depth} levels, best first. */
+  BigDecimal[] topPrices(int depth) {
+    return top(prices, depth);
+  }
+
+  /** The sizes of the best {@code depth} levels, best first. */
+  BigDecimal[] topSizes(int depth) {
+    return top(sizes, depth);
+  }
+
+  private BigDecimal[] top(BigDecimal[] values, int depth) {
+    BigDecimal[] top = new BigDecimal[Math.min(depth, count)];
+    for (int i = 0; i < top.length; i++) {
+      top[i] = values[count - 1 - i];
+    }
+    return top;
+  }
+
+  private int index(int level) {
+    return count - 1 - Objects.checkIndex(level, count);
+  }
+
+  /** Binary search in array order: ascending prices for bids, descending for asks. */
+  private int search(BigDecimal price) {
+    int low = 0;
+    int high = count - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = type == OrderType.BID ? prices[mid].compareTo(price) : price.compareTo(prices[mid]);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(low + 1);
+  }
+
+  private void insert(int i, BigDecimal price, BigDecimal size) {
+    if (count == prices.length) {
+      prices = Arrays.copyOf(prices, count * 2);
+      sizes = Arrays.copyOf(sizes, count * 2);
+    }
+    int moved = count - i;
+    if (moved > 0) {
+      System.arraycopy(prices, i, prices, i + 1, moved);
+      System.arraycopy(sizes, i, sizes, i + 1, moved);
+    }
+    prices[i] = price;
+    sizes[i] = size;
+    count++;
+  }
+
+  private void remove(int i) {
+    int moved = count - 1 - i;
+    if (moved > 0) {
+      System.arraycopy(prices, i + 1, prices, i, moved);
+      System.arraycopy(sizes, i + 1, sizes, i, moved);
+    }
+    count--;
+    prices[count] = null;
+    sizes[count] = null;
+  }
+}
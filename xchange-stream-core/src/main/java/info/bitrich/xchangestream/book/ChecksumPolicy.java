@@ -0,0 +1,19 @@
+package info.bitrich.xchangestream.book;
+
+/**
+ * How a {@link L2OrderBook} verifies its levels against the checksum a venue sends with an update,
+ * e.g. the CRC32 of the top levels of Kraken or OKX.
+ */
+@FunctionalInterface
+public interface ChecksumPolicy {
+
+  /** Every checksum matches, for venues not sending any. */
+  ChecksumPolicy NONE = (book, checksum) -> true;
+
+  /**
+   * @param book the book with the update applied
+   * @param checksum the checksum sent with the update
+   * @return whether the levels of the book match the checksum
+   */
+  boolean matches(L2OrderBook book, long checksum);
+}
@@ -0,0 +1,264 @@
+package info.bitrich.xchangestream.book;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.instrument.Instrument;
+
+/**
+ * Incremental price level (L2) order book of one instrument, fed by the streaming adapter of a
+ * venue with a snapshot followed by deltas.
+ *
+ * <p>A snapshot replaces all levels and synchronizes the book at its sequence. A delta is first
+ * checked against the last sequence applied with the {@link SequencePolicy} of the book, and its
+ * levels are set only if it continues the book:
+ *
+ * <pre>{@code
+ * if (book.startDelta(update.getFirstId(), update.getLastId()) == Result.APPLIED) {
+ *   update.getBids().forEach(level -> book.setBid(level.getPrice(), level.getSize()));
+ *   update.getAsks().forEach(level -> book.setAsk(level.getPrice(), level.getSize()));
+ *   book.verify(update.getChecksum());
+ * }
+ * }</pre>
+ *
+ * Levels carry the absolute size at their price, a size of zero removing the level. A gap in the
+ * sequences or a checksum mismatch clears the book, which then drops deltas until the next
+ * snapshot: no venue continues on a book it cannot prove. A negative sequence stands for one the
+ * venue did not send, and is not checked.
+ *
+ * <p>Not thread safe, an adapter feeds a book from one thread or under its own lock.
+ */
+public final class L2OrderBook {
+
+  /** A sequence the venue did not send */
+  public static final long UNKNOWN_SEQUENCE = -1L;
+
+  public enum Result {
+    /** The update was applied. */
+    APPLIED,
+    /** The book already contains the update, which was dropped. */
+    STALE_DROPPED,
+    /** The update arrived before any snapshot and was dropped. */
+    AWAITING_SNAPSHOT,
+    /** Updates were missed, the book was cleared and awaits a snapshot. */
+    GAP,
+    /** The levels did not match the checksum, the book was cleared and awaits a snapshot. */
+    CHECKSUM_MISMATCH
+  }
+
+  private final BookSide bids = new BookSide(OrderType.BID);
+  private final BookSide asks = new BookSide(OrderType.ASK);
+  private final SequencePolicy sequencePolicy;
+  private final ChecksumPolicy checksumPolicy;
+  private long lastSequence = UNKNOWN_SEQUENCE;
+  private boolean synced;
+  private long resets;
+
+  /** A book checking neither sequences nor checksums. */
+  public L2OrderBook() {
+    this(SequencePolicy.NONE, ChecksumPolicy.NONE);
+  }
+
+  public L2OrderBook(SequencePolicy sequencePolicy, ChecksumPolicy checksumPolicy) {
+    this.sequencePolicy = sequencePolicy;
+    this.checksumPolicy = checksumPolicy;
+  }
+
+  /**
+   * Clears the book for the levels of a snapshot, to be set next.
+   *
+   * @param sequence the sequence of the snapshot, or {@link #UNKNOWN_SEQUENCE}
+   */
+  public void startSnapshot(long sequence) {
+    bids.clear();
+    asks.clear();
+    lastSequence = sequence;
+    synced = true;
+    resets++;
+  }
+
+  /**
+   * Checks a delta against the last sequence applied, its levels to be set next only if {@link
+   * Result#APPLIED} is returned.
+   *
+   * @param sequenceStart the first sequence of the delta, as defined by the {@link SequencePolicy}
+   * @param sequenceEnd the last sequence of the delta
+   */
+  public Result startDelta(long sequenceStart, long sequenceEnd) {
+    if (!synced) {
+      return Result.AWAITING_SNAPSHOT;
+    }
+    if (lastSequence >= 0 && sequenceEnd >= 0) {
+      Result result = sequencePolicy.check(lastSequence, sequenceStart, sequenceEnd);
+      if (result == Result.GAP) {
+        reset();
+      }
+      if (result != Result.APPLIED) {
+        return result;
+      }
+    }
+    if (sequenceEnd >= 0) {
+      lastSequence = sequenceEnd;
+    }
+    return Result.APPLIED;
+  }
+
+  /**
+   * Sets a bid level of the current update, a {@code null}, zero or negative size removing it.
+   *
+   * @return whether the book changed
+   */
+  public boolean setBid(BigDecimal price, BigDecimal size) {
+    return bids.set(price, size);
+  }
+
+  /**
+   * Sets an ask level of the current update, a {@code null}, zero or negative size removing it.
+   *
+   * @return whether the book changed
+   */
+  public boolean setAsk(BigDecimal price, BigDecimal size) {
+    return asks.set(price, size);
+  }
+
+  /**
+   * Sets a level of the current update on the side of the order type.
+   *
+   * @return whether the book changed
+   */
+  public boolean set(OrderType type, BigDecimal price, BigDecimal size) {
+    return side(type).set(price, size);
+  }
+
+  /**
+   * Verifies the levels, once an update is applied, with the {@link ChecksumPolicy} of the book.
+   *
+   * @return {@link Result#APPLIED}, or {@link Result#CHECKSUM_MISMATCH} having cleared the book
+   */
+  public Result verify(long checksum) {
+    if (checksumPolicy.matches(this, checksum)) {
+      return Result.APPLIED;
+    }
+    reset();
+    return Result.CHECKSUM_MISMATCH;
+  }
+
+  /**
+   * Applies a snapshot given as {@code [price, size]} pairs.
+   *
+   * @param bidLevels the bid levels, or {@code null}
+   * @param askLevels the ask levels, or {@code null}
+   */
+  public Result applySnapshot(
+      long sequence, List<List<BigDecimal>> bidLevels, List<List<BigDecimal>> askLevels) {
+    startSnapshot(sequence);
+    setAll(bids, bidLevels);
+    setAll(asks, askLevels);
+    return Result.APPLIED;
+  }
+
+  /**
+   * Applies a delta given as {@code [price, size]} pairs, if it continues the book.
+   *
+   * @param bidLevels the bid levels, or {@code null}
+   * @param askLevels the ask levels, or {@code null}
+   */
+  public Result applyDelta(
+      long sequenceStart,
+      long sequenceEnd,
+      List<List<BigDecimal>> bidLevels,
+      List<List<BigDecimal>> askLevels) {
+    Result result = startDelta(sequenceStart, sequenceEnd);
+    if (result == Result.APPLIED) {
+      setAll(bids, bidLevels);
+      setAll(asks, askLevels);
+    }
+    return result;
+  }
+
+  private static void setAll(BookSide side, List<List<BigDecimal>> levels) {
+    if (levels == null) {
+      return;
+    }
+    for (List<BigDecimal> level : levels) {
+      if (level != null && level.size() >= 2 && level.get(0) != null) {
+        side.set(level.get(0), level.get(1));
+      }
+    }
+  }
+
+  /** Clears the book, the next update applied must be a snapshot. */
+  public void reset() {
+    bids.clear();
+    asks.clear();
+    lastSequence = UNKNOWN_SEQUENCE;
+    synced = false;
+    resets++;
+  }
+
+  /** Whether a snapshot was applied and no gap or checksum mismatch detected since. */
+  public boolean isSynced() {
+    return synced;
+  }
+
+  /** The end sequence of the last update applied, or {@link #UNKNOWN_SEQUENCE} */
+  public long getLastSequence() {
+    return lastSequence;
+  }
+
+  /** A number changing with every change of the book, telling whether it changed since. */
+  public long getVersion() {
+    return resets + bids.getModifications() + asks.getModifications();
+  }
+
+  public BookSide getBids() {
+    return bids;
+  }
+
+  public BookSide getAsks() {
+    return asks;
+  }
+
+  public BookSide side(OrderType type) {
+    return type == OrderType.BID ? bids : asks;
+  }
+
+  /**
+   * A view of the best levels of the book as they are now, sharing their prices and sizes with it.
+   *
+   * @param depth the number of levels per side at most
+   * @param timestamp the timestamp of the book, or {@code null}
+   */
+  public OrderBookView view(Instrument instrument, Date timestamp, int depth) {
+    return new OrderBookView(
+        instrument,
+        timestamp,
+        lastSequence,
+        bids.topPrices(depth),
+        bids.topSizes(depth),
+        asks.topPrices(depth),
+        asks.topSizes(depth));
+  }
+
+  /**
+   * The best levels of the book as they are now.
+   *
+   * @param depth the number of levels per side at most
+   * @param timestamp the timestamp of the book, or {@code null}
+   */
+  public TopOfBook topOfBook(Instrument instrument, Date timestamp, int depth) {
+    return TopOfBook.of(instrument, timestamp, this, depth);
+  }
+
+  /**
+   * A copy of the levels as an {@link OrderBook}.
+   *
+   * @param timestamp the timestamp of the book, or {@code null}
+   */
+  public OrderBook toOrderBook(Instrument instrument, Date timestamp) {
+    return new OrderBook(
+        timestamp, asks.toLimitOrders(instrument), bids.toLimitOrders(instrument), false);
+  }
+}
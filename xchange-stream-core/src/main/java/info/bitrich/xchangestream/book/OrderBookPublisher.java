@@ -0,0 +1,136 @@
+package info.bitrich.xchangestream.book;
+
+import io.reactivex.rxjava3.core.BackpressureStrategy;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import io.reactivex.rxjava3.subjects.Subject;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.knowm.xchange.instrument.Instrument;
+
+/**
+ * Publishes {@link OrderBookView}s of a {@link L2OrderBook}, decoupling how often a venue updates a
+ * book from how often its subscribers want to see it.
+ *
+ * <p>The streaming adapter applies each update through {@link #update(Date, Supplier)}, under the
+ * lock views are taken with, and subscribers pick a {@link Delivery}. A view is only taken for an
+ * update some subscriber gets to see, and {@link #current()} takes one on demand.
+ */
+public final class OrderBookPublisher {
+
+  public enum Delivery {
+    /** A view after each update changing the book, delivered on the thread applying it. */
+    EVERY_UPDATE,
+    /**
+     * The latest view only: at most one per conflation interval, delivered on the scheduler of
+     * the publisher. A subscriber still busy with a view gets the latest book next, skipping the
+     * updates in between.
+     */
+    LATEST
+  }
+
+  private static final Object CHANGED = new Object();
+
+  private final Instrument instrument;
+  private final L2OrderBook book;
+  private final int depth;
+  private final Duration interval;
+  private final Scheduler scheduler;
+  private final Subject<OrderBookView> updates =
+      PublishSubject.<OrderBookView>create().toSerialized();
+  private final Subject<Object> changes = PublishSubject.create().toSerialized();
+  private Date timestamp;
+
+  /** A publisher without conflation interval. */
+  public OrderBookPublisher(Instrument instrument, L2OrderBook book, int depth) {
+    this(instrument, book, depth, Duration.ZERO, Schedulers.computation());
+  }
+
+  /**
+   * @param depth the number of levels per side of the views
+   * @param interval the conflation interval of {@link Delivery#LATEST}, zero to only skip the
+   *     updates a subscriber is too slow for
+   * @param scheduler delivers {@link Delivery#LATEST} views
+   */
+  public OrderBookPublisher(
+      Instrument instrument, L2OrderBook book, int depth, Duration interval, Scheduler scheduler) {
+    this.instrument = instrument;
+    this.book = book;
+    this.depth = depth;
+    this.interval = interval;
+    this.scheduler = scheduler;
+  }
+
+  /**
+   * Applies an update to the book, publishing it if the book changed and is synced. Updates are
+   * expected from one thread at a time, in the order the venue sent them.
+   *
+   * @param timestamp the timestamp of the update, or {@code null}
+   * @param update reads and mutates the book
+   * @return what the update returned
+   */
+  public <R> R update(Date timestamp, Supplier<R> update) {
+    R result;
+    boolean changed;
+    OrderBookView view = null;
+    synchronized (this) {
+      long version = book.getVersion();
+      result = update.get();
+      changed = book.isSynced() && book.getVersion() != version;
+      if (changed) {
+        this.timestamp = timestamp;
+        if (updates.hasObservers()) {
+          view = book.view(instrument, timestamp, depth);
+        }
+      }
+    }
+    if (view != null) {
+      updates.onNext(view);
+    }
+    if (changed) {
+      changes.onNext(CHANGED);
+    }
+    return result;
+  }
+
+  /** A view of the book as it is now, or {@code null} while it awaits a snapshot. */
+  public synchronized OrderBookView current() {
+    return book.isSynced() ? book.view(instrument, timestamp, depth) : null;
+  }
+
+  /**
+   * The best {@code depth} levels of the book after each update changing them, delivered on the
+   * thread applying it.
+   */
+  public Observable<TopOfBook> topOfBook(int depth) {
+    return changes
+        .concatMapMaybe(change -> Maybe.fromCallable(() -> currentTopOfBook(depth)))
+        .distinctUntilChanged(TopOfBook::hasSameLevels);
+  }
+
+  private synchronized TopOfBook currentTopOfBook(int depth) {
+    return book.isSynced() ? book.topOfBook(instrument, timestamp, depth) : null;
+  }
+
+  public Observable<OrderBookView> views(Delivery delivery) {
+    if (delivery == Delivery.EVERY_UPDATE) {
+      return updates;
+    }
+    Observable<Object> ticks =
+        interval.isZero()
+            ? changes
+            : changes.throttleLatest(interval.toNanos(), TimeUnit.NANOSECONDS, scheduler, true);
+    // one tick at a time past observeOn, the latest one waiting while the subscriber is busy, and
+    // the view taken once it is free
+    return ticks
+        .toFlowable(BackpressureStrategy.LATEST)
+        .observeOn(scheduler, false, 1)
+        .concatMapMaybe(tick -> Maybe.fromCallable(this::current), 1)
+        .toObservable();
+  }
+}
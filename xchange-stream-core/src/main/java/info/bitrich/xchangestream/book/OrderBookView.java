@@ -0,0 +1,118 @@
+package info.bitrich.xchangestream.book;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.instrument.Instrument;
+
+/**
+ * The best levels of a {@link L2OrderBook} at one point in time. Taking a view only copies the
+ * references of the prices and sizes of its levels, the {@link OrderBook} of {@link
+ * LimitOrder}s is built on the first call of {@link #toOrderBook()}, so a subscriber reading the
+ * top of the book never pays for more. Immutable, and safe to read from any thread.
+ */
+public final class OrderBookView {
+
+  private final Instrument instrument;
+  private final Date timestamp;
+  private final long sequence;
+  private final BigDecimal[] bidPrices;
+  private final BigDecimal[] bidSizes;
+  private final BigDecimal[] askPrices;
+  private final BigDecimal[] askSizes;
+  private volatile OrderBook orderBook;
+
+  OrderBookView(
+      Instrument instrument,
+      Date timestamp,
+      long sequence,
+      BigDecimal[] bidPrices,
+      BigDecimal[] bidSizes,
+      BigDecimal[] askPrices,
+      BigDecimal[] askSizes) {
+    this.instrument = instrument;
+    this.timestamp = timestamp;
+    this.sequence = sequence;
+    this.bidPrices = bidPrices;
+    this.bidSizes = bidSizes;
+    this.askPrices = askPrices;
+    this.askSizes = askSizes;
+  }
+
+  public Instrument getInstrument() {
+    return instrument;
+  }
+
+  /** The timestamp of the last update of the book, {@code null} if the venue sent none */
+  public Date getTimestamp() {
+    return timestamp;
+  }
+
+  /** The last sequence applied to the book, or {@link L2OrderBook#UNKNOWN_SEQUENCE} */
+  public long getSequence() {
+    return sequence;
+  }
+
+  public int getBidDepth() {
+    return bidPrices.length;
+  }
+
+  public int getAskDepth() {
+    return askPrices.length;
+  }
+
+  /** Price of the bid level at the given depth, the best bid being at depth 0. */
+  public BigDecimal getBidPrice(int level) {
+    return bidPrices[level];
+  }
+
+  /** Size of the bid level at the given depth, the best bid being at depth 0. */
+  public BigDecimal getBidSize(int level) {
+    return bidSizes[level];
+  }
+
+  /** Price of the ask level at the given depth, the best ask being at depth 0. */
+  public BigDecimal getAskPrice(int level) {
+    return askPrices[level];
+  }
+
+  /** Size of the ask level at the given depth, the best ask being at depth 0. */
+  public BigDecimal getAskSize(int level) {
+    return askSizes[level];
+  }
+
+  /**
+   * The levels of this view as an {@link OrderBook}, built once and shared by all callers. The book
+   * is unmodifiable, its {@code update} methods throw an {@link UnsupportedOperationException}.
+   */
+  public OrderBook toOrderBook() {
+    OrderBook book = orderBook;
+    if (book == null) {
+      book =
+          new OrderBook(
+              timestamp,
+              Collections.unmodifiableList(limitOrders(OrderType.ASK, askPrices, askSizes)),
+              Collections.unmodifiableList(limitOrders(OrderType.BID, bidPrices, bidSizes)),
+              false);
+      orderBook = book;
+    }
+    return book;
+  }
+
+  private List<LimitOrder> limitOrders(OrderType type, BigDecimal[] prices, BigDecimal[] sizes) {
+    List<LimitOrder> orders = new ArrayList<>(prices.length);
+    for (int i = 0; i < prices.length; i++) {
+      orders.add(
+          new LimitOrder.Builder(type, instrument)
+              .limitPrice(prices[i])
+              .originalAmount(sizes[i])
+              .build());
+    }
+    return orders;
+  }
+}
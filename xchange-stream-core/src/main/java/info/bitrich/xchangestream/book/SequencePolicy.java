@@ -0,0 +1,49 @@
+package info.bitrich.xchangestream.book;
+
+import info.bitrich.xchangestream.book.L2OrderBook.Result;
+
+/** How a {@link L2OrderBook} tells whether a delta continues the book, given their sequences. */
+@FunctionalInterface
+public interface SequencePolicy {
+
+  /**
+   * Every delta continues the book, for venues without sequence numbers or checking them with a
+   * {@link ChecksumPolicy} instead.
+   */
+  SequencePolicy NONE = (lastSequence, sequenceStart, sequenceEnd) -> Result.APPLIED;
+
+  /**
+   * A delta covers the updates {@code sequenceStart} to {@code sequenceEnd} and must overlap or
+   * directly follow the last one applied, e.g. Binance spot ({@code U}, {@code u}), KuCoin ({@code
+   * O}, {@code C}) or Coinbase (a single sequence, start and end being equal).
+   */
+  SequencePolicy CONTIGUOUS =
+      (lastSequence, sequenceStart, sequenceEnd) -> {
+        if (sequenceEnd <= lastSequence) {
+          return Result.STALE_DROPPED;
+        }
+        return sequenceStart > lastSequence + 1 ? Result.GAP : Result.APPLIED;
+      };
+
+  /**
+   * A delta carries, as {@code sequenceStart}, the end sequence of the delta the venue sent before
+   * it, which must be the last one applied, e.g. Binance futures ({@code pu}) or OKX ({@code
+   * prevSeqId}).
+   */
+  SequencePolicy CHAINED =
+      (lastSequence, previousSequence, sequenceEnd) -> {
+        if (sequenceEnd <= lastSequence) {
+          return Result.STALE_DROPPED;
+        }
+        return previousSequence != lastSequence ? Result.GAP : Result.APPLIED;
+      };
+
+  /**
+   * @param lastSequence the end sequence of the last update applied to the book, never negative
+   * @param sequenceStart the first sequence of the delta, as defined by the policy
+   * @param sequenceEnd the last sequence of the delta
+   * @return {@link Result#APPLIED} if the delta continues the book, {@link Result#STALE_DROPPED} if
+   *     the book already contains it or {@link Result#GAP} if updates between them were missed
+   */
+  Result check(long lastSequence, long sequenceStart, long sequenceEnd);
+}
@@ -0,0 +1,193 @@
+package info.bitrich.xchangestream.book;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.PrimitiveOrderBook;
+import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.instrument.Instrument;
+
+/**
+ * The best levels of each side of an order book, as {@code double}s: one array per side of
+ * alternating prices and sizes, best level first. Meant for consumers of the best bid and ask,
+ * which get them without a {@link LimitOrder} per level, and compare them in a few instructions.
+ */
+public final class TopOfBook {
+
+  private static final double[] EMPTY = new double[0];
+
+  private final Instrument instrument;
+  private final long timestamp;
+  private final double[] bids;
+  private final double[] asks;
+
+  private TopOfBook(Instrument instrument, long timestamp, double[] bids, double[] asks) {
+    this.instrument = instrument;
+    this.timestamp = timestamp;
+    this.bids = bids;
+    this.asks = asks;
+  }
+
+  /** The best {@code depth} levels of each side of an order book. */
+  public static TopOfBook of(Instrument instrument, OrderBook orderBook, int depth) {
+    return new TopOfBook(
+        instrument,
+        millis(orderBook.getTimeStamp()),
+        levels(orderBook.getBids(), depth),
+        levels(orderBook.getAsks(), depth));
+  }
+
+  /** The best {@code depth} levels of each side of a primitive order book, read as scaled. */
+  public static TopOfBook of(Instrument instrument, PrimitiveOrderBook book, int depth) {
+    return new TopOfBook(
+        instrument,
+        book.getTimeStamp(),
+        levels(book, OrderType.BID, depth),
+        levels(book, OrderType.ASK, depth));
+  }
+
+  static TopOfBook of(Instrument instrument, Date timestamp, L2OrderBook book, int depth) {
+    return new TopOfBook(
+        instrument,
+        millis(timestamp),
+        levels(book.getBids(), depth),
+        levels(book.getAsks(), depth));
+  }
+
+  private static double[] levels(List<LimitOrder> orders, int depth) {
+    int count = Math.min(depth, orders.size());
+    if (count == 0) {
+      return EMPTY;
+    }
+    double[] levels = new double[count * 2];
+    Iterator<LimitOrder> iterator = orders.iterator();
+    for (int i = 0; i < count; i++) {
+      LimitOrder order = iterator.next();
+      levels[2 * i] = order.getLimitPrice().doubleValue();
+      levels[2 * i + 1] = order.getOriginalAmount().doubleValue();
+    }
+    return levels;
+  }
+
+  private static double[] levels(BookSide side, int depth) {
+    int count = Math.min(depth, side.depth());
+    if (count == 0) {
+      return EMPTY;
+    }
+    double[] levels = new double[count * 2];
+    for (int i = 0; i < count; i++) {
+      levels[2 * i] = side.price(i).doubleValue();
+      levels[2 * i + 1] = side.size(i).doubleValue();
+    }
+    return levels;
+  }
+
+  private static double[] levels(PrimitiveOrderBook book, OrderType type, int depth) {
+    int count = Math.min(depth, book.depth(type));
+    if (count == 0) {
+      return EMPTY;
+    }
+    // powers of ten up to 10^22 are exact doubles, so dividing a scaled value below 2^53 gives the
+    // double nearest the decimal, as BigDecimal.doubleValue() does
+    double priceUnit = Math.pow(10, book.getPriceScale());
+    double sizeUnit = Math.pow(10, book.getSizeScale());
+    double[] levels = new double[count * 2];
+    for (int i = 0; i < count; i++) {
+      levels[2 * i] = book.priceAt(type, i) / priceUnit;
+      levels[2 * i + 1] = book.sizeAt(type, i) / sizeUnit;
+    }
+    return levels;
+  }
+
+  private static long millis(Date timestamp) {
+    return timestamp == null ? 0L : timestamp.getTime();
+  }
+
+  public Instrument getInstrument() {
+    return instrument;
+  }
+
+  /** Epoch milliseconds of the book, 0 if the venue sent none */
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  public int getBidDepth() {
+    return bids.length / 2;
+  }
+
+  public int getAskDepth() {
+    return asks.length / 2;
+  }
+
+  /** Price of the bid level at the given depth, the best bid being at depth 0. */
+  public double getBidPrice(int level) {
+    return bids[2 * level];
+  }
+
+  /** Size of the bid level at the given depth, the best bid being at depth 0. */
+  public double getBidSize(int level) {
+    return bids[2 * level + 1];
+  }
+
+  /** Price of the ask level at the given depth, the best ask being at depth 0. */
+  public double getAskPrice(int level) {
+    return asks[2 * level];
+  }
+
+  /** Size of the ask level at the given depth, the best ask being at depth 0. */
+  public double getAskSize(int level) {
+    return asks[2 * level + 1];
+  }
+
+  /** The best bid price, {@link Double#NaN} if there is no bid. */
+  public double getBestBid() {
+    return bids.length == 0 ? Double.NaN : bids[0];
+  }
+
+  /** The best ask price, {@link Double#NaN} if there is no ask. */
+  public double getBestAsk() {
+    return asks.length == 0 ? Double.NaN : asks[0];
+  }
+
+  /** Whether both books have the same levels, whatever their timestamps. */
+  public boolean hasSameLevels(TopOfBook other) {
+    return Arrays.equals(bids, other.bids) && Arrays.equals(asks, other.asks);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof TopOfBook)) {
+      return false;
+    }
+    TopOfBook other = (TopOfBook) o;
+    return timestamp == other.timestamp
+        && Objects.equals(instrument, other.instrument)
+        && hasSameLevels(other);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * Objects.hashCode(instrument) + Arrays.hashCode(bids)) + Arrays.hashCode(asks);
+  }
+
+  @Override
+  public String toString() {
+    return "TopOfBook [instrument="
+        + instrument
+        + ", timestamp="
+        + timestamp
+        + ", bids="
+        + Arrays.toString(bids)
+        + ", asks="
+        + Arrays.toString(asks)
+        + "]";
+  }
+}
@@ -0,0 +1,35 @@
+package info.bitrich.xchangestream.core;
+
+import lombok.Value;
+
+/**
+ * Response of the exchange to an order request sent over a socket, see {@link
+ * StreamingTradeService#placeLimitOrderAck}.
+ */
+@Value
+public class OrderAck {
+
+  /** Code of the exchange, 0 if the request was accepted */
+  int code;
+
+  /** Why the request was rejected, null if accepted */
+  String message;
+
+  /** Id of the order as far as the exchange reported it */
+  String orderId;
+
+  /** Client order id of the order as far as the exchange reported it */
+  String userReference;
+
+  public static OrderAck accepted(String orderId, String userReference) {
+    return new OrderAck(0, null, orderId, userReference);
+  }
+
+  public static OrderAck rejected(int code, String message, String orderId, String userReference) {
+    return new OrderAck(code, message, orderId, userReference);
+  }
+
+  public boolean isAccepted() {
+    return code == 0;
+  }
+}
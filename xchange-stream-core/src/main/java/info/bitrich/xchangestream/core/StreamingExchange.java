@@ -7,6 +7,7 @@ import static info.bitrich.xchangestream.service.netty.NettyStreamingService.DEF
 import info.bitrich.xchangestream.service.ConnectableService;
 import info.bitrich.xchangestream.service.netty.ConnectionStateModel.State;
 import info.bitrich.xchangestream.service.netty.NettyStreamingService;
+import info.bitrich.xchangestream.service.netty.NettyTransport;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Observable;
 import org.knowm.xchange.Exchange;
@@ -24,6 +25,19 @@ public interface StreamingExchange extends Exchange {
   String WS_RETRY_DURATION = "WS_Retry_Duration";
   String WS_IDLE_TIMEOUT = "WS_Idle_Timeout";
 
+  /**
+   * Maximum number of channels per connection, spreading the market data channels over several
+   * connections where supported. Unset keeps all of them on one connection.
+   */
+  String WS_MAX_CHANNELS_PER_CONNECTION = "WS_Max_Channels_Per_Connection";
+
+  /**
+   * {@link NettyTransport} the streaming services connect with, e.g. {@link
+   * NettyTransport#shared()} to run the connections of all exchanges on the same event loop
+   * threads.
+   */
+  String NETTY_TRANSPORT = "Netty_Transport";
+
   /**
    * Connects to the WebSocket API of the exchange.
    *
@@ -166,5 +180,11 @@ public interface StreamingExchange extends Exchange {
     Boolean autoReconnect =
         (Boolean) exchangeSpec.getExchangeSpecificParametersItem(AUTO_RECONNECT);
     if (autoReconnect != null) streamingService.setAutoReconnect(autoReconnect);
+
+    NettyTransport transport =
+        (NettyTransport) exchangeSpec.getExchangeSpecificParametersItem(NETTY_TRANSPORT);
+    if (transport != null) {
+      streamingService.setTransport(transport);
+    }
   }
 }
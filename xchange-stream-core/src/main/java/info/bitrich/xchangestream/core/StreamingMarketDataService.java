@@ -1,5 +1,6 @@
 package info.bitrich.xchangestream.core;
 
+import info.bitrich.xchangestream.book.TopOfBook;
 import io.reactivex.rxjava3.core.Observable;
 import java.util.List;
 import org.knowm.xchange.currency.CurrencyPair;
@@ -31,6 +32,23 @@ public interface StreamingMarketDataService {
     throw new NotYetImplementedForExchangeException("getOrderBook");
   }
 
+  /**
+   * Get the best levels of each side of the order book, for consumers of the best bid and ask
+   * rather than of the whole book. Emits only when one of these levels changes.
+   *
+   * <p>Derived from {@link #getOrderBook(Instrument, Object...)} unless the exchange feeds it from
+   * its local book directly.
+   *
+   * @param instrument Instrument of the order book
+   * @param depth Number of levels per side, 1 for the best bid and ask only
+   * @return {@link Observable} that emits {@link TopOfBook} when its levels change.
+   */
+  default Observable<TopOfBook> getTopOfBook(Instrument instrument, int depth) {
+    return getOrderBook(instrument)
+        .map(orderBook -> TopOfBook.of(instrument, orderBook, depth))
+        .distinctUntilChanged(TopOfBook::hasSameLevels);
+  }
+
   /**
    * Get a ticker representing the current exchange rate. Emits {@link
    * info.bitrich.xchangestream.service.exception.NotConnectedException} When not connected to the
@@ -139,4 +139,41 @@ public interface StreamingTradeService {
   default Single<Integer> cancelOrder(CancelOrderParams params, Object... args) {
     throw new NotYetImplementedForExchangeException("cancelOrder");
   }
+
+  /**
+   * Places a market order like {@link #placeMarketOrder(MarketOrder, Object...)}, emitting the
+   * response of the exchange with the order id.
+   *
+   * <p>Emits {@link info.bitrich.xchangestream.service.exception.RequestOutcomeUnknownException}
+   * if no response arrived in time or the connection closed first. The order may have been placed
+   * then, so it must be reconciled before being sent again.
+   */
+  default Single<OrderAck> placeMarketOrderAck(MarketOrder marketOrder, Object... args) {
+    throw new NotYetImplementedForExchangeException("placeMarketOrderAck");
+  }
+
+  /**
+   * Places a limit order like {@link #placeLimitOrder(LimitOrder, Object...)}, emitting the
+   * response of the exchange with the order id, see {@link #placeMarketOrderAck(MarketOrder,
+   * Object...)}.
+   */
+  default Single<OrderAck> placeLimitOrderAck(LimitOrder limitOrder, Object... args) {
+    throw new NotYetImplementedForExchangeException("placeLimitOrderAck");
+  }
+
+  /**
+   * Modifies a limit order like {@link #changeOrder(LimitOrder, Object...)}, emitting the response
+   * of the exchange, see {@link #placeMarketOrderAck(MarketOrder, Object...)}.
+   */
+  default Single<OrderAck> changeOrderAck(LimitOrder order, Object... args) {
+    throw new NotYetImplementedForExchangeException("changeOrderAck");
+  }
+
+  /**
+   * Cancels an order like {@link #cancelOrder(CancelOrderParams, Object...)}, emitting the response
+   * of the exchange, see {@link #placeMarketOrderAck(MarketOrder, Object...)}.
+   */
+  default Single<OrderAck> cancelOrderAck(CancelOrderParams params, Object... args) {
+    throw new NotYetImplementedForExchangeException("cancelOrderAck");
+  }
 }
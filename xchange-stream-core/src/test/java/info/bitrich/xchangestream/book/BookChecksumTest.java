@@ -0,0 +1,75 @@
+package info.bitrich.xchangestream.book;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import org.junit.Test;
+
+public class BookChecksumTest {
+
+  private final BookChecksum checksum = new BookChecksum();
+
+  @Test
+  public void testChecksumsTheTextAsItIs() {
+    checksum.append("100.0").append(':').append("10").append(':').append("101.0");
+    checksum.append(':').append("5");
+
+    assertThat(checksum.getValue()).isEqualTo(2138071360L).isEqualTo(crc("100.0:10:101.0:5"));
+    assertThat(checksum.reset().append("102:2").getValue()).isEqualTo(crc("102:2"));
+  }
+
+  @Test
+  public void testChecksumsMoreTextThanItBuffers() {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      text.append(i).append(',');
+      checksum.append(Integer.toString(i)).append(',');
+    }
+
+    assertThat(checksum.getValue()).isEqualTo(crc(text.toString()));
+  }
+
+  @Test
+  public void testAppendsNumbersAsTheirPlainText() {
+    assertPlainText("0.05000", "0.05000");
+    assertPlainText("12.345", "12.345");
+    assertPlainText("5E+3", "5000");
+    assertPlainText("0.00", "0.00");
+    assertPlainText("-1.5", "-1.5");
+    assertPlainText("123456789012345678901234.5", "123456789012345678901234.5");
+  }
+
+  @Test
+  public void testAppendsTheDigitsOfNumbers() {
+    assertDigits("0.05000", "5000");
+    assertDigits("5000", "5000");
+    assertDigits("5E+3", "5000");
+    assertDigits("0.00", "");
+
+    assertThat(checksum.reset().appendDigits("0.05000").getValue()).isEqualTo(crc("5000"));
+  }
+
+  @Test
+  public void testAppendsNumbersWithAFixedScale() {
+    checksum.append(new BigDecimal("0.05"), 8).append(':').append(new BigDecimal("1.123456789"), 8);
+
+    assertThat(checksum.getValue()).isEqualTo(crc("0.05000000:1.12345679"));
+  }
+
+  private void assertPlainText(String value, String text) {
+    assertThat(checksum.reset().append(new BigDecimal(value)).getValue()).isEqualTo(crc(text));
+  }
+
+  private void assertDigits(String value, String digits) {
+    assertThat(checksum.reset().appendDigits(new BigDecimal(value)).getValue())
+        .isEqualTo(crc(digits));
+  }
+
+  private static long crc(String text) {
+    CRC32 crc = new CRC32();
+    crc.update(text.getBytes(StandardCharsets.US_ASCII));
+    return crc.getValue();
+  }
+}
@@ -0,0 +1,128 @@
+package info.bitrich.xchangestream.book;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import info.bitrich.xchangestream.book.L2OrderBook.Result;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+
+public class L2OrderBookTest {
+
+  @Test
+  public void testKeepsLevelsSortedBestFirst() {
+    L2OrderBook book = new L2OrderBook();
+    book.applySnapshot(1, levels("99", "1", "101", "2", "100", "3"), levels("103", "1", "102", "2"));
+    book.setBid(new BigDecimal("102"), new BigDecimal("4"));
+    book.setAsk(new BigDecimal("101.5"), new BigDecimal("5"));
+    book.setAsk(new BigDecimal("103.00"), BigDecimal.ZERO);
+
+    assertThat(book.getBids().depth()).isEqualTo(4);
+    assertThat(book.getBids().price(0)).isEqualByComparingTo("102");
+    assertThat(book.getBids().price(3)).isEqualByComparingTo("99");
+    assertThat(book.getAsks().depth()).isEqualTo(2);
+    assertThat(book.getAsks().price(0)).isEqualByComparingTo("101.5");
+    assertThat(book.getAsks().size(1)).isEqualByComparingTo("2");
+
+    OrderBook orderBook = book.toOrderBook(CurrencyPair.BTC_USD, null);
+    assertThat(orderBook.getBids()).extracting(order -> order.getLimitPrice().toPlainString())
+        .containsExactly("102", "101", "100", "99");
+    assertThat(orderBook.getAsks()).extracting(order -> order.getLimitPrice().toPlainString())
+        .containsExactly("101.5", "102");
+  }
+
+  @Test
+  public void testScaleDoesNotSplitALevel() {
+    L2OrderBook book = new L2OrderBook();
+    book.startSnapshot(L2OrderBook.UNKNOWN_SEQUENCE);
+
+    assertThat(book.setBid(new BigDecimal("100.0"), new BigDecimal("1"))).isTrue();
+    assertThat(book.setBid(new BigDecimal("100.00"), new BigDecimal("1.0"))).isFalse();
+    assertThat(book.setBid(new BigDecimal("100"), new BigDecimal("2"))).isTrue();
+    assertThat(book.setBid(new BigDecimal("101"), BigDecimal.ZERO)).isFalse();
+
+    assertThat(book.getBids().depth()).isEqualTo(1);
+    assertThat(book.getBids().price(0).toPlainString()).isEqualTo("100");
+  }
+
+  @Test
+  public void testGrowsBeyondItsInitialCapacity() {
+    L2OrderBook book = new L2OrderBook();
+    book.startSnapshot(L2OrderBook.UNKNOWN_SEQUENCE);
+    for (int i = 1; i <= 500; i++) {
+      book.setAsk(BigDecimal.valueOf(i), BigDecimal.ONE);
+    }
+    for (int i = 2; i <= 500; i += 2) {
+      book.setAsk(BigDecimal.valueOf(i), BigDecimal.ZERO);
+    }
+
+    assertThat(book.getAsks().depth()).isEqualTo(250);
+    assertThat(book.getAsks().price(0)).isEqualByComparingTo("1");
+    assertThat(book.getAsks().price(249)).isEqualByComparingTo("499");
+    assertThat(book.getAsks().toLimitOrders(CurrencyPair.BTC_USD, 3))
+        .extracting(order -> order.getLimitPrice().intValue())
+        .containsExactly(1, 3, 5);
+  }
+
+  @Test
+  public void testContiguousSequences() {
+    L2OrderBook book = new L2OrderBook(SequencePolicy.CONTIGUOUS, ChecksumPolicy.NONE);
+
+    assertThat(book.applyDelta(1, 2, levels("100", "1"), null)).isEqualTo(Result.AWAITING_SNAPSHOT);
+    book.applySnapshot(10, levels("100", "1"), levels("101", "1"));
+    assertThat(book.applyDelta(8, 10, levels("100", "5"), null)).isEqualTo(Result.STALE_DROPPED);
+    assertThat(book.applyDelta(9, 12, levels("100", "2"), null)).isEqualTo(Result.APPLIED);
+    assertThat(book.getLastSequence()).isEqualTo(12);
+    assertThat(book.getBids().size(0)).isEqualByComparingTo("2");
+
+    assertThat(book.applyDelta(14, 15, levels("100", "3"), null)).isEqualTo(Result.GAP);
+    assertThat(book.isSynced()).isFalse();
+    assertThat(book.getBids().isEmpty()).isTrue();
+    assertThat(book.applyDelta(16, 16, null, null)).isEqualTo(Result.AWAITING_SNAPSHOT);
+  }
+
+  @Test
+  public void testChainedSequences() {
+    L2OrderBook book = new L2OrderBook(SequencePolicy.CHAINED, ChecksumPolicy.NONE);
+    book.applySnapshot(10, levels("100", "1"), null);
+
+    assertThat(book.applyDelta(10, 15, levels("100", "2"), null)).isEqualTo(Result.APPLIED);
+    assertThat(book.applyDelta(15, 20, null, null)).isEqualTo(Result.APPLIED);
+    assertThat(book.applyDelta(21, 25, null, null)).isEqualTo(Result.GAP);
+  }
+
+  @Test
+  public void testUnknownSequencesAreNotChecked() {
+    L2OrderBook book = new L2OrderBook(SequencePolicy.CONTIGUOUS, ChecksumPolicy.NONE);
+    book.applySnapshot(L2OrderBook.UNKNOWN_SEQUENCE, levels("100", "1"), null);
+
+    assertThat(book.applyDelta(7, 7, levels("100", "2"), null)).isEqualTo(Result.APPLIED);
+    assertThat(book.getLastSequence()).isEqualTo(7);
+    assertThat(book.applyDelta(-1, -1, levels("100", "3"), null)).isEqualTo(Result.APPLIED);
+    assertThat(book.getLastSequence()).isEqualTo(7);
+  }
+
+  @Test
+  public void testChecksumMismatchClearsTheBook() {
+    ChecksumPolicy bestBidSize = (book, checksum) -> book.getBids().size(0).longValue() == checksum;
+    L2OrderBook book = new L2OrderBook(SequencePolicy.NONE, bestBidSize);
+    book.applySnapshot(1, levels("100", "1"), null);
+
+    assertThat(book.verify(1)).isEqualTo(Result.APPLIED);
+    book.applyDelta(2, 2, levels("100", "2"), null);
+    assertThat(book.verify(3)).isEqualTo(Result.CHECKSUM_MISMATCH);
+    assertThat(book.isSynced()).isFalse();
+    assertThat(book.getBids().isEmpty()).isTrue();
+  }
+
+  private static List<List<BigDecimal>> levels(String... priceSize) {
+    List<List<BigDecimal>> levels = new ArrayList<>();
+    for (int i = 0; i < priceSize.length; i += 2) {
+      levels.add(List.of(new BigDecimal(priceSize[i]), new BigDecimal(priceSize[i + 1])));
+    }
+    return levels;
+  }
+}
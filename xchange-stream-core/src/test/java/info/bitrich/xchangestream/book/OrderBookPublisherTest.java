@@ -0,0 +1,117 @@
+package info.bitrich.xchangestream.book;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import info.bitrich.xchangestream.book.OrderBookPublisher.Delivery;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+
+public class OrderBookPublisherTest {
+
+  private final L2OrderBook book = new L2OrderBook();
+  private final TestScheduler scheduler = new TestScheduler();
+
+  @Test
+  public void testPublishesEveryUpdate() {
+    OrderBookPublisher publisher = new OrderBookPublisher(CurrencyPair.BTC_USD, book, 2);
+    TestObserver<OrderBookView> views = publisher.views(Delivery.EVERY_UPDATE).test();
+
+    setBid(publisher, "100", "1");
+    snapshot(publisher);
+    setBid(publisher, "100", "1");
+    setBid(publisher, "101", "2");
+    setBid(publisher, "101", "2");
+    setBid(publisher, "102", "3");
+
+    views.assertValueCount(4);
+    OrderBookView last = views.values().get(3);
+    assertThat(last.getBidDepth()).isEqualTo(2);
+    assertThat(last.getBidPrice(0)).isEqualByComparingTo("102");
+    assertThat(last.getBidPrice(1)).isEqualByComparingTo("101");
+    assertThat(last.getAskDepth()).isEqualTo(1);
+  }
+
+  @Test
+  public void testConflatesToTheLatestBookPerInterval() {
+    OrderBookPublisher publisher =
+        new OrderBookPublisher(CurrencyPair.BTC_USD, book, 10, Duration.ofMillis(100), scheduler);
+    TestObserver<OrderBookView> views = publisher.views(Delivery.LATEST).test();
+    snapshot(publisher);
+
+    scheduler.triggerActions();
+    views.assertValueCount(1);
+
+    for (int i = 1; i <= 50; i++) {
+      setBid(publisher, "100", Integer.toString(i));
+    }
+    scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+
+    views.assertValueCount(2);
+    assertThat(views.values().get(1).getBidSize(0)).isEqualByComparingTo("50");
+    scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+    views.assertValueCount(2);
+  }
+
+  @Test
+  public void testPublishesTheTopOfBookWhenItChanges() {
+    OrderBookPublisher publisher = new OrderBookPublisher(CurrencyPair.BTC_USD, book, 10);
+    TestObserver<TopOfBook> tops = publisher.topOfBook(1).test();
+
+    snapshot(publisher);
+    setBid(publisher, "100", "1");
+    setBid(publisher, "99", "1");
+    setBid(publisher, "101", "1");
+
+    tops.assertValueCount(3);
+    assertThat(tops.values().get(0).getBidDepth()).isZero();
+    assertThat(tops.values().get(2).getBestBid()).isEqualTo(101);
+  }
+
+  @Test
+  public void testTakesViewsOnDemand() {
+    OrderBookPublisher publisher = new OrderBookPublisher(CurrencyPair.BTC_USD, book, 1);
+    assertThat(publisher.current()).isNull();
+
+    publisher.update(
+        new Date(1000),
+        () -> {
+          book.startSnapshot(5);
+          book.setBid(new BigDecimal("100"), BigDecimal.ONE);
+          book.setBid(new BigDecimal("99"), BigDecimal.ONE);
+          return book.setAsk(new BigDecimal("101"), BigDecimal.TEN);
+        });
+    OrderBookView view = publisher.current();
+    book.setBid(new BigDecimal("100"), BigDecimal.ZERO);
+
+    assertThat(view.getSequence()).isEqualTo(5);
+    assertThat(view.getBidPrice(0)).isEqualByComparingTo("100");
+    OrderBook orderBook = view.toOrderBook();
+    assertThat(orderBook.getTimeStamp()).isEqualTo(new Date(1000));
+    assertThat(orderBook.getBids()).hasSize(1);
+    assertThat(orderBook.getAsks().get(0).getOriginalAmount()).isEqualByComparingTo("10");
+    assertThat(view.toOrderBook()).isSameAs(orderBook);
+    assertThatThrownBy(() -> orderBook.update(orderBook.getBids().get(0)))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  private void snapshot(OrderBookPublisher publisher) {
+    publisher.update(
+        null,
+        () -> {
+          book.startSnapshot(L2OrderBook.UNKNOWN_SEQUENCE);
+          return book.setAsk(new BigDecimal("110"), BigDecimal.ONE);
+        });
+  }
+
+  private void setBid(OrderBookPublisher publisher, String price, String size) {
+    publisher.update(null, () -> book.setBid(new BigDecimal(price), new BigDecimal(size)));
+  }
+}
@@ -0,0 +1,98 @@
+package info.bitrich.xchangestream.book;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import info.bitrich.xchangestream.core.StreamingMarketDataService;
+import io.reactivex.rxjava3.core.Observable;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import org.junit.Test;
+import org.knowm.xchange.currency.CurrencyPair;
+import org.knowm.xchange.dto.Order.OrderType;
+import org.knowm.xchange.dto.marketdata.OrderBook;
+import org.knowm.xchange.dto.marketdata.PrimitiveOrderBook;
+import org.knowm.xchange.dto.trade.LimitOrder;
+
+public class TopOfBookTest {
+
+  @Test
+  public void testDerivesTheTopOfBookFromTheOrderBookStream() {
+    StreamingMarketDataService service =
+        new StreamingMarketDataService() {
+          @Override
+          public Observable<OrderBook> getOrderBook(CurrencyPair currencyPair, Object... args) {
+            return Observable.just(
+                orderBook(1, "101", "100", "99"),
+                orderBook(2, "101", "100", "98"),
+                orderBook(3, "101", "100.5", "99"),
+                orderBook(4, "101", "100.5", "99"));
+          }
+        };
+
+    List<TopOfBook> tops = service.getTopOfBook(CurrencyPair.BTC_USD, 1).toList().blockingGet();
+
+    assertThat(tops).hasSize(2);
+    assertThat(tops.get(0).getBestBid()).isEqualTo(100);
+    assertThat(tops.get(0).getBestAsk()).isEqualTo(101);
+    assertThat(tops.get(0).getTimestamp()).isEqualTo(1);
+    assertThat(tops.get(1).getBestBid()).isEqualTo(100.5);
+    assertThat(tops.get(1).getBidSize(0)).isEqualTo(1);
+  }
+
+  @Test
+  public void testReadsTheBestLevelsOfALocalBook() {
+    L2OrderBook book = new L2OrderBook();
+    book.startSnapshot(L2OrderBook.UNKNOWN_SEQUENCE);
+    book.setBid(new BigDecimal("99.5"), new BigDecimal("2"));
+    book.setBid(new BigDecimal("100"), new BigDecimal("1"));
+    book.setBid(new BigDecimal("98"), new BigDecimal("3"));
+
+    TopOfBook top = book.topOfBook(CurrencyPair.BTC_USD, null, 2);
+
+    assertThat(top.getBidDepth()).isEqualTo(2);
+    assertThat(top.getBidPrice(1)).isEqualTo(99.5);
+    assertThat(top.getBidSize(1)).isEqualTo(2);
+    assertThat(top.getAskDepth()).isZero();
+    assertThat(top.getBestAsk()).isNaN();
+    assertThat(top.getTimestamp()).isZero();
+    assertThat(top.hasSameLevels(book.topOfBook(CurrencyPair.BTC_USD, new Date(), 2))).isTrue();
+    assertThat(top.hasSameLevels(book.topOfBook(CurrencyPair.BTC_USD, null, 3))).isFalse();
+  }
+
+  @Test
+  public void testReadsTheBestLevelsOfAPrimitiveBook() {
+    PrimitiveOrderBook book = new PrimitiveOrderBook(CurrencyPair.BTC_USD, 2, 4, 4);
+    book.update(OrderType.BID, new BigDecimal("99.95"), new BigDecimal("0.0003"));
+    book.update(OrderType.BID, new BigDecimal("100.1"), new BigDecimal("2"));
+    book.update(OrderType.ASK, new BigDecimal("100.2"), new BigDecimal("1.5"));
+    book.updateDate(7);
+
+    TopOfBook top = TopOfBook.of(CurrencyPair.BTC_USD, book, 2);
+
+    assertThat(top.getBidDepth()).isEqualTo(2);
+    assertThat(top.getBestBid()).isEqualTo(100.1);
+    assertThat(top.getBidPrice(1)).isEqualTo(99.95);
+    assertThat(top.getBidSize(1)).isEqualTo(0.0003);
+    assertThat(top.getBestAsk()).isEqualTo(100.2);
+    assertThat(top.getAskSize(0)).isEqualTo(1.5);
+    assertThat(top.getTimestamp()).isEqualTo(7);
+    assertThat(top.hasSameLevels(TopOfBook.of(CurrencyPair.BTC_USD, book.toOrderBook(), 2)))
+        .isTrue();
+  }
+
+  private static OrderBook orderBook(long timestamp, String ask, String bid, String secondBid) {
+    return new OrderBook(
+        new Date(timestamp),
+        Arrays.asList(limitOrder(OrderType.ASK, ask)),
+        Arrays.asList(limitOrder(OrderType.BID, bid), limitOrder(OrderType.BID, secondBid)));
+  }
+
+  private static LimitOrder limitOrder(OrderType type, String price) {
+    return new LimitOrder.Builder(type, CurrencyPair.BTC_USD)
+        .limitPrice(new BigDecimal(price))
+        .originalAmount(BigDecimal.ONE)
+        .build();
+  }
+}
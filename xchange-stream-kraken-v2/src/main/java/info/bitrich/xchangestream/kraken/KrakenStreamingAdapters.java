@@ -1,5 +1,8 @@
 package info.bitrich.xchangestream.kraken;
 
+import info.bitrich.xchangestream.book.BookChecksum;
+import info.bitrich.xchangestream.book.BookSide;
+import info.bitrich.xchangestream.book.L2OrderBook;
 import info.bitrich.xchangestream.kraken.dto.request.KrakenSubscribeMessage;
 import info.bitrich.xchangestream.kraken.dto.request.KrakenUnsubscribeMessage;
 import info.bitrich.xchangestream.kraken.dto.request.KrakenUnsubscribeMessage.Params;
@@ -8,18 +11,17 @@ import info.bitrich.xchangestream.kraken.dto.response.KrakenExecutionsMessage;
 import info.bitrich.xchangestream.kraken.dto.response.KrakenTickerMessage;
 import info.bitrich.xchangestream.kraken.dto.response.KrakenTradeMessage;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.zip.CRC32;
 import lombok.experimental.UtilityClass;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.account.Balance;
@@ -69,33 +71,67 @@ public class KrakenStreamingAdapters {
    * followed by the top 10 ask levels (best first), each level formatted as {@code price:qty} with
    * 8 decimal places and levels joined by commas.
    *
-   * @param bids bid levels by price (any order)
-   * @param asks ask levels by price (any order)
+   * @param bids bid levels by price, fastest as a map sorted best first
+   * @param asks ask levels by price, fastest as a map sorted best first
    * @return CRC32 checksum
    */
   public static long checksum(Map<BigDecimal, BigDecimal> bids, Map<BigDecimal, BigDecimal> asks) {
-    List<String> levels = new ArrayList<>();
-    appendLevels(levels, bids, true); // best bid first
-    appendLevels(levels, asks, false); // best ask first
-    CRC32 crc32 = new CRC32();
-    crc32.update(String.join(",", levels).getBytes(StandardCharsets.UTF_8));
-    return crc32.getValue();
+    BookChecksum checksum = BookChecksum.forCurrentThread();
+    boolean first = appendLevels(checksum, bestFirst(bids, Collections.reverseOrder()), true);
+    appendLevels(checksum, bestFirst(asks, null), first);
+    return checksum.getValue();
   }
 
-  private static void appendLevels(
-      List<String> levels, Map<BigDecimal, BigDecimal> levelsByPrice, boolean descending) {
-    levelsByPrice.entrySet().stream()
-        .sorted(
-            descending
-                ? Map.Entry.<BigDecimal, BigDecimal>comparingByKey().reversed()
-                : Map.Entry.<BigDecimal, BigDecimal>comparingByKey())
-        .limit(10)
-        .forEach(
-            entry ->
-                levels.add(
-                    entry.getKey().setScale(8, RoundingMode.HALF_UP).toPlainString()
-                        + ':'
-                        + entry.getValue().setScale(8, RoundingMode.HALF_UP).toPlainString()));
+  /**
+   * Computes the Kraken v2 order book checksum of a book, as {@link #checksum(Map, Map)}.
+   *
+   * @param book the book, bids and asks best first
+   * @return CRC32 checksum
+   */
+  public static long checksum(L2OrderBook book) {
+    BookChecksum checksum = BookChecksum.forCurrentThread();
+    boolean first = appendLevels(checksum, book.getBids(), true);
+    appendLevels(checksum, book.getAsks(), first);
+    return checksum.getValue();
+  }
+
+  private static boolean appendLevels(BookChecksum checksum, BookSide side, boolean first) {
+    int depth = Math.min(10, side.depth());
+    for (int level = 0; level < depth; level++) {
+      if (!first) {
+        checksum.append(',');
+      }
+      checksum.append(side.price(level), 8).append(':').append(side.size(level), 8);
+      first = false;
+    }
+    return first;
+  }
+
+  private static boolean appendLevels(
+      BookChecksum checksum, Map<BigDecimal, BigDecimal> levels, boolean first) {
+    int count = 0;
+    for (Map.Entry<BigDecimal, BigDecimal> level : levels.entrySet()) {
+      if (count++ == 10) {
+        break;
+      }
+      if (!first) {
+        checksum.append(',');
+      }
+      checksum.append(level.getKey(), 8).append(':').append(level.getValue(), 8);
+      first = false;
+    }
+    return first;
+  }
+
+  private static Map<BigDecimal, BigDecimal> bestFirst(
+      Map<BigDecimal, BigDecimal> levels, Comparator<BigDecimal> order) {
+    if (levels instanceof SortedMap
+        && Objects.equals(((SortedMap<BigDecimal, BigDecimal>) levels).comparator(), order)) {
+      return levels;
+    }
+    SortedMap<BigDecimal, BigDecimal> sorted = new TreeMap<>(order);
+    sorted.putAll(levels);
+    return sorted;
   }
 
   /** Returns unique subscription id. Can be used as key for subscriptions caching */
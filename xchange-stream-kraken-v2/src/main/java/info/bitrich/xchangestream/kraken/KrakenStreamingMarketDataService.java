@@ -1,5 +1,11 @@
 package info.bitrich.xchangestream.kraken;
 
+import info.bitrich.xchangestream.book.BookSide;
+import info.bitrich.xchangestream.book.ChecksumPolicy;
+import info.bitrich.xchangestream.book.L2OrderBook;
+import info.bitrich.xchangestream.book.L2OrderBook.Result;
+import info.bitrich.xchangestream.book.SequencePolicy;
+import info.bitrich.xchangestream.book.TopOfBook;
 import info.bitrich.xchangestream.core.StreamingMarketDataService;
 import info.bitrich.xchangestream.kraken.dto.common.ChannelType;
 import info.bitrich.xchangestream.kraken.dto.response.KrakenBookMessage;
@@ -16,15 +22,12 @@ import java.math.BigDecimal;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.marketdata.OrderBook;
 import org.knowm.xchange.dto.marketdata.Ticker;
 import org.knowm.xchange.dto.marketdata.Trade;
-import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.instrument.Instrument;
 
 @Slf4j
@@ -32,9 +35,11 @@ public class KrakenStreamingMarketDataService implements StreamingMarketDataServ
 
   private final KrakenStreamingService service;
 
-  /** Incremental book state per instrument: bids/asks by price. */
+  /** Incremental book state per instrument. */
   private final Map<Instrument, BookState> bookStates = new ConcurrentHashMap<>();
 
+  private final Map<Instrument, Observable<BookState>> bookChanges = new ConcurrentHashMap<>();
+
   public KrakenStreamingMarketDataService(KrakenStreamingService service) {
     this.service = service;
   }
@@ -77,12 +82,33 @@ public class KrakenStreamingMarketDataService implements StreamingMarketDataServ
    */
   @Override
   public Observable<OrderBook> getOrderBook(Instrument instrument, Object... args) {
-    BookState state = bookStates.computeIfAbsent(instrument, BookState::new);
-    return service
-        .subscribeChannel(ChannelType.BOOK.getValue(), instrument)
-        .map(KrakenBookMessage.class::cast)
-        .concatMap(message -> applyBookMessage(instrument, state, message))
-        .map(ignored -> state.toOrderBook());
+    return bookChanges(instrument).map(BookState::toOrderBook);
+  }
+
+  /** The best levels of the book, read from its state after each message changing it. */
+  @Override
+  public Observable<TopOfBook> getTopOfBook(Instrument instrument, int depth) {
+    return bookChanges(instrument)
+        .map(state -> state.topOfBook(depth))
+        .distinctUntilChanged(TopOfBook::hasSameLevels);
+  }
+
+  /**
+   * The book state of the instrument, emitted after each message applied to it. Shared, so that
+   * the messages are applied once however many book observables are subscribed.
+   */
+  private Observable<BookState> bookChanges(Instrument instrument) {
+    return bookChanges.computeIfAbsent(
+        instrument,
+        key -> {
+          BookState state = bookStates.computeIfAbsent(instrument, BookState::new);
+          return service
+              .subscribeChannel(ChannelType.BOOK.getValue(), instrument)
+              .map(KrakenBookMessage.class::cast)
+              .concatMap(message -> applyBookMessage(instrument, state, message))
+              .map(ignored -> state)
+              .share();
+        });
   }
 
   @Override
@@ -120,23 +146,19 @@ public class KrakenStreamingMarketDataService implements StreamingMarketDataServ
     if (payload == null || payload.getBids() == null || payload.getAsks() == null) {
       return Observable.empty();
     }
-    if (message.getType() == KrakenMessageType.SNAPSHOT) {
-      state.applySnapshot(payload);
-      if (!state.validateChecksum(payload.getChecksum(), instrument)) {
-        state.reset();
+    switch (state.apply(message.getType() == KrakenMessageType.SNAPSHOT, payload)) {
+      case APPLIED:
+        return Observable.just(true);
+      case CHECKSUM_MISMATCH:
+        // gap: the book was dropped, force a fresh snapshot on the same subscription
+        log.error(
+            "Order book checksum mismatch for {}: expected {}", instrument, payload.getChecksum());
         resubscribeBook(instrument);
         return Observable.empty();
-      }
-      return Observable.just(true);
-    }
-    state.applyUpdate(payload);
-    if (!state.validateChecksum(payload.getChecksum(), instrument)) {
-      // gap: drop the inconsistent book and force a fresh snapshot on the same subscription
-      state.reset();
-      resubscribeBook(instrument);
-      return Observable.empty();
+      default:
+        // an update after a mismatch, before the fresh snapshot arrives
+        return Observable.empty();
     }
-    return Observable.just(true);
   }
 
   private void resubscribeBook(Instrument instrument) {
@@ -147,89 +169,56 @@ public class KrakenStreamingMarketDataService implements StreamingMarketDataServ
   /** Per-instrument incremental book state. */
   static final class BookState {
 
+    /** The top 10 levels per side must match the checksum of the message. */
+    private static final ChecksumPolicy CHECKSUM_POLICY =
+        (book, checksum) -> KrakenStreamingAdapters.checksum(book) == checksum;
+
     private final Instrument instrument;
-    private final Map<BigDecimal, BigDecimal> bids =
-        java.util.Collections.synchronizedSortedMap(
-            new TreeMap<>(java.util.Collections.reverseOrder()));
-    private final Map<BigDecimal, BigDecimal> asks =
-        java.util.Collections.synchronizedSortedMap(new TreeMap<>());
+    // only accessed from the synchronized methods below, so a whole message is applied under a
+    // single monitor instead of locking per price level
+    private final L2OrderBook book = new L2OrderBook(SequencePolicy.NONE, CHECKSUM_POLICY);
 
     BookState(Instrument instrument) {
       this.instrument = instrument;
     }
 
-    synchronized void applySnapshot(KrakenBookLevels payload) {
-      bids.clear();
-      asks.clear();
-      applyLevels(bids, payload.getBids());
-      applyLevels(asks, payload.getAsks());
-    }
-
-    synchronized void applyUpdate(KrakenBookLevels payload) {
-      applyLevels(bids, payload.getBids());
-      applyLevels(asks, payload.getAsks());
-    }
-
-    private static BigDecimal toBigDecimal(String value) {
-      return new BigDecimal(value);
+    /**
+     * Applies a snapshot or an update and validates the checksum it carries.
+     *
+     * @return {@link Result#APPLIED}, {@link Result#AWAITING_SNAPSHOT} for an update before any
+     *     snapshot, or {@link Result#CHECKSUM_MISMATCH} having dropped the book
+     */
+    synchronized Result apply(boolean snapshot, KrakenBookLevels payload) {
+      if (snapshot) {
+        book.startSnapshot(L2OrderBook.UNKNOWN_SEQUENCE);
+      } else {
+        Result result = book.startDelta(L2OrderBook.UNKNOWN_SEQUENCE, L2OrderBook.UNKNOWN_SEQUENCE);
+        if (result != Result.APPLIED) {
+          return result;
+        }
+      }
+      applyLevels(book.getBids(), payload.getBids());
+      applyLevels(book.getAsks(), payload.getAsks());
+      // a message without a checksum has nothing to validate
+      return payload.getChecksum() == null ? Result.APPLIED : book.verify(payload.getChecksum());
     }
 
-    private static void applyLevels(
-        Map<BigDecimal, BigDecimal> levels, List<List<String>> rawLevels) {
+    private static void applyLevels(BookSide side, List<List<String>> rawLevels) {
       for (List<String> raw : rawLevels) {
         if (raw.size() < 2) {
           continue;
         }
-        BigDecimal price = toBigDecimal(raw.get(0));
-        BigDecimal quantity = toBigDecimal(raw.get(1));
-        if (quantity.signum() == 0) {
-          levels.remove(price);
-        } else {
-          levels.put(price, quantity);
-        }
+        // a zero quantity removes the level
+        side.set(new BigDecimal(raw.get(0)), new BigDecimal(raw.get(1)));
       }
     }
 
-    synchronized boolean validateChecksum(Long expected, Instrument forInstrument) {
-      if (expected == null) {
-        return true; // no checksum in this message; nothing to validate
-      }
-      long actual = KrakenStreamingAdapters.checksum(bids, asks);
-      if (actual != expected) {
-        log.error(
-            "Order book checksum mismatch for {}: expected {} but computed {}",
-            forInstrument,
-            expected,
-            actual);
-        return false;
-      }
-      return true;
-    }
-
-    synchronized void reset() {
-      bids.clear();
-      asks.clear();
-    }
-
     synchronized OrderBook toOrderBook() {
-      Date timestamp = new Date();
-      // XChange OrderBook constructor expects asks before bids
-      return new OrderBook(
-          timestamp,
-          toLimitOrders(asks, org.knowm.xchange.dto.Order.OrderType.ASK),
-          toLimitOrders(bids, org.knowm.xchange.dto.Order.OrderType.BID));
+      return book.toOrderBook(instrument, new Date());
     }
 
-    private List<LimitOrder> toLimitOrders(
-        Map<BigDecimal, BigDecimal> levels, org.knowm.xchange.dto.Order.OrderType type) {
-      return levels.entrySet().stream()
-          .map(
-              entry ->
-                  new LimitOrder.Builder(type, instrument)
-                      .limitPrice(entry.getKey())
-                      .originalAmount(entry.getValue())
-                      .build())
-          .collect(Collectors.toList());
+    synchronized TopOfBook topOfBook(int depth) {
+      return book.topOfBook(instrument, new Date(), depth);
     }
   }
 }
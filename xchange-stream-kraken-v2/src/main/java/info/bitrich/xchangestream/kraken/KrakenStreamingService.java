@@ -7,9 +7,13 @@ import info.bitrich.xchangestream.kraken.dto.response.KrakenDataMessage;
 import info.bitrich.xchangestream.kraken.dto.response.KrakenMessage;
 import info.bitrich.xchangestream.service.netty.NettyStreamingService;
 import info.bitrich.xchangestream.service.netty.WebSocketClientCompressionAllowClientNoContextHandler;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
 import io.netty.channel.Channel;
 import io.netty.handler.codec.http.websocketx.extensions.WebSocketClientExtensionHandler;
+import io.netty.util.CharsetUtil;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -125,29 +129,48 @@ public class KrakenStreamingService extends NettyStreamingService<KrakenMessage>
     log.debug("Received message: {}", message);
 
     try {
-      KrakenMessage krakenMessage = objectMapper.readValue(message, KrakenMessage.class);
+      handleKrakenMessage(objectMapper.readValue(message, KrakenMessage.class));
+    } catch (JsonProcessingException e) {
+      log.error("Error parsing incoming message to JSON: {}", message);
+      log.error(e.getMessage(), e);
+    }
+  }
 
-      // if there are several data entries split them and process separately
-      if (krakenMessage instanceof KrakenDataMessage
-          && ((KrakenDataMessage) krakenMessage).getData() != null
-          && ((KrakenDataMessage) krakenMessage).getData().size() > 1) {
+  /** Parses the message straight from the netty buffer, without decoding it to a String. */
+  @Override
+  public void messageHandler(ByteBuf message) {
+    if (log.isDebugEnabled()) {
+      log.debug("Received message: {}", message.toString(CharsetUtil.UTF_8));
+    }
 
-        KrakenDataMessage krakenDataMessage = (KrakenDataMessage) krakenMessage;
+    KrakenMessage krakenMessage;
+    try (InputStream in = new ByteBufInputStream(message.duplicate())) {
+      krakenMessage = objectMapper.readValue(in, KrakenMessage.class);
+    } catch (IOException e) {
+      log.error("Error parsing incoming message to JSON: {}", message.toString(CharsetUtil.UTF_8));
+      log.error(e.getMessage(), e);
+      return;
+    }
+    handleKrakenMessage(krakenMessage);
+  }
+
+  private void handleKrakenMessage(KrakenMessage krakenMessage) {
+    // if there are several data entries split them and process separately
+    if (krakenMessage instanceof KrakenDataMessage
+        && ((KrakenDataMessage) krakenMessage).getData() != null
+        && ((KrakenDataMessage) krakenMessage).getData().size() > 1) {
 
-        for (int i = 0; i < krakenDataMessage.getData().size(); i++) {
-          var currentDataEntry = krakenDataMessage.getData().get(i);
-          var copiedDataMessage =
-              krakenDataMessage.toBuilder().data(List.of(currentDataEntry)).build();
-          handleMessage(copiedDataMessage);
-        }
+      KrakenDataMessage krakenDataMessage = (KrakenDataMessage) krakenMessage;
 
-      } else {
-        handleMessage(krakenMessage);
+      for (int i = 0; i < krakenDataMessage.getData().size(); i++) {
+        var currentDataEntry = krakenDataMessage.getData().get(i);
+        var copiedDataMessage =
+            krakenDataMessage.toBuilder().data(List.of(currentDataEntry)).build();
+        handleMessage(copiedDataMessage);
       }
 
-    } catch (JsonProcessingException e) {
-      log.error("Error parsing incoming message to JSON: {}", message);
-      log.error(e.getMessage(), e);
+    } else {
+      handleMessage(krakenMessage);
     }
   }
 }
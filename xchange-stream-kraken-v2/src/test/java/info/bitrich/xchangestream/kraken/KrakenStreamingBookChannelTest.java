@@ -3,6 +3,7 @@ package info.bitrich.xchangestream.kraken;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -12,6 +13,7 @@ import info.bitrich.xchangestream.kraken.dto.response.KrakenBookMessage;
 import info.bitrich.xchangestream.kraken.dto.response.KrakenMessage;
 import info.bitrich.xchangestream.kraken.dto.response.KrakenOhlcMessage;
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigDecimal;
@@ -93,6 +95,32 @@ class KrakenStreamingBookChannelTest {
         .resubscribeChannel(eq("book"), eq(CurrencyPair.BTC_USD));
   }
 
+  @Test
+  void top_of_book_is_read_from_the_book_shared_with_the_order_book() throws Exception {
+    KrakenBookMessage snapshot =
+        readMessage("sample-messages/book-snapshot.json", KrakenBookMessage.class);
+    KrakenBookMessage update =
+        readMessage("sample-messages/book-update.json", KrakenBookMessage.class);
+    PublishSubject<KrakenMessage> messages = PublishSubject.create();
+
+    when(krakenStreamingService.subscribeChannel(eq("book"), eq(CurrencyPair.BTC_USD)))
+        .thenReturn(messages);
+
+    var books = service.getOrderBook(CurrencyPair.BTC_USD).test();
+    var tops = service.getTopOfBook(CurrencyPair.BTC_USD, 1).test();
+    messages.onNext(snapshot);
+    messages.onNext(update);
+
+    books.assertValueCount(2);
+    tops.assertValueCount(2);
+    assertThat(tops.values().get(0).getBestBid()).isEqualTo(66500.1);
+    assertThat(tops.values().get(0).getBidSize(0)).isEqualTo(1.5);
+    assertThat(tops.values().get(0).getBestAsk()).isEqualTo(66500.2);
+    assertThat(tops.values().get(1).getBestBid()).isEqualTo(66501.0);
+    verify(krakenStreamingService, times(1))
+        .subscribeChannel(eq("book"), eq(CurrencyPair.BTC_USD));
+  }
+
   @Test
   void checksum_mismatch_triggers_gap_recovery_and_rebuild() throws Exception {
     KrakenBookMessage snapshot =
@@ -1,12 +1,10 @@
 package info.bitrich.xchangestream.kraken;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import info.bitrich.xchangestream.book.BookChecksum;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.TreeSet;
-import java.util.concurrent.TimeUnit;
 import java.util.zip.CRC32;
 import org.apache.commons.lang3.StringUtils;
 import org.knowm.xchange.dto.trade.LimitOrder;
@@ -15,22 +13,8 @@ import org.knowm.xchange.dto.trade.LimitOrder;
 public class KrakenStreamingChecksum {
   private static final int CHECKSUM_ORDERBOOK_DEPTH = 10;
 
-  private static final LoadingCache<BigDecimal, String> crcStringCache =
-      CacheBuilder.newBuilder()
-          .expireAfterAccess(1, TimeUnit.MINUTES)
-          .maximumSize(500)
-          .build(
-              new CacheLoader<BigDecimal, String>() {
-                @Override
-                public String load(BigDecimal key) throws Exception {
-                  String result = key.toPlainString();
-                  result = result.replace(".", "");
-                  return StringUtils.stripStart(result, "0");
-                }
-              });
-
   static void addBigDecimalToCrcString(StringBuilder stringBuilder, BigDecimal bigDecimal) {
-    stringBuilder.append(crcStringCache.getUnchecked(bigDecimal));
+    stringBuilder.append(StringUtils.stripStart(bigDecimal.toPlainString().replace(".", ""), "0"));
   }
 
   static void addOrderToCrcString(StringBuilder stringBuilder, LimitOrder order) {
@@ -55,7 +39,19 @@ public class KrakenStreamingChecksum {
     return crc.getValue();
   }
 
+  /** The checksum of {@link #createCrcString}, without building it. */
   public static long createCrcChecksum(TreeSet<LimitOrder> asks, TreeSet<LimitOrder> bids) {
-    return createCrcLong(createCrcString(asks, bids));
+    BookChecksum checksum = BookChecksum.forCurrentThread();
+    appendOrders(checksum, asks);
+    appendOrders(checksum, bids);
+    return checksum.getValue();
+  }
+
+  private static void appendOrders(BookChecksum checksum, TreeSet<LimitOrder> orders) {
+    Iterator<LimitOrder> iterator = orders.iterator();
+    for (int i = 0; i < CHECKSUM_ORDERBOOK_DEPTH && iterator.hasNext(); i++) {
+      LimitOrder order = iterator.next();
+      checksum.appendDigits(order.getLimitPrice()).appendDigits(order.getOriginalAmount());
+    }
   }
 }
@@ -165,4 +165,9 @@ public class KrakenStreamingChecksumTest {
     long crcLong = KrakenStreamingChecksum.createCrcLong(expectedCrcString);
     assertThat(crcLong).isEqualTo(974947235L);
   }
+
+  @Test
+  public void testCreateCrcChecksum() {
+    assertThat(KrakenStreamingChecksum.createCrcChecksum(asks, bids)).isEqualTo(974947235L);
+  }
 }
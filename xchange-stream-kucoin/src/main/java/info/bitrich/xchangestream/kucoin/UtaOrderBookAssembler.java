@@ -1,14 +1,12 @@
 package info.bitrich.xchangestream.kucoin;
 
+import info.bitrich.xchangestream.book.ChecksumPolicy;
+import info.bitrich.xchangestream.book.L2OrderBook;
+import info.bitrich.xchangestream.book.SequencePolicy;
 import java.math.BigDecimal;
-import java.util.Comparator;
 import java.util.Date;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.TreeMap;
-import org.knowm.xchange.dto.Order.OrderType;
 import org.knowm.xchange.dto.marketdata.OrderBook;
-import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.instrument.Instrument;
 
 /**
@@ -20,7 +18,8 @@ import org.knowm.xchange.instrument.Instrument;
  * numbers not exceeding the snapshot's sequence are dropped; a size of zero removes the price
  * level; every other delta sets the absolute size. A continuity violation is reported as a gap and
  * the assembler clears state so the caller must rebuild from a fresh authoritative snapshot — no
- * path continues on unproved sequence state.
+ * path continues on unproved sequence state. The book itself is a {@link L2OrderBook} with the
+ * {@link SequencePolicy#CONTIGUOUS} policy.
  *
  * @see <a href="https://www.kucoin.com/docs-new/3470221w0">Orderbook channel documentation</a>
  */
@@ -37,11 +36,8 @@ public final class UtaOrderBookAssembler {
     GAP
   }
 
-  private final TreeMap<BigDecimal, BigDecimal> bids =
-      new TreeMap<>(Comparator.reverseOrder());
-  private final TreeMap<BigDecimal, BigDecimal> asks = new TreeMap<>();
-  private long lastSequence = -1L;
-  private boolean synced;
+  private final L2OrderBook book =
+      new L2OrderBook(SequencePolicy.CONTIGUOUS, ChecksumPolicy.NONE);
 
   /**
    * Applies a snapshot or delta update.
@@ -60,81 +56,39 @@ public final class UtaOrderBookAssembler {
       List<List<BigDecimal>> bidLevels,
       List<List<BigDecimal>> askLevels) {
     if (snapshot) {
-      bids.clear();
-      asks.clear();
-      apply(bids, bidLevels);
-      apply(asks, askLevels);
-      lastSequence = sequenceEnd;
-      synced = true;
+      book.applySnapshot(sequenceEnd, bidLevels, askLevels);
       return Result.APPLIED;
     }
-    if (!synced) {
-      return Result.AWAITING_SNAPSHOT;
-    }
-    if (sequenceEnd <= lastSequence) {
-      return Result.STALE_DROPPED;
-    }
-    if (sequenceStart > lastSequence + 1) {
-      reset();
-      return Result.GAP;
-    }
-    apply(bids, bidLevels);
-    apply(asks, askLevels);
-    lastSequence = sequenceEnd;
-    return Result.APPLIED;
-  }
-
-  private static void apply(TreeMap<BigDecimal, BigDecimal> book, List<List<BigDecimal>> levels) {
-    if (levels == null) {
-      return;
-    }
-    for (List<BigDecimal> level : levels) {
-      if (level == null || level.size() < 2) {
-        continue;
-      }
-      BigDecimal price = level.get(0);
-      BigDecimal size = level.get(1);
-      if (size == null || size.signum() == 0) {
-        book.remove(price);
-      } else {
-        book.put(price, size);
-      }
+    switch (book.applyDelta(sequenceStart, sequenceEnd, bidLevels, askLevels)) {
+      case APPLIED:
+        return Result.APPLIED;
+      case STALE_DROPPED:
+        return Result.STALE_DROPPED;
+      case AWAITING_SNAPSHOT:
+        return Result.AWAITING_SNAPSHOT;
+      default:
+        return Result.GAP;
     }
   }
 
   /** Clears the assembled state; the next accepted update must be a snapshot. */
   public void reset() {
-    bids.clear();
-    asks.clear();
-    lastSequence = -1L;
-    synced = false;
+    book.reset();
   }
 
   public boolean isSynced() {
-    return synced;
+    return book.isSynced();
   }
 
   public long getLastSequence() {
-    return lastSequence;
+    return book.getLastSequence();
+  }
+
+  L2OrderBook getBook() {
+    return book;
   }
 
   public OrderBook toOrderBook(Instrument instrument, Date timestamp) {
-    List<LimitOrder> askOrders = new LinkedList<>();
-    for (var entry : asks.entrySet()) {
-      askOrders.add(
-          new LimitOrder.Builder(OrderType.ASK, instrument)
-              .limitPrice(entry.getKey())
-              .originalAmount(entry.getValue())
-              .build());
-    }
-    List<LimitOrder> bidOrders = new LinkedList<>();
-    for (var entry : bids.entrySet()) {
-      bidOrders.add(
-          new LimitOrder.Builder(OrderType.BID, instrument)
-              .limitPrice(entry.getKey())
-              .originalAmount(entry.getValue())
-              .build());
-    }
-    return new OrderBook(timestamp, askOrders, bidOrders, true);
+    return book.toOrderBook(instrument, timestamp);
   }
 }
@@ -28,6 +28,12 @@ import org.knowm.xchange.kucoin.uta.dto.UtaTradeType;
  */
 public class UtaStreamingExchange extends KucoinExchange implements StreamingExchange {
 
+  /**
+   * {@link java.time.Duration} of the conflation of the order book streams: at most one book is
+   * published per interval, the latest one. Unset publishes the book after every update.
+   */
+  public static final String ORDER_BOOK_CONFLATION_INTERVAL = "Order_Book_Conflation_Interval";
+
   private static final String SPOT_PUSH_URI = "wss://x-push-spot.kucoin.com";
   private static final String FUTURES_PUSH_URI = "wss://x-push-futures.kucoin.com";
   private static final String PRIVATE_PUSH_URI = "wss://wsapi-push.kucoin.com";
@@ -1,11 +1,17 @@
 package info.bitrich.xchangestream.kucoin;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import info.bitrich.xchangestream.book.OrderBookPublisher;
+import info.bitrich.xchangestream.book.OrderBookPublisher.Delivery;
+import info.bitrich.xchangestream.book.OrderBookView;
+import info.bitrich.xchangestream.book.TopOfBook;
 import info.bitrich.xchangestream.core.StreamingMarketDataService;
 import info.bitrich.xchangestream.kucoin.dto.uta.UtaWsFrame;
 import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +38,10 @@ import org.slf4j.LoggerFactory;
  * dropped, and a sequence gap resets the assembler and triggers a channel resubscription so the
  * rebuild always starts from a fresh authoritative snapshot. Frames arriving from a stale
  * connection generation are discarded.
+ *
+ * <p>Books are published by an {@link OrderBookPublisher}, at most one per {@link
+ * UtaStreamingExchange#ORDER_BOOK_CONFLATION_INTERVAL} when set; {@link #getUtaOrderBookViews}
+ * lets a subscriber read the top of the book without materializing an {@link OrderBook}.
  */
 public class UtaStreamingMarketDataService implements StreamingMarketDataService {
 
@@ -84,13 +94,29 @@ public class UtaStreamingMarketDataService implements StreamingMarketDataService
   }
 
   public Observable<OrderBook> getUtaOrderBook(Instrument instrument) {
+    return orderBookSubscription(instrument).stream;
+  }
+
+  /**
+   * Views of the UTA order book of the instrument, which materialize its levels as an {@link
+   * OrderBook} on demand only.
+   */
+  public Observable<OrderBookView> getUtaOrderBookViews(Instrument instrument, Delivery delivery) {
+    return orderBookSubscription(instrument).views(delivery);
+  }
+
+  @Override
+  public Observable<TopOfBook> getTopOfBook(Instrument instrument, int depth) {
+    return orderBookSubscription(instrument).topOfBook(depth);
+  }
+
+  private OrderBookSubscription orderBookSubscription(Instrument instrument) {
     String tradeType = UtaTradeTypes.of(instrument);
     String symbol = exchange.getUtaProviderSymbol(instrument);
     String channelName = "obu";
     String uniqueId = service.getSubscriptionUniqueId(channelName, tradeType, symbol, DEPTH_INCREMENT_10MS);
-    return orderBookSubscriptions
-        .computeIfAbsent(uniqueId, id -> new OrderBookSubscription(instrument, tradeType, symbol))
-        .stream;
+    return orderBookSubscriptions.computeIfAbsent(
+        uniqueId, id -> new OrderBookSubscription(instrument, tradeType, symbol));
   }
 
   @Override
@@ -139,6 +165,8 @@ public class UtaStreamingMarketDataService implements StreamingMarketDataService
     final String uniqueId;
     final UtaOrderBookAssembler assembler = new UtaOrderBookAssembler();
     final AtomicReference<Long> subscriptionGeneration = new AtomicReference<>(null);
+    final OrderBookPublisher publisher;
+    final Observable<JsonNode> frames;
     final Observable<OrderBook> stream;
 
     OrderBookSubscription(Instrument instrument, String tradeType, String symbol) {
@@ -146,41 +174,59 @@ public class UtaStreamingMarketDataService implements StreamingMarketDataService
       this.tradeType = tradeType;
       this.symbol = symbol;
       this.uniqueId = service.getSubscriptionUniqueId("obu", tradeType, symbol, DEPTH_INCREMENT_10MS);
-      this.stream =
+      Duration interval =
+          (Duration)
+              exchange
+                  .getExchangeSpecification()
+                  .getExchangeSpecificParametersItem(
+                      UtaStreamingExchange.ORDER_BOOK_CONFLATION_INTERVAL);
+      this.publisher =
+          new OrderBookPublisher(
+              instrument,
+              assembler.getBook(),
+              Integer.MAX_VALUE,
+              interval == null ? Duration.ZERO : interval,
+              Schedulers.computation());
+      this.frames =
           service
               .subscribeChannel("obu", tradeType, symbol, DEPTH_INCREMENT_10MS)
               .doOnNext(node -> onFrame())
-              .map(
-                  node -> {
-                    UtaWsFrame frame = mapper.treeToValue(node, UtaWsFrame.class);
-                    UtaWsFrame.OrderBookData d =
-                        mapper.treeToValue(frame.getData(), UtaWsFrame.OrderBookData.class);
-                    UtaOrderBookAssembler.Result result =
-                        assembler.onUpdate(
-                            frame.isSnapshot(),
-                            d.getO() == null ? -1L : d.getO(),
-                            d.getC() == null ? -1L : d.getC(),
-                            d.getB(),
-                            d.getA());
-                    switch (result) {
-                      case GAP:
-                        LOG.warn(
-                            "UTA order book sequence gap for {} (last={}); resubscribing for a fresh snapshot",
-                            symbol,
-                            assembler.getLastSequence());
-                        service.resubscribeChannel("obu", tradeType, symbol, DEPTH_INCREMENT_10MS);
-                        return null;
-                      case APPLIED:
-                        return assembler.toOrderBook(
-                            instrument, new Date(nanosToMillis(frame.getTimestamp())));
-                      case STALE_DROPPED:
-                      case AWAITING_SNAPSHOT:
-                      default:
-                        return null;
-                    }
-                  })
-              .filter(java.util.Objects::nonNull)
+              .doOnNext(this::onOrderBookFrame)
               .share();
+      this.stream =
+          views(interval == null ? Delivery.EVERY_UPDATE : Delivery.LATEST)
+              .map(OrderBookView::toOrderBook)
+              .share();
+    }
+
+    /** The views of the publisher, subscribing to the channel feeding it while subscribed. */
+    Observable<OrderBookView> views(Delivery delivery) {
+      return publisher.views(delivery).mergeWith(frames.ignoreElements());
+    }
+
+    Observable<TopOfBook> topOfBook(int depth) {
+      return publisher.topOfBook(depth).mergeWith(frames.ignoreElements());
+    }
+
+    private void onOrderBookFrame(JsonNode node) throws Exception {
+      UtaWsFrame frame = mapper.treeToValue(node, UtaWsFrame.class);
+      UtaWsFrame.OrderBookData d =
+          mapper.treeToValue(frame.getData(), UtaWsFrame.OrderBookData.class);
+      UtaOrderBookAssembler.Result result =
+          publisher.update(
+              new Date(nanosToMillis(frame.getTimestamp())),
+              () ->
+                  assembler.onUpdate(
+                      frame.isSnapshot(),
+                      d.getO() == null ? -1L : d.getO(),
+                      d.getC() == null ? -1L : d.getC(),
+                      d.getB(),
+                      d.getA()));
+      if (result == UtaOrderBookAssembler.Result.GAP) {
+        LOG.warn(
+            "UTA order book sequence gap for {}; resubscribing for a fresh snapshot", symbol);
+        service.resubscribeChannel("obu", tradeType, symbol, DEPTH_INCREMENT_10MS);
+      }
     }
 
     private void onFrame() {
@@ -195,7 +241,10 @@ public class UtaStreamingMarketDataService implements StreamingMarketDataService
             symbol,
             observed,
             currentGeneration);
-        assembler.reset();
+        publisher.update(null, () -> {
+          assembler.reset();
+          return null;
+        });
         subscriptionGeneration.set(currentGeneration);
       }
     }
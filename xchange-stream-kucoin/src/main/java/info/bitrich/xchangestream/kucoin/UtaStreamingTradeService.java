@@ -6,6 +6,7 @@ import info.bitrich.xchangestream.core.StreamingTradeService;
 import info.bitrich.xchangestream.kucoin.dto.uta.UtaOrderData;
 import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
 import java.io.IOException;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -113,6 +114,31 @@ public class UtaStreamingTradeService implements StreamingTradeService {
   /** Cancels an order over the WebSocket trading socket (UTA mode). */
   public UtaOrderResult cancelOrderWs(String tradeType, String symbol, String orderId, String clientOid)
       throws IOException {
+    return trading().cancelOrder(cancelArgs(tradeType, symbol, orderId, clientOid));
+  }
+
+  /**
+   * Places an order over the WebSocket trading socket without blocking the caller; many orders may
+   * be in flight at once.
+   */
+  public Single<UtaOrderResult> placeOrderWsAsync(
+      String tradeType, String symbol, String clientOid, String side, String orderType,
+      String size, String sizeUnit, String price) {
+    return Single.defer(
+        () ->
+            trading()
+                .placeOrderAsync(
+                    args(tradeType, symbol, clientOid, side, orderType, size, sizeUnit, price)));
+  }
+
+  /** Cancels an order over the WebSocket trading socket without blocking the caller. */
+  public Single<UtaOrderResult> cancelOrderWsAsync(
+      String tradeType, String symbol, String orderId, String clientOid) {
+    return Single.defer(
+        () -> trading().cancelOrderAsync(cancelArgs(tradeType, symbol, orderId, clientOid)));
+  }
+
+  private ObjectNode cancelArgs(String tradeType, String symbol, String orderId, String clientOid) {
     ObjectNode args = mapper.createObjectNode();
     args.put("tradeType", tradeType);
     args.put("symbol", symbol);
@@ -122,7 +148,7 @@ public class UtaStreamingTradeService implements StreamingTradeService {
     if (clientOid != null) {
       args.put("clientOid", clientOid);
     }
-    return trading().cancelOrder(args);
+    return args;
   }
 
   private ObjectNode args(
@@ -2,19 +2,19 @@ package info.bitrich.xchangestream.kucoin;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import info.bitrich.xchangestream.service.exception.NotConnectedException;
 import info.bitrich.xchangestream.service.netty.JsonNettyStreamingService;
 import info.bitrich.xchangestream.service.netty.WebSocketClientHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.websocketx.WebSocketClientHandshaker;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.disposables.Disposable;
 import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.util.Map;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
@@ -44,8 +44,9 @@ public class UtaStreamingTradingService extends JsonNettyStreamingService {
 
   private static final String WSS_ENDPOINT = "wss://wsapi.kucoin.com/v1/private";
 
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
   private final AtomicLong refCount = new AtomicLong();
-  private final Map<String, CompletableFuture<JsonNode>> pending = new ConcurrentHashMap<>();
   private final String secretKey;
   private volatile boolean authenticated;
   private Disposable pingSubscription;
@@ -54,6 +55,7 @@ public class UtaStreamingTradingService extends JsonNettyStreamingService {
   public UtaStreamingTradingService(KucoinExchange exchange) throws IOException {
     super(buildUrl(exchange), 65536);
     this.secretKey = exchange.getExchangeSpecification().getSecretKey();
+    setRequestTimeout(REQUEST_TIMEOUT);
   }
 
   private static String buildUrl(KucoinExchange exchange) throws IOException {
@@ -92,72 +94,75 @@ public class UtaStreamingTradingService extends JsonNettyStreamingService {
   }
 
   /**
-   * Places an order over the trading socket.
+   * Places an order over the trading socket, blocking until its response.
    *
    * @return the provider result
    * @throws UtaApiException with {@link RetryClassification#UNKNOWN_OUTCOME} when the socket
    *     dropped before a definitive response — the caller must reconcile, never resubmit
    */
   public UtaOrderResult placeOrder(ObjectNode args) throws IOException {
-    return request("uta.order", args);
+    return placeOrderAsync(args).blockingGet();
   }
 
   /** Cancels an order over the trading socket; same unknown-outcome semantics as placement. */
   public UtaOrderResult cancelOrder(ObjectNode args) throws IOException {
+    return cancelOrderAsync(args).blockingGet();
+  }
+
+  /**
+   * Places an order over the trading socket without blocking, any number of requests may be in
+   * flight; same unknown-outcome semantics as {@link #placeOrder(ObjectNode)}.
+   */
+  public Single<UtaOrderResult> placeOrderAsync(ObjectNode args) {
+    return request("uta.order", args);
+  }
+
+  /** Cancels an order over the trading socket without blocking, see {@link #placeOrderAsync}. */
+  public Single<UtaOrderResult> cancelOrderAsync(ObjectNode args) {
     return request("uta.cancel", args);
   }
 
-  private UtaOrderResult request(String op, ObjectNode args) throws IOException {
-    String id = Long.toString(refCount.incrementAndGet());
-    ObjectNode request = objectMapper.createObjectNode();
-    request.put("id", id);
-    request.put("op", op);
-    request.set("args", args);
+  private Single<UtaOrderResult> request(String op, ObjectNode args) {
+    return Single.defer(
+            () ->
+                sendRequest(
+                    Long.toString(refCount.incrementAndGet()),
+                    id -> {
+                      ObjectNode request = objectMapper.createObjectNode();
+                      request.put("id", id);
+                      request.put("op", op);
+                      request.set("args", args);
+                      return objectMapper.writeValueAsString(request);
+                    }))
+        .map(UtaStreamingTradingService::adaptResult)
+        .onErrorResumeNext(e -> Single.error(adaptError(e)));
+  }
 
-    CompletableFuture<JsonNode> future = new CompletableFuture<>();
-    pending.put(id, future);
-    sendMessage(objectMapper.writeValueAsString(request));
+  private static UtaOrderResult adaptResult(JsonNode response) {
+    JsonNode data = response.path("data");
+    UtaOrderResult result = new UtaOrderResult();
+    result.setOrderId(data.path("orderId").asText(null));
+    result.setClientOid(data.path("clientOid").asText(null));
+    result.setTradeType(data.path("tradeType").asText(null));
+    result.setTs(data.path("ts").isNumber() ? data.path("ts").asLong() : null);
+    return result;
+  }
 
-    try {
-      JsonNode response = future.get(30, TimeUnit.SECONDS);
-      JsonNode data = response.path("data");
-      UtaOrderResult result = new UtaOrderResult();
-      result.setOrderId(data.path("orderId").asText(null));
-      result.setClientOid(data.path("clientOid").asText(null));
-      result.setTradeType(data.path("tradeType").asText(null));
-      result.setTs(data.path("ts").isNumber() ? data.path("ts").asLong() : null);
-      return result;
-    } catch (java.util.concurrent.TimeoutException e) {
-      pending.remove(id);
-      throw new UtaApiException(
-          "UTA WS trading request timed out",
-          e,
-          org.knowm.xchange.kucoin.KucoinApiMode.UTA,
-          "trade",
-          "wss://wsapi.kucoin.com/v1/private",
-          RetryClassification.UNKNOWN_OUTCOME);
-    } catch (java.util.concurrent.ExecutionException e) {
-      Throwable cause = e.getCause();
-      if (cause instanceof UtaApiException) {
-        throw (UtaApiException) cause;
-      }
-      throw new UtaApiException(
-          cause == null ? "UTA WS trading failure" : cause.getMessage(),
-          cause,
-          org.knowm.xchange.kucoin.KucoinApiMode.UTA,
-          "trade",
-          "wss://wsapi.kucoin.com/v1/private",
-          RetryClassification.UNKNOWN_OUTCOME);
-    } catch (InterruptedException e) {
-      Thread.currentThread().interrupt();
-      throw new UtaApiException(
-          "Interrupted while waiting for UTA WS trading response",
+  private static UtaApiException adaptError(Throwable e) {
+    if (e instanceof UtaApiException) {
+      return (UtaApiException) e;
+    }
+    if (e instanceof NotConnectedException) {
+      // Nothing was sent, so the request may safely be retried once the socket is back.
+      return new UtaApiException(
+          "UTA WS trading socket is not connected",
           e,
           org.knowm.xchange.kucoin.KucoinApiMode.UTA,
           "trade",
           "wss://wsapi.kucoin.com/v1/private",
-          RetryClassification.UNKNOWN_OUTCOME);
+          RetryClassification.RETRYABLE);
     }
+    return unknownOutcome(e.getMessage() == null ? "UTA WS trading failure" : e.getMessage(), e);
   }
 
   private static UtaApiException unknownOutcome(String message, Throwable cause) {
@@ -185,13 +190,13 @@ public class UtaStreamingTradingService extends JsonNettyStreamingService {
       return;
     }
     String id = message.path("id").asText(null);
-    if (id != null && pending.containsKey(id)) {
-      CompletableFuture<JsonNode> future = pending.remove(id);
+    if (pendingRequests.isPending(id)) {
       String code = message.path("code").asText("200000");
       if ("200000".equals(code)) {
-        future.complete(message);
+        pendingRequests.complete(id, message);
       } else {
-        future.completeExceptionally(
+        pendingRequests.fail(
+            id,
             new UtaApiException(
                 message.path("msg").asText("UTA WS trading error"),
                 code,
@@ -289,12 +294,7 @@ public class UtaStreamingTradingService extends JsonNettyStreamingService {
       if (pingSubscription != null && !pingSubscription.isDisposed()) {
         pingSubscription.dispose();
       }
-      // Fail pending placements explicitly; they must never be silently resent.
-      for (Map.Entry<String, CompletableFuture<JsonNode>> entry : pending.entrySet()) {
-        entry.getValue().completeExceptionally(
-            unknownOutcome("UTA WS trading socket disconnected before a definitive response", null));
-      }
-      pending.clear();
+      // The base handler fails pending placements with an unknown outcome, they are never resent.
       super.channelInactive(ctx);
     }
   }
@@ -2,12 +2,13 @@ package info.bitrich.xchangestream.kucoin.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import lombok.ToString;
 import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.Order;
 import org.knowm.xchange.dto.marketdata.OrderBook;
-import org.knowm.xchange.dto.trade.LimitOrder;
+import org.knowm.xchange.dto.marketdata.OrderBookUpdate;
 
 @ToString
 public class KucoinOrderBookEventData {
@@ -25,23 +26,23 @@ public class KucoinOrderBookEventData {
   public KucoinOrderBookChanges changes;
 
   public void update(CurrencyPair currencyPair, OrderBook orderBook) {
-    update(currencyPair, orderBook, Order.OrderType.BID, changes.bids);
-    update(currencyPair, orderBook, Order.OrderType.ASK, changes.asks);
+    List<OrderBookUpdate> updates = new ArrayList<>(changes.bids.size() + changes.asks.size());
+    addUpdates(updates, currencyPair, Order.OrderType.BID, changes.bids);
+    addUpdates(updates, currencyPair, Order.OrderType.ASK, changes.asks);
+    orderBook.update(updates);
   }
 
-  private void update(
+  private void addUpdates(
+      List<OrderBookUpdate> updates,
       CurrencyPair currencyPair,
-      OrderBook orderBook,
       Order.OrderType orderType,
       List<List<String>> changes) {
     for (List<String> change : changes) {
       String price = change.get(0);
       if (!"0".equals(price)) {
-        String size = change.get(1);
-        LimitOrder limitOrder =
-            new LimitOrder(
-                orderType, new BigDecimal(size), currencyPair, null, null, new BigDecimal(price));
-        orderBook.update(limitOrder);
+        BigDecimal size = new BigDecimal(change.get(1));
+        updates.add(
+            new OrderBookUpdate(orderType, size, currencyPair, new BigDecimal(price), null, size));
       }
     }
   }
@@ -1,15 +1,14 @@
 package info.bitrich.xchangestream.okx;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import info.bitrich.xchangestream.book.BookChecksum;
+import info.bitrich.xchangestream.book.BookSide;
+import info.bitrich.xchangestream.book.ChecksumPolicy;
+import info.bitrich.xchangestream.book.L2OrderBook;
+import info.bitrich.xchangestream.book.SequencePolicy;
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
-import java.util.Comparator;
-import java.util.Iterator;
-import java.util.NavigableMap;
-import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.zip.CRC32;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +38,10 @@ import org.slf4j.LoggerFactory;
  * field on 2026-06-23 and now always sends {@code 0}; a zero or absent checksum disables
  * verification and the sequence gate becomes the sole integrity check.
  *
+ * <p>The levels of each subscription are kept in a {@link L2OrderBook}, the one book the market
+ * data service publishes from. Prices and sizes are kept with the scale they were received with, so
+ * that their plain text, fed to a {@link BookChecksum}, is the text OKX computed the checksum of.
+ *
  * <p>The {@link Gate} returned by {@link #gateUpdate(String, JsonNode)} must be evaluated on the
  * same thread that applies the message; the netty event loop satisfies this naturally because all
  * messages of one channel are processed sequentially.
@@ -66,26 +69,21 @@ final class OkxBookContinuity {
     REBUILD
   }
 
-  /** A price level exactly as received from the wire, preserving the raw string representation. */
-  private static final class RawLevel {
-    final String price;
-    final String size;
-
-    RawLevel(String price, String size) {
-      this.price = price;
-      this.size = size;
-    }
-  }
+  /**
+   * A delta links to the last one applied by its {@code prevSeqId}, or must directly follow it
+   * when the venue sent none.
+   */
+  private static final SequencePolicy SEQUENCE_POLICY =
+      (lastSequence, previousSequence, sequence) ->
+          previousSequence >= 0
+              ? SequencePolicy.CHAINED.check(lastSequence, previousSequence, sequence)
+              : SequencePolicy.CONTIGUOUS.check(lastSequence, sequence, sequence);
 
-  /** Per-instrument book state: sequence tracking plus the raw levels needed for checksums. */
-  private static final class BookState {
-    long lastSeqId = UNKNOWN_SEQ;
-    boolean rebuilding;
-    final NavigableMap<BigDecimal, RawLevel> bids = new TreeMap<>(Comparator.reverseOrder());
-    final NavigableMap<BigDecimal, RawLevel> asks = new TreeMap<>();
-  }
+  /** A zero checksum is not verified. */
+  private static final ChecksumPolicy CHECKSUM_POLICY =
+      (book, checksum) -> checksum == 0 || checksum(book) == checksum;
 
-  private final ConcurrentMap<String, BookState> states = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, L2OrderBook> books = new ConcurrentHashMap<>();
 
   /**
    * Resets the instrument state from a freshly received snapshot and stores its levels.
@@ -98,114 +96,95 @@ final class OkxBookContinuity {
    *     fresh snapshot instead of committing corrupted levels
    */
   boolean snapshot(String instId, JsonNode dataElement) {
-    BookState state = new BookState();
-    state.lastSeqId = sequenceOf(dataElement);
-    applyLevels(state, dataElement);
+    L2OrderBook book = book(instId);
+    book.startSnapshot(sequenceOf(dataElement));
+    applyLevels(book, dataElement);
     long checksum = checksumOf(dataElement);
-    if (checksum != 0 && checksum != checksum(state)) {
+    if (book.verify(checksum) != L2OrderBook.Result.APPLIED) {
       LOG.warn(
-          "Book snapshot checksum mismatch for {}: message {} != computed {}, requesting rebuild.",
+          "Book snapshot checksum mismatch for {}: message {}, requesting rebuild.",
           instId,
-          checksum,
-          checksum(state));
-      markRebuilding(instId);
+          checksum);
       return false;
     }
-    states.put(instId, state);
     return true;
   }
 
   /**
-   * Gates one incremental update for the instrument.
+   * Gates one incremental update for the instrument, applying it to the book when accepted.
    *
    * @param instId channel instrument id
    * @param dataElement the single data entry of the books-channel message
-   * @return the gate outcome; only {@link Gate#ACCEPT} requires the caller to apply the message
+   * @return the gate outcome; only {@link Gate#ACCEPT} requires the caller to publish the book
    */
   Gate gateUpdate(String instId, JsonNode dataElement) {
-    BookState state = states.get(instId);
-    if (state == null) {
+    L2OrderBook book = books.get(instId);
+    if (book == null) {
       // Updates before any snapshot: the book was never initialized, ask for a fresh one.
       LOG.warn("No snapshot seen for {} before update, requesting rebuild.", instId);
       markRebuilding(instId);
       return Gate.REBUILD;
     }
-    if (state.rebuilding) {
-      return Gate.DROP_STALE;
-    }
 
+    long lastSeqId = book.getLastSequence();
     long seqId = sequenceOf(dataElement);
-    long prevSeqId = previousSequenceOf(dataElement);
-    if (seqId != UNKNOWN_SEQ && state.lastSeqId != UNKNOWN_SEQ) {
-      if (seqId <= state.lastSeqId) {
+    switch (book.startDelta(previousSequenceOf(dataElement), seqId)) {
+      case AWAITING_SNAPSHOT:
+        return Gate.DROP_STALE;
+      case STALE_DROPPED:
         LOG.debug(
             "Dropping stale/duplicate book update for {}: seqId {} <= last {}",
             instId,
             seqId,
-            state.lastSeqId);
+            lastSeqId);
         return Gate.DROP_STALE;
-      }
-      if (prevSeqId != UNKNOWN_SEQ) {
-        if (prevSeqId != state.lastSeqId) {
-          LOG.warn(
-              "Book previous sequence mismatch for {}: expected {} but got {}, requesting rebuild.",
-              instId,
-              state.lastSeqId,
-              prevSeqId);
-          markRebuilding(instId);
-          return Gate.REBUILD;
-        }
-      } else if (seqId > state.lastSeqId + 1) {
+      case GAP:
         LOG.warn(
-            "Book sequence gap for {}: expected {} but got {}, requesting rebuild.",
+            "Book sequence gap for {}: last {} but got {}, requesting rebuild.",
             instId,
-            state.lastSeqId + 1,
+            lastSeqId,
             seqId);
-        markRebuilding(instId);
         return Gate.REBUILD;
-      }
+      default:
+        break;
     }
 
-    BookState candidate = copy(state);
-    applyLevels(candidate, dataElement);
+    // applied in place: a checksum mismatch clears the book, and the next snapshot refills it
+    applyLevels(book, dataElement);
     long checksum = checksumOf(dataElement);
-    if (checksum != 0 && checksum != checksum(candidate)) {
-      LOG.warn(
-          "Book checksum mismatch for {}: message {} != computed {}, requesting rebuild.",
-          instId,
-          checksum,
-          checksum(candidate));
-      markRebuilding(instId);
+    if (book.verify(checksum) != L2OrderBook.Result.APPLIED) {
+      LOG.warn("Book checksum mismatch for {}: message {}, requesting rebuild.", instId, checksum);
       return Gate.REBUILD;
     }
-
-    candidate.lastSeqId = seqId != UNKNOWN_SEQ ? seqId : candidate.lastSeqId;
-    states.put(instId, candidate);
     return Gate.ACCEPT;
   }
 
   /** Marks the instrument as rebuilding; subsequent updates are dropped until a new snapshot. */
   void markRebuilding(String instId) {
-    BookState state = states.get(instId);
-    if (state == null) {
-      state = new BookState();
-      states.put(instId, state);
-    }
-    state.rebuilding = true;
+    book(instId).reset();
   }
 
   boolean isRebuilding(String instId) {
-    BookState state = states.get(instId);
-    return state != null && state.rebuilding;
+    L2OrderBook book = books.get(instId);
+    return book != null && !book.isSynced();
   }
 
   /** Number of tracked levels for the instrument (test seam). */
   int levelCount(String instId) {
-    BookState state = states.get(instId);
-    if (state == null) {
+    L2OrderBook book = books.get(instId);
+    if (book == null) {
       return 0;
     }
-    return state.bids.size() + state.asks.size();
+    return book.getBids().depth() + book.getAsks().depth();
+  }
+
+  /**
+   * The book of the instrument, empty and awaiting a snapshot when first requested. Its levels
+   * hold sizes in contracts, as received.
+   */
+  L2OrderBook book(String instId) {
+    return books.computeIfAbsent(
+        instId, id -> new L2OrderBook(SEQUENCE_POLICY, CHECKSUM_POLICY));
   }
 
   /**
@@ -216,7 +195,7 @@ final class OkxBookContinuity {
    * @return unsigned CRC32 value in the range {@code [0, 2^32-1]}
    */
   static long checksum(JsonNode bids, JsonNode asks) {
-    CRC32 crc = new CRC32();
+    BookChecksum crc = BookChecksum.forCurrentThread();
     boolean firstToken = true;
     int bidCount = arraySize(bids);
     int askCount = arraySize(asks);
@@ -237,45 +216,49 @@ final class OkxBookContinuity {
     return levels != null && levels.isArray() ? levels.size() : 0;
   }
 
-  private static boolean appendLevel(CRC32 crc, JsonNode level, boolean firstToken) {
+  private static boolean appendLevel(BookChecksum crc, JsonNode level, boolean firstToken) {
     if (level == null || !level.isArray() || level.size() < 2) {
       return firstToken;
     }
-    return appendLevel(crc, new RawLevel(level.get(0).asText(), level.get(1).asText()), firstToken);
+    return appendLevel(crc, level.get(0).asText(), level.get(1).asText(), firstToken);
   }
 
-  private static boolean appendLevel(CRC32 crc, RawLevel level, boolean firstToken) {
+  private static boolean appendLevel(
+      BookChecksum crc, String price, String size, boolean firstToken) {
     if (!firstToken) {
-      crc.update((int) ':');
+      crc.append(':');
     }
-    crc.update(level.price.getBytes(StandardCharsets.UTF_8));
-    crc.update((int) ':');
-    crc.update(level.size.getBytes(StandardCharsets.UTF_8));
+    crc.append(price).append(':').append(size);
     return false;
   }
 
-  private static long checksum(BookState state) {
-    CRC32 crc = new CRC32();
+  /** The checksum of the first 25 levels of the book, as {@link #checksum(JsonNode, JsonNode)}. */
+  static long checksum(L2OrderBook book) {
+    BookChecksum crc = BookChecksum.forCurrentThread();
+    BookSide bids = book.getBids();
+    BookSide asks = book.getAsks();
     boolean firstToken = true;
-    Iterator<RawLevel> bidLevels = state.bids.values().iterator();
-    Iterator<RawLevel> askLevels = state.asks.values().iterator();
-    for (int index = 0; index < CHECKSUM_LEVEL_LIMIT; index++) {
-      boolean appended = false;
-      if (bidLevels.hasNext()) {
-        firstToken = appendLevel(crc, bidLevels.next(), firstToken);
-        appended = true;
+    int levels = Math.min(CHECKSUM_LEVEL_LIMIT, Math.max(bids.depth(), asks.depth()));
+    for (int index = 0; index < levels; index++) {
+      if (index < bids.depth()) {
+        firstToken = appendLevel(crc, bids, index, firstToken);
       }
-      if (askLevels.hasNext()) {
-        firstToken = appendLevel(crc, askLevels.next(), firstToken);
-        appended = true;
-      }
-      if (!appended) {
-        break;
+      if (index < asks.depth()) {
+        firstToken = appendLevel(crc, asks, index, firstToken);
       }
     }
     return crc.getValue();
   }
 
+  private static boolean appendLevel(
+      BookChecksum crc, BookSide side, int level, boolean firstToken) {
+    if (!firstToken) {
+      crc.append(':');
+    }
+    crc.append(side.price(level)).append(':').append(side.size(level));
+    return false;
+  }
+
   private static long sequenceOf(JsonNode dataElement) {
     return sequenceOf(dataElement, "seqId");
   }
@@ -315,12 +298,12 @@ final class OkxBookContinuity {
     return value < 0 ? value + (1L << 32) : value;
   }
 
-  private static void applyLevels(BookState state, JsonNode dataElement) {
-    applyLevels(state.bids, dataElement.get("bids"));
-    applyLevels(state.asks, dataElement.get("asks"));
+  private static void applyLevels(L2OrderBook book, JsonNode dataElement) {
+    applyLevels(book.getBids(), dataElement.get("bids"));
+    applyLevels(book.getAsks(), dataElement.get("asks"));
   }
 
-  private static void applyLevels(NavigableMap<BigDecimal, RawLevel> target, JsonNode levels) {
+  private static void applyLevels(BookSide side, JsonNode levels) {
     if (levels == null || !levels.isArray()) {
       return;
     }
@@ -330,31 +313,15 @@ final class OkxBookContinuity {
       }
       String priceText = level.get(0).asText();
       String sizeText = level.get(1).asText();
-      if (priceText.isEmpty()) {
+      // Empty size means "no change" and the level is left untouched.
+      if (priceText.isEmpty() || sizeText.isEmpty()) {
         continue;
       }
-      BigDecimal price;
       try {
-        price = new BigDecimal(priceText);
+        side.set(new BigDecimal(priceText), new BigDecimal(sizeText));
       } catch (NumberFormatException e) {
-        LOG.debug("Skipping book level with unparseable price '{}'.", priceText);
-        continue;
+        LOG.debug("Skipping unparseable book level [{}, {}].", priceText, sizeText);
       }
-      if ("0".equals(sizeText)) {
-        target.remove(price);
-      } else if (!sizeText.isEmpty()) {
-        target.put(price, new RawLevel(priceText, sizeText));
-      }
-      // Empty size means "no change" and the level is left untouched.
     }
   }
-
-  private static BookState copy(BookState source) {
-    BookState copy = new BookState();
-    copy.lastSeqId = source.lastSeqId;
-    copy.rebuilding = source.rebuilding;
-    copy.bids.putAll(source.bids);
-    copy.asks.putAll(source.asks);
-    return copy;
-  }
 }
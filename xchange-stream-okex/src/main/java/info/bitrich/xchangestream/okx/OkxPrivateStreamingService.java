@@ -15,6 +15,7 @@ import io.netty.handler.codec.http.websocketx.WebSocketClientHandshaker;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.CompletableSource;
 import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.disposables.Disposable;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -206,6 +207,24 @@ public class OkxPrivateStreamingService extends JsonNettyStreamingService {
     }
   }
 
+  @Override
+  protected void handleMessage(JsonNode message) {
+    if (pendingRequests.complete(message.path("id").asText(null), message)) {
+      return;
+    }
+    super.handleMessage(message);
+  }
+
+  /**
+   * Sends an order request and emits its response. Requests are pipelined and correlated by their
+   * id, no channel is registered per request so nothing is replayed on reconnect.
+   *
+   * @param method one of {@link #PLACE_ORDER}, {@link #CHANGE_ORDER}, {@link #CANCEL_ORDER}
+   */
+  public Single<JsonNode> request(String method, Object payload) {
+    return sendRequest(id -> getSubscribeMessage(id, method, payload));
+  }
+
   @Override
   protected String getChannelNameFromMessage(JsonNode message) {
     String channelName = "";
@@ -1,11 +1,13 @@
 package info.bitrich.xchangestream.okx;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import info.bitrich.xchangestream.core.ProductSubscription;
 import info.bitrich.xchangestream.core.StreamingExchange;
 import info.bitrich.xchangestream.core.StreamingMarketDataService;
 import info.bitrich.xchangestream.core.StreamingTradeService;
 import info.bitrich.xchangestream.service.netty.ConnectionStateModel;
 import info.bitrich.xchangestream.service.netty.ConnectionStateModel.State;
+import info.bitrich.xchangestream.service.netty.ShardedStreamingService;
 import info.bitrich.xchangestream.service.netty.WebSocketClientHandler;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Observable;
@@ -40,6 +42,12 @@ public class OkxStreamingExchange extends OkxExchange implements StreamingExchan
 
   private OkxStreamingService streamingService;
 
+  /**
+   * Public connections when {@link #WS_MAX_CHANNELS_PER_CONNECTION} is set, {@link
+   * #streamingService} is its first shard.
+   */
+  private ShardedStreamingService<OkxStreamingService, JsonNode> shardedStreamingService;
+
   private OkxStreamingMarketDataService streamingMarketDataService;
 
   private OkxStreamingTradeService streamingTradeService;
@@ -77,8 +85,18 @@ public class OkxStreamingExchange extends OkxExchange implements StreamingExchan
     // Reuse already-created services so that a reconnect preserves the active channel
     // registrations and the netty layer re-subscribes them on the new socket.
     if (streamingService == null) {
-      streamingService = new OkxStreamingService(getPublicApiUrl(), exchangeSpecification);
-      applyStreamingSpecification(exchangeSpecification, streamingService);
+      Integer maxChannelsPerConnection =
+          (Integer)
+              exchangeSpecification.getExchangeSpecificParametersItem(
+                  WS_MAX_CHANNELS_PER_CONNECTION);
+      if (maxChannelsPerConnection != null) {
+        shardedStreamingService =
+            new ShardedStreamingService<>(
+                this::createPublicStreamingService, maxChannelsPerConnection);
+        streamingService = shardedStreamingService.getShards().get(0);
+      } else {
+        streamingService = createPublicStreamingService();
+      }
     }
     if (transports.contains(TransportRole.PRIVATE) && privateStreamingService == null) {
       if (isApiKeyValid()) {
@@ -103,7 +121,7 @@ public class OkxStreamingExchange extends OkxExchange implements StreamingExchan
         || marketDataFacadeHasBusinessTransport != businessAvailable) {
       streamingMarketDataService =
           new OkxStreamingMarketDataService(
-              streamingService,
+              shardedStreamingService != null ? shardedStreamingService : streamingService,
               businessAvailable ? businessStreamingService : null,
               exchangeMetaData);
       marketDataFacadeHasBusinessTransport = businessAvailable;
@@ -120,7 +138,10 @@ public class OkxStreamingExchange extends OkxExchange implements StreamingExchan
       tradeServiceFacadeHasPrivateTransport = privateAvailable;
     }
     List<Completable> completableList = new ArrayList<>();
-    completableList.add(streamingService.connect());
+    completableList.add(
+        shardedStreamingService != null
+            ? shardedStreamingService.connect()
+            : streamingService.connect());
     if (transports.contains(TransportRole.BUSINESS) && businessStreamingService != null) {
       completableList.add(businessStreamingService.connect());
     }
@@ -130,6 +151,12 @@ public class OkxStreamingExchange extends OkxExchange implements StreamingExchan
     return Completable.concat(completableList);
   }
 
+  private OkxStreamingService createPublicStreamingService() {
+    OkxStreamingService service = new OkxStreamingService(getPublicApiUrl(), exchangeSpecification);
+    applyStreamingSpecification(exchangeSpecification, service);
+    return service;
+  }
+
   /**
    * Explicitly configures which transports must be connected and healthy.
    *
@@ -285,7 +312,12 @@ public class OkxStreamingExchange extends OkxExchange implements StreamingExchan
   @Override
   public Completable disconnect() {
     List<Completable> completableList = new ArrayList<>();
-    if (streamingService != null) {
+    if (shardedStreamingService != null) {
+      shardedStreamingService
+          .getShards()
+          .forEach(OkxStreamingService::pingPongDisconnectIfConnected);
+      completableList.add(shardedStreamingService.disconnect());
+    } else if (streamingService != null) {
       streamingService.pingPongDisconnectIfConnected();
       completableList.add(streamingService.disconnect());
     }
@@ -306,7 +338,11 @@ public class OkxStreamingExchange extends OkxExchange implements StreamingExchan
       return false;
     }
     Set<TransportRole> required = getRequiredTransports();
-    if (required.contains(TransportRole.PUBLIC) && !streamingService.isSocketOpen()) {
+    boolean publicOpen =
+        shardedStreamingService != null
+            ? shardedStreamingService.isSocketOpen()
+            : streamingService.isSocketOpen();
+    if (required.contains(TransportRole.PUBLIC) && !publicOpen) {
       return false;
     }
     if (required.contains(TransportRole.BUSINESS)
@@ -377,7 +413,9 @@ public class OkxStreamingExchange extends OkxExchange implements StreamingExchan
 
   @Override
   public void resubscribeChannels() {
-    if (streamingService != null) {
+    if (shardedStreamingService != null) {
+      shardedStreamingService.getShards().forEach(OkxStreamingService::resubscribeChannels);
+    } else if (streamingService != null) {
       streamingService.resubscribeChannels();
     }
     if (privateStreamingService != null) {
@@ -2,18 +2,25 @@ package info.bitrich.xchangestream.okx;
 
 import static info.bitrich.xchangestream.okx.OkxStreamingService.*;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import info.bitrich.xchangestream.book.BookSide;
+import info.bitrich.xchangestream.book.L2OrderBook;
+import info.bitrich.xchangestream.book.TopOfBook;
 import info.bitrich.xchangestream.core.StreamingMarketDataService;
 import info.bitrich.xchangestream.service.exception.NotConnectedException;
+import info.bitrich.xchangestream.service.netty.StreamingChannelService;
 import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.subjects.PublishSubject;
+import java.io.IOException;
 import java.math.BigDecimal;
-import java.sql.Timestamp;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import org.knowm.xchange.currency.CurrencyPair;
 import org.knowm.xchange.dto.marketdata.*;
 import org.knowm.xchange.dto.meta.ExchangeMetaData;
+import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.instrument.Instrument;
 import org.knowm.xchange.okx.OkxAdapters;
 import org.knowm.xchange.okx.dto.marketdata.*;
@@ -24,7 +31,7 @@ public class OkxStreamingMarketDataService implements StreamingMarketDataService
 
   private static final Logger LOG = LoggerFactory.getLogger(OkxStreamingMarketDataService.class);
 
-  private final OkxStreamingService service;
+  private final StreamingChannelService<JsonNode> service;
   private final OkxBusinessStreamingService businessStreamingService;
   private final ExchangeMetaData exchangeMetaData;
 
@@ -32,8 +39,12 @@ public class OkxStreamingMarketDataService implements StreamingMarketDataService
   private final Map<Instrument, PublishSubject<List<OrderBookUpdate>>>
       orderBookUpdatesSubscriptions;
 
+  /**
+   * @param service the public channels, a single {@link OkxStreamingService} or several of them in
+   *     a {@link info.bitrich.xchangestream.service.netty.ShardedStreamingService}
+   */
   public OkxStreamingMarketDataService(
-      OkxStreamingService service,
+      StreamingChannelService<JsonNode> service,
       OkxBusinessStreamingService businessStreamingService,
       ExchangeMetaData exchangeMetaData) {
     this.service = service;
@@ -42,10 +53,11 @@ public class OkxStreamingMarketDataService implements StreamingMarketDataService
     this.orderBookUpdatesSubscriptions = new ConcurrentHashMap<>();
   }
 
-  private final Map<String, OrderBook> orderBookMap = new HashMap<>();
-
   private final OkxBookContinuity bookContinuity = new OkxBookContinuity();
 
+  /** Messages of each order book channel applied to its book, by channel unique id. */
+  private final Map<String, Observable<OkxOrderbook>> orderBookChanges = new ConcurrentHashMap<>();
+
   @Override
   public Observable<Ticker> getTicker(Instrument instrument, Object... args) {
     String channelUniqueId = TICKERS + OkxAdapters.adaptInstrument(instrument);
@@ -103,85 +115,166 @@ public class OkxStreamingMarketDataService implements StreamingMarketDataService
   @Override
   public Observable<OrderBook> getOrderBook(Instrument instrument, Object... args) {
     String instId = OkxAdapters.adaptInstrument(instrument);
-    String channelName = args.length >= 1 ? args[0].toString() : "books";
+    String channelName = args.length >= 1 ? args[0].toString() : ORDERBOOK;
     String channelUniqueId = channelName + instId;
 
-    return service
-        .subscribeChannel(channelUniqueId)
-        .flatMap(
-            jsonNode -> {
-              List<OkxOrderbook> okxOrderbooks =
-                  mapper.treeToValue(
-                      jsonNode.get("data"),
-                      mapper
-                          .getTypeFactory()
-                          .constructCollectionType(List.class, OkxOrderbook.class));
-              if (jsonNode.get("action") != null) {
-                // "books5" channel pushes 5 depth levels every time.
-                String action =
-                    channelName.equals(ORDERBOOK5) ? "snapshot" : jsonNode.get("action").asText();
-                if ("snapshot".equalsIgnoreCase(action)) {
-                  if (!bookContinuity.snapshot(channelUniqueId, jsonNode.get("data").get(0))) {
-                    LOG.warn(
-                        "Order book snapshot failed checksum for channel={}, requesting a fresh snapshot.",
-                        channelUniqueId);
-                    service.resubscribeChannel(channelUniqueId);
-                    return Observable.fromIterable(new LinkedList<>());
-                  }
-                  OrderBook orderBook =
-                      OkxAdapters.adaptOrderBook(okxOrderbooks, instrument, exchangeMetaData);
-                  orderBookMap.put(channelUniqueId, orderBook);
-                  return Observable.just(orderBook);
-                } else if ("update".equalsIgnoreCase(action)) {
-                  if (!channelName.equals(ORDERBOOK5)) {
-                    OkxBookContinuity.Gate gate =
-                        bookContinuity.gateUpdate(channelUniqueId, jsonNode.get("data").get(0));
-                    if (gate == OkxBookContinuity.Gate.REBUILD) {
-                      LOG.warn(
-                          "Order book continuity violated for channel={}, requesting a fresh snapshot.",
-                          channelUniqueId);
-                      service.resubscribeChannel(channelUniqueId);
-                      return Observable.fromIterable(new LinkedList<>());
-                    }
-                    if (gate == OkxBookContinuity.Gate.DROP_STALE) {
-                      return Observable.fromIterable(new LinkedList<>());
-                    }
-                  }
-                  OrderBook orderBook = orderBookMap.getOrDefault(channelUniqueId, null);
-                  if (orderBook == null) {
-                    LOG.error("Failed to get orderBook, channel={}.", channelUniqueId);
-                    return Observable.fromIterable(new LinkedList<>());
-                  }
-                  Date timestamp = new Timestamp(Long.parseLong(okxOrderbooks.get(0).getTs()));
-                  BigDecimal contractValue =
-                      OkxAdapters.instrumentMetaData(instrument, exchangeMetaData)
-                          .getContractValue();
-                  List<OrderBookUpdate> orderBookUpdates =
-                      OkxAdapters.adaptOrderBookUpdates(
-                          instrument,
-                          okxOrderbooks.get(0).getAsks(),
-                          okxOrderbooks.get(0).getBids(),
-                          contractValue,
-                          timestamp);
-                  orderBookUpdates.forEach(orderBook::update);
-                  if (orderBookUpdatesSubscriptions.get(instrument) != null) {
-                    orderBookUpdatesSubscriptions(instrument, orderBookUpdates);
-                  }
-                  return Observable.just(orderBook);
-                } else {
-                  LOG.error("Unexpected books action={}, message={}", action, jsonNode);
-                  return Observable.fromIterable(new LinkedList<>());
-                }
-              } else {
-                if (channelName.contains(ORDERBOOK_BBO_TBT)) {
-                  // one level orderbook snapshot
-                  OrderBook orderBook =
-                      OkxAdapters.adaptOrderBook(okxOrderbooks, instrument, exchangeMetaData);
-                  return Observable.just(orderBook);
-                }
-                return Observable.fromIterable(new LinkedList<>());
-              }
-            });
+    if (channelName.contains(ORDERBOOK_BBO_TBT)) {
+      // one level orderbook snapshot
+      return service
+          .subscribeChannel(channelUniqueId)
+          .filter(message -> message.has("data"))
+          .map(
+              jsonNode ->
+                  OkxAdapters.adaptOrderBook(
+                      mapper.treeToValue(
+                          jsonNode.get("data"),
+                          mapper
+                              .getTypeFactory()
+                              .constructCollectionType(List.class, OkxOrderbook.class)),
+                      instrument,
+                      exchangeMetaData));
+    }
+    return orderBookChanges(instrument, channelName)
+        .map(okxOrderbook -> orderBookOf(channelUniqueId, instrument, okxOrderbook));
+  }
+
+  /**
+   * The best levels of the full-depth {@code books} channel, read from the book its messages are
+   * applied to, without materializing it.
+   */
+  @Override
+  public Observable<TopOfBook> getTopOfBook(Instrument instrument, int depth) {
+    String channelUniqueId = ORDERBOOK + OkxAdapters.adaptInstrument(instrument);
+    return orderBookChanges(instrument, ORDERBOOK)
+        .map(okxOrderbook -> topOfBookOf(channelUniqueId, instrument, okxOrderbook, depth))
+        .distinctUntilChanged(TopOfBook::hasSameLevels);
+  }
+
+  /**
+   * The messages of a {@code books} channel, each emitted once applied to the book of the channel.
+   * Shared, so that the messages are applied once however many book observables are subscribed.
+   */
+  private Observable<OkxOrderbook> orderBookChanges(Instrument instrument, String channelName) {
+    String channelUniqueId = channelName + OkxAdapters.adaptInstrument(instrument);
+    return orderBookChanges.computeIfAbsent(
+        channelUniqueId,
+        id ->
+            service
+                .subscribeChannel(channelUniqueId)
+                .flatMap(jsonNode -> applyBookMessage(instrument, channelName, jsonNode))
+                .share());
+  }
+
+  private Observable<OkxOrderbook> applyBookMessage(
+      Instrument instrument, String channelName, JsonNode jsonNode) throws IOException {
+    if (jsonNode.get("action") == null) {
+      return Observable.empty();
+    }
+    String channelUniqueId = channelName + OkxAdapters.adaptInstrument(instrument);
+    List<OkxOrderbook> okxOrderbooks =
+        mapper.treeToValue(
+            jsonNode.get("data"),
+            mapper.getTypeFactory().constructCollectionType(List.class, OkxOrderbook.class));
+    // "books5" channel pushes 5 depth levels every time.
+    String action = channelName.equals(ORDERBOOK5) ? "snapshot" : jsonNode.get("action").asText();
+    if ("snapshot".equalsIgnoreCase(action)) {
+      if (!bookContinuity.snapshot(channelUniqueId, jsonNode.get("data").get(0))) {
+        LOG.warn(
+            "Order book snapshot failed checksum for channel={}, requesting a fresh snapshot.",
+            channelUniqueId);
+        service.resubscribeChannel(channelUniqueId);
+        return Observable.empty();
+      }
+      return Observable.just(okxOrderbooks.get(0));
+    } else if ("update".equalsIgnoreCase(action)) {
+      OkxBookContinuity.Gate gate =
+          bookContinuity.gateUpdate(channelUniqueId, jsonNode.get("data").get(0));
+      if (gate == OkxBookContinuity.Gate.REBUILD) {
+        LOG.warn(
+            "Order book continuity violated for channel={}, requesting a fresh snapshot.",
+            channelUniqueId);
+        service.resubscribeChannel(channelUniqueId);
+        return Observable.empty();
+      }
+      if (gate == OkxBookContinuity.Gate.DROP_STALE) {
+        return Observable.empty();
+      }
+      if (orderBookUpdatesSubscriptions.get(instrument) != null) {
+        orderBookUpdatesSubscriptions(
+            instrument,
+            OkxAdapters.adaptOrderBookUpdates(
+                instrument,
+                okxOrderbooks.get(0).getAsks(),
+                okxOrderbooks.get(0).getBids(),
+                contractValue(instrument),
+                timestampOf(okxOrderbooks.get(0))));
+      }
+      return Observable.just(okxOrderbooks.get(0));
+    } else {
+      LOG.error("Unexpected books action={}, message={}", action, jsonNode);
+      return Observable.empty();
+    }
+  }
+
+  /** The order book of a channel as its continuity guard holds it, sizes converted to volumes. */
+  private OrderBook orderBookOf(
+      String channelUniqueId, Instrument instrument, OkxOrderbook okxOrderbook) {
+    return orderBookOf(channelUniqueId, instrument, okxOrderbook, Integer.MAX_VALUE);
+  }
+
+  private OrderBook orderBookOf(
+      String channelUniqueId, Instrument instrument, OkxOrderbook okxOrderbook, int depth) {
+    L2OrderBook book = bookContinuity.book(channelUniqueId);
+    Date timestamp = timestampOf(okxOrderbook);
+    BigDecimal contractValue = contractValue(instrument);
+    return new OrderBook(
+        timestamp,
+        limitOrders(book.getAsks(), depth, instrument, timestamp, contractValue),
+        limitOrders(book.getBids(), depth, instrument, timestamp, contractValue));
+  }
+
+  /**
+   * The best levels of the book of a channel. Spot sizes are read as they are; contract sizes are
+   * converted to volumes for the best levels only.
+   */
+  private TopOfBook topOfBookOf(
+      String channelUniqueId, Instrument instrument, OkxOrderbook okxOrderbook, int depth) {
+    if (instrument instanceof CurrencyPair) {
+      return bookContinuity
+          .book(channelUniqueId)
+          .topOfBook(instrument, timestampOf(okxOrderbook), depth);
+    }
+    return TopOfBook.of(
+        instrument, orderBookOf(channelUniqueId, instrument, okxOrderbook, depth), depth);
+  }
+
+  private static List<LimitOrder> limitOrders(
+      BookSide side,
+      int depth,
+      Instrument instrument,
+      Date timestamp,
+      BigDecimal contractValue) {
+    int levels = Math.min(depth, side.depth());
+    List<LimitOrder> orders = new ArrayList<>(levels);
+    for (int level = 0; level < levels; level++) {
+      orders.add(
+          OkxAdapters.adaptLimitOrder(
+              side.price(level),
+              side.size(level),
+              instrument,
+              side.getType(),
+              timestamp,
+              contractValue));
+    }
+    return orders;
+  }
+
+  private BigDecimal contractValue(Instrument instrument) {
+    return OkxAdapters.instrumentMetaData(instrument, exchangeMetaData).getContractValue();
+  }
+
+  private static Date timestampOf(OkxOrderbook okxOrderbook) {
+    return new Date(Long.parseLong(okxOrderbook.getTs()));
   }
 
   @Override
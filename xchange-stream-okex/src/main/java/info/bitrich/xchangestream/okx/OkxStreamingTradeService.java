@@ -8,6 +8,7 @@ import static info.bitrich.xchangestream.okx.OkxPrivateStreamingService.USER_POS
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import info.bitrich.xchangestream.core.OrderAck;
 import info.bitrich.xchangestream.core.StreamingTradeService;
 import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
 import io.github.resilience4j.rxjava3.ratelimiter.operator.RateLimiterOperator;
@@ -44,6 +45,9 @@ public class OkxStreamingTradeService implements StreamingTradeService {
   private final OkxPrivateStreamingService privateStreamingService;
   private final ExchangeMetaData exchangeMetaData;
   private final ResilienceRegistries resilienceRegistries;
+  private static final TypeReference<OkxResponse<List<OkxOrderResponse>>> ORDER_RESPONSE =
+      new TypeReference<>() {};
+
   private final ObjectMapper mapper = StreamingObjectMapperHelper.getObjectMapper();
   private final int dedupeCacheSize;
 
@@ -176,24 +180,44 @@ public class OkxStreamingTradeService implements StreamingTradeService {
 
   @Override
   public Single<Integer> placeLimitOrder(LimitOrder order, Object... args) {
+    return orderCode(placeLimitOrderAck(order, args));
+  }
+
+  @Override
+  public Single<Integer> placeMarketOrder(MarketOrder order, Object... args) {
+    return orderCode(placeMarketOrderAck(order, args));
+  }
+
+  @Override
+  public Single<Integer> changeOrder(LimitOrder order, Object... args) {
+    return orderCode(changeOrderAck(order, args));
+  }
+
+  @Override
+  public Single<Integer> cancelOrder(CancelOrderParams params, Object... args) {
+    return orderCode(cancelOrderAck(params, args));
+  }
+
+  @Override
+  public Single<OrderAck> placeLimitOrderAck(LimitOrder order, Object... args) {
     return submitOrderRequest(
         PLACE_ORDER, order, order.getUserReference(), OkxAuthenticated.placeOrderPath);
   }
 
   @Override
-  public Single<Integer> placeMarketOrder(MarketOrder order, Object... args) {
+  public Single<OrderAck> placeMarketOrderAck(MarketOrder order, Object... args) {
     return submitOrderRequest(
         PLACE_ORDER, order, order.getUserReference(), OkxAuthenticated.placeOrderPath);
   }
 
   @Override
-  public Single<Integer> changeOrder(LimitOrder order, Object... args) {
+  public Single<OrderAck> changeOrderAck(LimitOrder order, Object... args) {
     return submitOrderRequest(
         CHANGE_ORDER, order, order.getUserReference(), OkxAuthenticated.amendOrderPath);
   }
 
   @Override
-  public Single<Integer> cancelOrder(CancelOrderParams params, Object... args) {
+  public Single<OrderAck> cancelOrderAck(CancelOrderParams params, Object... args) {
     String clientOrderId =
         params instanceof OkxCancelOrderParams
             ? ((OkxCancelOrderParams) params).getUserReference()
@@ -202,67 +226,83 @@ public class OkxStreamingTradeService implements StreamingTradeService {
         CANCEL_ORDER, params, clientOrderId, OkxAuthenticated.cancelOrderPath);
   }
 
+  /** Surfaces a rejection as {@link OrderNotValidException}, as the integer variants always did. */
+  private static Single<Integer> orderCode(Single<OrderAck> ack) {
+    return ack.map(
+        orderAck -> {
+          if (!orderAck.isAccepted()) {
+            throw new OrderNotValidException(
+                "OKX rejected order request (code "
+                    + orderAck.getCode()
+                    + "): "
+                    + (orderAck.getMessage() == null ? "unknown error" : orderAck.getMessage()));
+          }
+          return 0;
+        });
+  }
+
   /**
    * Submits a private order operation over the websocket and correlates the response with the
    * requested client order id ({@code clOrdId}) when one was provided.
    *
-   * <p>Errors are surfaced as typed xchange exceptions: {@link OrderNotValidException} for order
-   * rejections (per-order {@code sCode}/{@code sMsg} or response-level {@code code}/{@code msg})
-   * and {@link ExchangeException} when the private socket is not authorized.
+   * <p>Order rejections (per-order {@code sCode}/{@code sMsg} or response-level {@code
+   * code}/{@code msg}) are emitted as a rejected {@link OrderAck}. A response for another client
+   * order id fails with {@link OrderNotValidException}, and {@link ExchangeException} is thrown
+   * when the private socket is not authorized.
    */
-  private Single<Integer> submitOrderRequest(
+  private Single<OrderAck> submitOrderRequest(
       String method, Object payload, String clientOrderId, String rateLimiterPath) {
     if (privateStreamingService == null || !privateStreamingService.isLoginDone()) {
       throw new ExchangeException("privateStreamingService not authorized");
     }
-    Observable<Integer> observable =
-        privateStreamingService
-            .subscribeChannel(String.valueOf(System.nanoTime()), method, payload)
-            .flatMap(
-                node -> {
-                  TypeReference<OkxResponse<List<OkxOrderResponse>>> typeReference =
-                      new TypeReference<>() {};
-                  OkxResponse<List<OkxOrderResponse>> response =
-                      mapper.treeToValue(node, typeReference);
-                  OkxOrderResponse first =
-                      response.getData() == null || response.getData().isEmpty()
-                          ? null
-                          : response.getData().get(0);
-                  String orderCode = first == null ? null : first.getCode();
-                  if (response.isSuccess() && (orderCode == null || "0".equals(orderCode))) {
-                    if (first != null
-                        && clientOrderId != null
-                        && !clientOrderId.isEmpty()
-                        && first.getClientOrderId() != null
-                        && !first.getClientOrderId().isEmpty()
-                        && !clientOrderId.equals(first.getClientOrderId())) {
-                      throw new OrderNotValidException(
-                          "OKX order response clOrdId '"
-                              + first.getClientOrderId()
-                              + "' does not match the requested client order id '"
-                              + clientOrderId
-                              + "'");
-                    }
-                    return Observable.just(0);
-                  }
-                  String errorCode = orderCode != null ? orderCode : response.getCode();
-                  String errorMessage =
-                      first != null && first.getMessage() != null
-                          ? first.getMessage()
-                          : response.getMsg();
+    return privateStreamingService
+        .request(method, payload)
+        .map(
+            node -> {
+              OkxResponse<List<OkxOrderResponse>> response =
+                  mapper.treeToValue(node, ORDER_RESPONSE);
+              OkxOrderResponse first =
+                  response.getData() == null || response.getData().isEmpty()
+                      ? null
+                      : response.getData().get(0);
+              String orderCode = first == null ? null : first.getCode();
+              String orderId = first == null ? null : first.getOrderId();
+              if (response.isSuccess() && (orderCode == null || "0".equals(orderCode))) {
+                if (first != null
+                    && clientOrderId != null
+                    && !clientOrderId.isEmpty()
+                    && first.getClientOrderId() != null
+                    && !first.getClientOrderId().isEmpty()
+                    && !clientOrderId.equals(first.getClientOrderId())) {
                   throw new OrderNotValidException(
-                      "OKX rejected order request (code "
-                          + errorCode
-                          + "): "
-                          + (errorMessage == null ? "unknown error" : errorMessage));
-                });
-    return observable
-        .firstOrError()
+                      "OKX order response clOrdId '"
+                          + first.getClientOrderId()
+                          + "' does not match the requested client order id '"
+                          + clientOrderId
+                          + "'");
+                }
+                return OrderAck.accepted(orderId, clientOrderId);
+              }
+              String errorCode = orderCode != null ? orderCode : response.getCode();
+              String errorMessage =
+                  first != null && first.getMessage() != null
+                      ? first.getMessage()
+                      : response.getMsg();
+              return OrderAck.rejected(parseCode(errorCode), errorMessage, orderId, clientOrderId);
+            })
         .compose(
             RateLimiterOperator.of(
                 resilienceRegistries.rateLimiters().rateLimiter(rateLimiterPath)));
   }
 
+  private static int parseCode(String code) {
+    try {
+      return Integer.parseInt(code);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
   /**
    * Canonical dedupe key for one order-event: re-delivered events carrying the same order id and
    * identical fill/state attributes are dropped.
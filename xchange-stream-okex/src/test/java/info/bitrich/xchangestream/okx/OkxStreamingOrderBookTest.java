@@ -3,6 +3,7 @@ package info.bitrich.xchangestream.okx;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -10,6 +11,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import info.bitrich.xchangestream.book.TopOfBook;
 import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.observers.TestObserver;
@@ -233,6 +235,30 @@ public class OkxStreamingOrderBookTest {
         .containsExactly(new BigDecimal("99.0"));
   }
 
+  @Test
+  public void testTopOfBookIsReadFromTheBookSharedWithTheOrderBook() {
+    JsonNode snapshot =
+        bookMessage("snapshot", 1, expectedChecksum(BID_100, ASK_101), BID_100, ASK_101);
+    String[][] bidsAfter = {{"100.0", "10"}, {"99.0", "1"}};
+    JsonNode update = bookMessage("update", 2, expectedChecksum(bidsAfter, ASK_101), BID_99, EMPTY);
+    PublishSubject<JsonNode> messages = PublishSubject.create();
+    when(streamingService.subscribeChannel(CHANNEL_UNIQUE_ID)).thenReturn(messages);
+
+    TestObserver<OrderBook> books = marketDataService.getOrderBook(INSTRUMENT).test();
+    TestObserver<TopOfBook> tops = marketDataService.getTopOfBook(INSTRUMENT, 1).test();
+    messages.onNext(snapshot);
+    messages.onNext(update);
+
+    books.assertNoErrors().assertValueCount(2);
+    // the update adds a second bid only, which leaves the best levels unchanged
+    tops.assertNoErrors().assertValueCount(1);
+    assertThat(tops.values().get(0).getBestBid()).isEqualTo(100.0);
+    assertThat(tops.values().get(0).getBidSize(0)).isEqualTo(10.0);
+    assertThat(tops.values().get(0).getBestAsk()).isEqualTo(101.0);
+    verify(streamingService, times(1)).subscribeChannel(CHANNEL_UNIQUE_ID);
+    verify(streamingService, never()).resubscribeChannel(CHANNEL_UNIQUE_ID);
+  }
+
   @Test
   public void testUpdateBeforeAnySnapshotRequestsResubscribe() {
     JsonNode update = bookMessage("update", 2, 0, BID_99, EMPTY);
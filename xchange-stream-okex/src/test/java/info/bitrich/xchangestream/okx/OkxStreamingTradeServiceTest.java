@@ -4,7 +4,6 @@ import static info.bitrich.xchangestream.okx.OkxPrivateStreamingService.PLACE_OR
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -13,6 +12,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import info.bitrich.xchangestream.core.OrderAck;
 import info.bitrich.xchangestream.service.netty.StreamingObjectMapperHelper;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.Single;
@@ -302,17 +302,49 @@ public class OkxStreamingTradeServiceTest {
   @Test
   public void testPlaceLimitOrderSucceedsWithMatchingClOrdId() {
     when(privateStreamingService.isLoginDone()).thenReturn(true);
-    when(privateStreamingService.subscribeChannel(anyString(), eq(PLACE_ORDER), any()))
-        .thenReturn(Observable.just(orderOpResponse("0", "client-1", "0", "")));
+    when(privateStreamingService.request(eq(PLACE_ORDER), any()))
+        .thenReturn(Single.just(orderOpResponse("0", "client-1", "0", "")));
 
     assertThat(tradeService.placeLimitOrder(limitOrder("client-1")).blockingGet()).isEqualTo(0);
   }
 
+  @Test
+  public void testPlaceLimitOrderAckCarriesTheOrderId() {
+    when(privateStreamingService.isLoginDone()).thenReturn(true);
+    when(privateStreamingService.request(eq(PLACE_ORDER), any()))
+        .thenReturn(Single.just(orderOpResponse("0", "client-1", "0", "")));
+
+    OrderAck ack = tradeService.placeLimitOrderAck(limitOrder("client-1")).blockingGet();
+
+    assertThat(ack.isAccepted()).isTrue();
+    assertThat(ack.getOrderId()).isEqualTo("o-123");
+    assertThat(ack.getUserReference()).isEqualTo("client-1");
+  }
+
+  @Test
+  public void testPlaceMarketOrderAckCarriesTheRejection() {
+    when(privateStreamingService.isLoginDone()).thenReturn(true);
+    when(privateStreamingService.request(eq(PLACE_ORDER), any()))
+        .thenReturn(
+            Single.just(orderOpResponse("0", "client-1", "51000", "Insufficient balance")));
+
+    MarketOrder marketOrder =
+        new MarketOrder.Builder(OrderType.BID, SPOT)
+            .originalAmount(new BigDecimal("1"))
+            .userReference("client-1")
+            .build();
+
+    OrderAck ack = tradeService.placeMarketOrderAck(marketOrder).blockingGet();
+
+    assertThat(ack.getCode()).isEqualTo(51000);
+    assertThat(ack.getMessage()).isEqualTo("Insufficient balance");
+  }
+
   @Test
   public void testPlaceLimitOrderRejectsClOrdIdMismatch() {
     when(privateStreamingService.isLoginDone()).thenReturn(true);
-    when(privateStreamingService.subscribeChannel(anyString(), eq(PLACE_ORDER), any()))
-        .thenReturn(Observable.just(orderOpResponse("0", "someone-else", "0", "")));
+    when(privateStreamingService.request(eq(PLACE_ORDER), any()))
+        .thenReturn(Single.just(orderOpResponse("0", "someone-else", "0", "")));
 
     Single<Integer> single = tradeService.placeLimitOrder(limitOrder("client-1"));
 
@@ -326,9 +358,9 @@ public class OkxStreamingTradeServiceTest {
   @Test
   public void testPlaceMarketOrderSurfacesPerOrderRejection() {
     when(privateStreamingService.isLoginDone()).thenReturn(true);
-    when(privateStreamingService.subscribeChannel(anyString(), eq(PLACE_ORDER), any()))
+    when(privateStreamingService.request(eq(PLACE_ORDER), any()))
         .thenReturn(
-            Observable.just(orderOpResponse("0", "client-1", "51000", "Insufficient balance")));
+            Single.just(orderOpResponse("0", "client-1", "51000", "Insufficient balance")));
 
     MarketOrder marketOrder =
         new MarketOrder.Builder(OrderType.BID, SPOT)
@@ -347,9 +379,8 @@ public class OkxStreamingTradeServiceTest {
   @Test
   public void testCancelOrderSurfacesResponseLevelFailure() {
     when(privateStreamingService.isLoginDone()).thenReturn(true);
-    when(privateStreamingService.subscribeChannel(
-            anyString(), eq(OkxPrivateStreamingService.CANCEL_ORDER), any()))
-        .thenReturn(Observable.just(orderOpResponse("1", null, null, "Operation failed")));
+    when(privateStreamingService.request(eq(OkxPrivateStreamingService.CANCEL_ORDER), any()))
+        .thenReturn(Single.just(orderOpResponse("1", null, null, "Operation failed")));
 
     OkxCancelOrderParams params = new OkxCancelOrderParams(SPOT, "o-123", "client-1");
 
@@ -1,17 +1,13 @@
 package info.bitrich.xchangestream.polymarket;
 
+import info.bitrich.xchangestream.book.BookSide;
+import info.bitrich.xchangestream.book.L2OrderBook;
 import info.bitrich.xchangestream.polymarket.dto.PolymarketWsBook;
 import info.bitrich.xchangestream.polymarket.dto.PolymarketWsPriceChange;
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
-import org.knowm.xchange.dto.Order.OrderType;
 import org.knowm.xchange.dto.marketdata.OrderBook;
-import org.knowm.xchange.dto.trade.LimitOrder;
 import org.knowm.xchange.exceptions.ExchangeException;
 import org.knowm.xchange.polymarket.PolymarketAdapters;
 import org.knowm.xchange.prediction.PredictionMarketContract;
@@ -35,9 +31,7 @@ final class PolymarketStreamingOrderBook {
 
   private final PredictionMarketContract contract;
   private final String assetId;
-  private final TreeMap<BigDecimal, BigDecimal> bids = new TreeMap<>();
-  private final TreeMap<BigDecimal, BigDecimal> asks = new TreeMap<>();
-  private boolean snapshotSeen;
+  private final L2OrderBook book = new L2OrderBook();
   private String timestamp;
 
   PolymarketStreamingOrderBook(String conditionId, String assetId) {
@@ -47,11 +41,9 @@ final class PolymarketStreamingOrderBook {
 
   /** Replaces all state with the snapshot levels. */
   OrderBook applySnapshot(PolymarketWsBook snapshot) {
-    bids.clear();
-    asks.clear();
-    putAll(bids, snapshot.bids());
-    putAll(asks, snapshot.asks());
-    snapshotSeen = true;
+    book.startSnapshot(L2OrderBook.UNKNOWN_SEQUENCE);
+    putAll(book.getBids(), snapshot.bids());
+    putAll(book.getAsks(), snapshot.asks());
     timestamp = snapshot.timestamp();
     return toOrderBook();
   }
@@ -61,7 +53,7 @@ final class PolymarketStreamingOrderBook {
    * side raises {@link ExchangeException}.
    */
   OrderBook applyPriceChange(PolymarketWsPriceChange.Change change, String eventTimestamp) {
-    if (!snapshotSeen) {
+    if (!book.isSynced()) {
       throw new ExchangeException(
           "Polymarket price_change for "
               + change.assetId()
@@ -74,54 +66,31 @@ final class PolymarketStreamingOrderBook {
               + " on the channel for asset "
               + assetId);
     }
-    TreeMap<BigDecimal, BigDecimal> levels;
+    BookSide levels;
     String side = change.side() == null ? "" : change.side().toUpperCase();
     switch (side) {
-      case "BUY" -> levels = bids;
-      case "SELL" -> levels = asks;
+      case "BUY" -> levels = book.getBids();
+      case "SELL" -> levels = book.getAsks();
       default ->
           throw new ExchangeException(
               "Polymarket price_change has unrecognized side: " + change.side());
     }
-    BigDecimal size = new BigDecimal(change.size());
-    if (size.signum() <= 0) {
-      levels.remove(new BigDecimal(change.price()));
-    } else {
-      levels.put(new BigDecimal(change.price()), size);
-    }
+    levels.set(new BigDecimal(change.price()), new BigDecimal(change.size()));
     timestamp = eventTimestamp;
     return toOrderBook();
   }
 
   private OrderBook toOrderBook() {
-    List<LimitOrder> bidOrders = new ArrayList<>();
-    for (Map.Entry<BigDecimal, BigDecimal> level : bids.entrySet()) {
-      bidOrders.add(limitOrder(OrderType.BID, level.getKey(), level.getValue()));
-    }
-    bidOrders.sort(Comparator.comparing(LimitOrder::getLimitPrice).reversed());
-    List<LimitOrder> askOrders = new ArrayList<>();
-    for (Map.Entry<BigDecimal, BigDecimal> level : asks.entrySet()) {
-      askOrders.add(limitOrder(OrderType.ASK, level.getKey(), level.getValue()));
-    }
-    askOrders.sort(Comparator.comparing(LimitOrder::getLimitPrice));
     Date time = timestamp == null || timestamp.isBlank() ? null : new Date(Long.parseLong(timestamp));
-    return new OrderBook(time, askOrders, bidOrders);
-  }
-
-  private LimitOrder limitOrder(OrderType type, BigDecimal price, BigDecimal size) {
-    return new LimitOrder.Builder(type, contract)
-        .originalAmount(size)
-        .limitPrice(price)
-        .build();
+    return book.toOrderBook(contract, time);
   }
 
-  private static void putAll(
-      TreeMap<BigDecimal, BigDecimal> levels, List<PolymarketWsBook.Level> snapshotLevels) {
+  private static void putAll(BookSide levels, List<PolymarketWsBook.Level> snapshotLevels) {
     if (snapshotLevels == null) {
       return;
     }
     for (PolymarketWsBook.Level level : snapshotLevels) {
-      levels.put(new BigDecimal(level.price()), new BigDecimal(level.size()));
+      levels.set(new BigDecimal(level.price()), new BigDecimal(level.size()));
     }
   }
 }
@@ -0,0 +1,28 @@
+package info.bitrich.xchangestream.service;
+
+/**
+ * Callback receiving the messages of a streaming channel directly on the thread reading the socket,
+ * as a lower overhead alternative to subscribing to an {@link
+ * io.reactivex.rxjava3.core.Observable}. Implementations must be fast and must not block, every
+ * other message of the connection waits for them.
+ *
+ * @param <T> type of the messages
+ */
+@FunctionalInterface
+public interface StreamingListener<T> {
+
+  /**
+   * Called for every message of the channel.
+   *
+   * @param message the message
+   */
+  void onMessage(T message);
+
+  /**
+   * Called if the channel reports an error, or if {@link #onMessage(Object)} throws. The listener
+   * stays registered. Ignores the error by default.
+   *
+   * @param error the error
+   */
+  default void onError(Throwable error) {}
+}
@@ -0,0 +1,21 @@
+package info.bitrich.xchangestream.service.exception;
+
+import lombok.Getter;
+
+/**
+ * A request sent over a socket got no response, because it timed out or the socket closed. The
+ * request may or may not have been processed by the exchange, so it must be reconciled (e.g. by
+ * querying the order) rather than sent again.
+ */
+@Getter
+public class RequestOutcomeUnknownException extends RuntimeException {
+
+  private static final long serialVersionUID = -3146232761207351298L;
+
+  private final String requestId;
+
+  public RequestOutcomeUnknownException(String requestId, String message) {
+    super(message);
+    this.requestId = requestId;
+  }
+}
@@ -1,10 +1,24 @@
 package info.bitrich.xchangestream.service.netty;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.POJONode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import info.bitrich.xchangestream.service.StreamingListener;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.util.CharsetUtil;
+import io.reactivex.rxjava3.disposables.Disposable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -12,6 +26,15 @@ public abstract class JsonNettyStreamingService extends NettyStreamingService<Js
   private static final Logger LOG = LoggerFactory.getLogger(JsonNettyStreamingService.class);
   protected final ObjectMapper objectMapper = StreamingObjectMapperHelper.getObjectMapper();
 
+  /**
+   * Whether a subclass customizes {@link #messageHandler(String)}, in which case incoming messages
+   * must keep going through it.
+   */
+  private final boolean stringMessageHandlerOverridden = overridesStringMessageHandler(getClass());
+
+  /** Types the messages of a channel are bound to while parsing, by channel name. */
+  private final Map<String, JavaType> channelTypes = new ConcurrentHashMap<>();
+
   public JsonNettyStreamingService(String apiUrl) {
     super(apiUrl);
   }
@@ -33,6 +56,100 @@ public abstract class JsonNettyStreamingService extends NettyStreamingService<Js
     return true;
   }
 
+  /**
+   * Opt-in for parsing incoming messages straight from the netty buffers, without decoding them to
+   * a String first. Ignored if the service overrides {@link #messageHandler(String)}.
+   *
+   * @return true to parse messages from bytes, false by default
+   */
+  protected boolean parseMessagesFromBytes() {
+    return false;
+  }
+
+  /**
+   * Name of the top level field holding the channel name of a message, used to route messages bound
+   * to a type registered with {@link #registerChannelType(String, JavaType)}.
+   *
+   * @return the field name, null by default which disables typed decoding
+   */
+  protected String getChannelFieldName() {
+    return null;
+  }
+
+  /**
+   * Channel name of a message, given the value of its {@link #getChannelFieldName()} field. Must
+   * agree with {@link #getChannelNameFromMessage(Object)}.
+   */
+  protected String getChannelNameFromField(JsonNode value) {
+    return value.asText();
+  }
+
+  /**
+   * Binds messages of a channel straight to the given type while they are parsed, instead of
+   * building a {@link JsonNode} tree first. Such messages are emitted to the channel subscribers as
+   * a {@link POJONode} wrapping the bound value, see {@link #readChannelValue(JsonNode, JavaType)}.
+   * Has no effect unless the service provides {@link #getChannelFieldName()}.
+   *
+   * @param channelName the channel name as found in the messages
+   * @param type the type to bind the whole message to
+   */
+  public void registerChannelType(String channelName, JavaType type) {
+    channelTypes.put(channelName, type);
+  }
+
+  /**
+   * Reads the value of a channel message, either bound already while parsing or from its tree.
+   *
+   * @param message a message emitted to the subscribers of a channel
+   * @param type the type the channel was registered with
+   */
+  @SuppressWarnings("unchecked")
+  public static <V> V readChannelValue(JsonNode message, JavaType type) throws IOException {
+    if (message.isPojo()) {
+      Object value = ((POJONode) message).getPojo();
+      if (type.getRawClass().isInstance(value)) {
+        return (V) value;
+      }
+    }
+    ObjectMapper mapper = StreamingObjectMapperHelper.getObjectMapper();
+    return mapper.readValue(mapper.treeAsTokens(message), type);
+  }
+
+  /**
+   * Registers a listener called directly with the messages of a channel bound to the given type,
+   * see {@link #registerChannelType(String, JavaType)} and {@link #addChannelListener(String,
+   * StreamingListener, Object...)}.
+   *
+   * @param channelName the channel name as found in the messages
+   * @param type the type to bind the whole message to
+   * @param listener called on the thread reading the socket
+   * @return disposing of it removes the listener
+   */
+  public <V> Disposable addChannelListener(
+      String channelName, JavaType type, StreamingListener<V> listener) {
+    registerChannelType(channelName, type);
+    return addChannelListener(
+        channelName,
+        new StreamingListener<JsonNode>() {
+          @Override
+          public void onMessage(JsonNode message) {
+            V value;
+            try {
+              value = readChannelValue(message, type);
+            } catch (IOException e) {
+              listener.onError(e);
+              return;
+            }
+            listener.onMessage(value);
+          }
+
+          @Override
+          public void onError(Throwable error) {
+            listener.onError(error);
+          }
+        });
+  }
+
   @Override
   public void messageHandler(String message) {
     LOG.debug("Received message: {}", message);
@@ -40,12 +157,122 @@ public abstract class JsonNettyStreamingService extends NettyStreamingService<Js
 
     // Parse incoming message to JSON
     try {
+      if (isTypedDecodingEnabled()) {
+        try (JsonParser parser = objectMapper.createParser(message)) {
+          handleParsedMessage(parser);
+        }
+        return;
+      }
       jsonNode = objectMapper.readTree(message);
     } catch (IOException e) {
       LOG.error("Error parsing incoming message to JSON: {}", message);
       return;
     }
 
+    handleJsonMessage(jsonNode);
+  }
+
+  @Override
+  public void messageHandler(ByteBuf message) {
+    if (stringMessageHandlerOverridden || !parseMessagesFromBytes()) {
+      super.messageHandler(message);
+      return;
+    }
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Received message: {}", message.toString(CharsetUtil.UTF_8));
+    }
+    JsonNode jsonNode;
+
+    // Parse incoming message to JSON, reading a duplicate keeps the content intact for logging
+    try {
+      if (isTypedDecodingEnabled()) {
+        try (JsonParser parser = createParser(message.duplicate())) {
+          handleParsedMessage(parser);
+        }
+        return;
+      }
+      jsonNode = readTree(message.duplicate());
+    } catch (IOException e) {
+      LOG.error("Error parsing incoming message to JSON: {}", message.toString(CharsetUtil.UTF_8));
+      return;
+    }
+
+    handleJsonMessage(jsonNode);
+  }
+
+  private JsonNode readTree(ByteBuf message) throws IOException {
+    if (message.hasArray()) {
+      return objectMapper.readTree(
+          message.array(), message.arrayOffset() + message.readerIndex(), message.readableBytes());
+    }
+    try (InputStream in = new ByteBufInputStream(message)) {
+      return objectMapper.readTree(in);
+    }
+  }
+
+  private JsonParser createParser(ByteBuf message) throws IOException {
+    if (message.hasArray()) {
+      return objectMapper.createParser(
+          message.array(), message.arrayOffset() + message.readerIndex(), message.readableBytes());
+    }
+    return objectMapper.createParser((InputStream) new ByteBufInputStream(message));
+  }
+
+  private boolean isTypedDecodingEnabled() {
+    return !channelTypes.isEmpty() && getChannelFieldName() != null;
+  }
+
+  /**
+   * Peeks at the top level fields up to the channel field, buffering their tokens. Messages of a
+   * subscribed channel with a registered type are then bound from the buffered tokens followed by
+   * the rest of the parser, everything else goes the usual way through a tree.
+   */
+  private void handleParsedMessage(JsonParser parser) throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      JsonNode jsonNode = objectMapper.readTree(parser);
+      if (jsonNode != null) {
+        handleJsonMessage(jsonNode);
+      }
+      return;
+    }
+    String channelFieldName = getChannelFieldName();
+    String channel = null;
+    TokenBuffer buffer = new TokenBuffer(parser);
+    buffer.writeStartObject();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String fieldName = parser.currentName();
+      buffer.writeFieldName(fieldName);
+      parser.nextToken();
+      if (channelFieldName.equals(fieldName)) {
+        JsonNode value = parser.readValueAsTree();
+        buffer.writeTree(value);
+        channel = getChannelNameFromField(value);
+        // leaves the parser on the token following the channel field, which is replayed below
+        parser.nextToken();
+        break;
+      }
+      buffer.copyCurrentStructure(parser);
+    }
+
+    try (JsonParser tokens =
+        JsonParserSequence.createFlattened(true, buffer.asParser(parser), parser)) {
+      JavaType type = channel == null ? null : channelTypes.get(channel);
+      if (type == null || !channels.containsKey(channel)) {
+        handleJsonMessage(objectMapper.readTree(tokens));
+        return;
+      }
+      Object value;
+      try {
+        value = objectMapper.readValue(tokens, type);
+      } catch (IOException e) {
+        handleChannelError(channel, e);
+        return;
+      }
+      handleChannelMessage(channel, objectMapper.getNodeFactory().pojoNode(value));
+    }
+  }
+
+  private void handleJsonMessage(JsonNode jsonNode) {
     if (processArrayMessageSeparately() && jsonNode.isArray()) {
       // In case of array - handle every message separately.
       for (JsonNode node : jsonNode) {
@@ -56,6 +283,15 @@ public abstract class JsonNettyStreamingService extends NettyStreamingService<Js
     }
   }
 
+  private static boolean overridesStringMessageHandler(Class<?> type) {
+    try {
+      return type.getMethod("messageHandler", String.class).getDeclaringClass()
+          != JsonNettyStreamingService.class;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
   protected void sendObjectMessage(Object message) {
     try {
       sendMessage(objectMapper.writeValueAsString(message));
@@ -1,9 +1,11 @@
 package info.bitrich.xchangestream.service.netty;
 
 import info.bitrich.xchangestream.service.ConnectableService;
+import info.bitrich.xchangestream.service.StreamingListener;
 import info.bitrich.xchangestream.service.exception.NotConnectedException;
 import info.bitrich.xchangestream.service.netty.ConnectionStateModel.State;
 import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
@@ -34,11 +36,15 @@ import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.CharsetUtil;
+import io.netty.util.concurrent.Future;
 import io.netty.util.internal.SocketUtils;
 import io.netty.util.internal.StringUtil;
 import io.reactivex.rxjava3.core.Completable;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.core.ObservableEmitter;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.Disposable;
 import io.reactivex.rxjava3.subjects.PublishSubject;
 import io.reactivex.rxjava3.subjects.Subject;
 import java.io.IOException;
@@ -58,7 +64,8 @@ import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public abstract class NettyStreamingService<T> extends ConnectableService {
+public abstract class NettyStreamingService<T> extends ConnectableService
+    implements StreamingChannelService<T> {
 
   private final Logger LOG = LoggerFactory.getLogger(this.getClass());
 
@@ -69,10 +76,13 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
   @Getter
   protected class Subscription {
 
-    final ObservableEmitter<T> emitter;
+    volatile ObservableEmitter<T> emitter;
     final String channelName;
     final Object[] args;
 
+    /** called directly for every message, replaced as a whole when listeners come and go */
+    private volatile StreamingListener<T>[] listeners = newListeners(0);
+
     public Subscription(ObservableEmitter<T> emitter, String channelName, Object[] args) {
       this.emitter = emitter;
       this.channelName = channelName;
@@ -82,6 +92,57 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
     public ObservableEmitter<T> getEmitter() {
       return emitter;
     }
+
+    synchronized void addListener(StreamingListener<T> listener) {
+      StreamingListener<T>[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+      updated[listeners.length] = listener;
+      listeners = updated;
+    }
+
+    /** Sets the emitter of a subscription opened by a listener. */
+    synchronized void attachEmitter(ObservableEmitter<T> emitter) {
+      if (this.emitter == null) {
+        this.emitter = emitter;
+      }
+    }
+
+    /**
+     * @return true if nothing consumes this subscription anymore
+     */
+    synchronized boolean removeListener(StreamingListener<T> listener) {
+      StreamingListener<T>[] updated = newListeners(listeners.length);
+      int size = 0;
+      for (StreamingListener<T> existing : listeners) {
+        if (existing != listener) {
+          updated[size++] = existing;
+        }
+      }
+      listeners = Arrays.copyOf(updated, size);
+      return size == 0 && emitter == null;
+    }
+
+    /**
+     * @return true if listeners keep consuming this subscription without the emitter
+     */
+    synchronized boolean removeEmitter() {
+      if (listeners.length == 0) {
+        return false;
+      }
+      emitter = null;
+      return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private StreamingListener<T>[] newListeners(int size) {
+      return (StreamingListener<T>[]) new StreamingListener<?>[size];
+    }
+  }
+
+  /** Builds the message of a request, see {@link #sendRequest(RequestMessage)}. */
+  @FunctionalInterface
+  public interface RequestMessage {
+
+    String build(String requestId) throws IOException;
   }
 
   private final int maxFramePayloadLength;
@@ -94,7 +155,30 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
   private final Duration connectionTimeout;
   private final int idleTimeoutSeconds;
   private volatile NioEventLoopGroup eventLoopGroup;
+  /** shared transport to connect with, null for an event loop group of this service */
+  private volatile NettyTransport transport;
   protected final Map<String, Subscription> channels = new ConcurrentHashMap<>();
+
+  /**
+   * Requests in flight, see {@link #sendRequest(RequestMessage)}. Subclasses complete them from the
+   * responses carrying their id.
+   */
+  protected final PendingRequests<T> pendingRequests = new PendingRequests<>();
+
+  /** passes both the String and the byte variant of incoming messages to this service */
+  private final WebSocketClientHandler.WebSocketMessageHandler webSocketMessageHandler =
+      new WebSocketClientHandler.WebSocketMessageHandler() {
+        @Override
+        public void onMessage(String message) {
+          messageHandler(message);
+        }
+
+        @Override
+        public void onMessage(ByteBuf message) {
+          messageHandler(message);
+        }
+      };
+
   private boolean compressedMessages = false;
 
   private final Subject<Throwable> reconnFailEmitters = PublishSubject.create();
@@ -179,9 +263,12 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
                   throw new IllegalArgumentException("Only WS(S) is supported.");
                 }
 
+                final NettyTransport transport = this.transport;
                 final boolean ssl = "wss".equalsIgnoreCase(scheme);
                 final SslContext sslCtx;
-                if (ssl) {
+                if (ssl && transport != null) {
+                  sslCtx = transport.getSslContext(acceptAllCertificates);
+                } else if (ssl) {
                   SslContextBuilder sslContextBuilder = SslContextBuilder.forClient();
                   if (acceptAllCertificates) {
                     sslContextBuilder.trustManager(InsecureTrustManagerFactory.INSTANCE);
@@ -200,20 +287,27 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
                             true,
                             getCustomHeaders(),
                             maxFramePayloadLength),
-                        this::messageHandler);
-
-                if (eventLoopGroup == null || eventLoopGroup.isShutdown()) {
-                  eventLoopGroup = new NioEventLoopGroup(2);
+                        webSocketMessageHandler);
+
+                Bootstrap bootstrap = new Bootstrap();
+                if (transport != null) {
+                  bootstrap
+                      .group(transport.getEventLoopGroup())
+                      .channel(transport.getChannelClass());
+                  if (transport.getAllocator() != null) {
+                    bootstrap.option(ChannelOption.ALLOCATOR, transport.getAllocator());
+                  }
+                } else {
+                  if (eventLoopGroup == null || eventLoopGroup.isShutdown()) {
+                    eventLoopGroup = new NioEventLoopGroup(2);
+                  }
+                  bootstrap.group(eventLoopGroup).channel(NioSocketChannel.class);
                 }
-
-                Bootstrap bootstrap =
-                    new Bootstrap()
-                        .group(eventLoopGroup)
-                        .option(
-                            ChannelOption.CONNECT_TIMEOUT_MILLIS,
-                            Math.toIntExact(connectionTimeout.toMillis()))
-                        .option(ChannelOption.SO_KEEPALIVE, true)
-                        .channel(NioSocketChannel.class);
+                bootstrap
+                    .option(
+                        ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                        Math.toIntExact(connectionTimeout.toMillis()))
+                    .option(ChannelOption.SO_KEEPALIVE, true);
                 if (socksProxyHost != null) {
                   bootstrap.disableResolver();
                 }
@@ -343,8 +437,7 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
                 .addListener(
                     future -> {
                       channels.clear();
-                      eventLoopGroup
-                          .shutdownGracefully(2, idleTimeoutSeconds, TimeUnit.SECONDS)
+                      shutdownEventLoopGroup()
                           .addListener(
                               f -> {
                                 LOG.info("Disconnected");
@@ -355,8 +448,7 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
                     });
           } else if (webSocketChannel != null) { // web socket is closed already
             channels.clear();
-            eventLoopGroup
-                .shutdownGracefully(2, idleTimeoutSeconds, TimeUnit.SECONDS)
+            shutdownEventLoopGroup()
                 .addListener(
                     f -> {
                       connectionStateModel.setState(State.CLOSED);
@@ -371,6 +463,14 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
         });
   }
 
+  /** Shuts down the event loop group of this service, a shared transport is left running. */
+  private Future<?> shutdownEventLoopGroup() {
+    if (eventLoopGroup == null) {
+      return webSocketChannel.eventLoop().newSucceededFuture(null);
+    }
+    return eventLoopGroup.shutdownGracefully(2, idleTimeoutSeconds, TimeUnit.SECONDS);
+  }
+
   protected abstract String getChannelNameFromMessage(T message) throws IOException;
 
   public abstract String getSubscribeMessage(String channelName, Object... args) throws IOException;
@@ -397,6 +497,19 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
    */
   public abstract void messageHandler(String message);
 
+  /**
+   * Handler that receives incoming messages as the raw UTF-8 payload, straight from the netty
+   * buffers. The buffer is released once this method returns.
+   *
+   * <p>The default decodes the payload and calls {@link #messageHandler(String)}. Services parsing
+   * the payload themselves can override this to skip the intermediate String.
+   *
+   * @param message Content of the message from the server.
+   */
+  public void messageHandler(ByteBuf message) {
+    messageHandler(message.toString(CharsetUtil.UTF_8));
+  }
+
   public void sendMessage(String message) {
     LOG.debug("Sending message: {}", message);
 
@@ -414,6 +527,38 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
     }
   }
 
+  /**
+   * Sends a request under a new request id on subscription and emits the response completing it,
+   * without registering a channel. Many requests may be in flight at once.
+   *
+   * <p>Emits {@link NotConnectedException} if the socket is not open, and {@link
+   * info.bitrich.xchangestream.service.exception.RequestOutcomeUnknownException} on timeout or if
+   * the socket closes before the response.
+   */
+  public Single<T> sendRequest(RequestMessage message) {
+    return pendingRequests.request(requestId -> sendRequestMessage(requestId, message));
+  }
+
+  /**
+   * Like {@link #sendRequest(RequestMessage)} under a given request id, for exchanges whose ids
+   * other messages share.
+   */
+  public Single<T> sendRequest(String requestId, RequestMessage message) {
+    return pendingRequests.request(requestId, id -> sendRequestMessage(id, message));
+  }
+
+  private void sendRequestMessage(String requestId, RequestMessage message) throws IOException {
+    if (!isSocketOpen()) {
+      throw new NotConnectedException();
+    }
+    sendMessage(message.build(requestId));
+  }
+
+  /** How long {@link #sendRequest(RequestMessage)} waits for a response. */
+  public void setRequestTimeout(Duration requestTimeout) {
+    pendingRequests.setTimeout(requestTimeout);
+  }
+
   public Observable<Throwable> subscribeReconnectFailure() {
     return reconnFailEmitters.share();
   }
@@ -430,6 +575,7 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
     return connectionStateModel.stateObservable();
   }
 
+  @Override
   public Observable<T> subscribeChannel(String channelName, Object... args) {
     final String subscriptionUniqueId = getSubscriptionUniqueId(channelName, args);
     LOG.info("Subscribing to subscriptionUniqueId={}, args={}", subscriptionUniqueId, args);
@@ -440,35 +586,98 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
                 e.onError(new NotConnectedException());
                 return; // terminal error: never register the dead subscription
               }
-              channels.computeIfAbsent(
+              // attached within the mapping, so that a listener leaving can't close the channel
+              // in between
+              channels.compute(
                   subscriptionUniqueId,
-                  cid -> {
+                  (cid, subscription) -> {
+                    if (subscription != null) {
+                      // the channel may have been opened by a listener
+                      subscription.attachEmitter(e);
+                      return subscription;
+                    }
                     Subscription newSubscription = new Subscription(e, channelName, args);
                     try {
                       sendMessage(getSubscribeMessage(channelName, args));
                     } catch (
-                        Exception
-                            throwable) { // if getSubscribeMessage throws this, it is because it
-                      // needs to report
+                        Exception throwable) { // if getSubscribeMessage throws this, it is because
+                      // it needs to report
                       e.onError(throwable); // a problem creating the message
                     }
                     return newSubscription;
                   });
             })
         .doOnDispose(
-            () -> {
-              if (channels.remove(subscriptionUniqueId) != null) {
+            () ->
+                channels.computeIfPresent(
+                    subscriptionUniqueId,
+                    (cid, subscription) ->
+                        subscription.removeEmitter() ? subscription : unsubscribe(cid, args)))
+        .share();
+  }
+
+  /**
+   * Registers a listener called directly with every message of a channel, without going through an
+   * {@link Observable}. A lower overhead alternative to {@link #subscribeChannel(String,
+   * Object...)} for consumers of high rate channels. Opens the channel unless already subscribed,
+   * either by another listener or by an {@link Observable}.
+   *
+   * @param channelName the channel to listen to
+   * @param listener called on the thread reading the socket
+   * @param args the channel arguments, as for {@link #subscribeChannel(String, Object...)}
+   * @return disposing of it removes the listener, and closes the channel once nothing consumes it
+   * @throws NotConnectedException if the socket is not open
+   */
+  public Disposable addChannelListener(
+      String channelName, StreamingListener<T> listener, Object... args) {
+    if (webSocketChannel == null || !webSocketChannel.isOpen()) {
+      throw new NotConnectedException();
+    }
+    final String subscriptionUniqueId = getSubscriptionUniqueId(channelName, args);
+    LOG.info("Listening to subscriptionUniqueId={}, args={}", subscriptionUniqueId, args);
+
+    // the listener is added within the mapping, so that a consumer leaving can't close the
+    // channel in between
+    Subscription subscription =
+        channels.compute(
+            subscriptionUniqueId,
+            (cid, existing) -> {
+              Subscription mapped = existing;
+              if (mapped == null) {
+                mapped = new Subscription(null, channelName, args);
                 try {
-                  sendMessage(getUnsubscribeMessage(subscriptionUniqueId, args));
-                } catch (IOException e) {
-                  LOG.debug(
-                      "Failed to unsubscribe channel: {} {}", subscriptionUniqueId, e.toString());
-                } catch (Exception e) {
-                  LOG.warn("Failed to unsubscribe channel: {}", subscriptionUniqueId, e);
+                  sendMessage(getSubscribeMessage(channelName, args));
+                } catch (Exception throwable) {
+                  listener.onError(throwable);
                 }
               }
-            })
-        .share();
+              mapped.addListener(listener);
+              return mapped;
+            });
+    return Disposable.fromAction(
+        () ->
+            channels.computeIfPresent(
+                subscriptionUniqueId,
+                (cid, existing) ->
+                    existing == subscription && subscription.removeListener(listener)
+                        ? unsubscribe(cid, args)
+                        : existing));
+  }
+
+  /**
+   * Sends the unsubscribe message of a channel, from the mapping function removing it.
+   *
+   * @return null, to remove the subscription of the channel
+   */
+  private Subscription unsubscribe(String subscriptionUniqueId, Object[] args) {
+    try {
+      sendMessage(getUnsubscribeMessage(subscriptionUniqueId, args));
+    } catch (IOException e) {
+      LOG.debug("Failed to unsubscribe channel: {} {}", subscriptionUniqueId, e.toString());
+    } catch (Exception e) {
+      LOG.warn("Failed to unsubscribe channel: {}", subscriptionUniqueId, e);
+    }
+    return null;
   }
 
   public void resubscribeChannels() {
@@ -536,9 +745,20 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
       LOG.debug("Channel has been closed {}.", channel);
       return;
     }
+    StreamingListener<T>[] listeners = subscription.listeners;
+    for (StreamingListener<T> listener : listeners) {
+      try {
+        listener.onMessage(message);
+      } catch (RuntimeException e) {
+        LOG.warn("Listener of channel {} failed", channel, e);
+        listener.onError(e);
+      }
+    }
     ObservableEmitter<T> emitter = subscription.emitter;
     if (emitter == null) {
-      LOG.debug("No subscriber for channel {}.", channel);
+      if (listeners.length == 0) {
+        LOG.debug("No subscriber for channel {}.", channel);
+      }
       return;
     }
     emitter.onNext(message);
@@ -550,9 +770,15 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
       LOG.debug("Channel {} has been closed.", channel);
       return;
     }
+    StreamingListener<T>[] listeners = subscription.listeners;
+    for (StreamingListener<T> listener : listeners) {
+      listener.onError(t);
+    }
     ObservableEmitter<T> emitter = subscription.emitter;
     if (emitter == null) {
-      LOG.debug("No subscriber for channel {}.", channel);
+      if (listeners.length == 0) {
+        LOG.debug("No subscriber for channel {}.", channel);
+      }
       return;
     }
 
@@ -579,6 +805,7 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
     @Override
     public void channelInactive(ChannelHandlerContext ctx) {
       connectionStateModel.setState(State.CLOSED);
+      pendingRequests.failAll("Connection closed before the response, the outcome is unknown");
       if (isManualDisconnect.compareAndSet(true, false)) {
         // Don't attempt to reconnect
       } else {
@@ -615,6 +842,16 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
     return generation.get();
   }
 
+  /**
+   * Connects with the given transport from the next connection on, sharing its event loop group
+   * with the other services using it.
+   *
+   * @param transport the transport, null for an event loop group of this service
+   */
+  public void setTransport(NettyTransport transport) {
+    this.transport = transport;
+  }
+
   public void useCompressedMessages(boolean compressedMessages) {
     this.compressedMessages = compressedMessages;
   }
@@ -649,6 +886,7 @@ public abstract class NettyStreamingService<T> extends ConnectableService {
    * <p>Used for gap recovery: the provider answers with a fresh snapshot on the same channel, so
    * the existing emitter keeps receiving the rebuilt state.
    */
+  @Override
   public void resubscribeChannel(String channelName, Object... args) {
     String subscriptionUniqueId = getSubscriptionUniqueId(channelName, args);
     if (!channels.containsKey(subscriptionUniqueId)) {
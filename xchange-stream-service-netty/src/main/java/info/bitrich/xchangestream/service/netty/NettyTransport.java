@@ -0,0 +1,149 @@
+package info.bitrich.xchangestream.service.netty;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollIoHandler;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.SSLException;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Event loop group, socket channel type and buffer allocator the streaming services connect with.
+ *
+ * <p>By default every {@link NettyStreamingService} runs its connection on an event loop group of
+ * its own. Services given the same transport, see {@link
+ * NettyStreamingService#setTransport(NettyTransport)}, share its threads instead, which keeps the
+ * thread count flat however many exchanges and connections a process opens. The transport also
+ * keeps the client TLS contexts, so connections don't load the trust store again.
+ *
+ * <pre>{@code
+ * ExchangeSpecification spec = exchange.getDefaultExchangeSpecification();
+ * spec.setExchangeSpecificParametersItem(StreamingExchange.NETTY_TRANSPORT, NettyTransport.shared());
+ * }</pre>
+ */
+@Getter
+public final class NettyTransport {
+
+  private static final Logger LOG = LoggerFactory.getLogger(NettyTransport.class);
+
+  private final EventLoopGroup eventLoopGroup;
+  private final Class<? extends SocketChannel> channelClass;
+
+  /** allocator of the connections, null for the netty default */
+  private final ByteBufAllocator allocator;
+
+  private volatile SslContext sslContext;
+  private volatile SslContext insecureSslContext;
+
+  private NettyTransport(
+      EventLoopGroup eventLoopGroup,
+      Class<? extends SocketChannel> channelClass,
+      ByteBufAllocator allocator) {
+    this.eventLoopGroup = eventLoopGroup;
+    this.channelClass = channelClass;
+    this.allocator = allocator;
+  }
+
+  /**
+   * The transport shared by the whole process, created on first use. Runs on daemon threads, one
+   * per available processor, using native epoll where available.
+   */
+  public static NettyTransport shared() {
+    return SharedHolder.INSTANCE;
+  }
+
+  /**
+   * Creates a transport, to be shut down with {@link #shutdown()} once the services using it are
+   * disconnected.
+   *
+   * @param threads number of event loop threads
+   * @param preferNative whether to use native epoll if available on this platform
+   * @param allocator allocator for the connections, null for the netty default
+   */
+  public static NettyTransport create(
+      int threads, boolean preferNative, ByteBufAllocator allocator) {
+    DefaultThreadFactory threadFactory = new DefaultThreadFactory("xchange-stream", true);
+    if (preferNative && isEpollAvailable()) {
+      return new NettyTransport(
+          new MultiThreadIoEventLoopGroup(threads, threadFactory, EpollIoHandler.newFactory()),
+          EpollSocketChannel.class,
+          allocator);
+    }
+    return new NettyTransport(
+        new MultiThreadIoEventLoopGroup(threads, threadFactory, NioIoHandler.newFactory()),
+        NioSocketChannel.class,
+        allocator);
+  }
+
+  /**
+   * Wraps an event loop group managed by the caller.
+   *
+   * @param eventLoopGroup the group, must support the channel class
+   * @param channelClass the socket channel type
+   * @param allocator allocator for the connections, null for the netty default
+   */
+  public static NettyTransport of(
+      EventLoopGroup eventLoopGroup,
+      Class<? extends SocketChannel> channelClass,
+      ByteBufAllocator allocator) {
+    return new NettyTransport(eventLoopGroup, channelClass, allocator);
+  }
+
+  public boolean isNative() {
+    return channelClass != NioSocketChannel.class;
+  }
+
+  /**
+   * Client TLS context, created once per transport.
+   *
+   * @param acceptAllCertificates whether to trust any server certificate, for debugging only
+   */
+  public SslContext getSslContext(boolean acceptAllCertificates) throws SSLException {
+    if (acceptAllCertificates) {
+      if (insecureSslContext == null) {
+        insecureSslContext =
+            SslContextBuilder.forClient()
+                .trustManager(InsecureTrustManagerFactory.INSTANCE)
+                .build();
+      }
+      return insecureSslContext;
+    }
+    if (sslContext == null) {
+      sslContext = SslContextBuilder.forClient().build();
+    }
+    return sslContext;
+  }
+
+  /** Shuts down the event loop group, the services using it can't connect afterwards. */
+  public Future<?> shutdown() {
+    return eventLoopGroup.shutdownGracefully(0, 2, TimeUnit.SECONDS);
+  }
+
+  private static boolean isEpollAvailable() {
+    try {
+      return Epoll.isAvailable();
+    } catch (LinkageError e) {
+      LOG.debug("Native epoll transport is not on the classpath", e);
+      return false;
+    }
+  }
+
+  private static final class SharedHolder {
+
+    private static final NettyTransport INSTANCE =
+        create(Runtime.getRuntime().availableProcessors(), true, null);
+  }
+}
@@ -0,0 +1,136 @@
+package info.bitrich.xchangestream.service.netty;
+
+import info.bitrich.xchangestream.service.exception.RequestOutcomeUnknownException;
+import io.reactivex.rxjava3.core.Scheduler;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.core.SingleEmitter;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Requests in flight over a socket, keyed by the request id the exchange echoes in its response.
+ *
+ * <p>Any number of requests may be in flight at the same time. Each one completes with its own
+ * response, or fails with a {@link RequestOutcomeUnknownException} when no response arrives within
+ * the timeout or the socket closes first. A request is never sent again by this class.
+ *
+ * @param <T> type of the responses
+ */
+public class PendingRequests<T> {
+
+  public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+  /** Sends a request under the given id. */
+  @FunctionalInterface
+  public interface Sender {
+
+    void send(String requestId) throws Exception;
+  }
+
+  private final Map<String, SingleEmitter<T>> pending = new ConcurrentHashMap<>();
+  private final AtomicLong requestIds = new AtomicLong();
+  private final Scheduler scheduler;
+  private volatile Duration timeout;
+
+  public PendingRequests() {
+    this(DEFAULT_TIMEOUT, Schedulers.computation());
+  }
+
+  public PendingRequests(Duration timeout, Scheduler scheduler) {
+    this.timeout = timeout;
+    this.scheduler = scheduler;
+  }
+
+  public void setTimeout(Duration timeout) {
+    this.timeout = timeout;
+  }
+
+  /** A request id unique among the requests of this table. */
+  public String nextRequestId() {
+    return Long.toString(requestIds.incrementAndGet());
+  }
+
+  /** Sends a request under a new id on subscription, see {@link #request(String, Sender)}. */
+  public Single<T> request(Sender sender) {
+    return Single.defer(() -> request(nextRequestId(), sender));
+  }
+
+  /**
+   * Registers the request and sends it on subscription. Disposing the returned {@link Single}
+   * forgets the request, a late response is then dropped.
+   */
+  public Single<T> request(String requestId, Sender sender) {
+    Duration requestTimeout = timeout;
+    return Single.<T>create(
+            emitter -> {
+              if (pending.putIfAbsent(requestId, emitter) != null) {
+                emitter.onError(
+                    new IllegalStateException("Request " + requestId + " is in flight already"));
+                return;
+              }
+              emitter.setCancellable(() -> pending.remove(requestId, emitter));
+              try {
+                sender.send(requestId);
+              } catch (Exception e) {
+                pending.remove(requestId, emitter);
+                emitter.tryOnError(e);
+              }
+            })
+        .timeout(
+            requestTimeout.toMillis(),
+            TimeUnit.MILLISECONDS,
+            scheduler,
+            Single.error(
+                () ->
+                    new RequestOutcomeUnknownException(
+                        requestId,
+                        "No response to request " + requestId + " within " + requestTimeout)));
+  }
+
+  /**
+   * Completes the request with its response.
+   *
+   * @return false if the request is not in flight, e.g. it timed out already
+   */
+  public boolean complete(String requestId, T response) {
+    SingleEmitter<T> emitter = requestId == null ? null : pending.remove(requestId);
+    if (emitter == null) {
+      return false;
+    }
+    emitter.onSuccess(response);
+    return true;
+  }
+
+  /**
+   * Fails the request, e.g. with the error the exchange responded with.
+   *
+   * @return false if the request is not in flight
+   */
+  public boolean fail(String requestId, Throwable error) {
+    SingleEmitter<T> emitter = requestId == null ? null : pending.remove(requestId);
+    if (emitter == null) {
+      return false;
+    }
+    emitter.tryOnError(error);
+    return true;
+  }
+
+  /** Fails every request in flight, as their outcome is unknown once the socket closed. */
+  public void failAll(String reason) {
+    for (String requestId : pending.keySet()) {
+      fail(requestId, new RequestOutcomeUnknownException(requestId, reason));
+    }
+  }
+
+  public boolean isPending(String requestId) {
+    return requestId != null && pending.containsKey(requestId);
+  }
+
+  public int size() {
+    return pending.size();
+  }
+}
@@ -0,0 +1,291 @@
+package info.bitrich.xchangestream.service.netty;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.subjects.BehaviorSubject;
+import io.reactivex.rxjava3.subjects.Subject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Spreads the channels of a streaming API over several connections, for exchanges limiting the
+ * number of channels per connection and to keep a single socket from becoming the bottleneck.
+ *
+ * <p>Every connection, a shard, carries at most {@code maxChannelsPerConnection} channels. A new
+ * channel goes to the least loaded shard with room left, opening a new shard once all are full.
+ * Subscribers of the same channel share its single subscription, which is released with the last
+ * of them. Shards left without channels are closed again, except the first one which always
+ * exists, so the channels stay balanced over the fewest connections as they come and go. A shard
+ * reconnecting by itself has to subscribe its channels again anyway, so its channels are rebalanced
+ * then: they move to the other shards if these have room for all of them, closing the shard, or
+ * else until the shard carries at most one channel more than the least loaded shard with room.
+ * Subscribers of a moved channel stay subscribed. After a {@link #disconnect()} the next
+ * subscriptions are balanced from scratch.
+ *
+ * @param <S> type of the shards
+ * @param <T> type of the messages
+ */
+public class ShardedStreamingService<S extends NettyStreamingService<T>, T>
+    implements StreamingChannelService<T> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ShardedStreamingService.class);
+
+  private final Supplier<S> shardFactory;
+  private final int maxChannelsPerConnection;
+
+  /** guarded by this */
+  private final List<Shard> shards = new ArrayList<>();
+
+  /** every subscribed channel by subscription id, guarded by this */
+  private final Map<String, Assignment> assignments = new HashMap<>();
+
+  /** whether shards opened for new channels must be connected, guarded by this */
+  private boolean connected;
+
+  private final class Shard {
+
+    final S service;
+    final Set<String> channels = new HashSet<>();
+    final Disposable reconnections;
+    Completable connection;
+
+    Shard(S service) {
+      this.service = service;
+      this.reconnections = service.subscribeConnectionSuccess().subscribe(o -> rebalance(this));
+    }
+
+    Observable<T> subscribeChannel(String channelName, Object[] args) {
+      Completable pending;
+      synchronized (ShardedStreamingService.this) {
+        pending = connection;
+      }
+      Observable<T> channel = service.subscribeChannel(channelName, args);
+      if (pending != null && !service.isSocketOpen()) {
+        channel = pending.andThen(channel);
+      }
+      return channel;
+    }
+
+    void close() {
+      reconnections.dispose();
+      service
+          .disconnect()
+          .subscribe(() -> {}, t -> LOG.warn("Failed to close connection without channels", t));
+    }
+  }
+
+  /** A subscribed channel, on the shard last published by {@link #shard}. */
+  private final class Assignment {
+
+    final String subscriptionUniqueId;
+
+    /** the shard of the channel, a new one moves the channel there */
+    final Subject<Shard> shard;
+
+    /** the messages of the channel, shared by its subscribers */
+    final Observable<T> messages;
+
+    /** guarded by ShardedStreamingService.this */
+    Shard current;
+
+    /** guarded by ShardedStreamingService.this */
+    int subscribers;
+
+    Assignment(String subscriptionUniqueId, Shard current, String channelName, Object[] args) {
+      this.subscriptionUniqueId = subscriptionUniqueId;
+      this.current = current;
+      this.shard = BehaviorSubject.createDefault(current);
+      this.messages =
+          shard.switchMap(target -> target.subscribeChannel(channelName, args)).share();
+    }
+  }
+
+  /**
+   * @param shardFactory creates the service of a new connection, with its streaming specification
+   *     applied
+   * @param maxChannelsPerConnection the number of channels a single connection may carry
+   */
+  public ShardedStreamingService(Supplier<S> shardFactory, int maxChannelsPerConnection) {
+    if (maxChannelsPerConnection < 1) {
+      throw new IllegalArgumentException(
+          "maxChannelsPerConnection must be positive: " + maxChannelsPerConnection);
+    }
+    this.shardFactory = shardFactory;
+    this.maxChannelsPerConnection = maxChannelsPerConnection;
+    shards.add(new Shard(shardFactory.get()));
+  }
+
+  /** Connects the open shards, further shards connect as channels are subscribed. */
+  public synchronized Completable connect() {
+    connected = true;
+    List<Completable> connections = new ArrayList<>(shards.size());
+    for (Shard shard : shards) {
+      shard.connection = shard.service.connect().cache();
+      connections.add(shard.connection);
+    }
+    return Completable.merge(connections);
+  }
+
+  /** Disconnects all shards and forgets their channels, closing all but the first shard. */
+  public synchronized Completable disconnect() {
+    connected = false;
+    assignments.clear();
+    List<Completable> disconnections = new ArrayList<>(shards.size());
+    for (Shard shard : shards) {
+      shard.channels.clear();
+      shard.connection = null;
+      disconnections.add(shard.service.disconnect());
+    }
+    List<Shard> closed = shards.subList(1, shards.size());
+    closed.forEach(shard -> shard.reconnections.dispose());
+    closed.clear();
+    return Completable.merge(disconnections);
+  }
+
+  @Override
+  public Observable<T> subscribeChannel(String channelName, Object... args) {
+    return Observable.defer(
+        () -> {
+          Assignment assignment;
+          synchronized (this) {
+            assignment = assign(getSubscriptionUniqueId(channelName, args), channelName, args);
+          }
+          return assignment.messages.doFinally(() -> release(assignment));
+        });
+  }
+
+  @Override
+  public void resubscribeChannel(String channelName, Object... args) {
+    S service = getShard(channelName, args);
+    if (service == null) {
+      LOG.warn("Cannot resubscribe unknown channel {}", channelName);
+      return;
+    }
+    service.resubscribeChannel(channelName, args);
+  }
+
+  /**
+   * @return the service of the shard currently carrying the channel, null if it is not subscribed
+   */
+  public synchronized S getShard(String channelName, Object... args) {
+    Assignment assignment = assignments.get(getSubscriptionUniqueId(channelName, args));
+    return assignment == null ? null : assignment.current.service;
+  }
+
+  /**
+   * @return whether every shard has an open socket
+   */
+  public synchronized boolean isSocketOpen() {
+    return shards.stream().allMatch(shard -> shard.service.isSocketOpen());
+  }
+
+  /**
+   * @return the services of the open shards, the first one always exists
+   */
+  public synchronized List<S> getShards() {
+    return Collections.unmodifiableList(
+        shards.stream().map(shard -> shard.service).collect(Collectors.toList()));
+  }
+
+  private String getSubscriptionUniqueId(String channelName, Object... args) {
+    return shards.get(0).service.getSubscriptionUniqueId(channelName, args);
+  }
+
+  private Assignment assign(String subscriptionUniqueId, String channelName, Object[] args) {
+    Assignment assignment = assignments.get(subscriptionUniqueId);
+    if (assignment == null) {
+      Shard target = leastLoaded(null);
+      if (target == null) {
+        target = new Shard(shardFactory.get());
+        if (connected) {
+          target.connection = target.service.connect().cache();
+        }
+        shards.add(target);
+        LOG.info("Opened connection {} for channel {}", shards.size(), subscriptionUniqueId);
+      }
+      target.channels.add(subscriptionUniqueId);
+      assignment = new Assignment(subscriptionUniqueId, target, channelName, args);
+      assignments.put(subscriptionUniqueId, assignment);
+    }
+    assignment.subscribers++;
+    return assignment;
+  }
+
+  /**
+   * @return the least loaded shard with room left other than the excluded one, null if all are
+   *     full
+   */
+  private Shard leastLoaded(Shard excluded) {
+    Shard target = null;
+    for (Shard shard : shards) {
+      if (shard != excluded
+          && shard.channels.size() < maxChannelsPerConnection
+          && (target == null || shard.channels.size() < target.channels.size())) {
+        target = shard;
+      }
+    }
+    return target;
+  }
+
+  private synchronized void release(Assignment assignment) {
+    if (--assignment.subscribers > 0
+        || !assignments.remove(assignment.subscriptionUniqueId, assignment)) {
+      return;
+    }
+    Shard shard = assignment.current;
+    shard.channels.remove(assignment.subscriptionUniqueId);
+    closeIfEmpty(shard);
+  }
+
+  private synchronized void rebalance(Shard reconnected) {
+    if (!shards.contains(reconnected) || reconnected.channels.isEmpty()) {
+      return;
+    }
+    int room = 0;
+    for (Shard shard : shards) {
+      if (shard != reconnected) {
+        room += maxChannelsPerConnection - shard.channels.size();
+      }
+    }
+    boolean emptying = shards.indexOf(reconnected) > 0 && reconnected.channels.size() <= room;
+    int moved = 0;
+    Shard target;
+    while (!reconnected.channels.isEmpty()
+        && (target = leastLoaded(reconnected)) != null
+        && (emptying || reconnected.channels.size() > target.channels.size() + 1)) {
+      move(reconnected.channels.iterator().next(), reconnected, target);
+      moved++;
+    }
+    if (moved > 0) {
+      LOG.info("Moved {} channels of a reconnected connection to other connections", moved);
+    }
+    closeIfEmpty(reconnected);
+  }
+
+  private void move(String subscriptionUniqueId, Shard from, Shard to) {
+    from.channels.remove(subscriptionUniqueId);
+    to.channels.add(subscriptionUniqueId);
+    Assignment assignment = assignments.get(subscriptionUniqueId);
+    assignment.current = to;
+    // under the lock, so that the moves of a channel are published in order
+    assignment.shard.onNext(to);
+  }
+
+  private void closeIfEmpty(Shard shard) {
+    if (shard.channels.isEmpty() && shards.indexOf(shard) > 0) {
+      shards.remove(shard);
+      LOG.info("Closing connection without channels, {} left", shards.size());
+      shard.close();
+    }
+  }
+}
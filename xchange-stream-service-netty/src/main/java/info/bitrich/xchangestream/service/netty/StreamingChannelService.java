@@ -0,0 +1,24 @@
+package info.bitrich.xchangestream.service.netty;
+
+import io.reactivex.rxjava3.core.Observable;
+
+/**
+ * Channel subscriptions of a streaming service, implemented by a single {@link
+ * NettyStreamingService} connection as well as by a {@link ShardedStreamingService} spreading the
+ * channels over several connections.
+ *
+ * @param <T> type of the messages
+ */
+public interface StreamingChannelService<T> {
+
+  /**
+   * Subscribes to a channel, see {@link NettyStreamingService#subscribeChannel(String, Object...)}.
+   */
+  Observable<T> subscribeChannel(String channelName, Object... args);
+
+  /**
+   * Sends the subscribe message of an already subscribed channel again, see {@link
+   * NettyStreamingService#resubscribeChannel(String, Object...)}.
+   */
+  void resubscribeChannel(String channelName, Object... args);
+}
@@ -1,5 +1,7 @@
 package info.bitrich.xchangestream.service.netty;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
@@ -21,11 +23,29 @@ import org.slf4j.LoggerFactory;
 public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object> {
 
   private static final Logger LOG = LoggerFactory.getLogger(WebSocketClientHandler.class);
-  private final StringBuilder currentMessage = new StringBuilder();
+
+  /** upper bound of the buffers a fragmented message is assembled from before they get merged */
+  private static final int MAX_MESSAGE_COMPONENTS = 64;
+
+  /** fragments of the message being received, null unless a fragmented message is in progress */
+  private CompositeByteBuf currentMessage;
 
   public interface WebSocketMessageHandler {
 
     public void onMessage(String message);
+
+    /**
+     * Receives the UTF-8 payload of a complete text message. The buffer is only valid for the
+     * duration of the call: it is released afterwards and must be retained to be used later.
+     *
+     * <p>The default decodes the payload to a String and passes it to {@link #onMessage(String)}.
+     * Handlers able to parse bytes can override this to avoid the copy.
+     *
+     * @param message the payload of the message
+     */
+    default void onMessage(ByteBuf message) {
+      onMessage(message.toString(CharsetUtil.UTF_8));
+    }
   }
 
   protected final WebSocketClientHandshaker handshaker;
@@ -57,6 +77,11 @@ public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object>
     LOG.info("WebSocket Client disconnected! {}", ctx.channel());
   }
 
+  @Override
+  public void handlerRemoved(ChannelHandlerContext ctx) {
+    releaseCurrentMessage();
+  }
+
   @Override
   public void channelRead0(ChannelHandlerContext ctx, Object msg) throws Exception {
     Channel ch = ctx.channel();
@@ -84,7 +109,7 @@ public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object>
 
     WebSocketFrame frame = (WebSocketFrame) msg;
     if (frame instanceof TextWebSocketFrame) {
-      dealWithTextFrame((TextWebSocketFrame) frame);
+      dealWithTextFrame(ctx, (TextWebSocketFrame) frame);
     } else if (frame instanceof ContinuationWebSocketFrame) {
       dealWithContinuation((ContinuationWebSocketFrame) frame);
     } else if (frame instanceof PingWebSocketFrame) {
@@ -98,19 +123,37 @@ public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object>
     }
   }
 
-  private void dealWithTextFrame(TextWebSocketFrame frame) {
+  private void dealWithTextFrame(ChannelHandlerContext ctx, TextWebSocketFrame frame) {
+    // a new text frame starts a new message, drop any unfinished one
+    releaseCurrentMessage();
     if (frame.isFinalFragment()) {
-      handler.onMessage(frame.text());
+      handler.onMessage(frame.content());
       return;
     }
-    currentMessage.append(frame.text());
+    // the frames are released after channelRead0, the fragments are kept by retaining them
+    currentMessage = ctx.alloc().compositeBuffer(MAX_MESSAGE_COMPONENTS);
+    currentMessage.addComponent(true, frame.content().retain());
   }
 
   private void dealWithContinuation(ContinuationWebSocketFrame frame) {
-    currentMessage.append(frame.text());
+    if (currentMessage == null) {
+      LOG.warn("WebSocket Client received a continuation frame without a preceding text frame");
+      return;
+    }
+    currentMessage.addComponent(true, frame.content().retain());
     if (frame.isFinalFragment()) {
-      handler.onMessage(currentMessage.toString());
-      currentMessage.setLength(0);
+      try {
+        handler.onMessage(currentMessage);
+      } finally {
+        releaseCurrentMessage();
+      }
+    }
+  }
+
+  private void releaseCurrentMessage() {
+    if (currentMessage != null) {
+      currentMessage.release();
+      currentMessage = null;
     }
   }
 
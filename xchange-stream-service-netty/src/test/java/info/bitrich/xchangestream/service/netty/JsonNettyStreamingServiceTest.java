@@ -0,0 +1,221 @@
+package info.bitrich.xchangestream.service.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import info.bitrich.xchangestream.service.StreamingListener;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.util.CharsetUtil;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.observers.TestObserver;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class JsonNettyStreamingServiceTest {
+
+  private static final ObjectMapper MAPPER = StreamingObjectMapperHelper.getObjectMapper();
+  private static final JavaType PAYLOAD_TYPE = MAPPER.constructType(Payload.class);
+
+  @Test
+  public void testParsesBytesWhenEnabled() {
+    RecordingService service = new RecordingService(true);
+    ByteBuf message = Unpooled.copiedBuffer("[{\"c\":\"x\"},{\"c\":\"y\"}]", CharsetUtil.UTF_8);
+
+    service.messageHandler(message);
+
+    assertThat(service.handled)
+        .extracting(node -> node.get("c").asText())
+        .containsExactly("x", "y");
+    // the content is left untouched for the caller
+    assertThat(message.readerIndex()).isZero();
+  }
+
+  @Test
+  public void testDecodesToStringByDefault() {
+    RecordingService service = new RecordingService(false);
+
+    service.messageHandler(Unpooled.copiedBuffer("{\"c\":\"x\"}", CharsetUtil.UTF_8));
+
+    assertThat(service.handled).extracting(node -> node.get("c").asText()).containsExactly("x");
+  }
+
+  @Test
+  public void testOverriddenStringHandlerIsKept() {
+    RecordingService service =
+        new RecordingService(true) {
+          @Override
+          public void messageHandler(String message) {
+            strings.add("custom " + message);
+          }
+        };
+
+    service.messageHandler(Unpooled.copiedBuffer("{\"c\":\"x\"}", CharsetUtil.UTF_8));
+
+    assertThat(service.strings).containsExactly("custom {\"c\":\"x\"}");
+    assertThat(service.handled).isEmpty();
+  }
+
+  @Test
+  public void testInvalidJsonIsDropped() {
+    RecordingService service = new RecordingService(true);
+
+    service.messageHandler(Unpooled.copiedBuffer("{\"c\":", CharsetUtil.UTF_8));
+
+    assertThat(service.handled).isEmpty();
+  }
+
+  @Test
+  public void testBindsRegisteredChannelTypes() throws IOException {
+    RecordingService service = new RecordingService(true);
+    service.registerChannelType("x", PAYLOAD_TYPE);
+    service.openChannel("x");
+
+    service.messageHandler(
+        Unpooled.copiedBuffer("{\"v\":1,\"c\":\"x\",\"w\":[2,3]}", CharsetUtil.UTF_8));
+    service.messageHandler("{\"c\":\"x\",\"v\":4}");
+
+    assertThat(service.handled).isEmpty();
+    assertThat(service.emitted).hasSize(2).allMatch(JsonNode::isPojo);
+    Payload first =
+        JsonNettyStreamingService.readChannelValue(service.emitted.get(0), PAYLOAD_TYPE);
+    assertThat(first.v).isEqualTo(1);
+    assertThat(first.w).containsExactly(2, 3);
+    Payload second =
+        JsonNettyStreamingService.readChannelValue(service.emitted.get(1), PAYLOAD_TYPE);
+    assertThat(second.v).isEqualTo(4);
+  }
+
+  @Test
+  public void testOtherMessagesKeepGoingThroughTheTree() throws IOException {
+    RecordingService service = new RecordingService(true);
+    service.registerChannelType("x", PAYLOAD_TYPE);
+
+    // not subscribed, unregistered and without channel field
+    service.messageHandler("{\"v\":1,\"c\":\"x\"}");
+    service.messageHandler("{\"c\":\"y\",\"v\":2}");
+    service.messageHandler(Unpooled.copiedBuffer("{\"v\":3}", CharsetUtil.UTF_8));
+    service.messageHandler("[{\"c\":\"y\"},{\"c\":\"z\"}]");
+
+    assertThat(service.handled)
+        .extracting(node -> node.path("c").asText())
+        .containsExactly("x", "y", "", "y", "z");
+    assertThat(service.handled.get(0).get("v").asInt()).isEqualTo(1);
+    assertThat(service.handled.get(2).get("v").asInt()).isEqualTo(3);
+    // values of the tree are read the usual way
+    Payload payload =
+        JsonNettyStreamingService.readChannelValue(service.handled.get(1), PAYLOAD_TYPE);
+    assertThat(payload.v).isEqualTo(2);
+  }
+
+  @Test
+  public void testBindingFailureIsChannelError() {
+    RecordingService service = new RecordingService(true);
+    service.registerChannelType("x", PAYLOAD_TYPE);
+    TestObserver<JsonNode> observer = service.openChannel("x");
+
+    service.messageHandler("{\"c\":\"x\",\"v\":\"not a number\"}");
+
+    assertThat(service.emitted).isEmpty();
+    observer.assertError(IOException.class);
+  }
+
+  @Test
+  public void testListenersAreCalledBeforeTheEmitter() throws IOException {
+    RecordingService service = new RecordingService(true);
+    List<String> received = new ArrayList<>();
+    TestObserver<JsonNode> observer = service.openChannel("x");
+    NettyStreamingService<JsonNode>.Subscription subscription = service.channels.get("x");
+    subscription.addListener(
+        message -> {
+          throw new IllegalStateException("failing listener");
+        });
+    subscription.addListener(message -> received.add("listener " + message.get("v")));
+
+    service.handleChannelMessage("x", MAPPER.readTree("{\"c\":\"x\",\"v\":1}"));
+
+    assertThat(received).containsExactly("listener 1");
+    observer.assertValueCount(1).assertNoErrors();
+  }
+
+  @Test
+  public void testChannelIsKeptWhileConsumed() {
+    RecordingService service = new RecordingService(true);
+    service.openChannel("x");
+    NettyStreamingService<JsonNode>.Subscription subscription = service.channels.get("x");
+    StreamingListener<JsonNode> listener = message -> {};
+
+    subscription.addListener(listener);
+    // the observable goes away, the listener keeps consuming
+    assertThat(subscription.removeEmitter()).isTrue();
+    assertThat(subscription.getEmitter()).isNull();
+    assertThat(subscription.removeListener(listener)).isTrue();
+    assertThat(subscription.removeEmitter()).isFalse();
+  }
+
+  public static class Payload {
+    public String c;
+    public int v;
+    public List<Integer> w;
+  }
+
+  private static class RecordingService extends JsonNettyStreamingService {
+
+    private final boolean parseBytes;
+    final List<String> strings = new ArrayList<>();
+    final List<JsonNode> handled = new ArrayList<>();
+    final List<JsonNode> emitted = new ArrayList<>();
+
+    RecordingService(boolean parseBytes) {
+      super("ws://localhost");
+      this.parseBytes = parseBytes;
+    }
+
+    @Override
+    protected boolean parseMessagesFromBytes() {
+      return parseBytes;
+    }
+
+    @Override
+    protected void handleMessage(JsonNode message) {
+      handled.add(message);
+    }
+
+    TestObserver<JsonNode> openChannel(String channelName) {
+      return Observable.<JsonNode>create(
+              emitter ->
+                  channels.put(channelName, new Subscription(emitter, channelName, new Object[0])))
+          .test();
+    }
+
+    @Override
+    protected String getChannelFieldName() {
+      return "c";
+    }
+
+    @Override
+    protected void handleChannelMessage(String channel, JsonNode message) {
+      emitted.add(message);
+      super.handleChannelMessage(channel, message);
+    }
+
+    @Override
+    protected String getChannelNameFromMessage(JsonNode message) {
+      return message.get("c").asText();
+    }
+
+    @Override
+    public String getSubscribeMessage(String channelName, Object... args) {
+      return channelName;
+    }
+
+    @Override
+    public String getUnsubscribeMessage(String channelName, Object... args) {
+      return channelName;
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package info.bitrich.xchangestream.service.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.junit.Test;
+
+public class NettyTransportTest {
+
+  @Test
+  public void testCreatesNioTransport() throws Exception {
+    NettyTransport transport = NettyTransport.create(1, false, UnpooledByteBufAllocator.DEFAULT);
+    try {
+      assertThat(transport.getChannelClass()).isEqualTo(NioSocketChannel.class);
+      assertThat(transport.isNative()).isFalse();
+      assertThat(transport.getAllocator()).isSameAs(UnpooledByteBufAllocator.DEFAULT);
+    } finally {
+      transport.shutdown().sync();
+    }
+    assertThat(transport.getEventLoopGroup().isShutdown()).isTrue();
+  }
+
+  @Test
+  public void testReusesSslContexts() throws Exception {
+    NettyTransport transport = NettyTransport.shared();
+
+    assertThat(NettyTransport.shared()).isSameAs(transport);
+    assertThat(transport.getSslContext(false)).isSameAs(transport.getSslContext(false));
+    assertThat(transport.getSslContext(true))
+        .isSameAs(transport.getSslContext(true))
+        .isNotSameAs(transport.getSslContext(false));
+  }
+}
@@ -0,0 +1,89 @@
+package info.bitrich.xchangestream.service.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import info.bitrich.xchangestream.service.exception.RequestOutcomeUnknownException;
+import io.reactivex.rxjava3.observers.TestObserver;
+import io.reactivex.rxjava3.schedulers.TestScheduler;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class PendingRequestsTest {
+
+  private final TestScheduler scheduler = new TestScheduler();
+  private final PendingRequests<String> requests =
+      new PendingRequests<>(Duration.ofSeconds(5), scheduler);
+  private final List<String> sent = new ArrayList<>();
+
+  @Test
+  public void testCompletesPipelinedRequestsOutOfOrder() {
+    TestObserver<String> first = requests.request(sent::add).test();
+    TestObserver<String> second = requests.request(sent::add).test();
+
+    assertThat(sent).containsExactly("1", "2");
+    assertThat(requests.complete("2", "b")).isTrue();
+    assertThat(requests.complete("1", "a")).isTrue();
+
+    first.assertValue("a");
+    second.assertValue("b");
+    assertThat(requests.size()).isZero();
+  }
+
+  @Test
+  public void testTimesOutWithAnUnknownOutcome() {
+    TestObserver<String> observer = requests.request(sent::add).test();
+
+    scheduler.advanceTimeBy(5, TimeUnit.SECONDS);
+
+    observer.assertError(RequestOutcomeUnknownException.class);
+    assertThat(requests.isPending("1")).isFalse();
+    assertThat(requests.complete("1", "late")).isFalse();
+  }
+
+  @Test
+  public void testFailsAllRequestsWithoutSendingThemAgain() {
+    TestObserver<String> first = requests.request(sent::add).test();
+    TestObserver<String> second = requests.request(sent::add).test();
+
+    requests.failAll("closed");
+
+    first.assertError(
+        e -> e instanceof RequestOutcomeUnknownException && "closed".equals(e.getMessage()));
+    second.assertError(RequestOutcomeUnknownException.class);
+    assertThat(sent).containsExactly("1", "2");
+    assertThat(requests.size()).isZero();
+  }
+
+  @Test
+  public void testForgetsARequestThatFailedToSend() {
+    TestObserver<String> observer =
+        requests
+            .request(
+                id -> {
+                  throw new IOException("not connected");
+                })
+            .test();
+
+    observer.assertError(IOException.class);
+    assertThat(requests.size()).isZero();
+  }
+
+  @Test
+  public void testRejectsADuplicateRequestId() {
+    requests.request("a", sent::add).test();
+
+    requests.request("a", sent::add).test().assertError(IllegalStateException.class);
+    assertThat(sent).containsExactly("a");
+  }
+
+  @Test
+  public void testForgetsADisposedRequest() {
+    requests.request(sent::add).test().dispose();
+
+    assertThat(requests.size()).isZero();
+  }
+}
@@ -0,0 +1,224 @@
+package info.bitrich.xchangestream.service.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class ShardedStreamingServiceTest {
+
+  @Test
+  public void testSpreadsChannelsOverShards() {
+    ShardedStreamingService<FakeService, JsonNode> service = connectedService(2);
+
+    for (int i = 0; i < 5; i++) {
+      service.subscribeChannel("channel" + i).subscribe();
+    }
+
+    assertThat(service.getShards())
+        .extracting(shard -> shard.channels)
+        .containsExactly(
+            List.of("channel0", "channel1"), List.of("channel2", "channel3"), List.of("channel4"));
+    assertThat(service.getShards()).allMatch(FakeService::isSocketOpen);
+  }
+
+  @Test
+  public void testFillsLeastLoadedShard() {
+    ShardedStreamingService<FakeService, JsonNode> service = connectedService(2);
+    List<Disposable> subscriptions = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      subscriptions.add(service.subscribeChannel("channel" + i).subscribe());
+    }
+
+    subscriptions.get(0).dispose();
+    subscriptions.get(1).dispose();
+    subscriptions.get(2).dispose();
+    service.subscribeChannel("channel4").subscribe();
+
+    assertThat(service.getShards())
+        .extracting(shard -> shard.channels)
+        .containsExactly(List.of("channel4"), List.of("channel3"));
+  }
+
+  @Test
+  public void testSameChannelStaysOnItsShard() {
+    ShardedStreamingService<FakeService, JsonNode> service = connectedService(1);
+
+    service.subscribeChannel("channel", "arg").subscribe();
+    service.subscribeChannel("other").subscribe();
+    service.resubscribeChannel("channel", "arg");
+
+    assertThat(service.getShards()).hasSize(2);
+    assertThat(service.getShards().get(0).resubscribed).containsExactly("channel");
+    assertThat(service.getShards().get(1).resubscribed).isEmpty();
+  }
+
+  @Test
+  public void testClosesShardsWithoutChannels() {
+    ShardedStreamingService<FakeService, JsonNode> service = connectedService(1);
+    Disposable first = service.subscribeChannel("channel0").subscribe();
+    Disposable second = service.subscribeChannel("channel1").subscribe();
+    FakeService secondShard = service.getShards().get(1);
+
+    second.dispose();
+    first.dispose();
+
+    assertThat(service.getShards()).hasSize(1);
+    assertThat(secondShard.isSocketOpen()).isFalse();
+    assertThat(service.getShards().get(0).isSocketOpen()).isTrue();
+
+    // the freed room is used again
+    service.subscribeChannel("channel2").subscribe();
+    assertThat(service.getShards()).hasSize(1);
+  }
+
+  @Test
+  public void testDisconnectKeepsFirstShard() {
+    ShardedStreamingService<FakeService, JsonNode> service = connectedService(1);
+    service.subscribeChannel("channel0").subscribe();
+    service.subscribeChannel("channel1").subscribe();
+
+    service.disconnect().blockingAwait();
+
+    assertThat(service.getShards()).hasSize(1);
+    assertThat(service.isSocketOpen()).isFalse();
+
+    service.connect().blockingAwait();
+    service.subscribeChannel("channel2").subscribe();
+    assertThat(service.getShards()).hasSize(1);
+  }
+
+  @Test
+  public void testSharesChannelUntilItsLastSubscriberIsGone() {
+    ShardedStreamingService<FakeService, JsonNode> service = connectedService(1);
+    Disposable first = service.subscribeChannel("channel0").subscribe();
+    Disposable second = service.subscribeChannel("channel0").subscribe();
+    service.subscribeChannel("channel1").subscribe();
+    FakeService firstShard = service.getShards().get(0);
+
+    assertThat(firstShard.channels).containsExactly("channel0");
+
+    first.dispose();
+
+    assertThat(firstShard.channels).containsExactly("channel0");
+    assertThat(service.getShard("channel0")).isSameAs(firstShard);
+    assertThat(service.getShards()).hasSize(2);
+
+    second.dispose();
+
+    assertThat(firstShard.channels).isEmpty();
+    assertThat(service.getShard("channel0")).isNull();
+  }
+
+  @Test
+  public void testMovesChannelsOfReconnectedShardWhereThereIsRoom() {
+    ShardedStreamingService<FakeService, JsonNode> service = connectedService(2);
+    List<Disposable> subscriptions = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      subscriptions.add(service.subscribeChannel("channel" + i).subscribe());
+    }
+    subscriptions.get(0).dispose();
+    subscriptions.get(1).dispose();
+    FakeService secondShard = service.getShards().get(1);
+
+    secondShard.reconnections.onNext(new Object());
+
+    assertThat(service.getShards()).hasSize(1);
+    assertThat(service.getShards().get(0).channels)
+        .containsExactlyInAnyOrder("channel2", "channel3");
+    assertThat(secondShard.channels).isEmpty();
+    assertThat(secondShard.isSocketOpen()).isFalse();
+    assertThat(subscriptions.get(2).isDisposed()).isFalse();
+    assertThat(service.getShard("channel2")).isSameAs(service.getShards().get(0));
+  }
+
+  @Test
+  public void testEvensOutReconnectedShard() {
+    ShardedStreamingService<FakeService, JsonNode> service = connectedService(3);
+    List<Disposable> subscriptions = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      subscriptions.add(service.subscribeChannel("channel" + i).subscribe());
+    }
+    subscriptions.get(3).dispose();
+    FakeService firstShard = service.getShards().get(0);
+
+    firstShard.reconnections.onNext(new Object());
+
+    assertThat(service.getShards())
+        .extracting(shard -> shard.channels.size())
+        .containsExactly(2, 2);
+    assertThat(firstShard.isSocketOpen()).isTrue();
+  }
+
+  private static ShardedStreamingService<FakeService, JsonNode> connectedService(int max) {
+    ShardedStreamingService<FakeService, JsonNode> service =
+        new ShardedStreamingService<>(FakeService::new, max);
+    service.connect().blockingAwait();
+    return service;
+  }
+
+  private static class FakeService extends JsonNettyStreamingService {
+
+    final List<String> channels = new ArrayList<>();
+    final List<String> resubscribed = new ArrayList<>();
+    final PublishSubject<Object> reconnections = PublishSubject.create();
+    private boolean open;
+
+    FakeService() {
+      super("ws://localhost");
+    }
+
+    @Override
+    public Completable connect() {
+      return Completable.fromAction(() -> open = true);
+    }
+
+    @Override
+    public Completable disconnect() {
+      return Completable.fromAction(() -> open = false);
+    }
+
+    @Override
+    public boolean isSocketOpen() {
+      return open;
+    }
+
+    @Override
+    public Observable<Object> subscribeConnectionSuccess() {
+      return reconnections;
+    }
+
+    @Override
+    public Observable<JsonNode> subscribeChannel(String channelName, Object... args) {
+      return Observable.<JsonNode>never()
+          .doOnSubscribe(d -> channels.add(channelName))
+          .doOnDispose(() -> channels.remove(channelName));
+    }
+
+    @Override
+    public void resubscribeChannel(String channelName, Object... args) {
+      resubscribed.add(channelName);
+    }
+
+    @Override
+    protected String getChannelNameFromMessage(JsonNode message) {
+      return null;
+    }
+
+    @Override
+    public String getSubscribeMessage(String channelName, Object... args) {
+      return channelName;
+    }
+
+    @Override
+    public String getUnsubscribeMessage(String channelName, Object... args) {
+      return channelName;
+    }
+  }
+}
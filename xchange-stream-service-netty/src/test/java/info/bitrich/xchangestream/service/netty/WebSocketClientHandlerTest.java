@@ -0,0 +1,93 @@
+package info.bitrich.xchangestream.service.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.websocketx.ContinuationWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketClientHandshaker;
+import io.netty.util.CharsetUtil;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WebSocketClientHandlerTest {
+
+  private final List<String> strings = new ArrayList<>();
+  private final List<String> buffers = new ArrayList<>();
+  private EmbeddedChannel channel;
+
+  @Before
+  public void setUp() {
+    WebSocketClientHandshaker handshaker = mock(WebSocketClientHandshaker.class);
+    when(handshaker.isHandshakeComplete()).thenReturn(true);
+    channel =
+        new EmbeddedChannel(
+            new WebSocketClientHandler(
+                handshaker,
+                new WebSocketClientHandler.WebSocketMessageHandler() {
+                  @Override
+                  public void onMessage(String message) {
+                    strings.add(message);
+                  }
+
+                  @Override
+                  public void onMessage(ByteBuf message) {
+                    buffers.add(message.toString(CharsetUtil.UTF_8));
+                  }
+                }));
+  }
+
+  @Test
+  public void testSingleFrameIsPassedAsBuffer() {
+    TextWebSocketFrame frame = new TextWebSocketFrame("{\"a\":1}");
+    channel.writeInbound(frame);
+
+    assertThat(buffers).containsExactly("{\"a\":1}");
+    assertThat(strings).isEmpty();
+    assertThat(frame.refCnt()).isZero();
+  }
+
+  @Test
+  public void testContinuationFramesAreAssembled() {
+    TextWebSocketFrame first = new TextWebSocketFrame(false, 0, "{\"a\":");
+    ContinuationWebSocketFrame middle = new ContinuationWebSocketFrame(false, 0, "[1,");
+    ContinuationWebSocketFrame last = new ContinuationWebSocketFrame(true, 0, "2]}");
+    channel.writeInbound(first);
+    channel.writeInbound(middle);
+    assertThat(buffers).isEmpty();
+
+    channel.writeInbound(last);
+
+    assertThat(buffers).containsExactly("{\"a\":[1,2]}");
+    assertThat(first.refCnt()).isZero();
+    assertThat(middle.refCnt()).isZero();
+    assertThat(last.refCnt()).isZero();
+  }
+
+  @Test
+  public void testUnfinishedMessageIsReleasedWithTheChannel() {
+    TextWebSocketFrame first = new TextWebSocketFrame(false, 0, "{\"a\":");
+    channel.writeInbound(first);
+    assertThat(first.refCnt()).isOne();
+
+    channel.finishAndReleaseAll();
+
+    assertThat(first.refCnt()).isZero();
+    assertThat(buffers).isEmpty();
+  }
+
+  @Test
+  public void testDefaultByteHandlerDecodesToString() {
+    WebSocketClientHandler.WebSocketMessageHandler handler = strings::add;
+
+    handler.onMessage(Unpooled.copiedBuffer("{\"b\":2}", CharsetUtil.UTF_8));
+
+    assertThat(strings).containsExactly("{\"b\":2}");
+  }
+}